@@ -18,6 +18,8 @@
 
 package org.apache.storm.redis.common.commands;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import redis.clients.jedis.ScanParams;
 import redis.clients.jedis.ScanResult;
@@ -45,6 +47,20 @@ public interface RedisCommands {
     // hash
     byte[] hget(byte[] key, byte[] field);
 
+    /**
+     * Get the values of several fields at once. Implementations that can only get one field at a time may rely on this default, which
+     * calls {@link #hget(byte[], byte[])} for each of them.
+     *
+     * @return the values in the order of the fields, null for the ones that are not set
+     */
+    default List<byte[]> hmget(byte[] key, byte[]... fields) {
+        List<byte[]> values = new ArrayList<>(fields.length);
+        for (byte[] field : fields) {
+            values.add(hget(key, field));
+        }
+        return values;
+    }
+
     Map<byte[], byte[]> hgetAll(byte[] key);
 
     Map<String, String> hgetAll(String key);
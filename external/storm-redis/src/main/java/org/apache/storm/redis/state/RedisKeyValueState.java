@@ -12,10 +12,14 @@
 
 package org.apache.storm.redis.state;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Maps;
 import com.google.common.primitives.UnsignedBytes;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -29,6 +33,7 @@ import org.apache.storm.redis.common.config.JedisClusterConfig;
 import org.apache.storm.redis.common.config.JedisPoolConfig;
 import org.apache.storm.redis.common.container.RedisCommandsContainerBuilder;
 import org.apache.storm.redis.common.container.RedisCommandsInstanceContainer;
+import org.apache.storm.state.AsyncCommitState;
 import org.apache.storm.state.DefaultStateEncoder;
 import org.apache.storm.state.DefaultStateSerializer;
 import org.apache.storm.state.KeyValueState;
@@ -39,14 +44,23 @@ import redis.clients.util.SafeEncoder;
 
 /**
  * A redis based implementation that persists the state in Redis.
+ *
+ * <p>Prepared changes are kept in memory until they are committed, so they can be written out asynchronously, see
+ * {@link AsyncCommitState}.
+ *
+ * <p>Committed values can be kept in a read cache of a given size, since only the task that owns the state writes to its hash. The keys
+ * of a commit are evicted from it once they are written. {@link #getAll(Collection)} fetches the keys that are not pending or cached
+ * with a single HMGET.
  */
-public class RedisKeyValueState<K, V> implements KeyValueState<K, V> {
+public class RedisKeyValueState<K, V> implements KeyValueState<K, V>, AsyncCommitState {
     public static final int ITERATOR_CHUNK_SIZE = 100;
     public static final NavigableMap<byte[], byte[]> EMPTY_PENDING_COMMIT_MAP = Maps.unmodifiableNavigableMap(
         new TreeMap<byte[], byte[]>(UnsignedBytes.lexicographicalComparator()));
     private static final Logger LOG = LoggerFactory.getLogger(RedisKeyValueState.class);
     private static final String COMMIT_TXID_KEY = "commit";
     private static final String PREPARE_TXID_KEY = "prepare";
+    // cached for a key that is not in the hash, told apart by identity
+    private static final byte[] NOT_FOUND = new byte[0];
     private final byte[] namespace;
     private final byte[] prepareNamespace;
 
@@ -54,8 +68,10 @@ public class RedisKeyValueState<K, V> implements KeyValueState<K, V> {
     private final DefaultStateEncoder<K, V> encoder;
 
     private final RedisCommandsInstanceContainer container;
+    private final Cache<ByteBuffer, byte[]> readCache;
     private ConcurrentNavigableMap<byte[], byte[]> pendingPrepare;
-    private NavigableMap<byte[], byte[]> pendingCommit;
+    // set to empty by a commit that may run on another thread
+    private volatile NavigableMap<byte[], byte[]> pendingCommit;
 
     // the key and value of txIds are guaranteed to be converted to UTF-8 encoded String
     private Map<String, String> txIds;
@@ -79,11 +95,26 @@ public class RedisKeyValueState<K, V> implements KeyValueState<K, V> {
 
     public RedisKeyValueState(String namespace, RedisCommandsInstanceContainer container,
                               Serializer<K> keySerializer, Serializer<V> valueSerializer) {
+        this(namespace, container, keySerializer, valueSerializer, 0);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param namespace       the namespace of the state, the name of the hash it is kept in
+     * @param container       the container of the redis connections
+     * @param keySerializer   the serializer of the keys
+     * @param valueSerializer the serializer of the values
+     * @param readCacheSize   how many committed values to keep in memory, 0 to not cache them
+     */
+    public RedisKeyValueState(String namespace, RedisCommandsInstanceContainer container,
+                              Serializer<K> keySerializer, Serializer<V> valueSerializer, int readCacheSize) {
         this.namespace = SafeEncoder.encode(namespace);
         this.prepareNamespace = SafeEncoder.encode(namespace + "$prepare");
         this.txidNamespace = namespace + "$txid";
         this.encoder = new DefaultStateEncoder<K, V>(keySerializer, valueSerializer);
         this.container = container;
+        this.readCache = readCacheSize > 0 ? CacheBuilder.newBuilder().maximumSize(readCacheSize).build() : null;
         this.pendingPrepare = createPendingPrepareMap();
         initTxids();
         initPendingCommit();
@@ -135,11 +166,14 @@ public class RedisKeyValueState<K, V> implements KeyValueState<K, V> {
         LOG.debug("get key '{}'", key);
         byte[] redisKey = encoder.encodeKey(key);
         byte[] redisValue = null;
+        NavigableMap<byte[], byte[]> committing = pendingCommit;
 
         if (pendingPrepare.containsKey(redisKey)) {
             redisValue = pendingPrepare.get(redisKey);
-        } else if (pendingCommit.containsKey(redisKey)) {
-            redisValue = pendingCommit.get(redisKey);
+        } else if (committing.containsKey(redisKey)) {
+            redisValue = committing.get(redisKey);
+        } else if (readCache != null && (redisValue = readCache.getIfPresent(ByteBuffer.wrap(redisKey))) != null) {
+            redisValue = redisValue == NOT_FOUND ? null : redisValue;
         } else {
             RedisCommands commands = null;
             try {
@@ -148,6 +182,7 @@ public class RedisKeyValueState<K, V> implements KeyValueState<K, V> {
             } finally {
                 container.returnInstance(commands);
             }
+            cache(redisKey, redisValue);
         }
         V value = null;
         if (redisValue != null) {
@@ -163,6 +198,55 @@ public class RedisKeyValueState<K, V> implements KeyValueState<K, V> {
         return val != null ? val : defaultValue;
     }
 
+    @Override
+    public Map<K, V> getAll(Collection<K> keys) {
+        LOG.debug("getAll {} keys", keys.size());
+        Map<K, V> values = new HashMap<>();
+        NavigableMap<byte[], byte[]> committing = pendingCommit;
+        List<K> keysToFetch = new ArrayList<>();
+        List<byte[]> fieldsToFetch = new ArrayList<>();
+        for (K key : keys) {
+            byte[] redisKey = encoder.encodeKey(key);
+            byte[] redisValue;
+            if (pendingPrepare.containsKey(redisKey)) {
+                redisValue = pendingPrepare.get(redisKey);
+            } else if (committing.containsKey(redisKey)) {
+                redisValue = committing.get(redisKey);
+            } else if (readCache != null && (redisValue = readCache.getIfPresent(ByteBuffer.wrap(redisKey))) != null) {
+                redisValue = redisValue == NOT_FOUND ? null : redisValue;
+            } else {
+                keysToFetch.add(key);
+                fieldsToFetch.add(redisKey);
+                continue;
+            }
+            if (redisValue != null) {
+                V value = encoder.decodeValue(redisValue);
+                if (value != null) {
+                    values.put(key, value);
+                }
+            }
+        }
+        if (!fieldsToFetch.isEmpty()) {
+            List<byte[]> fetched;
+            RedisCommands commands = null;
+            try {
+                commands = container.getInstance();
+                fetched = commands.hmget(namespace, fieldsToFetch.toArray(new byte[0][]));
+            } finally {
+                container.returnInstance(commands);
+            }
+            for (int i = 0; i < fieldsToFetch.size(); i++) {
+                byte[] redisValue = fetched.get(i);
+                cache(fieldsToFetch.get(i), redisValue);
+                V value = redisValue == null ? null : encoder.decodeValue(redisValue);
+                if (value != null) {
+                    values.put(keysToFetch.get(i), value);
+                }
+            }
+        }
+        return values;
+    }
+
     @Override
     public V delete(K key) {
         LOG.debug("delete key '{}'", key);
@@ -181,70 +265,91 @@ public class RedisKeyValueState<K, V> implements KeyValueState<K, V> {
 
     @Override
     public void prepareCommit(long txid) {
+        prepareCommitAsync(txid).run();
+    }
+
+    @Override
+    public Runnable prepareCommitAsync(long txid) {
         LOG.debug("prepareCommit txid {}", txid);
         validatePrepareTxid(txid);
-        RedisCommands commands = null;
-        try {
-            ConcurrentNavigableMap<byte[], byte[]> currentPending = pendingPrepare;
-            pendingPrepare = createPendingPrepareMap();
-            commands = container.getInstance();
-            if (commands.exists(prepareNamespace)) {
-                LOG.debug("Prepared txn already exists, will merge", txid);
-                for (Map.Entry<byte[], byte[]> e : pendingCommit.entrySet()) {
-                    if (!currentPending.containsKey(e.getKey())) {
-                        currentPending.put(e.getKey(), e.getValue());
-                    }
+        ConcurrentNavigableMap<byte[], byte[]> currentPending = pendingPrepare;
+        pendingPrepare = createPendingPrepareMap();
+        if (!pendingCommit.isEmpty()) {
+            LOG.debug("Prepared txn already exists, will merge", txid);
+            for (Map.Entry<byte[], byte[]> e : pendingCommit.entrySet()) {
+                if (!currentPending.containsKey(e.getKey())) {
+                    currentPending.put(e.getKey(), e.getValue());
                 }
             }
-            if (!currentPending.isEmpty()) {
-                commands.hmset(prepareNamespace, currentPending);
-            } else {
-                LOG.debug("Nothing to save for prepareCommit, txid {}.", txid);
-            }
-            txIds.put(PREPARE_TXID_KEY, String.valueOf(txid));
-
-            commands.hmset(txidNamespace, txIds);
-            pendingCommit = Maps.unmodifiableNavigableMap(currentPending);
-        } finally {
-            container.returnInstance(commands);
         }
+        pendingCommit = Maps.unmodifiableNavigableMap(currentPending);
+        return () -> {
+            RedisCommands commands = null;
+            try {
+                commands = container.getInstance();
+                if (!currentPending.isEmpty()) {
+                    commands.hmset(prepareNamespace, currentPending);
+                } else {
+                    LOG.debug("Nothing to save for prepareCommit, txid {}.", txid);
+                }
+                txIds.put(PREPARE_TXID_KEY, String.valueOf(txid));
+
+                commands.hmset(txidNamespace, txIds);
+            } finally {
+                container.returnInstance(commands);
+            }
+        };
     }
 
     @Override
     public void commit(long txid) {
+        commitAsync(txid).run();
+    }
+
+    @Override
+    public Runnable commitAsync(long txid) {
         LOG.debug("commit txid {}", txid);
         validateCommitTxid(txid);
-        RedisCommands commands = null;
-        try {
-            commands = container.getInstance();
-            if (!pendingCommit.isEmpty()) {
-                List<byte[]> keysToDelete = new ArrayList<>();
-                Map<byte[], byte[]> keysToAdd = new HashMap<>();
-                for (Map.Entry<byte[], byte[]> entry : pendingCommit.entrySet()) {
-                    byte[] key = entry.getKey();
-                    byte[] value = entry.getValue();
-                    if (Arrays.equals(encoder.getTombstoneValue(), value)) {
-                        keysToDelete.add(key);
-                    } else {
-                        keysToAdd.put(key, value);
+        NavigableMap<byte[], byte[]> committing = pendingCommit;
+        return () -> {
+            RedisCommands commands = null;
+            try {
+                commands = container.getInstance();
+                if (!committing.isEmpty()) {
+                    List<byte[]> keysToDelete = new ArrayList<>();
+                    Map<byte[], byte[]> keysToAdd = new HashMap<>();
+                    for (Map.Entry<byte[], byte[]> entry : committing.entrySet()) {
+                        byte[] key = entry.getKey();
+                        byte[] value = entry.getValue();
+                        if (Arrays.equals(encoder.getTombstoneValue(), value)) {
+                            keysToDelete.add(key);
+                        } else {
+                            keysToAdd.put(key, value);
+                        }
                     }
+                    try {
+                        if (!keysToAdd.isEmpty()) {
+                            commands.hmset(namespace, keysToAdd);
+                        }
+                        if (!keysToDelete.isEmpty()) {
+                            commands.hdel(namespace, keysToDelete.toArray(new byte[0][]));
+                        }
+                    } finally {
+                        // some of the values may have been written even if a write failed
+                        invalidate(committing.keySet());
+                    }
+                } else {
+                    LOG.debug("Nothing to save for commit, txid {}.", txid);
                 }
-                if (!keysToAdd.isEmpty()) {
-                    commands.hmset(namespace, keysToAdd);
-                }
-                if (!keysToDelete.isEmpty()) {
-                    commands.hdel(namespace, keysToDelete.toArray(new byte[0][]));
-                }
-            } else {
-                LOG.debug("Nothing to save for commit, txid {}.", txid);
+                txIds.put(COMMIT_TXID_KEY, String.valueOf(txid));
+                commands.hmset(txidNamespace, txIds);
+                commands.del(prepareNamespace);
+                // only once the values are in the namespace, gets stop looking at them here
+                pendingCommit = EMPTY_PENDING_COMMIT_MAP;
+            } finally {
+                container.returnInstance(commands);
             }
-            txIds.put(COMMIT_TXID_KEY, String.valueOf(txid));
-            commands.hmset(txidNamespace, txIds);
-            commands.del(prepareNamespace);
-            pendingCommit = EMPTY_PENDING_COMMIT_MAP;
-        } finally {
-            container.returnInstance(commands);
-        }
+        };
     }
 
     @Override
@@ -253,7 +358,11 @@ public class RedisKeyValueState<K, V> implements KeyValueState<K, V> {
         try {
             commands = container.getInstance();
             if (!pendingPrepare.isEmpty()) {
-                commands.hmset(namespace, pendingPrepare);
+                try {
+                    commands.hmset(namespace, pendingPrepare);
+                } finally {
+                    invalidate(pendingPrepare.keySet());
+                }
             } else {
                 LOG.debug("Nothing to save for commit");
             }
@@ -341,6 +450,20 @@ public class RedisKeyValueState<K, V> implements KeyValueState<K, V> {
         return lastId;
     }
 
+    private void cache(byte[] redisKey, byte[] redisValue) {
+        if (readCache != null) {
+            readCache.put(ByteBuffer.wrap(redisKey), redisValue == null ? NOT_FOUND : redisValue);
+        }
+    }
+
+    private void invalidate(Collection<byte[]> redisKeys) {
+        if (readCache != null) {
+            for (byte[] redisKey : redisKeys) {
+                readCache.invalidate(ByteBuffer.wrap(redisKey));
+            }
+        }
+    }
+
     private ConcurrentNavigableMap<byte[], byte[]> createPendingPrepareMap() {
         return new ConcurrentSkipListMap<>(UnsignedBytes.lexicographicalComparator());
     }
@@ -20,6 +20,8 @@ import java.util.Map;
 import org.apache.storm.Config;
 import org.apache.storm.redis.common.config.JedisClusterConfig;
 import org.apache.storm.redis.common.config.JedisPoolConfig;
+import org.apache.storm.redis.common.container.RedisCommandsContainerBuilder;
+import org.apache.storm.redis.common.container.RedisCommandsInstanceContainer;
 import org.apache.storm.state.DefaultStateSerializer;
 import org.apache.storm.state.Serializer;
 import org.apache.storm.state.State;
@@ -67,13 +69,14 @@ public class RedisKeyValueStateProvider implements StateProvider {
             jedisPoolConfig = buildDefaultJedisPoolConfig();
         }
 
+        RedisCommandsInstanceContainer container;
         if (jedisPoolConfig != null) {
-            return new RedisKeyValueState(namespace, jedisPoolConfig,
-                                          getKeySerializer(topoConf, context, config), getValueSerializer(topoConf, context, config));
+            container = RedisCommandsContainerBuilder.build(jedisPoolConfig);
         } else {
-            return new RedisKeyValueState(namespace, jedisClusterConfig,
-                                          getKeySerializer(topoConf, context, config), getValueSerializer(topoConf, context, config));
+            container = RedisCommandsContainerBuilder.build(jedisClusterConfig);
         }
+        return new RedisKeyValueState(namespace, container, getKeySerializer(topoConf, context, config),
+                                      getValueSerializer(topoConf, context, config), config.readCacheSize);
     }
 
     private Serializer getKeySerializer(Map<String, Object> topoConf, TopologyContext context, StateConfig config) throws Exception {
@@ -121,6 +124,7 @@ public class RedisKeyValueStateProvider implements StateProvider {
         public String valueSerializerClass;
         public JedisPoolConfig jedisPoolConfig;
         public JedisClusterConfig jedisClusterConfig;
+        public int readCacheSize;
 
         @Override
         public String toString() {
@@ -131,6 +135,7 @@ public class RedisKeyValueStateProvider implements StateProvider {
                     + ", valueSerializerClass='" + valueSerializerClass + '\''
                     + ", jedisPoolConfig=" + jedisPoolConfig
                     + ", jedisClusterConfig=" + jedisClusterConfig
+                    + ", readCacheSize=" + readCacheSize
                     + '}';
         }
     }
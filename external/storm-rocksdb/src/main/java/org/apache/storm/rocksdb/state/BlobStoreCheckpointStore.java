@@ -0,0 +1,102 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.rocksdb.state;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import org.apache.storm.AtomicOutputStream;
+import org.apache.storm.BlobStoreAclHandler;
+import org.apache.storm.ClientBlobStore;
+import org.apache.storm.generated.AuthorizationException;
+import org.apache.storm.generated.KeyAlreadyExistsException;
+import org.apache.storm.generated.KeyNotFoundException;
+import org.apache.storm.generated.SettableBlobMeta;
+import org.apache.storm.utils.ObjectReader;
+import org.apache.storm.utils.Utils;
+
+/**
+ * Stores checkpoints in the blob store of the cluster, with a blob for every file whose key is the prefix and the name of the file.
+ *
+ * <p>The "replication" of the checkpointStoreConfig sets the replication factor of the blobs, for blob stores that support it.
+ */
+public class BlobStoreCheckpointStore implements CheckpointStore {
+    public static final String REPLICATION = "replication";
+
+    private ClientBlobStore blobStore;
+    private String prefix;
+    private int replication;
+
+    @Override
+    public void prepare(Map<String, Object> topoConf, String prefix, Map<String, Object> storeConfig) {
+        this.prefix = prefix;
+        replication = ObjectReader.getInt(storeConfig == null ? null : storeConfig.get(REPLICATION), -1);
+        blobStore = Utils.getClientBlobStore(topoConf);
+    }
+
+    @Override
+    public void upload(String name, File file) throws IOException {
+        String key = key(name);
+        AtomicOutputStream out;
+        try {
+            if (blobStore.isRemoteBlobExists(key)) {
+                out = blobStore.updateBlob(key);
+            } else {
+                SettableBlobMeta meta = new SettableBlobMeta(BlobStoreAclHandler.DEFAULT);
+                if (replication > 0) {
+                    meta.set_replication_factor(replication);
+                }
+                out = blobStore.createBlob(key, meta);
+            }
+        } catch (AuthorizationException | KeyNotFoundException | KeyAlreadyExistsException e) {
+            throw new IOException("Could not upload " + key, e);
+        }
+        try {
+            Files.copy(file.toPath(), out);
+            out.close();
+        } catch (IOException e) {
+            out.cancel();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean download(String name, File file) throws IOException {
+        try (InputStream in = blobStore.getBlob(key(name))) {
+            Files.copy(in, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (KeyNotFoundException e) {
+            return false;
+        } catch (AuthorizationException e) {
+            throw new IOException("Could not download " + key(name), e);
+        }
+    }
+
+    @Override
+    public void delete(String name) throws IOException {
+        try {
+            blobStore.deleteBlob(key(name));
+        } catch (KeyNotFoundException e) {
+            // already gone
+        } catch (AuthorizationException e) {
+            throw new IOException("Could not delete " + key(name), e);
+        }
+    }
+
+    private String key(String name) {
+        return prefix + "-" + name;
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.rocksdb.state;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * A durable store that the checkpoints of a {@link RocksDbKeyValueState} are shipped to, so that it can be restored on another host.
+ *
+ * <p>It only needs to store whole files by name. A file that is uploaded again under the same name must be replaced atomically, readers
+ * may never see part of it.
+ */
+public interface CheckpointStore {
+    /**
+     * Prepare the store.
+     *
+     * @param topoConf    the topology configuration
+     * @param prefix      what the names of the files of this state start with, it is unique for every state of every topology
+     * @param storeConfig the checkpointStoreConfig of the provider config
+     */
+    void prepare(Map<String, Object> topoConf, String prefix, Map<String, Object> storeConfig) throws IOException;
+
+    /**
+     * Upload a file, replacing the one with the same name if there is one.
+     */
+    void upload(String name, File file) throws IOException;
+
+    /**
+     * Download a file.
+     *
+     * @return false if there is no file of that name
+     */
+    boolean download(String name, File file) throws IOException;
+
+    /**
+     * Delete a file, if there is one.
+     */
+    void delete(String name) throws IOException;
+}
@@ -0,0 +1,65 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.rocksdb.state;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+
+/**
+ * Stores checkpoints in a directory that all the hosts of the cluster have mounted, like an NFS share or HDFS through its NFS gateway.
+ *
+ * <p>The directory is the "dir" of the checkpointStoreConfig, and every state gets a sub directory named after its prefix.
+ */
+public class FileSystemCheckpointStore implements CheckpointStore {
+    public static final String DIR = "dir";
+    private static final String TMP_SUFFIX = ".tmp";
+
+    private Path root;
+
+    @Override
+    public void prepare(Map<String, Object> topoConf, String prefix, Map<String, Object> storeConfig) throws IOException {
+        Object dir = storeConfig == null ? null : storeConfig.get(DIR);
+        if (dir == null) {
+            throw new IllegalArgumentException("'" + DIR + "' of checkpointStoreConfig is missing");
+        }
+        root = new File(dir.toString(), prefix).toPath();
+        Files.createDirectories(root);
+    }
+
+    @Override
+    public void upload(String name, File file) throws IOException {
+        Path tmp = root.resolve(name + TMP_SUFFIX);
+        Files.copy(file.toPath(), tmp, StandardCopyOption.REPLACE_EXISTING);
+        Files.move(tmp, root.resolve(name), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public boolean download(String name, File file) throws IOException {
+        try {
+            Files.copy(root.resolve(name), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void delete(String name) throws IOException {
+        Files.deleteIfExists(root.resolve(name));
+    }
+}
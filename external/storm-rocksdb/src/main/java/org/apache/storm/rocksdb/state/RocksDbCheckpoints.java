@@ -0,0 +1,231 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.rocksdb.state;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import org.rocksdb.Checkpoint;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Ships checkpoints of the db of a {@link RocksDbKeyValueState} to a {@link CheckpointStore} in the background, and restores the db from
+ * the latest one that was shipped.
+ *
+ * <p>A checkpoint is taken after a commit, at most once per interval and only once the previous one made it to the store. Taking it is
+ * cheap, RocksDB flushes its memtable and hard links the files of the db into a new directory. Those files are then uploaded by a
+ * thread of its own, except for the sst files that an earlier checkpoint already uploaded, since RocksDB never changes them. Last comes
+ * the manifest that lists the files, which is what makes the checkpoint the latest one.
+ *
+ * <p>The db on the local disk is used as long as it continues from the latest checkpoint in the store, so a worker restarted on the same
+ * host loses nothing. Otherwise, when the latest checkpoint was shipped from somewhere else or there is no local db, the db is restored
+ * from it. The commits after the last checkpoint that was shipped are lost if the task moves to another host.
+ */
+class RocksDbCheckpoints {
+    static final String MANIFEST = "manifest";
+    private static final Logger LOG = LoggerFactory.getLogger(RocksDbCheckpoints.class);
+    private static final String SST_SUFFIX = ".sst";
+    // the ids of the checkpoints that the local db continues from, the last one may not have made it to the store
+    private static final String SHIPPED_FILE = "shipped";
+
+    private final CheckpointStore store;
+    private final long intervalMs;
+    private final File baseDir;
+    private final File dbDir;
+    private final File checkpointsDir;
+    private final String lineage = UUID.randomUUID().toString();
+    private final AtomicBoolean shipping = new AtomicBoolean();
+    private final ExecutorService shipper;
+    private long lastShipMs;
+    private long sequence;
+    // local name -> name in the store of the files of the latest checkpoint, only used by the shipper once the db is open
+    private Map<String, String> shipped = Collections.emptyMap();
+    private String shippedId;
+
+    RocksDbCheckpoints(CheckpointStore store, long intervalMs, File baseDir, File dbDir) {
+        this.store = store;
+        this.intervalMs = intervalMs;
+        this.baseDir = baseDir;
+        this.dbDir = dbDir;
+        this.checkpointsDir = new File(baseDir, "checkpoints");
+        this.lastShipMs = System.currentTimeMillis();
+        this.shipper = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "rocksdb-checkpoint-shipper-" + baseDir.getName());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Make sure the db directory holds the latest state, before the db is opened.
+     */
+    void restore() throws IOException {
+        deleteRecursively(checkpointsDir.toPath());
+        Files.createDirectories(checkpointsDir.toPath());
+        File download = new File(baseDir, MANIFEST + ".download");
+        if (!store.download(MANIFEST, download)) {
+            LOG.info("No checkpoint of {} in the store yet", dbDir);
+            return;
+        }
+        List<String> lines = Files.readAllLines(download.toPath(), StandardCharsets.UTF_8);
+        Files.delete(download.toPath());
+        String id = lines.get(0);
+        Map<String, String> files = new TreeMap<>();
+        for (String line : lines.subList(1, lines.size())) {
+            String[] parts = line.split(" ", 2);
+            files.put(parts[0], parts[1]);
+        }
+        File shippedFile = new File(baseDir, SHIPPED_FILE);
+        if (dbDir.exists() && shippedFile.exists() && Files.readAllLines(shippedFile.toPath(), StandardCharsets.UTF_8).contains(id)) {
+            LOG.info("Using local db {} that continues from checkpoint {}", dbDir, id);
+        } else {
+            LOG.info("Restoring {} from checkpoint {} with {} files", dbDir, id, files.size());
+            File restoreDir = new File(baseDir, dbDir.getName() + ".restore");
+            deleteRecursively(restoreDir.toPath());
+            Files.createDirectories(restoreDir.toPath());
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                if (!store.download(file.getValue(), new File(restoreDir, file.getKey()))) {
+                    throw new IOException("File " + file.getValue() + " of checkpoint " + id + " is missing from the store");
+                }
+            }
+            deleteRecursively(dbDir.toPath());
+            Files.move(restoreDir.toPath(), dbDir.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            writeShipped(Collections.singletonList(id));
+        }
+        shipped = files;
+        shippedId = id;
+    }
+
+    /**
+     * Ship a checkpoint of the db, if it is time to. It is called after commits, which may run on the executor thread or on the one
+     * that does the async commits.
+     *
+     * @param db   the db
+     * @param txid the transaction that was just committed
+     */
+    synchronized void maybeShip(RocksDB db, long txid) {
+        long now = System.currentTimeMillis();
+        if (now - lastShipMs < intervalMs || !shipping.compareAndSet(false, true)) {
+            return;
+        }
+        lastShipMs = now;
+        String id = lineage + "-" + (++sequence);
+        File dir = new File(checkpointsDir, id);
+        try (Checkpoint checkpoint = Checkpoint.create(db)) {
+            checkpoint.createCheckpoint(dir.getPath());
+        } catch (RocksDBException e) {
+            LOG.warn("Could not take checkpoint {} of {}", id, dbDir, e);
+            shipping.set(false);
+            return;
+        }
+        shipper.submit(() -> ship(id, txid, dir));
+    }
+
+    private void ship(String id, long txid, File dir) {
+        try {
+            Map<String, String> files = new TreeMap<>();
+            for (File file : dir.listFiles()) {
+                String name = file.getName();
+                String stored = name.endsWith(SST_SUFFIX) ? shipped.get(name) : null;
+                if (stored == null) {
+                    stored = (name.endsWith(SST_SUFFIX) ? lineage : id) + "-" + name;
+                    store.upload(stored, file);
+                }
+                files.put(name, stored);
+            }
+            List<String> lines = new ArrayList<>();
+            lines.add(id);
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                lines.add(file.getKey() + " " + file.getValue());
+            }
+            File manifest = new File(dir, MANIFEST);
+            Files.write(manifest.toPath(), lines, StandardCharsets.UTF_8);
+            List<String> ids = new ArrayList<>();
+            if (shippedId != null) {
+                ids.add(shippedId);
+            }
+            ids.add(id);
+            writeShipped(ids);
+            store.upload(MANIFEST, manifest);
+            writeShipped(Collections.singletonList(id));
+            LOG.debug("Shipped checkpoint {} of {} at txid {}", id, dbDir, txid);
+
+            Set<String> stillUsed = new HashSet<>(files.values());
+            for (String stored : shipped.values()) {
+                if (!stillUsed.contains(stored)) {
+                    try {
+                        store.delete(stored);
+                    } catch (IOException e) {
+                        LOG.warn("Could not delete {} of an old checkpoint of {}", stored, dbDir, e);
+                    }
+                }
+            }
+            shipped = files;
+            shippedId = id;
+        } catch (Exception e) {
+            LOG.warn("Could not ship checkpoint {} of {}, will try again with a later one", id, dbDir, e);
+        } finally {
+            try {
+                deleteRecursively(dir.toPath());
+            } catch (IOException e) {
+                LOG.warn("Could not delete checkpoint {}", dir, e);
+            }
+            shipping.set(false);
+        }
+    }
+
+    // package access for unit tests
+    boolean isShipping() {
+        return shipping.get();
+    }
+
+    private void writeShipped(List<String> ids) throws IOException {
+        Path tmp = new File(baseDir, SHIPPED_FILE + ".tmp").toPath();
+        Files.write(tmp, ids, StandardCharsets.UTF_8);
+        Files.move(tmp, new File(baseDir, SHIPPED_FILE).toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    void close() {
+        shipper.shutdown();
+    }
+
+    static void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(path)) {
+            for (Path p : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(p);
+            }
+        }
+    }
+}
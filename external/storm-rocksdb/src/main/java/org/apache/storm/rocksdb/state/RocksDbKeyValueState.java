@@ -0,0 +1,354 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.rocksdb.state;
+
+import com.google.common.primitives.UnsignedBytes;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import org.apache.storm.state.AsyncCommitState;
+import org.apache.storm.state.DefaultStateEncoder;
+import org.apache.storm.state.DefaultStateSerializer;
+import org.apache.storm.state.KeyValueState;
+import org.apache.storm.state.Serializer;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.DBOptions;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A RocksDB based implementation that keeps the state on the local disk of the worker.
+ *
+ * <p>The committed state, the prepared one and the transaction ids are column families of the same db, so that commit moves the prepared
+ * state over in a single atomic write. When a {@link CheckpointStore} is given, checkpoints of the db are shipped to it in the background
+ * and the db is restored from the latest one if the task starts on a host without it, see {@link RocksDbCheckpoints}. The synced writes of
+ * prepare and commit can be done on another thread, see {@link AsyncCommitState}.
+ */
+public class RocksDbKeyValueState<K, V> implements KeyValueState<K, V>, AsyncCommitState, Closeable {
+    public static final int ITERATOR_CHUNK_SIZE = 1000;
+    public static final NavigableMap<byte[], byte[]> EMPTY_PENDING_COMMIT_MAP = Collections.unmodifiableNavigableMap(
+        new TreeMap<byte[], byte[]>(UnsignedBytes.lexicographicalComparator()));
+    private static final Logger LOG = LoggerFactory.getLogger(RocksDbKeyValueState.class);
+    private static final byte[] PREPARE_FAMILY = "prepare".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TXID_FAMILY = "txid".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] COMMIT_TXID_KEY = "commit".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PREPARE_TXID_KEY = "prepare".getBytes(StandardCharsets.UTF_8);
+
+    private final DefaultStateEncoder<K, V> encoder;
+    private final RocksDbCheckpoints checkpoints;
+    private final DBOptions options;
+    private final WriteOptions writeOptions;
+    private final List<ColumnFamilyHandle> handles = new ArrayList<>();
+    private final RocksDB db;
+    private final ColumnFamilyHandle data;
+    private final ColumnFamilyHandle prepared;
+    private final ColumnFamilyHandle txids;
+    private ConcurrentNavigableMap<byte[], byte[]> pendingPrepare;
+    // set to empty by a commit that may run on another thread
+    private volatile NavigableMap<byte[], byte[]> pendingCommit;
+    // set by a commit that may run on another thread, and read by the executor thread to check the next txids
+    private volatile Long committedTxid;
+    private volatile Long preparedTxid;
+
+    public RocksDbKeyValueState(String dir) throws IOException {
+        this(dir, null, 0, new DefaultStateSerializer<K>(), new DefaultStateSerializer<V>());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param dir                  the local directory of the state, the db is in a sub directory of it
+     * @param store                the store to ship checkpoints to, or null to only keep the state on the local disk
+     * @param checkpointIntervalMs how often to ship a checkpoint at most
+     * @param keySerializer        the serializer of the keys
+     * @param valueSerializer      the serializer of the values
+     */
+    public RocksDbKeyValueState(String dir, CheckpointStore store, long checkpointIntervalMs,
+                                Serializer<K> keySerializer, Serializer<V> valueSerializer) throws IOException {
+        this.encoder = new DefaultStateEncoder<K, V>(keySerializer, valueSerializer);
+        File baseDir = new File(dir);
+        File dbDir = new File(baseDir, "db");
+        if (store != null) {
+            checkpoints = new RocksDbCheckpoints(store, checkpointIntervalMs, baseDir, dbDir);
+            checkpoints.restore();
+        } else {
+            checkpoints = null;
+            baseDir.mkdirs();
+        }
+        RocksDB.loadLibrary();
+        options = new DBOptions().setCreateIfMissing(true).setCreateMissingColumnFamilies(true);
+        // without a sync, a host that crashes could come back with a db that misses the latest commits
+        writeOptions = new WriteOptions().setSync(true);
+        List<ColumnFamilyDescriptor> families = Arrays.asList(new ColumnFamilyDescriptor(RocksDB.DEFAULT_COLUMN_FAMILY),
+                                                              new ColumnFamilyDescriptor(PREPARE_FAMILY),
+                                                              new ColumnFamilyDescriptor(TXID_FAMILY));
+        try {
+            LOG.info("Opening RocksDB state in {}", dbDir);
+            db = RocksDB.open(options, dbDir.getPath(), families, handles);
+            data = handles.get(0);
+            prepared = handles.get(1);
+            txids = handles.get(2);
+            committedTxid = readTxid(COMMIT_TXID_KEY);
+            preparedTxid = readTxid(PREPARE_TXID_KEY);
+        } catch (RocksDBException e) {
+            throw new IOException("Could not open RocksDB state in " + dbDir, e);
+        }
+        this.pendingPrepare = createPendingPrepareMap();
+        initPendingCommit();
+    }
+
+    private Long readTxid(byte[] key) throws RocksDBException {
+        byte[] txid = db.get(txids, key);
+        return txid == null ? null : Long.valueOf(new String(txid, StandardCharsets.UTF_8));
+    }
+
+    private void initPendingCommit() {
+        NavigableMap<byte[], byte[]> pendingCommitMap = new TreeMap<>(UnsignedBytes.lexicographicalComparator());
+        try (RocksIterator it = db.newIterator(prepared)) {
+            for (it.seekToFirst(); it.isValid(); it.next()) {
+                pendingCommitMap.put(it.key(), it.value());
+            }
+        }
+        if (pendingCommitMap.isEmpty()) {
+            LOG.debug("No previously prepared commits.");
+            pendingCommit = EMPTY_PENDING_COMMIT_MAP;
+        } else {
+            LOG.debug("Loaded previously prepared commit of txid {}", preparedTxid);
+            pendingCommit = Collections.unmodifiableNavigableMap(pendingCommitMap);
+        }
+    }
+
+    @Override
+    public void put(K key, V value) {
+        LOG.debug("put key '{}', value '{}'", key, value);
+        pendingPrepare.put(encoder.encodeKey(key), encoder.encodeValue(value));
+    }
+
+    @Override
+    public V get(K key) {
+        LOG.debug("get key '{}'", key);
+        byte[] dbKey = encoder.encodeKey(key);
+        byte[] dbValue;
+        NavigableMap<byte[], byte[]> committing = pendingCommit;
+        if (pendingPrepare.containsKey(dbKey)) {
+            dbValue = pendingPrepare.get(dbKey);
+        } else if (committing.containsKey(dbKey)) {
+            dbValue = committing.get(dbKey);
+        } else {
+            try {
+                dbValue = db.get(data, dbKey);
+            } catch (RocksDBException e) {
+                throw new RuntimeException("Fail to get from RocksDB state", e);
+            }
+        }
+        V value = null;
+        if (dbValue != null) {
+            value = encoder.decodeValue(dbValue);
+        }
+        LOG.debug("Value for key '{}' is '{}'", key, value);
+        return value;
+    }
+
+    @Override
+    public V get(K key, V defaultValue) {
+        V val = get(key);
+        return val != null ? val : defaultValue;
+    }
+
+    @Override
+    public V delete(K key) {
+        LOG.debug("delete key '{}'", key);
+        V curr = get(key);
+        pendingPrepare.put(encoder.encodeKey(key), encoder.getTombstoneValue());
+        return curr;
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new RocksDbKeyValueStateIterator<K, V>(db, data, pendingPrepare.entrySet().iterator(), pendingCommit.entrySet().iterator(),
+                                                      ITERATOR_CHUNK_SIZE, encoder.getKeySerializer(), encoder.getValueSerializer());
+    }
+
+    @Override
+    public void prepareCommit(long txid) {
+        prepareCommitAsync(txid).run();
+    }
+
+    @Override
+    public Runnable prepareCommitAsync(long txid) {
+        LOG.debug("prepareCommit txid {}", txid);
+        validatePrepareTxid(txid);
+        ConcurrentNavigableMap<byte[], byte[]> currentPending = pendingPrepare;
+        pendingPrepare = createPendingPrepareMap();
+        // a txid prepared again only adds to what was prepared before, like the prepared hash of the redis state
+        for (Map.Entry<byte[], byte[]> e : pendingCommit.entrySet()) {
+            if (!currentPending.containsKey(e.getKey())) {
+                currentPending.put(e.getKey(), e.getValue());
+            }
+        }
+        preparedTxid = txid;
+        pendingCommit = Collections.unmodifiableNavigableMap(currentPending);
+        return () -> {
+            try (WriteBatch batch = new WriteBatch()) {
+                for (Map.Entry<byte[], byte[]> e : currentPending.entrySet()) {
+                    batch.put(prepared, e.getKey(), e.getValue());
+                }
+                batch.put(txids, PREPARE_TXID_KEY, String.valueOf(txid).getBytes(StandardCharsets.UTF_8));
+                db.write(writeOptions, batch);
+            } catch (RocksDBException e) {
+                throw new RuntimeException("Fail to prepare commit of txid " + txid + " to RocksDB state", e);
+            }
+        };
+    }
+
+    @Override
+    public void commit(long txid) {
+        commitAsync(txid).run();
+    }
+
+    @Override
+    public Runnable commitAsync(long txid) {
+        LOG.debug("commit txid {}", txid);
+        validateCommitTxid(txid);
+        NavigableMap<byte[], byte[]> committing = pendingCommit;
+        return () -> {
+            try (WriteBatch batch = new WriteBatch()) {
+                for (Map.Entry<byte[], byte[]> entry : committing.entrySet()) {
+                    if (Arrays.equals(encoder.getTombstoneValue(), entry.getValue())) {
+                        batch.delete(data, entry.getKey());
+                    } else {
+                        batch.put(data, entry.getKey(), entry.getValue());
+                    }
+                    batch.delete(prepared, entry.getKey());
+                }
+                batch.put(txids, COMMIT_TXID_KEY, String.valueOf(txid).getBytes(StandardCharsets.UTF_8));
+                db.write(writeOptions, batch);
+            } catch (RocksDBException e) {
+                throw new RuntimeException("Fail to commit txid " + txid + " to RocksDB state", e);
+            }
+            committedTxid = txid;
+            // only once the values are in the db, gets stop looking at them here
+            pendingCommit = EMPTY_PENDING_COMMIT_MAP;
+            if (checkpoints != null) {
+                checkpoints.maybeShip(db, txid);
+            }
+        };
+    }
+
+    @Override
+    public void commit() {
+        if (pendingPrepare.isEmpty()) {
+            LOG.debug("Nothing to save for commit");
+            return;
+        }
+        try (WriteBatch batch = new WriteBatch()) {
+            for (Map.Entry<byte[], byte[]> entry : pendingPrepare.entrySet()) {
+                if (Arrays.equals(encoder.getTombstoneValue(), entry.getValue())) {
+                    batch.delete(data, entry.getKey());
+                } else {
+                    batch.put(data, entry.getKey(), entry.getValue());
+                }
+            }
+            db.write(writeOptions, batch);
+        } catch (RocksDBException e) {
+            throw new RuntimeException("Fail to commit to RocksDB state", e);
+        }
+        pendingPrepare = createPendingPrepareMap();
+        if (checkpoints != null) {
+            checkpoints.maybeShip(db, committedTxid == null ? -1 : committedTxid);
+        }
+    }
+
+    @Override
+    public void rollback() {
+        LOG.debug("rollback");
+        try (WriteBatch batch = new WriteBatch()) {
+            try (RocksIterator it = db.newIterator(prepared)) {
+                for (it.seekToFirst(); it.isValid(); it.next()) {
+                    batch.delete(prepared, it.key());
+                }
+            }
+            if (committedTxid != null) {
+                batch.put(txids, PREPARE_TXID_KEY, String.valueOf(committedTxid).getBytes(StandardCharsets.UTF_8));
+            } else {
+                batch.delete(txids, PREPARE_TXID_KEY);
+            }
+            db.write(writeOptions, batch);
+        } catch (RocksDBException e) {
+            throw new RuntimeException("Fail to rollback RocksDB state", e);
+        }
+        preparedTxid = committedTxid;
+        pendingCommit = EMPTY_PENDING_COMMIT_MAP;
+        pendingPrepare = createPendingPrepareMap();
+    }
+
+    /**
+     * Stop shipping checkpoints and close the db, which the executor of the bolt does in its cleanup.
+     */
+    @Override
+    public void close() {
+        if (checkpoints != null) {
+            checkpoints.close();
+        }
+        for (ColumnFamilyHandle handle : handles) {
+            handle.close();
+        }
+        db.close();
+        writeOptions.close();
+        options.close();
+    }
+
+    /*
+     * Same txid can be prepared again, but the next txid cannot be prepared
+     * when previous one is not committed yet.
+     */
+    private void validatePrepareTxid(long txid) {
+        if (committedTxid != null && txid <= committedTxid) {
+            throw new RuntimeException("Invalid txid '" + txid + "' for prepare. Txid '" + committedTxid + "' is already committed");
+        }
+    }
+
+    /*
+     * Same txid can be committed again but the
+     * txid to be committed must be the last prepared one.
+     */
+    private void validateCommitTxid(long txid) {
+        if (committedTxid != null && txid < committedTxid) {
+            throw new RuntimeException("Invalid txid '" + txid + "' txid '" + committedTxid + "' is already committed");
+        }
+        if (preparedTxid != null && txid != preparedTxid) {
+            throw new RuntimeException("Invalid txid '" + txid + "' not same as prepared txid '" + preparedTxid + "'");
+        }
+    }
+
+    private ConcurrentNavigableMap<byte[], byte[]> createPendingPrepareMap() {
+        return new ConcurrentSkipListMap<>(UnsignedBytes.lexicographicalComparator());
+    }
+}
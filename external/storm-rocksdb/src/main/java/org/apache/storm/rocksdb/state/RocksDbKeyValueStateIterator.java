@@ -0,0 +1,109 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.rocksdb.state;
+
+import com.google.common.primitives.UnsignedBytes;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import org.apache.storm.state.BaseBinaryStateIterator;
+import org.apache.storm.state.DefaultStateEncoder;
+import org.apache.storm.state.Serializer;
+import org.apache.storm.state.StateEncoder;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksIterator;
+
+/**
+ * An iterator over {@link RocksDbKeyValueState}.
+ */
+public class RocksDbKeyValueStateIterator<K, V> extends BaseBinaryStateIterator<K, V> {
+
+    private final RocksDB db;
+    private final ColumnFamilyHandle columnFamily;
+    private final int chunkSize;
+    private final StateEncoder<K, V, byte[], byte[]> encoder;
+    private byte[] cursorKey;
+    private boolean endOfData;
+    private Iterator<Map.Entry<byte[], byte[]>> cachedResultIterator;
+
+    /**
+     * Constructor.
+     *
+     * @param db                     The db of the state
+     * @param columnFamily           The column family of the committed state
+     * @param pendingPrepareIterator The iterator of pendingPrepare
+     * @param pendingCommitIterator  The iterator of pendingCommit
+     * @param chunkSize              The size of chunk to get entries from the db
+     * @param keySerializer          The serializer of key
+     * @param valueSerializer        The serializer of value
+     */
+    public RocksDbKeyValueStateIterator(RocksDB db, ColumnFamilyHandle columnFamily,
+                                        Iterator<Map.Entry<byte[], byte[]>> pendingPrepareIterator,
+                                        Iterator<Map.Entry<byte[], byte[]>> pendingCommitIterator,
+                                        int chunkSize, Serializer<K> keySerializer, Serializer<V> valueSerializer) {
+        super(pendingPrepareIterator, pendingCommitIterator);
+        this.db = db;
+        this.columnFamily = columnFamily;
+        this.chunkSize = chunkSize;
+        this.encoder = new DefaultStateEncoder<K, V>(keySerializer, valueSerializer);
+    }
+
+    @Override
+    protected Iterator<Map.Entry<byte[], byte[]>> loadChunkFromStateStorage() {
+        Map<byte[], byte[]> chunk = new TreeMap<>(UnsignedBytes.lexicographicalComparator());
+        try (RocksIterator it = db.newIterator(columnFamily)) {
+            if (cursorKey == null) {
+                it.seekToFirst();
+            } else {
+                it.seek(cursorKey);
+            }
+            byte[] lastKey = null;
+            for (; it.isValid() && chunk.size() < chunkSize; it.next()) {
+                lastKey = it.key();
+                chunk.put(lastKey, it.value());
+            }
+            endOfData = !it.isValid();
+            if (lastKey != null) {
+                // the smallest key after the last one
+                cursorKey = Arrays.copyOf(lastKey, lastKey.length + 1);
+            }
+        }
+        cachedResultIterator = chunk.entrySet().iterator();
+        return cachedResultIterator;
+    }
+
+    @Override
+    protected boolean isEndOfDataFromStorage() {
+        if (cachedResultIterator != null && cachedResultIterator.hasNext()) {
+            return false;
+        }
+        return endOfData;
+    }
+
+    @Override
+    protected K decodeKey(byte[] key) {
+        return encoder.decodeKey(key);
+    }
+
+    @Override
+    protected V decodeValue(byte[] value) {
+        return encoder.decodeValue(value);
+    }
+
+    @Override
+    protected boolean isTombstoneValue(byte[] value) {
+        return Arrays.equals(value, encoder.getTombstoneValue());
+    }
+}
@@ -0,0 +1,206 @@
+package org.apache.storm.rocksdb.state;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rocksdb.FlushOptions;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+
+public class TestRocksDbCheckpoints {
+    private static final long WAIT_MS = TimeUnit.SECONDS.toMillis(30);
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private File storeDir;
+    private FileSystemCheckpointStore store;
+
+    @BeforeClass
+    public static void loadLibrary() {
+        RocksDB.loadLibrary();
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        File root = tmp.newFolder("store");
+        store = new FileSystemCheckpointStore();
+        store.prepare(Collections.emptyMap(), "state", Collections.singletonMap(FileSystemCheckpointStore.DIR, root.getPath()));
+        storeDir = new File(root, "state");
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static RocksDB open(File dbDir) throws Exception {
+        try (Options options = new Options().setCreateIfMissing(true)) {
+            return RocksDB.open(options, dbDir.getPath());
+        }
+    }
+
+    /**
+     * The checkpoints of a db in a directory of its own, as a task on one host has them.
+     */
+    private RocksDbCheckpoints checkpoints(String host, long intervalMs) throws Exception {
+        File baseDir = new File(tmp.getRoot(), host);
+        RocksDbCheckpoints checkpoints = new RocksDbCheckpoints(store, intervalMs, baseDir, new File(baseDir, "db"));
+        checkpoints.restore();
+        return checkpoints;
+    }
+
+    private static File dbDir(String host, TemporaryFolder tmp) {
+        return new File(new File(tmp.getRoot(), host), "db");
+    }
+
+    private static void ship(RocksDbCheckpoints checkpoints, RocksDB db, long txid) throws Exception {
+        try (FlushOptions flush = new FlushOptions().setWaitForFlush(true)) {
+            db.flush(flush);
+        }
+        checkpoints.maybeShip(db, txid);
+        assertTrue("a checkpoint is being shipped", checkpoints.isShipping());
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (checkpoints.isShipping()) {
+            assertTrue("the checkpoint was shipped in time", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private Set<String> filesInStore() {
+        Set<String> names = new HashSet<>();
+        for (File file : storeDir.listFiles()) {
+            names.add(file.getName());
+        }
+        return names;
+    }
+
+    private Set<String> filesOfManifest() throws Exception {
+        List<String> lines = Files.readAllLines(new File(storeDir, RocksDbCheckpoints.MANIFEST).toPath(), StandardCharsets.UTF_8);
+        Set<String> names = new HashSet<>();
+        for (String line : lines.subList(1, lines.size())) {
+            names.add(line.split(" ", 2)[1]);
+        }
+        return names;
+    }
+
+    @Test
+    public void testRestoreOnAnotherHost() throws Exception {
+        RocksDbCheckpoints first = checkpoints("first", 0);
+        try (RocksDB db = open(dbDir("first", tmp))) {
+            db.put(bytes("a"), bytes("1"));
+            ship(first, db, 1);
+        }
+        first.close();
+
+        RocksDbCheckpoints second = checkpoints("second", 0);
+        try (RocksDB db = open(dbDir("second", tmp))) {
+            assertArrayEquals(bytes("1"), db.get(bytes("a")));
+        }
+        second.close();
+    }
+
+    @Test
+    public void testLocalDbIsKeptWhenItContinuesFromLatestCheckpoint() throws Exception {
+        RocksDbCheckpoints first = checkpoints("first", 0);
+        try (RocksDB db = open(dbDir("first", tmp))) {
+            db.put(bytes("a"), bytes("1"));
+            ship(first, db, 1);
+            // committed after the checkpoint, a restart on the same host must not lose it
+            db.put(bytes("b"), bytes("2"));
+        }
+        first.close();
+
+        RocksDbCheckpoints restarted = checkpoints("first", 0);
+        try (RocksDB db = open(dbDir("first", tmp))) {
+            assertArrayEquals(bytes("1"), db.get(bytes("a")));
+            assertArrayEquals(bytes("2"), db.get(bytes("b")));
+        }
+        restarted.close();
+    }
+
+    @Test
+    public void testLocalDbIsReplacedWhenAnotherHostShippedLater() throws Exception {
+        RocksDbCheckpoints first = checkpoints("first", 0);
+        try (RocksDB db = open(dbDir("first", tmp))) {
+            db.put(bytes("a"), bytes("1"));
+            ship(first, db, 1);
+        }
+        first.close();
+
+        // the task moved to another host, which went on from the checkpoint
+        RocksDbCheckpoints second = checkpoints("second", 0);
+        try (RocksDB db = open(dbDir("second", tmp))) {
+            db.put(bytes("a"), bytes("2"));
+            ship(second, db, 2);
+        }
+        second.close();
+
+        RocksDbCheckpoints back = checkpoints("first", 0);
+        try (RocksDB db = open(dbDir("first", tmp))) {
+            assertArrayEquals("the stale local db is not used", bytes("2"), db.get(bytes("a")));
+        }
+        back.close();
+    }
+
+    @Test
+    public void testOnlyFilesOfLatestCheckpointAreKept() throws Exception {
+        RocksDbCheckpoints checkpoints = checkpoints("first", 0);
+        try (RocksDB db = open(dbDir("first", tmp))) {
+            for (int txid = 1; txid <= 4; txid++) {
+                db.put(bytes("key-" + txid), bytes("value-" + txid));
+                if (txid == 3) {
+                    // merges the sst files, so the ones shipped before are no longer part of the db
+                    db.compactRange();
+                }
+                ship(checkpoints, db, txid);
+
+                Set<String> expected = filesOfManifest();
+                expected.add(RocksDbCheckpoints.MANIFEST);
+                assertEquals("the files of older checkpoints are deleted from the store", expected, filesInStore());
+            }
+        }
+        checkpoints.close();
+
+        RocksDbCheckpoints restored = checkpoints("second", 0);
+        try (RocksDB db = open(dbDir("second", tmp))) {
+            for (int txid = 1; txid <= 4; txid++) {
+                assertArrayEquals(bytes("value-" + txid), db.get(bytes("key-" + txid)));
+            }
+        }
+        restored.close();
+    }
+
+    @Test
+    public void testShippingWaitsForInterval() throws Exception {
+        RocksDbCheckpoints checkpoints = checkpoints("first", TimeUnit.HOURS.toMillis(1));
+        try (RocksDB db = open(dbDir("first", tmp))) {
+            db.put(bytes("a"), bytes("1"));
+            checkpoints.maybeShip(db, 1);
+            assertFalse(checkpoints.isShipping());
+        }
+        checkpoints.close();
+        assertFalse(new File(storeDir, RocksDbCheckpoints.MANIFEST).exists());
+
+        RocksDbCheckpoints second = checkpoints("second", 0);
+        try (RocksDB db = open(dbDir("second", tmp))) {
+            assertNull("nothing was shipped to restore from", db.get(bytes("a")));
+        }
+        second.close();
+    }
+}
@@ -0,0 +1,183 @@
+package org.apache.storm.rocksdb.state;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.storm.state.Serializer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestRocksDbKeyValueState {
+    private static final long WAIT_MS = TimeUnit.SECONDS.toMillis(30);
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private RocksDbKeyValueState<String, String> state;
+    private ExecutorService committer;
+
+    private static class StringSerializer implements Serializer<String> {
+        @Override
+        public byte[] serialize(String obj) {
+            return obj.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String deserialize(byte[] b) {
+            return new String(b, StandardCharsets.UTF_8);
+        }
+    }
+
+    private RocksDbKeyValueState<String, String> open(String dir, CheckpointStore store) throws Exception {
+        return new RocksDbKeyValueState<>(new File(tmp.getRoot(), dir).getPath(), store, 0, new StringSerializer(), new StringSerializer());
+    }
+
+    private void reopen() throws Exception {
+        state.close();
+        state = open("state", null);
+    }
+
+    private static void assertFails(Runnable action) {
+        try {
+            action.run();
+            fail("expected the txid to be rejected");
+        } catch (RuntimeException e) {
+            // expected
+        }
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        state = open("state", null);
+        committer = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        committer.shutdownNow();
+        state.close();
+    }
+
+    @Test
+    public void testCommittedStateSurvivesRestart() throws Exception {
+        state.put("a", "1");
+        state.put("b", "2");
+        state.prepareCommit(1);
+        state.commit(1);
+        state.delete("b");
+        state.prepareCommit(2);
+        state.commit(2);
+
+        reopen();
+        assertEquals("1", state.get("a"));
+        assertNull(state.get("b"));
+        assertFails(() -> state.prepareCommit(2));
+    }
+
+    @Test
+    public void testTxidRules() {
+        state.put("a", "1");
+        state.prepareCommit(1);
+        assertFails(() -> state.commit(2));
+        state.prepareCommit(1);
+        state.commit(1);
+        state.commit(1);
+        assertFails(() -> state.prepareCommit(1));
+        assertFails(() -> state.prepareCommit(0));
+
+        state.prepareCommit(2);
+        assertFails(() -> state.commit(0));
+        assertFails(() -> state.commit(3));
+        state.commit(2);
+    }
+
+    @Test
+    public void testPreparedStateSurvivesRestart() throws Exception {
+        state.put("a", "1");
+        state.prepareCommit(1);
+
+        reopen();
+        assertEquals("what was prepared is seen before it is committed", "1", state.get("a"));
+        assertFails(() -> state.commit(2));
+        state.commit(1);
+        assertEquals("1", state.get("a"));
+    }
+
+    @Test
+    public void testRollbackDropsPrepared() throws Exception {
+        state.put("a", "1");
+        state.prepareCommit(1);
+        state.commit(1);
+        state.put("a", "2");
+        state.put("b", "3");
+        state.prepareCommit(2);
+        state.rollback();
+
+        assertEquals("1", state.get("a"));
+        assertNull(state.get("b"));
+        reopen();
+        assertEquals("1", state.get("a"));
+        assertNull(state.get("b"));
+        state.prepareCommit(2);
+        state.commit(2);
+    }
+
+    @Test
+    public void testAsyncCommitOnAnotherThread() throws Exception {
+        state.put("a", "1");
+        committer.submit(state.prepareCommitAsync(1)).get(WAIT_MS, TimeUnit.MILLISECONDS);
+        state.put("a", "2");
+        Runnable commit = state.commitAsync(1);
+        assertEquals("changes after the prepare belong to the next txid", "2", state.get("a"));
+        committer.submit(commit).get(WAIT_MS, TimeUnit.MILLISECONDS);
+
+        // the txid the other thread committed is what the next prepare is checked against
+        assertFails(() -> state.prepareCommitAsync(1));
+        committer.submit(state.prepareCommitAsync(2)).get(WAIT_MS, TimeUnit.MILLISECONDS);
+        committer.submit(state.commitAsync(2)).get(WAIT_MS, TimeUnit.MILLISECONDS);
+
+        reopen();
+        assertEquals("2", state.get("a"));
+    }
+
+    @Test
+    public void testRestoreFromCheckpointOnAnotherHost() throws Exception {
+        File root = tmp.newFolder("store");
+        FileSystemCheckpointStore store = new FileSystemCheckpointStore();
+        store.prepare(Collections.emptyMap(), "state", Collections.singletonMap(FileSystemCheckpointStore.DIR, root.getPath()));
+        File manifest = new File(new File(root, "state"), RocksDbCheckpoints.MANIFEST);
+
+        RocksDbKeyValueState<String, String> first = open("first", store);
+        first.put("a", "1");
+        first.prepareCommit(1);
+        first.commit(1);
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (!manifest.exists()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("no checkpoint was shipped after the commit");
+            }
+            Thread.sleep(10);
+        }
+        first.close();
+
+        RocksDbKeyValueState<String, String> second = open("second", store);
+        try {
+            assertEquals("1", second.get("a"));
+            assertFails(() -> second.prepareCommit(1));
+            second.prepareCommit(2);
+            second.commit(2);
+        } finally {
+            second.close();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.benchmarks;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.storm.daemon.Acker;
+import org.apache.storm.task.IOutputCollector;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.WorkerTopologyContext;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.TupleImpl;
+import org.apache.storm.tuple.Values;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Cost of the acker bookkeeping for one tuple tree: an {@code __ack_init} followed, {@code inFlight} trees later, by the
+ * {@code __ack_ack} that completes it. The number of trees in flight controls how large the pending map is while this happens.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AckerBenchmark {
+    private static final int SPOUT_TASK = 1;
+
+    @Param({"1000", "100000"})
+    public int inFlight;
+
+    private Acker acker;
+    private TupleImpl[] inits;
+    private TupleImpl[] acks;
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void setup(Blackhole bh) {
+        Map<String, Object> conf = BenchmarkTopology.conf();
+        WorkerTopologyContext context = BenchmarkTopology.workerContext(conf, 1, 1);
+        acker = new Acker();
+        acker.prepare(conf, null, new OutputCollector(new BlackholeOutputCollector(bh)));
+
+        Random random = new Random(42);
+        inits = new TupleImpl[inFlight];
+        acks = new TupleImpl[inFlight];
+        for (int i = 0; i < inFlight; i++) {
+            long rootId = random.nextLong();
+            long ackVal = random.nextLong();
+            inits[i] = new TupleImpl(context, new Values(rootId, ackVal, SPOUT_TASK), BenchmarkTopology.SPOUT_ID, SPOUT_TASK,
+                                     Acker.ACKER_INIT_STREAM_ID);
+            acks[i] = new TupleImpl(context, new Values(rootId, ackVal), BenchmarkTopology.BOLT_ID, SPOUT_TASK + 1,
+                                    Acker.ACKER_ACK_STREAM_ID);
+            acker.execute(inits[i]);
+        }
+        next = 0;
+    }
+
+    @Benchmark
+    public void completeAndInit() {
+        int idx = next;
+        next = (next + 1) % inFlight;
+        acker.execute(acks[idx]);
+        acker.execute(inits[idx]);
+    }
+
+    private static class BlackholeOutputCollector implements IOutputCollector {
+        private final Blackhole bh;
+
+        BlackholeOutputCollector(Blackhole bh) {
+            this.bh = bh;
+        }
+
+        @Override
+        public List<Integer> emit(String streamId, Collection<Tuple> anchors, List<Object> tuple) {
+            bh.consume(tuple);
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void emitDirect(int taskId, String streamId, Collection<Tuple> anchors, List<Object> tuple) {
+            bh.consume(tuple);
+        }
+
+        @Override
+        public void ack(Tuple input) {
+            bh.consume(input);
+        }
+
+        @Override
+        public void fail(Tuple input) {
+            bh.consume(input);
+        }
+
+        @Override
+        public void resetTimeout(Tuple input) {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void reportError(Throwable error) {
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.storm.generated.NodeInfo;
+import org.apache.storm.generated.StormTopology;
+import org.apache.storm.spout.SpoutOutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.task.WorkerTopologyContext;
+import org.apache.storm.topology.BasicOutputCollector;
+import org.apache.storm.topology.OutputFieldsDeclarer;
+import org.apache.storm.topology.TopologyBuilder;
+import org.apache.storm.topology.base.BaseBasicBolt;
+import org.apache.storm.topology.base.BaseRichSpout;
+import org.apache.storm.tuple.Fields;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
+import org.apache.storm.utils.Utils;
+
+/**
+ * A minimal spout -> bolt topology and the worker context that goes with it, shared by the benchmarks that need a
+ * {@link WorkerTopologyContext} (serialization, groupings, acking).
+ *
+ * <p>Spout tasks are numbered from 1, bolt tasks follow immediately after. All tasks are placed on a single worker.
+ */
+public final class BenchmarkTopology {
+    public static final String SPOUT_ID = "spout";
+    public static final String BOLT_ID = "bolt";
+    public static final String TOPOLOGY_ID = "benchmark-1-1";
+    public static final String NODE_ID = "benchmark-node";
+    public static final int PORT = 6700;
+    public static final Fields SPOUT_FIELDS = new Fields("key", "count", "payload");
+
+    private BenchmarkTopology() {
+    }
+
+    public static Map<String, Object> conf() {
+        return Utils.readDefaultConfig();
+    }
+
+    public static WorkerTopologyContext workerContext(Map<String, Object> conf, int spoutTasks, int boltTasks) {
+        TopologyBuilder builder = new TopologyBuilder();
+        builder.setSpout(SPOUT_ID, new NoopSpout(), spoutTasks);
+        builder.setBolt(BOLT_ID, new NoopBolt(), boltTasks).shuffleGrouping(SPOUT_ID);
+        StormTopology topology = builder.createTopology();
+
+        Map<Integer, String> taskToComponent = new HashMap<>();
+        Map<String, List<Integer>> componentToSortedTasks = new HashMap<>();
+        componentToSortedTasks.put(SPOUT_ID, new ArrayList<>());
+        componentToSortedTasks.put(BOLT_ID, new ArrayList<>());
+        Map<Integer, NodeInfo> taskToNodePort = new HashMap<>();
+        NodeInfo nodeInfo = new NodeInfo(NODE_ID, Collections.singleton((long) PORT));
+        int taskId = 1;
+        for (int i = 0; i < spoutTasks; i++, taskId++) {
+            taskToComponent.put(taskId, SPOUT_ID);
+            componentToSortedTasks.get(SPOUT_ID).add(taskId);
+            taskToNodePort.put(taskId, nodeInfo);
+        }
+        for (int i = 0; i < boltTasks; i++, taskId++) {
+            taskToComponent.put(taskId, BOLT_ID);
+            componentToSortedTasks.get(BOLT_ID).add(taskId);
+            taskToNodePort.put(taskId, nodeInfo);
+        }
+
+        Map<String, Map<String, Fields>> componentToStreamToFields = new HashMap<>();
+        componentToStreamToFields.put(SPOUT_ID, Collections.singletonMap(Utils.DEFAULT_STREAM_ID, SPOUT_FIELDS));
+        componentToStreamToFields.put(BOLT_ID, Collections.emptyMap());
+
+        return new WorkerTopologyContext(topology, conf, taskToComponent, componentToSortedTasks, componentToStreamToFields,
+                                         TOPOLOGY_ID, null, null, PORT, new ArrayList<>(taskToComponent.keySet()),
+                                         new HashMap<>(), new HashMap<>(), new AtomicReference<>(taskToNodePort), NODE_ID,
+                                         new AtomicReference<>(Collections.singletonMap(NODE_ID, "localhost")));
+    }
+
+    public static List<Integer> boltTasks(WorkerTopologyContext context) {
+        return context.getComponentTasks(BOLT_ID);
+    }
+
+    /**
+     * Values shaped like {@link #SPOUT_FIELDS}: a string key, a long counter and a string payload of the given length.
+     */
+    public static Values values(int key, int payloadLength) {
+        StringBuilder payload = new StringBuilder(payloadLength);
+        for (int i = 0; i < payloadLength; i++) {
+            payload.append((char) ('a' + (i % 26)));
+        }
+        return new Values("key-" + key, (long) key, payload.toString());
+    }
+
+    private static class NoopSpout extends BaseRichSpout {
+        @Override
+        public void open(Map<String, Object> conf, TopologyContext context, SpoutOutputCollector collector) {
+        }
+
+        @Override
+        public void nextTuple() {
+        }
+
+        @Override
+        public void declareOutputFields(OutputFieldsDeclarer declarer) {
+            declarer.declare(SPOUT_FIELDS);
+        }
+    }
+
+    private static class NoopBolt extends BaseBasicBolt {
+        @Override
+        public void execute(Tuple input, BasicOutputCollector collector) {
+        }
+
+        @Override
+        public void declareOutputFields(OutputFieldsDeclarer declarer) {
+        }
+    }
+}
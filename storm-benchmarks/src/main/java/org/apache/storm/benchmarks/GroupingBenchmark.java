@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.storm.daemon.GrouperFactory;
+import org.apache.storm.generated.GlobalStreamId;
+import org.apache.storm.generated.Grouping;
+import org.apache.storm.grouping.ConsistentHashGrouping;
+import org.apache.storm.grouping.LoadAwarePartialKeyGrouping;
+import org.apache.storm.grouping.LoadAwareShuffleGrouping;
+import org.apache.storm.grouping.PartialKeyGrouping;
+import org.apache.storm.task.WorkerTopologyContext;
+import org.apache.storm.tuple.Fields;
+import org.apache.storm.utils.Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-tuple cost of choosing the destination tasks, which every emit pays once per outbound grouping.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GroupingBenchmark {
+    private static final int DISTINCT_KEYS = 1024;
+
+    @Param({"4", "64"})
+    public int targetTasks;
+
+    private LoadAwareShuffleGrouping shuffle;
+    private PartialKeyGrouping partialKey;
+    private LoadAwarePartialKeyGrouping loadAwarePartialKey;
+    private GrouperFactory.FieldsGrouper fields;
+    private ConsistentHashGrouping consistentHash;
+    private List<List<Object>> values;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        WorkerTopologyContext context = BenchmarkTopology.workerContext(BenchmarkTopology.conf(), 1, targetTasks);
+        GlobalStreamId stream = new GlobalStreamId(BenchmarkTopology.SPOUT_ID, Utils.DEFAULT_STREAM_ID);
+        List<Integer> targets = BenchmarkTopology.boltTasks(context);
+
+        shuffle = new LoadAwareShuffleGrouping();
+        shuffle.prepare(context, stream, targets);
+
+        partialKey = new PartialKeyGrouping(new Fields("key"));
+        partialKey.prepare(context, stream, targets);
+
+        loadAwarePartialKey = new LoadAwarePartialKeyGrouping(new Fields("key"), 0.1);
+        loadAwarePartialKey.prepare(context, stream, targets);
+
+        fields = new GrouperFactory.FieldsGrouper(BenchmarkTopology.SPOUT_FIELDS, Grouping.fields(Arrays.asList("key")));
+        fields.prepare(context, stream, targets);
+
+        consistentHash = new ConsistentHashGrouping(new Fields("key"));
+        consistentHash.prepare(context, stream, targets);
+
+        values = new ArrayList<>(DISTINCT_KEYS);
+        for (int i = 0; i < DISTINCT_KEYS; i++) {
+            values.add(BenchmarkTopology.values(i, 16));
+        }
+    }
+
+    private List<Object> nextValues() {
+        next = (next + 1) & (DISTINCT_KEYS - 1);
+        return values.get(next);
+    }
+
+    @Benchmark
+    public List<Integer> loadAwareShuffle() {
+        return shuffle.chooseTasks(1, nextValues());
+    }
+
+    @Benchmark
+    public List<Integer> fields() {
+        return fields.chooseTasks(1, nextValues());
+    }
+
+    @Benchmark
+    public List<Integer> consistentHash() {
+        return consistentHash.chooseTasks(1, nextValues());
+    }
+
+    @Benchmark
+    public List<Integer> partialKey() {
+        return partialKey.chooseTasks(1, nextValues());
+    }
+
+    @Benchmark
+    public List<Integer> loadAwarePartialKey() {
+        return loadAwarePartialKey.chooseTasks(1, nextValues());
+    }
+}
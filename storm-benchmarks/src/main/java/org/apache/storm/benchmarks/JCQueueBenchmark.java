@@ -0,0 +1,162 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.benchmarks;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.apache.storm.metrics2.StormMetricRegistry;
+import org.apache.storm.policy.WaitStrategyPark;
+import org.apache.storm.utils.JCQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Publish, consume and batch flush costs of the executor receive queue.
+ *
+ * <p>The single threaded benchmarks measure the per-element cost of the producer batching and the consumer drain loop without any
+ * cross-thread contention. The {@code spsc} group runs a producer and a consumer concurrently, which is how the queue is used between an
+ * upstream executor and a bolt, with the producer batch size either fixed or adaptive.
+ */
+@SuppressWarnings("checkstyle:AbbreviationAsWordInName")
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JCQueueBenchmark {
+    private static final int ELEMENTS_PER_INVOCATION = 512;
+    private static final Object ELEMENT = new Object();
+
+    static JCQueue mkQueue(int size, int producerBatchSize) {
+        return mkQueue(size, producerBatchSize, false);
+    }
+
+    static JCQueue mkQueue(int size, int producerBatchSize, boolean adaptive) {
+        return new JCQueue("benchmark", "benchmark", size, 0, producerBatchSize, adaptive, 1L, new WaitStrategyPark(100),
+                           BenchmarkTopology.TOPOLOGY_ID, "benchmark", Collections.singletonList(1), BenchmarkTopology.PORT,
+                           new StormMetricRegistry());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS_PER_INVOCATION)
+    public int publishThenConsume(SingleThreadState state) throws InterruptedException {
+        for (int i = 0; i < ELEMENTS_PER_INVOCATION; i++) {
+            state.queue.publish(ELEMENT);
+        }
+        state.queue.flush();
+        return state.queue.consume(state.consumer);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS_PER_INVOCATION)
+    public int tryPublishThenTryFlush(SingleThreadState state) {
+        int published = 0;
+        for (int i = 0; i < ELEMENTS_PER_INVOCATION; i++) {
+            if (state.queue.tryPublish(ELEMENT)) {
+                published++;
+            }
+        }
+        state.queue.tryFlush();
+        state.queue.consume(state.consumer);
+        return published;
+    }
+
+    @Benchmark
+    @Group("spsc")
+    @GroupThreads(1)
+    public boolean producer(SharedState state) {
+        return state.queue.tryPublish(ELEMENT);
+    }
+
+    @Benchmark
+    @Group("spsc")
+    @GroupThreads(1)
+    public int consumer(SharedState state) {
+        return state.queue.consume(state.consumer);
+    }
+
+    @State(Scope.Thread)
+    public static class SingleThreadState {
+        @Param({"1", "16", "100"})
+        public int producerBatchSize;
+
+        JCQueue queue;
+        BlackholeConsumer consumer;
+
+        @Setup(Level.Trial)
+        public void setup(Blackhole bh) {
+            queue = mkQueue(ELEMENTS_PER_INVOCATION * 4, producerBatchSize);
+            consumer = new BlackholeConsumer(bh);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            queue.close();
+        }
+    }
+
+    @State(Scope.Group)
+    public static class SharedState {
+        @Param({"1", "16", "100"})
+        public int producerBatchSize;
+
+        @Param({"false", "true"})
+        public boolean adaptive;
+
+        JCQueue queue;
+        BlackholeConsumer consumer;
+
+        @Setup(Level.Trial)
+        public void setup(Blackhole bh) {
+            queue = mkQueue(32768, producerBatchSize, adaptive);
+            consumer = new BlackholeConsumer(bh);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            queue.close();
+        }
+    }
+
+    static class BlackholeConsumer implements JCQueue.Consumer {
+        private final Blackhole bh;
+
+        BlackholeConsumer(Blackhole bh) {
+            this.bh = bh;
+        }
+
+        @Override
+        public void accept(Object event) {
+            bh.consume(event);
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.storm.Config;
+import org.apache.storm.serialization.KryoTupleDeserializer;
+import org.apache.storm.serialization.KryoTupleSerializer;
+import org.apache.storm.task.WorkerTopologyContext;
+import org.apache.storm.tuple.MessageId;
+import org.apache.storm.tuple.TupleImpl;
+import org.apache.storm.utils.Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of turning a tuple into the bytes that go on the wire to another worker, and back, with the ListDelegate serializer and with the
+ * compact encoding ({@code topology.tuple.compact.encoding}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class KryoTupleSerializationBenchmark {
+    @Param({"16", "256", "4096"})
+    public int payloadLength;
+
+    @Param({"true", "false"})
+    public boolean anchored;
+
+    @Param({"false", "true"})
+    public boolean compact;
+
+    private KryoTupleSerializer serializer;
+    private KryoTupleDeserializer deserializer;
+    private TupleImpl tuple;
+    private byte[] serialized;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Map<String, Object> conf = BenchmarkTopology.conf();
+        conf.put(Config.TOPOLOGY_TUPLE_COMPACT_ENCODING, compact);
+        WorkerTopologyContext context = BenchmarkTopology.workerContext(conf, 1, 1);
+        serializer = new KryoTupleSerializer(conf, context);
+        deserializer = new KryoTupleDeserializer(conf, context);
+        MessageId id = anchored ? MessageId.makeRootId(42L, 0x5eed5eedL) : MessageId.makeUnanchored();
+        tuple = new TupleImpl(context, BenchmarkTopology.values(42, payloadLength), BenchmarkTopology.SPOUT_ID, 1,
+                              Utils.DEFAULT_STREAM_ID, id);
+        serialized = serializer.serialize(tuple);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(tuple);
+    }
+
+    @Benchmark
+    public TupleImpl deserialize() {
+        return deserializer.deserialize(serialized);
+    }
+
+    @Benchmark
+    public TupleImpl roundTrip() {
+        return deserializer.deserialize(serializer.serialize(tuple));
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.benchmarks;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.storm.utils.RotatingLongMap;
+import org.apache.storm.utils.RotatingMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The pending map access pattern of the acker and the spout executor: a put when a tuple tree is created, a lookup and a remove when it
+ * completes, and a periodic rotate that expires whatever is left in the oldest bucket. The {@code longMap} variants run the same pattern
+ * against {@link RotatingLongMap}, which the spout executor uses instead of {@link RotatingMap}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RotatingMapBenchmark {
+    private static final int ROTATE_BATCH = 1024;
+
+    @Param({"1000", "100000"})
+    public int pending;
+
+    private RotatingMap<Long, Long> map;
+    private RotatingLongMap<Long> longMap;
+    private long[] ids;
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        map = new RotatingMap<>(3);
+        longMap = new RotatingLongMap<>(3);
+        Random random = new Random(42);
+        ids = new long[pending];
+        for (int i = 0; i < pending; i++) {
+            ids[i] = random.nextLong();
+            map.put(ids[i], (long) i);
+            longMap.put(ids[i], (long) i);
+        }
+        next = 0;
+    }
+
+    /**
+     * Steady state: one tree completes and a new one takes its place, keeping the map at {@code pending} entries.
+     */
+    @Benchmark
+    public Long completeAndReplace() {
+        int idx = next;
+        next = (next + 1) % pending;
+        long old = ids[idx];
+        Long val = map.get(old);
+        map.remove(old);
+        long fresh = old * 0x9E3779B97F4A7C15L + 1;
+        ids[idx] = fresh;
+        map.put(fresh, val);
+        return val;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROTATE_BATCH)
+    public Map<Long, Long> putThenRotate() {
+        for (int i = 0; i < ROTATE_BATCH; i++) {
+            map.put(ids[(next + i) % pending] ^ i, (long) i);
+        }
+        next = (next + ROTATE_BATCH) % pending;
+        return map.rotate();
+    }
+
+    @Benchmark
+    public Long longMapCompleteAndReplace() {
+        int idx = next;
+        next = (next + 1) % pending;
+        long old = ids[idx];
+        Long val = longMap.remove(old);
+        long fresh = old * 0x9E3779B97F4A7C15L + 1;
+        ids[idx] = fresh;
+        longMap.put(fresh, val);
+        return val;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROTATE_BATCH)
+    public int longMapPutThenRotate() {
+        for (int i = 0; i < ROTATE_BATCH; i++) {
+            longMap.put(ids[(next + i) % pending] ^ i, (long) i);
+        }
+        next = (next + ROTATE_BATCH) % pending;
+        return longMap.rotate();
+    }
+}
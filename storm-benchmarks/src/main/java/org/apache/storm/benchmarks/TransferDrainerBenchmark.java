@@ -0,0 +1,175 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.apache.storm.generated.NodeInfo;
+import org.apache.storm.grouping.Load;
+import org.apache.storm.messaging.IConnection;
+import org.apache.storm.messaging.TaskMessage;
+import org.apache.storm.messaging.netty.BackPressureStatus;
+import org.apache.storm.utils.TransferDrainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Transfer thread cost per tuple of grouping one transfer batch by destination worker and handing it to the connections, which here only
+ * consume the iterator. {@code legacy} is the HashMap and Stream.concat grouping that {@link TransferDrainer} used before, kept as the
+ * baseline. Run with {@code -prof gc} to see the allocation rate per tuple.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TransferDrainerBenchmark {
+    private static final int BATCH = 1000;
+    private static final int TASKS_PER_WORKER = 8;
+
+    @Param({"2", "16"})
+    public int workers;
+
+    private Map<Integer, NodeInfo> taskToNode;
+    private Map<NodeInfo, IConnection> connections;
+    private TaskMessage[] batch;
+    private TransferDrainer drainer;
+    private LegacyTransferDrainer legacy;
+
+    @Setup
+    public void setup(Blackhole bh) {
+        int tasks = workers * TASKS_PER_WORKER;
+        taskToNode = new HashMap<>();
+        connections = new HashMap<>();
+        for (int w = 0; w < workers; w++) {
+            NodeInfo node = new NodeInfo(BenchmarkTopology.NODE_ID + w, Collections.singleton((long) BenchmarkTopology.PORT));
+            connections.put(node, new ConsumingConnection(bh));
+            for (int t = 0; t < TASKS_PER_WORKER; t++) {
+                taskToNode.put(1 + w * TASKS_PER_WORKER + t, node);
+            }
+        }
+        batch = new TaskMessage[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            batch[i] = new TaskMessage(1 + (i * 7) % tasks, new byte[16]);
+        }
+        drainer = new TransferDrainer(tasks);
+        legacy = new LegacyTransferDrainer();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void drainer() {
+        for (TaskMessage msg : batch) {
+            drainer.add(msg);
+        }
+        drainer.send(taskToNode, connections);
+        drainer.clear();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void legacy() {
+        for (TaskMessage msg : batch) {
+            legacy.add(msg);
+        }
+        legacy.send(taskToNode, connections);
+        legacy.clear();
+    }
+
+    private static class ConsumingConnection implements IConnection {
+        private final Blackhole bh;
+
+        ConsumingConnection(Blackhole bh) {
+            this.bh = bh;
+        }
+
+        @Override
+        public void send(Iterator<TaskMessage> msgs) {
+            while (msgs.hasNext()) {
+                bh.consume(msgs.next());
+            }
+        }
+
+        @Override
+        public void sendLoadMetrics(Map<Integer, Double> taskToLoad) {
+        }
+
+        @Override
+        public void sendBackPressureStatus(BackPressureStatus bpStatus) {
+        }
+
+        @Override
+        public Map<Integer, Load> getLoad(Collection<Integer> tasks) {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public int getPort() {
+            return BenchmarkTopology.PORT;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * The grouping {@link TransferDrainer} did before it kept per-destination batches.
+     */
+    private static class LegacyTransferDrainer {
+        private final Map<Integer, ArrayList<TaskMessage>> bundles = new HashMap<>();
+
+        void add(TaskMessage taskMsg) {
+            bundles.computeIfAbsent(taskMsg.task(), task -> new ArrayList<>()).add(taskMsg);
+        }
+
+        void send(Map<Integer, NodeInfo> taskToNode, Map<NodeInfo, IConnection> connections) {
+            HashMap<NodeInfo, Stream<TaskMessage>> byDestination = new HashMap<>();
+            for (Map.Entry<Integer, ArrayList<TaskMessage>> entry : bundles.entrySet()) {
+                if (!entry.getValue().isEmpty()) {
+                    byDestination.merge(taskToNode.get(entry.getKey()), entry.getValue().stream(), Stream::concat);
+                }
+            }
+            for (Map.Entry<NodeInfo, Stream<TaskMessage>> entry : byDestination.entrySet()) {
+                Iterator<TaskMessage> iter = entry.getValue().iterator();
+                if (iter.hasNext()) {
+                    connections.get(entry.getKey()).send(iter);
+                }
+            }
+        }
+
+        void clear() {
+            for (ArrayList<TaskMessage> taskMessages : bundles.values()) {
+                taskMessages.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.messaging.netty;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.storm.benchmarks.BenchmarkTopology;
+import org.apache.storm.messaging.TaskMessage;
+import org.apache.storm.serialization.KryoValuesDeserializer;
+import org.apache.storm.shade.io.netty.buffer.ByteBuf;
+import org.apache.storm.shade.io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of compressing a {@link MessageBatch} of JSON like payloads into one frame ({@code storm.messaging.netty.compression.level}), and
+ * of decoding it back with {@link MessageDecoder}, per batch of the default transfer batch size. The size of the frame compared to the
+ * uncompressed batch is printed at setup.
+ *
+ * <p>Lives in the netty package because the batch and the decoder entry point are package private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CompressedMessageBatchBenchmark {
+    private static final int BATCH_BYTES = 262144;
+
+    @Param({"1", "6"})
+    public int level;
+
+    private List<TaskMessage> messages;
+    private MessageDecoder decoder;
+    private ByteBuf encoded;
+    private List<Object> decoded;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        messages = new ArrayList<>();
+        MessageBatch batch = new MessageBatch(BATCH_BYTES);
+        for (int i = 0; !batch.isFull(); i++) {
+            String json = "{\"id\":" + i + ",\"user\":\"user-" + (i % 977) + "\",\"event\":\"" + (i % 3 == 0 ? "click" : "view")
+                          + "\",\"ts\":" + (1600000000000L + i * 37) + ",\"tags\":[\"a\",\"b\"],\"score\":" + (i % 100) / 10.0 + "}";
+            TaskMessage msg = new TaskMessage(i % 64, json.getBytes(StandardCharsets.UTF_8));
+            messages.add(msg);
+            batch.add(msg);
+        }
+        encoded = compress();
+        System.out.println("level " + level + ": " + messages.size() + " messages, " + batch.encodeLength() + " bytes compressed to "
+                           + encoded.readableBytes());
+        decoder = new MessageDecoder(new KryoValuesDeserializer(BenchmarkTopology.conf()));
+        decoded = new ArrayList<>(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        encoded.release();
+    }
+
+    private ByteBuf compress() {
+        MessageBatch batch = new MessageBatch(BATCH_BYTES);
+        for (TaskMessage msg : messages) {
+            batch.add(msg);
+        }
+        CompressedMessageBatch frame = new CompressedMessageBatch(batch, CompressedMessageBatch.DEFLATE, level);
+        ByteBuf buf = PooledByteBufAllocator.DEFAULT.ioBuffer(frame.encodeLength());
+        frame.write(buf);
+        return buf;
+    }
+
+    @Benchmark
+    public int encode() {
+        ByteBuf buf = compress();
+        try {
+            return buf.readableBytes();
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public int decode() throws Exception {
+        encoded.readerIndex(0);
+        decoded.clear();
+        decoder.decode(null, encoded, decoded);
+        int count = 0;
+        for (Object msgs : decoded) {
+            for (TaskMessage msg : (List<TaskMessage>) msgs) {
+                msg.release();
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.messaging.netty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.storm.benchmarks.BenchmarkTopology;
+import org.apache.storm.messaging.TaskMessage;
+import org.apache.storm.serialization.KryoValuesDeserializer;
+import org.apache.storm.shade.io.netty.buffer.ByteBuf;
+import org.apache.storm.shade.io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Framing cost of inter-worker traffic: building a {@link MessageBatch}, encoding it into a pooled buffer the way
+ * {@link NettySerializableMessageEncoder} does, and decoding it back into {@link TaskMessage}s with {@link MessageDecoder}.
+ *
+ * <p>Lives in the netty package because the batch and the decoder entry point are package private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MessageBatchBenchmark {
+    @Param({"64", "1024"})
+    public int messagesPerBatch;
+
+    @Param({"32", "512", "4096"})
+    public int payloadLength;
+
+    private List<TaskMessage> messages;
+    private MessageDecoder decoder;
+    private ByteBuf encoded;
+    private List<Object> decoded;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        messages = new ArrayList<>(messagesPerBatch);
+        for (int i = 0; i < messagesPerBatch; i++) {
+            byte[] payload = new byte[payloadLength];
+            payload[i % payloadLength] = (byte) i;
+            messages.add(new TaskMessage(i % Short.MAX_VALUE, payload));
+        }
+        decoder = new MessageDecoder(new KryoValuesDeserializer(BenchmarkTopology.conf()));
+        MessageBatch batch = mkBatch();
+        encoded = PooledByteBufAllocator.DEFAULT.ioBuffer(batch.encodeLength());
+        batch.write(encoded);
+        decoded = new ArrayList<>(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        encoded.release();
+    }
+
+    private MessageBatch mkBatch() {
+        MessageBatch batch = new MessageBatch(Integer.MAX_VALUE);
+        for (TaskMessage msg : messages) {
+            batch.add(msg);
+        }
+        return batch;
+    }
+
+    @Benchmark
+    public int encode() {
+        MessageBatch batch = mkBatch();
+        ByteBuf buf = PooledByteBufAllocator.DEFAULT.ioBuffer(batch.encodeLength());
+        try {
+            batch.write(buf);
+            return buf.readableBytes();
+        } finally {
+            buf.release();
+        }
+    }
+
+    /**
+     * The {@link org.apache.storm.Config#TOPOLOGY_TRANSFER_POOLED_BUFFERS} path: payloads arrive in pooled buffers and large ones are
+     * attached to the frame instead of being copied. Includes copying the payloads into their buffers, as the serializer would.
+     */
+    @Benchmark
+    public int encodePooled() {
+        MessageBatch batch = new MessageBatch(Integer.MAX_VALUE);
+        for (TaskMessage msg : messages) {
+            byte[] payload = msg.message();
+            ByteBuf buf = PooledByteBufAllocator.DEFAULT.ioBuffer(payload.length, payload.length);
+            buf.writeBytes(payload);
+            batch.add(TaskMessage.fromBuffer(msg.task(), buf));
+        }
+        ByteBuf frame = batch.hasZeroCopyPayloads() ? batch.encode(PooledByteBufAllocator.DEFAULT)
+            : PooledByteBufAllocator.DEFAULT.ioBuffer(batch.encodeLength());
+        try {
+            if (!batch.hasZeroCopyPayloads()) {
+                batch.write(frame);
+            }
+            return frame.readableBytes();
+        } finally {
+            frame.release();
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<Object> decode() throws Exception {
+        encoded.readerIndex(0);
+        decoded.clear();
+        decoder.decode(null, encoded, decoded);
+        // the messages hold slices of the frame, which would otherwise never be freed
+        for (TaskMessage msg : (List<TaskMessage>) decoded.get(0)) {
+            msg.release();
+        }
+        return decoded;
+    }
+}
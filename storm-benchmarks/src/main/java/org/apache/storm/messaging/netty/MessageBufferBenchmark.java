@@ -0,0 +1,181 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.messaging.netty;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.storm.messaging.TaskMessage;
+import org.apache.storm.shade.org.jctools.queues.MpscArrayQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Batching of outgoing messages into one {@link MessageBuffer} per destination connection. The sender thread plays the worker
+ * transfer thread, spreading messages over all connections, and hands full batches to the event loop thread, which plays the netty
+ * event loop completing the writes. {@code buffer} recycles the written batches into their buffer, {@code legacy} is the synchronized
+ * MessageBuffer the client used before, kept as the baseline, whose event loop side also checked the buffer under its monitor. Run with
+ * {@code -prof gc} to see the allocation rate per message.
+ *
+ * <p>Lives in the netty package because the batch is package private.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageBufferBenchmark {
+    private static final int BATCH_BYTES = 16 * 1024;
+    private static final TaskMessage MESSAGE = new TaskMessage(1, new byte[100]);
+
+    @Benchmark
+    @Group("buffer")
+    @GroupThreads(1)
+    public Object bufferSender(BufferState state) {
+        int conn = state.next();
+        MessageBatch batch = state.buffers[conn].add(MESSAGE);
+        if (batch != null && !state.written.offer(new Written(conn, batch))) {
+            state.buffers[conn].recycle(batch);
+        }
+        return batch;
+    }
+
+    @Benchmark
+    @Group("buffer")
+    @GroupThreads(1)
+    public Object bufferEventLoop(BufferState state) {
+        Written written = state.written.relaxedPoll();
+        if (written != null) {
+            state.buffers[written.conn].recycle(written.batch);
+        }
+        return written;
+    }
+
+    @Benchmark
+    @Group("legacy")
+    @GroupThreads(1)
+    public Object legacySender(LegacyState state) {
+        int conn = state.next();
+        MessageBatch batch = state.buffers[conn].add(MESSAGE);
+        if (batch != null) {
+            state.written.offer(new Written(conn, batch));
+        }
+        return batch;
+    }
+
+    @Benchmark
+    @Group("legacy")
+    @GroupThreads(1)
+    public boolean legacyEventLoop(LegacyState state) {
+        Written written = state.written.relaxedPoll();
+        return written != null && state.buffers[written.conn].isEmpty();
+    }
+
+    private static class Written {
+        final int conn;
+        final MessageBatch batch;
+
+        Written(int conn, MessageBatch batch) {
+            this.conn = conn;
+            this.batch = batch;
+        }
+    }
+
+    @State(Scope.Group)
+    public static class BufferState {
+        @Param({"1", "8", "32"})
+        public int connections;
+
+        MessageBuffer[] buffers;
+        MpscArrayQueue<Written> written;
+        private int nextConn = 0;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            buffers = new MessageBuffer[connections];
+            for (int i = 0; i < connections; i++) {
+                buffers[i] = new MessageBuffer(BATCH_BYTES);
+            }
+            written = new MpscArrayQueue<>(1024);
+        }
+
+        int next() {
+            int conn = nextConn;
+            nextConn = conn + 1 == connections ? 0 : conn + 1;
+            return conn;
+        }
+    }
+
+    @State(Scope.Group)
+    public static class LegacyState {
+        @Param({"1", "8", "32"})
+        public int connections;
+
+        LegacyMessageBuffer[] buffers;
+        MpscArrayQueue<Written> written;
+        private int nextConn = 0;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            buffers = new LegacyMessageBuffer[connections];
+            for (int i = 0; i < connections; i++) {
+                buffers[i] = new LegacyMessageBuffer(BATCH_BYTES);
+            }
+            written = new MpscArrayQueue<>(1024);
+        }
+
+        int next() {
+            int conn = nextConn;
+            nextConn = conn + 1 == connections ? 0 : conn + 1;
+            return conn;
+        }
+    }
+
+    /**
+     * The {@link MessageBuffer} before it became single threaded, every call synchronized and a new batch for every one sent.
+     */
+    private static class LegacyMessageBuffer {
+        private final int mesageBatchSize;
+        private MessageBatch currentBatch;
+
+        LegacyMessageBuffer(int mesageBatchSize) {
+            this.mesageBatchSize = mesageBatchSize;
+            this.currentBatch = new MessageBatch(mesageBatchSize);
+        }
+
+        synchronized MessageBatch add(TaskMessage msg) {
+            currentBatch.add(msg);
+            if (currentBatch.isFull()) {
+                MessageBatch ret = currentBatch;
+                currentBatch = new MessageBatch(mesageBatchSize);
+                return ret;
+            } else {
+                return null;
+            }
+        }
+
+        synchronized boolean isEmpty() {
+            return currentBatch.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.messaging.netty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.storm.benchmarks.BenchmarkTopology;
+import org.apache.storm.messaging.DeserializingConnectionCallback;
+import org.apache.storm.messaging.TaskMessage;
+import org.apache.storm.serialization.KryoTupleSerializer;
+import org.apache.storm.serialization.KryoValuesDeserializer;
+import org.apache.storm.shade.io.netty.buffer.ByteBuf;
+import org.apache.storm.shade.io.netty.buffer.PooledByteBufAllocator;
+import org.apache.storm.task.WorkerTopologyContext;
+import org.apache.storm.tuple.AddressedTuple;
+import org.apache.storm.tuple.MessageId;
+import org.apache.storm.tuple.TupleImpl;
+import org.apache.storm.utils.Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Per tuple cost of the netty receive path: decoding a frame of serialized tuples from the inbound buffer with {@link MessageDecoder}
+ * and deserializing them with {@link DeserializingConnectionCallback}. {@code receive} deserializes from slices of the inbound buffer,
+ * {@code receiveCopied} first copies every payload into an array of its own, as the decoder did before, on top of slicing it. Run with
+ * {@code -prof gc} to see the allocation rate per tuple.
+ *
+ * <p>Lives in the netty package because the decoder entry point is package private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ReceivePathBenchmark {
+    private static final int TUPLES_PER_FRAME = 256;
+
+    @Param({"16", "1024"})
+    public int payloadLength;
+
+    private MessageDecoder decoder;
+    private DeserializingConnectionCallback callback;
+    private ByteBuf frame;
+    private List<Object> decoded;
+
+    @Setup(Level.Trial)
+    public void setup(Blackhole bh) throws Exception {
+        Map<String, Object> conf = BenchmarkTopology.conf();
+        WorkerTopologyContext context = BenchmarkTopology.workerContext(conf, 1, 1);
+        KryoTupleSerializer serializer = new KryoTupleSerializer(conf, context);
+        MessageBatch batch = new MessageBatch(Integer.MAX_VALUE);
+        for (int i = 0; i < TUPLES_PER_FRAME; i++) {
+            TupleImpl tuple = new TupleImpl(context, BenchmarkTopology.values(i, payloadLength), BenchmarkTopology.SPOUT_ID, 1,
+                                            Utils.DEFAULT_STREAM_ID, MessageId.makeRootId(i, i));
+            batch.add(new TaskMessage(2, serializer.serialize(tuple)));
+        }
+        frame = PooledByteBufAllocator.DEFAULT.directBuffer(batch.encodeLength());
+        batch.write(frame);
+        decoder = new MessageDecoder(new KryoValuesDeserializer(conf));
+        callback = new DeserializingConnectionCallback(conf, context, (ArrayList<AddressedTuple> tuples) -> {
+            for (int i = 0; i < tuples.size(); i++) {
+                bh.consume(tuples.get(i));
+            }
+        });
+        decoded = new ArrayList<>(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        frame.release();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<TaskMessage> decode() throws Exception {
+        frame.readerIndex(0);
+        decoded.clear();
+        decoder.decode(null, frame, decoded);
+        return (List<TaskMessage>) decoded.get(0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TUPLES_PER_FRAME)
+    public void receive() throws Exception {
+        callback.recv(decode());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TUPLES_PER_FRAME)
+    public void receiveCopied() throws Exception {
+        List<TaskMessage> msgs = decode();
+        for (int i = 0; i < msgs.size(); i++) {
+            TaskMessage msg = msgs.get(i);
+            msgs.set(i, new TaskMessage(msg.task(), msg.message()));
+        }
+        callback.recv(msgs);
+    }
+}
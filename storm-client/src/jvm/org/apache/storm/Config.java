@@ -79,6 +79,14 @@ public class Config extends HashMap<String, Object> {
      */
     @IsString
     public static final String TOPOLOGY_TUPLE_SERIALIZER = "topology.tuple.serializer";
+    /**
+     * Whether tuple values sent between workers use the compact encoding instead of the ListDelegate serializer. Fields of type long,
+     * int, short, byte, double, float, boolean, String and byte[] are written directly behind a 4 bit type code, without a Kryo class id
+     * or serializer lookup; any other value falls back to Kryo. Custom Kryo serializers registered for those types, and the
+     * topology.tuple.serializer, are not used for tuple values when this is enabled.
+     */
+    @IsBoolean
+    public static final String TOPOLOGY_TUPLE_COMPACT_ENCODING = "topology.tuple.compact.encoding";
     /**
      * Disable load aware grouping support.
      */
@@ -310,6 +318,14 @@ public class Config extends HashMap<String, Object> {
     @IsInteger
     @IsPositiveNumber
     public static final String TOPOLOGY_STATE_CHECKPOINT_INTERVAL = "topology.state.checkpoint.interval.ms";
+    /**
+     * Whether {@link org.apache.storm.topology.IStatefulBolt} bolts write out the state they prepare and commit for a checkpoint on a
+     * thread of their own, while they keep processing tuples, and acknowledge the checkpoint once it is durable. Only states that
+     * implement {@link org.apache.storm.state.AsyncCommitState} do this, the others commit in line as usual. This can be overridden at the
+     * component level.
+     */
+    @IsBoolean
+    public static final String TOPOLOGY_STATE_CHECKPOINT_ASYNC = "topology.state.checkpoint.async";
     /**
      * A per topology config that specifies the maximum amount of memory a worker can use for that specific topology.
      */
@@ -441,6 +457,17 @@ public class Config extends HashMap<String, Object> {
     @IsPositiveNumber(includeZero = true)
     public static final String TOPOLOGY_ACKER_EXECUTORS = "topology.acker.executors";
 
+    /**
+     * How many acker updates an executor may coalesce into one message per acker task. With the default of 1 every init and ack is sent
+     * to the acker as a tuple of its own. With a larger value spouts and bolts collect their init and ack updates per acker task and send
+     * them as one batch once this many tuple trees have updates in it, or at the latest when the executor is flushed every
+     * {@link Config#TOPOLOGY_BATCH_FLUSH_INTERVAL_MILLIS}. The updates of a tuple tree in the same batch are xored into one. Fails and
+     * timeout resets are never delayed. Batching is disabled if that interval is 0, and for the system components. Complete latencies reported by the ackers do not include the time an init update waited in its batch.
+     */
+    @IsInteger
+    @IsPositiveNumber
+    public static final String TOPOLOGY_ACKER_BATCH_SIZE = "topology.acker.batch.size";
+
     /**
      * How many ackers to put in when launching a new worker until we run out of ackers.
      *
@@ -657,6 +684,14 @@ public class Config extends HashMap<String, Object> {
      */
     @IsString
     public static final String TOPOLOGY_BOLTS_LATE_TUPLE_STREAM = "topology.bolts.late.tuple.stream";
+    /**
+     * Bolt-specific configuration for windowed bolts to specify the maximum number of events in the window to keep on the heap. The older
+     * events are serialized with kryo and written out to segment files in the temporary directory of the worker, and read back when the
+     * window is evaluated. If not set all the events are kept on the heap.
+     */
+    @IsInteger
+    @IsPositiveNumber
+    public static final String TOPOLOGY_BOLTS_WINDOW_MAX_EVENTS_ON_HEAP = "topology.bolts.window.max.events.on.heap";
     /**
      * Bolt-specific configuration for windowed bolts to specify the maximum time lag of the tuple timestamp in milliseconds. It means that
      * the tuple timestamps cannot be out of order by more than this amount. This config will be effective only if {@link
@@ -710,6 +745,13 @@ public class Config extends HashMap<String, Object> {
     @IsPositiveNumber
     @IsInteger
     public static final String TOPOLOGY_TRANSFER_BATCH_SIZE = "topology.transfer.batch.size";
+    /**
+     * If true, tuples sent to other workers are serialized into pooled, reference counted Netty buffers instead of freshly allocated byte
+     * arrays, and those buffers are handed to the Netty client without being copied again into the outgoing frame. Reduces allocation in
+     * the transfer path at high remote tuple rates. Has no effect on tuples delivered within the worker.
+     */
+    @IsBoolean
+    public static final String TOPOLOGY_TRANSFER_POOLED_BUFFERS = "topology.transfer.pooled.buffers";
     /**
      * How often a tick tuple from the "__system" component and "__tick" stream should be sent to tasks. Meant to be used as a
      * component-specific configuration.
@@ -740,6 +782,22 @@ public class Config extends HashMap<String, Object> {
     @IsPositiveNumber
     @NotNull
     public static final String TOPOLOGY_BACKPRESSURE_CHECK_MILLIS = "topology.backpressure.check.millis";
+    /**
+     * Whether workers use credit based flow control for the messages they send each other. A worker grants every worker sending to it
+     * credits for each of its tasks, out of the free capacity of the receive queue of the task, and the sending worker does not send more
+     * messages to a task than it has credits for. Senders then hold back before the receive queue fills up, instead of sending until it
+     * overflows and being told to stop. The back pressure status updates are still sent, so workers that do not support credits, like
+     * workers of an older version during a rolling upgrade, keep working with those alone.
+     */
+    @IsBoolean
+    public static final String TOPOLOGY_BACKPRESSURE_CREDITS = "topology.backpressure.credits";
+    /**
+     * How often a worker checks for room in a full receive queue to grant credits again, while a sending worker has none left for the
+     * task. See {@link #TOPOLOGY_BACKPRESSURE_CREDITS}.
+     */
+    @IsInteger
+    @IsPositiveNumber
+    public static final String TOPOLOGY_BACKPRESSURE_CREDIT_REFRESH_MILLIS = "topology.backpressure.credit.refresh.millis";
     /**
      * How often to send flush tuple to the executors for flushing out batched events.
      */
@@ -747,6 +805,15 @@ public class Config extends HashMap<String, Object> {
     @IsPositiveNumber(includeZero = true)
     @NotNull
     public static final String TOPOLOGY_BATCH_FLUSH_INTERVAL_MILLIS = "topology.batch.flush.interval.millis";
+    /**
+     * Whether the producer and transfer batch sizes adapt to the traffic of each queue. If true, {@link #TOPOLOGY_PRODUCER_BATCH_SIZE} and
+     * {@link #TOPOLOGY_TRANSFER_BATCH_SIZE} are upper bounds, and every producer resizes its batches once per
+     * {@link #TOPOLOGY_BATCH_FLUSH_INTERVAL_MILLIS}: to as many tuples as it publishes in half that interval, so that at low rates
+     * tuples are not held back until the next flush tuple, or to the backlog of the consumer if that is larger, as tuples wait in the
+     * queue anyway. The batch size chosen last is reported by the receive-queue-batch_size metric.
+     */
+    @IsBoolean
+    public static final String TOPOLOGY_BATCH_ADAPTIVE = "topology.batch.adaptive";
     /**
      * The size of the shared thread pool for worker tasks to make use of. The thread pool can be accessed via the TopologyContext.
      */
@@ -940,6 +1007,31 @@ public class Config extends HashMap<String, Object> {
     @NotNull
     @IsPositiveNumber(includeZero = true)
     public static final String TOPOLOGY_BOLT_WAIT_PROGRESSIVE_LEVEL3_SLEEP_MILLIS = "topology.bolt.wait.progressive.level3.sleep.millis";
+    /**
+     * Number of threads in a worker that run the bolt executors between them, instead of every executor running on a thread of its own.
+     * An executor is then scheduled on its thread only while its receive queue has tuples, so idle bolts cost no thread and no wait
+     * strategy. If set to 0, every executor gets a thread of its own. If negative, one thread per available processor is used. Spout
+     * executors always keep a thread of their own.
+     */
+    @NotNull
+    @IsInteger
+    public static final String TOPOLOGY_EXECUTOR_POOL_THREADS = "topology.executor.pool.threads";
+    /**
+     * The most tuples a bolt executor on a shared thread (see {@link #TOPOLOGY_EXECUTOR_POOL_THREADS}) consumes before the thread moves
+     * on to the next executor with tuples waiting.
+     */
+    @NotNull
+    @IsInteger
+    @IsPositiveNumber
+    public static final String TOPOLOGY_EXECUTOR_POOL_QUOTA = "topology.executor.pool.quota";
+    /**
+     * Whether to run a bolt executor on the thread of its upstream executor and hand it tuples by a method call instead of through its
+     * receive queue. This applies to a bolt whose only inputs are local or shuffle groupings from one component, when the worker has
+     * one executor of each. Chains of such bolts all run on the thread of the first executor. Bolts running on the shared threads of
+     * {@link #TOPOLOGY_EXECUTOR_POOL_THREADS} do not take fused bolts.
+     */
+    @IsBoolean
+    public static final String TOPOLOGY_EXECUTOR_FUSION = "topology.executor.fusion";
     /**
      * A class that implements a wait strategy for an upstream component (spout/bolt) trying to write to a downstream component whose recv
      * queue is full
@@ -1500,6 +1592,30 @@ public class Config extends HashMap<String, Object> {
      */
     @IsInteger
     public static final String STORM_NETTY_MESSAGE_BATCH_SIZE = "storm.messaging.netty.transfer.batch.size";
+    /**
+     * Netty based messaging: The codec the netty client compresses message batches with, "none" or "deflate". Receivers decode
+     * compressed batches whatever their own setting, so this only decides what a worker sends.
+     */
+    @IsString(acceptedValues = { "none", "deflate" })
+    public static final String STORM_MESSAGING_NETTY_COMPRESSION_CODEC = "storm.messaging.netty.compression.codec";
+    /**
+     * Netty based messaging: The compression level, from 1 (fastest) to 9 (smallest).
+     */
+    @IsInteger
+    @IsPositiveNumber
+    public static final String STORM_MESSAGING_NETTY_COMPRESSION_LEVEL = "storm.messaging.netty.compression.level";
+    /**
+     * Netty based messaging: Message batches smaller than this many bytes are sent uncompressed.
+     */
+    @IsInteger
+    @IsPositiveNumber(includeZero = true)
+    public static final String STORM_MESSAGING_NETTY_COMPRESSION_THRESHOLD_BYTES = "storm.messaging.netty.compression.threshold.bytes";
+    /**
+     * Netty based messaging: Whether connections to workers on the same host are compressed too. Off by default, as loopback traffic is
+     * rarely short of bandwidth.
+     */
+    @IsBoolean
+    public static final String STORM_MESSAGING_NETTY_COMPRESSION_LOCAL = "storm.messaging.netty.compression.local";
     /**
      * Netty based messaging: The min # of milliseconds that a peer will wait.
      */
@@ -1660,6 +1776,14 @@ public class Config extends HashMap<String, Object> {
      */
     @IsString
     public static final String STORM_LOCAL_DIR = "storm.local.dir";
+    /**
+     * Whether the local state of the supervisor, nimbus and the heartbeats of the workers only append the entries that changed to a log,
+     * instead of writing out all the entries to a new file every time. The log is compacted once it has grown to twice the size of the
+     * entries it holds. The state in either format can be read regardless of this setting, but a Storm release without it can not read
+     * the log, so turn this off and restart the daemons before going back to one.
+     */
+    @IsBoolean
+    public static final String STORM_LOCAL_STATE_APPEND_ONLY = "storm.local.state.append.only";
     /**
      * The workers-artifacts directory (where we place all workers' logs), can be either absolute or relative. By default,
      * ${storm.log.dir}/workers-artifacts is where worker logs go. If the setting is a relative directory, it is relative to storm.log.dir.
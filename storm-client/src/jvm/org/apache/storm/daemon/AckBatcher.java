@@ -0,0 +1,167 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.daemon;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.apache.storm.Config;
+import org.apache.storm.executor.Executor;
+import org.apache.storm.tuple.AddressedTuple;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
+import org.apache.storm.utils.ObjectReader;
+import org.apache.storm.utils.TupleUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces the acker updates of one executor into one message per source task and acker task, see
+ * {@link Config#TOPOLOGY_ACKER_BATCH_SIZE}.
+ *
+ * <p>A batch is sent on {@link Acker#ACKER_INIT_BATCH_STREAM_ID} (spouts) or {@link Acker#ACKER_ACK_BATCH_STREAM_ID} (bolts) as a tuple
+ * with a single byte[] field holding {@link #RECORD_BYTES} byte records of root id and init or ack val. The acker for a root id is the
+ * one the fields grouping of the unbatched streams picks, so batched updates and unbatched fails of a tuple tree meet at the same acker.
+ * The updates of a root that come in before its batch is sent are folded into one record, by xoring their vals like the acker does, so
+ * a batch holds up to the batch size of distinct roots.
+ */
+public class AckBatcher {
+    public static final int RECORD_BYTES = 2 * Long.BYTES;
+    private static final Logger LOG = LoggerFactory.getLogger(AckBatcher.class);
+
+    private final Executor executor;
+    private final String streamId;
+    private final List<Integer> ackerTasks;
+    private final int batchSize;
+    private final int firstTaskId;
+    private final Batch[][] batches; // [taskId - firstTaskId][index into ackerTasks]
+
+    public AckBatcher(Executor executor, String streamId, int batchSize) {
+        this.executor = executor;
+        this.streamId = streamId;
+        this.ackerTasks = executor.getWorkerTopologyContext().getComponentTasks(Acker.ACKER_COMPONENT_ID);
+        this.batchSize = batchSize;
+        List<Integer> taskIds = executor.getTaskIds();
+        this.firstTaskId = taskIds.get(0);
+        this.batches = new Batch[taskIds.get(taskIds.size() - 1) - firstTaskId + 1][ackerTasks.size()];
+    }
+
+    /**
+     * Get the configured batch size, or 1 if the executors are never flushed and batching would hold updates back indefinitely.
+     */
+    public static int getBatchSize(Map<String, Object> topoConf) {
+        int batchSize = ObjectReader.getInt(topoConf.get(Config.TOPOLOGY_ACKER_BATCH_SIZE), 1);
+        if (batchSize > 1 && ObjectReader.getLong(topoConf.get(Config.TOPOLOGY_BATCH_FLUSH_INTERVAL_MILLIS), 1L) == 0) {
+            LOG.warn("{} is ignored because {} is 0", Config.TOPOLOGY_ACKER_BATCH_SIZE, Config.TOPOLOGY_BATCH_FLUSH_INTERVAL_MILLIS);
+            return 1;
+        }
+        return batchSize;
+    }
+
+    public void add(Task task, long rootId, long val) {
+        int acker = TupleUtils.chooseTaskIndex(rootId, ackerTasks.size());
+        Batch[] taskBatches = batches[task.getTaskId() - firstTaskId];
+        Batch batch = taskBatches[acker];
+        if (batch == null) {
+            batch = new Batch(task, ackerTasks.get(acker), batchSize);
+            taskBatches[acker] = batch;
+        }
+        batch.add(rootId, val);
+        if (batch.isFull()) {
+            send(batch);
+        }
+    }
+
+    /**
+     * Send all pending updates. Called whenever the executor flushes its output.
+     */
+    public void flush() {
+        for (Batch[] taskBatches : batches) {
+            for (Batch batch : taskBatches) {
+                if (batch != null && !batch.isEmpty()) {
+                    send(batch);
+                }
+            }
+        }
+    }
+
+    private void send(Batch batch) {
+        List<Object> values = new Values(batch.drain());
+        Tuple tuple = batch.task.getTuple(streamId, values);
+        List<Integer> tasks = batch.task.getOutgoingTasks(batch.ackerTask, streamId, values);
+        for (int i = 0; i < tasks.size(); i++) {
+            executor.getExecutorTransfer().tryTransfer(new AddressedTuple(tasks.get(i), tuple), executor.getPendingEmits());
+        }
+    }
+
+    private static class Batch {
+        private final Task task;
+        private final int ackerTask;
+        private final long[] rootIds;
+        private final long[] vals;
+        // open addressing table of the record index + 1 of a root id, 0 for an empty slot
+        private final int[] slots;
+        private int size;
+
+        Batch(Task task, int ackerTask, int batchSize) {
+            this.task = task;
+            this.ackerTask = ackerTask;
+            this.rootIds = new long[batchSize];
+            this.vals = new long[batchSize];
+            this.slots = new int[Integer.highestOneBit(2 * batchSize - 1) << 1];
+        }
+
+        /**
+         * Add an update, folding it into the record of its root if the batch has one. The acker xors the vals of a root anyway.
+         */
+        void add(long rootId, long val) {
+            int mask = slots.length - 1;
+            int slot = (int) TupleUtils.mix(rootId) & mask;
+            while (slots[slot] != 0) {
+                int record = slots[slot] - 1;
+                if (rootIds[record] == rootId) {
+                    vals[record] ^= val;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = size + 1;
+            rootIds[size] = rootId;
+            vals[size] = val;
+            size++;
+        }
+
+        boolean isFull() {
+            return size == rootIds.length;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Encode the records collected so far and start over.
+         */
+        byte[] drain() {
+            byte[] ret = new byte[size * RECORD_BYTES];
+            ByteBuffer buf = ByteBuffer.wrap(ret);
+            for (int i = 0; i < size; i++) {
+                buf.putLong(rootIds[i]).putLong(vals[i]);
+            }
+            Arrays.fill(slots, 0);
+            size = 0;
+            return ret;
+        }
+    }
+}
@@ -12,6 +12,8 @@
 
 package org.apache.storm.daemon;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Map;
 import org.apache.storm.Constants;
 import org.apache.storm.task.IBolt;
@@ -19,10 +21,9 @@ import org.apache.storm.task.OutputCollector;
 import org.apache.storm.task.TopologyContext;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
-import org.apache.storm.utils.RotatingMap;
+import org.apache.storm.utils.RotatingLongIndex;
 import org.apache.storm.utils.Time;
 import org.apache.storm.utils.TupleUtils;
-import org.apache.storm.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,56 +33,51 @@ public class Acker implements IBolt {
     public static final String ACKER_ACK_STREAM_ID = "__ack_ack";
     public static final String ACKER_FAIL_STREAM_ID = "__ack_fail";
     public static final String ACKER_RESET_TIMEOUT_STREAM_ID = "__ack_reset_timeout";
+    public static final String ACKER_INIT_BATCH_STREAM_ID = "__ack_init_batch";
+    public static final String ACKER_ACK_BATCH_STREAM_ID = "__ack_ack_batch";
     public static final int TIMEOUT_BUCKET_NUM = 3;
     private static final Logger LOG = LoggerFactory.getLogger(Acker.class);
     private static final long serialVersionUID = 4430906880683183091L;
     private OutputCollector collector;
-    private RotatingMap<Object, AckObject> pending;
+    private PendingTrees pending;
 
     @Override
     public void prepare(Map<String, Object> topoConf, TopologyContext context, OutputCollector collector) {
         this.collector = collector;
-        this.pending = new RotatingMap<>(TIMEOUT_BUCKET_NUM);
+        this.pending = new PendingTrees(TIMEOUT_BUCKET_NUM);
     }
 
     @Override
     public void execute(Tuple input) {
         if (TupleUtils.isTick(input)) {
-            Map<Object, AckObject> tmp = pending.rotate();
-            LOG.debug("Number of timeout tuples:{}", tmp.size());
+            int expired = pending.rotate();
+            LOG.debug("Number of timeout tuples:{}", expired);
             return;
         }
 
-        boolean resetTimeout = false;
         String streamId = input.getSourceStreamId();
+        if (ACKER_INIT_BATCH_STREAM_ID.equals(streamId) || ACKER_ACK_BATCH_STREAM_ID.equals(streamId)) {
+            executeBatch(input, ACKER_INIT_BATCH_STREAM_ID.equals(streamId));
+            collector.ack(input);
+            return;
+        }
+        boolean resetTimeout = false;
         Object id = input.getValue(0);
-        AckObject curr = pending.get(id);
+        int curr;
         if (ACKER_INIT_STREAM_ID.equals(streamId)) {
-            if (curr == null) {
-                curr = new AckObject();
-                pending.put(id, curr);
-            }
-            curr.updateAck(input.getLong(1));
-            curr.spoutTask = input.getInteger(2);
+            curr = pending.getOrAdd((Long) id);
+            pending.updateAck(curr, input.getLong(1));
+            pending.spoutTask[curr] = input.getInteger(2);
         } else if (ACKER_ACK_STREAM_ID.equals(streamId)) {
-            if (curr == null) {
-                curr = new AckObject();
-                pending.put(id, curr);
-            }
-            curr.updateAck(input.getLong(1));
+            curr = pending.getOrAdd((Long) id);
+            pending.updateAck(curr, input.getLong(1));
         } else if (ACKER_FAIL_STREAM_ID.equals(streamId)) {
             // For the case that ack_fail message arrives before ack_init
-            if (curr == null) {
-                curr = new AckObject();
-            }
-            curr.failed = true;
-            pending.put(id, curr);
+            curr = pending.putOrAdd((Long) id);
+            pending.failed[curr] = true;
         } else if (ACKER_RESET_TIMEOUT_STREAM_ID.equals(streamId)) {
             resetTimeout = true;
-            if (curr == null) {
-                curr = new AckObject();
-            }
-            pending.put(id, curr);
+            curr = pending.putOrAdd((Long) id);
         } else if (Constants.SYSTEM_FLUSH_STREAM_ID.equals(streamId)) {
             collector.flush();
             return;
@@ -90,14 +86,40 @@ public class Acker implements IBolt {
             return;
         }
 
-        int task = curr.spoutTask;
-        if (task >= 0 && (curr.val == 0 || curr.failed || resetTimeout)) {
-            Values tuple = new Values(id, getTimeDeltaMillis(curr.startTime));
-            if (curr.val == 0) {
-                pending.remove(id);
+        complete((Long) id, curr, resetTimeout);
+        collector.ack(input);
+    }
+
+    /**
+     * Apply the init or ack updates an {@link AckBatcher} coalesced into one tuple. The spout task of init updates is the sender.
+     */
+    private void executeBatch(Tuple input, boolean init) {
+        ByteBuffer records = ByteBuffer.wrap(input.getBinary(0));
+        while (records.remaining() >= AckBatcher.RECORD_BYTES) {
+            long rootId = records.getLong();
+            int curr = pending.getOrAdd(rootId);
+            pending.updateAck(curr, records.getLong());
+            if (init) {
+                pending.spoutTask[curr] = input.getSourceTask();
+            }
+            complete(rootId, curr, false);
+        }
+    }
+
+    /**
+     * Notify the spout if the tree is complete or failed, or if its timeout was reset.
+     */
+    private void complete(long id, int curr, boolean resetTimeout) {
+        int task = pending.spoutTask[curr];
+        long val = pending.ackVal[curr];
+        boolean failed = pending.failed[curr];
+        if (task >= 0 && (val == 0 || failed || resetTimeout)) {
+            Values tuple = new Values(id, getTimeDeltaMillis(pending.startTime[curr]));
+            if (val == 0) {
+                pending.removeKey(id);
                 collector.emitDirect(task, ACKER_ACK_STREAM_ID, tuple);
-            } else if (curr.failed) {
-                pending.remove(id);
+            } else if (failed) {
+                pending.removeKey(id);
                 collector.emitDirect(task, ACKER_FAIL_STREAM_ID, tuple);
             } else if (resetTimeout) {
                 collector.emitDirect(task, ACKER_RESET_TIMEOUT_STREAM_ID, tuple);
@@ -105,8 +127,6 @@ public class Acker implements IBolt {
                 throw new IllegalStateException("The checks are inconsistent we reach what should be unreachable code.");
             }
         }
-
-        collector.ack(input);
     }
 
     @Override
@@ -118,15 +138,55 @@ public class Acker implements IBolt {
         return Time.currentTimeMillis() - startTimeMillis;
     }
 
-    private static class AckObject {
-        public long val = 0L;
-        public long startTime = Time.currentTimeMillis();
-        public int spoutTask = -1;
-        public boolean failed = false;
+    /**
+     * The pending tuple trees, keyed by root id. What used to be one AckObject per tree is kept in parallel arrays indexed by the entry id
+     * of the root id, so that a pending tree costs no objects.
+     */
+    private static class PendingTrees extends RotatingLongIndex {
+        // val xor value of the acked edges, 0 once the tree is complete
+        private long[] ackVal = new long[entryCapacity()];
+        private long[] startTime = new long[entryCapacity()];
+        private int[] spoutTask = new int[entryCapacity()];
+        private boolean[] failed = new boolean[entryCapacity()];
+
+        PendingTrees(int numBuckets) {
+            super(numBuckets);
+        }
+
+        /**
+         * Get the entry of a tree, adding it if it is not pending yet.
+         */
+        int getOrAdd(long rootId) {
+            int entry = entryOf(rootId);
+            return entry == NO_ENTRY ? add(rootId) : entry;
+        }
+
+        /**
+         * Get the entry of a tree and move it to the newest bucket, adding it if it is not pending yet.
+         */
+        int putOrAdd(long rootId) {
+            return containsKey(rootId) ? put(rootId) : add(rootId);
+        }
+
+        private int add(long rootId) {
+            int entry = put(rootId);
+            ackVal[entry] = 0L;
+            startTime[entry] = Time.currentTimeMillis();
+            spoutTask[entry] = -1;
+            failed[entry] = false;
+            return entry;
+        }
+
+        void updateAck(int entry, long value) {
+            ackVal[entry] ^= value;
+        }
 
-        // val xor value
-        public void updateAck(Long value) {
-            val = Utils.bitXor(val, value);
+        @Override
+        protected void growEntries(int capacity) {
+            ackVal = Arrays.copyOf(ackVal, capacity);
+            startTime = Arrays.copyOf(startTime, capacity);
+            spoutTask = Arrays.copyOf(spoutTask, capacity);
+            failed = Arrays.copyOf(failed, capacity);
         }
     }
 }
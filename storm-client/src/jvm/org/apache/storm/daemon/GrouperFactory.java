@@ -149,15 +149,17 @@ public class GrouperFactory {
 
     public static class FieldsGrouper implements CustomStreamGrouping {
 
-        private Fields outFields;
         private List<List<Integer>> targetTasks;
-        private Fields groupFields;
+        // positions of the group fields in the output fields, resolved once instead of per tuple
+        private final int[] groupFieldIndices;
         private int numTasks;
 
         public FieldsGrouper(Fields outFields, Grouping thriftGrouping) {
-            this.outFields = outFields;
-            this.groupFields = new Fields(Thrift.fieldGrouping(thriftGrouping));
-
+            Fields groupFields = new Fields(Thrift.fieldGrouping(thriftGrouping));
+            this.groupFieldIndices = new int[groupFields.size()];
+            for (int i = 0; i < groupFieldIndices.length; i++) {
+                groupFieldIndices[i] = outFields.fieldIndex(groupFields.get(i));
+            }
         }
 
         @Override
@@ -171,7 +173,7 @@ public class GrouperFactory {
 
         @Override
         public List<Integer> chooseTasks(int taskId, List<Object> values) {
-            int targetTaskIndex = TupleUtils.chooseTaskIndex(outFields.select(groupFields, values), numTasks);
+            int targetTaskIndex = TupleUtils.chooseTaskIndex(values, groupFieldIndices, numTasks);
             return targetTasks.get(targetTaskIndex);
         }
 
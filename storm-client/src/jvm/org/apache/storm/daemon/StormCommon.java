@@ -267,6 +267,15 @@ public class StormCommon {
         ackerConf.put(Config.TOPOLOGY_TICK_TUPLE_FREQ_SECS, ObjectReader.getInt(conf.get(Config.TOPOLOGY_MESSAGE_TIMEOUT_SECS)));
 
         Map<GlobalStreamId, Grouping> inputs = ackerInputs(topology);
+        boolean batched = AckBatcher.getBatchSize(conf) > 1;
+        if (batched) {
+            for (String id : topology.get_spouts().keySet()) {
+                inputs.put(Utils.getGlobalStreamId(id, Acker.ACKER_INIT_BATCH_STREAM_ID), Thrift.prepareDirectGrouping());
+            }
+            for (String id : topology.get_bolts().keySet()) {
+                inputs.put(Utils.getGlobalStreamId(id, Acker.ACKER_ACK_BATCH_STREAM_ID), Thrift.prepareDirectGrouping());
+            }
+        }
         Bolt acker = Thrift.prepareSerializedBoltDetails(inputs, makeAckerBolt(), outputStreams, ackerNum, ackerConf);
 
         for (Bolt bolt : topology.get_bolts().values()) {
@@ -274,6 +283,9 @@ public class StormCommon {
             common.put_to_streams(Acker.ACKER_ACK_STREAM_ID, Thrift.outputFields(Arrays.asList("id", "ack-val")));
             common.put_to_streams(Acker.ACKER_FAIL_STREAM_ID, Thrift.outputFields(Arrays.asList("id")));
             common.put_to_streams(Acker.ACKER_RESET_TIMEOUT_STREAM_ID, Thrift.outputFields(Arrays.asList("id")));
+            if (batched) {
+                common.put_to_streams(Acker.ACKER_ACK_BATCH_STREAM_ID, Thrift.directOutputFields(Arrays.asList("ack-vals")));
+            }
         }
 
         for (SpoutSpec spout : topology.get_spouts().values()) {
@@ -284,6 +296,9 @@ public class StormCommon {
             common.set_json_conf(JSONValue.toJSONString(spoutConf));
             common.put_to_streams(Acker.ACKER_INIT_STREAM_ID,
                                   Thrift.outputFields(Arrays.asList("id", "init-val", "spout-task")));
+            if (batched) {
+                common.put_to_streams(Acker.ACKER_INIT_BATCH_STREAM_ID, Thrift.directOutputFields(Arrays.asList("init-vals")));
+            }
             common.put_to_inputs(Utils.getGlobalStreamId(Acker.ACKER_COMPONENT_ID, Acker.ACKER_ACK_STREAM_ID),
                                  Thrift.prepareDirectGrouping());
             common.put_to_inputs(Utils.getGlobalStreamId(Acker.ACKER_COMPONENT_ID, Acker.ACKER_FAIL_STREAM_ID),
@@ -23,6 +23,7 @@ import java.nio.charset.Charset;
 import java.security.PrivilegedExceptionAction;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -40,10 +41,12 @@ import org.apache.storm.cluster.ClusterUtils;
 import org.apache.storm.cluster.DaemonType;
 import org.apache.storm.cluster.IStateStorage;
 import org.apache.storm.cluster.IStormClusterState;
+import org.apache.storm.daemon.AckBatcher;
 import org.apache.storm.daemon.DaemonCommon;
 import org.apache.storm.daemon.Shutdownable;
 import org.apache.storm.daemon.StormCommon;
 import org.apache.storm.executor.Executor;
+import org.apache.storm.executor.ExecutorFusion;
 import org.apache.storm.executor.ExecutorShutdown;
 import org.apache.storm.executor.IRunningExecutor;
 import org.apache.storm.executor.LocalExecutor;
@@ -56,6 +59,7 @@ import org.apache.storm.generated.SupervisorWorkerHeartbeat;
 import org.apache.storm.messaging.IConnection;
 import org.apache.storm.messaging.IContext;
 import org.apache.storm.metrics2.StormMetricRegistry;
+import org.apache.storm.metrics2.ThreadResourceUsage;
 import org.apache.storm.security.auth.ClientAuthUtils;
 import org.apache.storm.security.auth.IAutoCredentials;
 import org.apache.storm.shade.com.google.common.base.Preconditions;
@@ -89,6 +93,7 @@ public class Worker implements Shutdownable, DaemonCommon {
     private final LogConfigManager logConfigManager;
     private final StormMetricRegistry metricRegistry;
     private Meter heatbeatMeter;
+    private LocalState heartbeatState;
 
     private WorkerState workerState;
     private AtomicReference<List<IRunningExecutor>> executorsAtom;
@@ -207,6 +212,13 @@ public class Worker implements Shutdownable, DaemonCommon {
 
     }
 
+    private void registerResourceUsageGauges(String threads, ThreadResourceUsage usage) {
+        metricRegistry.gauge("__" + threads + "-cpu-time-ms", usage::getCpuTimeMillis, Constants.SYSTEM_COMPONENT_ID,
+                             (int) Constants.SYSTEM_TASK_ID);
+        metricRegistry.gauge("__" + threads + "-allocated-bytes", usage::getAllocatedBytes, Constants.SYSTEM_COMPONENT_ID,
+                             (int) Constants.SYSTEM_TASK_ID);
+    }
+
     private Object loadWorker(IStateStorage stateStorage, IStormClusterState stormClusterState,
                               Map<String, String> initCreds, Credentials initialCredentials)
         throws Exception {
@@ -267,6 +279,11 @@ public class Worker implements Shutdownable, DaemonCommon {
             }
         }
 
+        if (ExecutorFusion.fuse(execs, workerState) > 0) {
+            // executors running on the thread of another one are shut down after it
+            execs.sort(Comparator.comparing(Executor::isFused));
+        }
+
         List<IRunningExecutor> newExecutors = new ArrayList<IRunningExecutor>();
         for (Executor executor : execs) {
             newExecutors.add(executor.execute());
@@ -278,7 +295,13 @@ public class Worker implements Shutdownable, DaemonCommon {
         if (workerState.hasRemoteOutboundTasks()) {
             transferThread = workerState.makeTransferThread();
             transferThread.setName("Worker-Transfer");
+            ThreadResourceUsage transferUsage = new ThreadResourceUsage();
+            transferUsage.addThread(transferThread);
+            registerResourceUsageGauges("transfer-thread", transferUsage);
         }
+        // the event loops of the netty server and clients, and the timer reconnecting the clients
+        registerResourceUsageGauges("netty-threads",
+                                    new ThreadResourceUsage("Netty-server-", "client-worker-", "client-schedule-service-"));
 
         establishLogSettingCallback();
 
@@ -344,9 +367,10 @@ public class Worker implements Shutdownable, DaemonCommon {
         final Integer producerBatchSize = ObjectReader.getInt(topologyConf.get(Config.TOPOLOGY_PRODUCER_BATCH_SIZE));
         final Integer xferBatchSize = ObjectReader.getInt(topologyConf.get(Config.TOPOLOGY_TRANSFER_BATCH_SIZE));
         final Long flushIntervalMillis = ObjectReader.getLong(topologyConf.get(Config.TOPOLOGY_BATCH_FLUSH_INTERVAL_MILLIS));
-        if ((producerBatchSize == 1 && xferBatchSize == 1) || flushIntervalMillis == 0) {
-            LOG.info("Flush Tuple generation disabled. producerBatchSize={}, xferBatchSize={}, flushIntervalMillis={}",
-                     producerBatchSize, xferBatchSize, flushIntervalMillis);
+        final int ackerBatchSize = AckBatcher.getBatchSize(topologyConf);
+        if ((producerBatchSize == 1 && xferBatchSize == 1 && ackerBatchSize == 1) || flushIntervalMillis == 0) {
+            LOG.info("Flush Tuple generation disabled. producerBatchSize={}, xferBatchSize={}, ackerBatchSize={}, flushIntervalMillis={}",
+                     producerBatchSize, xferBatchSize, ackerBatchSize, flushIntervalMillis);
             return;
         }
 
@@ -385,7 +409,11 @@ public class Worker implements Shutdownable, DaemonCommon {
     }
 
     public void doHeartBeat() throws IOException {
-        LocalState state = ConfigUtils.workerState(workerState.conf, workerState.workerId);
+        if (heartbeatState == null) {
+            // kept, so that an append only state does not need to read the entries back in for every heartbeat
+            heartbeatState = ConfigUtils.workerState(workerState.conf, workerState.workerId);
+        }
+        LocalState state = heartbeatState;
         LSWorkerHeartbeat lsWorkerHeartbeat = new LSWorkerHeartbeat(Time.currentTimeSecs(), workerState.topologyId,
                                                                     workerState.localExecutors.stream()
                                                                                               .map(executor -> new ExecutorInfo(
@@ -516,6 +544,7 @@ public class Worker implements Shutdownable, DaemonCommon {
                 for (IRunningExecutor executor : executorsAtom.get()) {
                     ((ExecutorShutdown) executor).shutdown();
                 }
+                workerState.haltExecutorPool();
                 LOG.info("Shut down executors");
 
                 LOG.info("Shutting down transfer thread");
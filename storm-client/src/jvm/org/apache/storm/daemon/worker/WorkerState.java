@@ -42,6 +42,7 @@ import org.apache.storm.cluster.VersionedData;
 import org.apache.storm.daemon.StormCommon;
 import org.apache.storm.daemon.supervisor.AdvancedFSOps;
 import org.apache.storm.daemon.worker.BackPressureTracker.BackpressureState;
+import org.apache.storm.executor.ExecutorPool;
 import org.apache.storm.executor.IRunningExecutor;
 import org.apache.storm.generated.Assignment;
 import org.apache.storm.generated.Credentials;
@@ -154,6 +155,7 @@ public class WorkerState {
     private final Collection<IAutoCredentials> autoCredentials;
     private final AtomicReference<Credentials> credentialsAtom;
     private final StormMetricRegistry metricRegistry;
+    private final ExecutorPool executorPool;
 
     public WorkerState(Map<String, Object> conf,
             IContext mqContext,
@@ -232,6 +234,7 @@ public class WorkerState {
         }
         int maxTaskId = getMaxTaskId(componentToSortedTasks);
         this.workerTransfer = new WorkerTransfer(this, topologyConf, maxTaskId);
+        this.executorPool = ExecutorPool.fromConf(topologyConf, "executor-pool");
 
         this.bpTracker = new BackPressureTracker(workerId, taskToExecutorQueue, metricRegistry, taskToComponent);
         this.deserializedWorkerHooks = deserializeWorkerHooks();
@@ -244,7 +247,8 @@ public class WorkerState {
             LOG.info("Sending BackPressure status to new client. BPStatus: {}", bpStatus);
             return bpStatus;
         };
-        this.receiver = this.mqContext.bind(topologyId, port, cb, newConnectionResponse);
+        boolean grantCredits = ObjectReader.getBoolean(topologyConf.get(Config.TOPOLOGY_BACKPRESSURE_CREDITS), false);
+        this.receiver = this.mqContext.bind(topologyId, port, cb, newConnectionResponse, grantCredits ? taskToExecutorQueue : null);
     }
 
     public static boolean isConnectionReady(IConnection connection) {
@@ -446,7 +450,8 @@ public class WorkerState {
                              //nodeHost is not null here, as newConnections is only non-empty if assignment was not null above.
                              nodeHost.get(nodeInfo.get_node()),    // Host
                              nodeInfo.get_port().iterator().next().intValue(),       // Port
-                             workerTransfer.getRemoteBackPressureStatus()));
+                             workerTransfer.getRemoteBackPressureStatus(),
+                             workerTransfer.getRemoteCredits()));
             }
             return next;
         });
@@ -608,13 +613,17 @@ public class WorkerState {
             queue.getQueueName(), queue.getOverflowCount(), dropCount, tuple);
     }
 
+    public boolean isTrySerializeLocal() {
+        return trySerializeLocal;
+    }
+
     public void checkSerialize(KryoTupleSerializer serializer, AddressedTuple tuple) {
         if (trySerializeLocal) {
             serializer.serialize(tuple.getTuple());
         }
     }
 
-    public final WorkerTopologyContext getWorkerTopologyContext() {
+    public WorkerTopologyContext getWorkerTopologyContext() {
         try {
             String codeDir = ConfigUtils.supervisorStormResourcesPath(ConfigUtils.supervisorStormDistRoot(conf, topologyId));
             String pidDir = ConfigUtils.workerPidsRoot(conf, topologyId);
@@ -711,6 +720,8 @@ public class WorkerState {
         Integer recvQueueSize = ObjectReader.getInt(topologyConf.get(Config.TOPOLOGY_EXECUTOR_RECEIVE_BUFFER_SIZE));
         Integer recvBatchSize = ObjectReader.getInt(topologyConf.get(Config.TOPOLOGY_PRODUCER_BATCH_SIZE));
         Integer overflowLimit = ObjectReader.getInt(topologyConf.get(Config.TOPOLOGY_EXECUTOR_OVERFLOW_LIMIT));
+        boolean adaptiveBatching = ObjectReader.getBoolean(topologyConf.get(Config.TOPOLOGY_BATCH_ADAPTIVE), false);
+        long flushIntervalMillis = ObjectReader.getLong(topologyConf.get(Config.TOPOLOGY_BATCH_FLUSH_INTERVAL_MILLIS), 1L);
 
         if (recvBatchSize > recvQueueSize / 2) {
             throw new IllegalArgumentException(Config.TOPOLOGY_PRODUCER_BATCH_SIZE + ":" + recvBatchSize
@@ -731,7 +742,8 @@ public class WorkerState {
                 compId = taskToComponent.get(taskId);
             }
             receiveQueueMap.put(executor, new JCQueue("receive-queue" + executor.toString(), "receive-queue",
-                                                      recvQueueSize, overflowLimit, recvBatchSize, backPressureWaitStrategy,
+                                                      recvQueueSize, overflowLimit, recvBatchSize, adaptiveBatching, flushIntervalMillis,
+                                                      backPressureWaitStrategy,
                 this.getTopologyId(), compId, taskIds, this.getPort(), metricRegistry));
 
         }
@@ -809,6 +821,21 @@ public class WorkerState {
         workerTransfer.haltTransferThd();
     }
 
+    /**
+     * The threads shared by the bolt executors of this worker, see {@link Config#TOPOLOGY_EXECUTOR_POOL_THREADS}.
+     *
+     * @return the pool, or null if every executor runs on a thread of its own
+     */
+    public ExecutorPool getExecutorPool() {
+        return executorPool;
+    }
+
+    public void haltExecutorPool() throws InterruptedException {
+        if (executorPool != null) {
+            executorPool.shutdown();
+        }
+    }
+
     public JCQueue getTransferQueue() {
         return workerTransfer.getTransferQueue();
     }
@@ -818,6 +845,9 @@ public class WorkerState {
     }
 
     public interface ILocalTransferCallback {
+        /**
+         * Deliver a batch of tuples to their local executors. The batch may be reused by the caller once this returns.
+         */
         void transfer(ArrayList<AddressedTuple> tupleBatch);
     }
 }
@@ -25,9 +25,12 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.apache.storm.Config;
 import org.apache.storm.Constants;
+import org.apache.storm.messaging.RemoteTaskCredits;
 import org.apache.storm.messaging.TaskMessage;
 import org.apache.storm.policy.IWaitStrategy;
 import org.apache.storm.serialization.ITupleSerializer;
+import org.apache.storm.shade.io.netty.buffer.ByteBufAllocator;
+import org.apache.storm.shade.io.netty.buffer.PooledByteBufAllocator;
 import org.apache.storm.tuple.AddressedTuple;
 import org.apache.storm.utils.JCQueue;
 import org.apache.storm.utils.ObjectReader;
@@ -46,18 +49,26 @@ public class WorkerTransfer implements JCQueue.Consumer {
 
     private final IWaitStrategy backPressureWaitStrategy;
 
+    // non-null if remote tuples are serialized into pooled buffers, see Config.TOPOLOGY_TRANSFER_POOLED_BUFFERS
+    private final ByteBufAllocator pooledAllocator;
+
     private JCQueue transferQueue; // [remoteTaskId] -> JCQueue. Some entries maybe null (if no emits to those tasksIds from this worker)
 
     private final AtomicBoolean[] remoteBackPressureStatus; // [[remoteTaskId] -> true/false : indicates if remote task is under BP.
 
+    // non-null if remote workers are asked for credits, see Config.TOPOLOGY_BACKPRESSURE_CREDITS
+    private final RemoteTaskCredits remoteCredits;
+
     public WorkerTransfer(WorkerState workerState, Map<String, Object> topologyConf, int maxTaskIdInTopo) {
         this.workerState = workerState;
         this.backPressureWaitStrategy = IWaitStrategy.createBackPressureWaitStrategy(topologyConf);
-        this.drainer = new TransferDrainer();
         this.remoteBackPressureStatus = new AtomicBoolean[maxTaskIdInTopo + 1];
         for (int i = 0; i < remoteBackPressureStatus.length; i++) {
             remoteBackPressureStatus[i] = new AtomicBoolean(false);
         }
+        this.remoteCredits = ObjectReader.getBoolean(topologyConf.get(Config.TOPOLOGY_BACKPRESSURE_CREDITS), false)
+            ? new RemoteTaskCredits(maxTaskIdInTopo, workerState.getMetricRegistry()) : null;
+        this.drainer = new TransferDrainer(maxTaskIdInTopo, remoteCredits);
 
         Integer xferQueueSz = ObjectReader.getInt(topologyConf.get(Config.TOPOLOGY_TRANSFER_BUFFER_SIZE));
         Integer xferBatchSz = ObjectReader.getInt(topologyConf.get(Config.TOPOLOGY_TRANSFER_BATCH_SIZE));
@@ -66,8 +77,13 @@ public class WorkerTransfer implements JCQueue.Consumer {
                                                + Config.TOPOLOGY_TRANSFER_BUFFER_SIZE + ":" + xferQueueSz);
         }
 
+        this.pooledAllocator = ObjectReader.getBoolean(topologyConf.get(Config.TOPOLOGY_TRANSFER_POOLED_BUFFERS), false)
+            ? PooledByteBufAllocator.DEFAULT : null;
+
+        boolean adaptiveBatching = ObjectReader.getBoolean(topologyConf.get(Config.TOPOLOGY_BATCH_ADAPTIVE), false);
+        long flushIntervalMillis = ObjectReader.getLong(topologyConf.get(Config.TOPOLOGY_BATCH_FLUSH_INTERVAL_MILLIS), 1L);
         this.transferQueue = new JCQueue("worker-transfer-queue", "worker-transfer-queue",
-            xferQueueSz, 0, xferBatchSz, backPressureWaitStrategy,
+            xferQueueSz, 0, xferBatchSz, adaptiveBatching, flushIntervalMillis, backPressureWaitStrategy,
             workerState.getTopologyId(), Constants.SYSTEM_COMPONENT_ID, Collections.singletonList(-1), workerState.getPort(),
             workerState.getMetricRegistry());
     }
@@ -80,6 +96,10 @@ public class WorkerTransfer implements JCQueue.Consumer {
         return remoteBackPressureStatus;
     }
 
+    RemoteTaskCredits getRemoteCredits() {
+        return remoteCredits;
+    }
+
     public SmartThread makeTransferThread() {
         return Utils.asyncLoop(() -> {
             if (transferQueue.consume(this) == 0) {
@@ -114,10 +134,19 @@ public class WorkerTransfer implements JCQueue.Consumer {
             return false;
         }
 
-        if (!remoteBackPressureStatus[addressedTuple.dest].get()) {
-            TaskMessage tm = new TaskMessage(addressedTuple.getDest(), serializer.serialize(addressedTuple.getTuple()));
-            if (transferQueue.tryPublish(tm)) {
-                return true;
+        int dest = addressedTuple.dest;
+        if (!remoteBackPressureStatus[dest].get()) {
+            if (remoteCredits == null || remoteCredits.tryAcquire(dest)) {
+                TaskMessage tm = serialize(addressedTuple, serializer);
+                if (transferQueue.tryPublish(tm)) {
+                    return true;
+                }
+                tm.release();
+                if (remoteCredits != null) {
+                    remoteCredits.release(dest);
+                }
+            } else {
+                LOG.debug("No credits left for remote task {}", dest);
             }
         } else {
             LOG.debug("Noticed Back Pressure in remote task {}", addressedTuple.dest);
@@ -128,12 +157,19 @@ public class WorkerTransfer implements JCQueue.Consumer {
         return false;
     }
 
+    private TaskMessage serialize(AddressedTuple addressedTuple, ITupleSerializer serializer) {
+        if (pooledAllocator != null) {
+            return TaskMessage.fromBuffer(addressedTuple.getDest(), serializer.serialize(addressedTuple.getTuple(), pooledAllocator));
+        }
+        return new TaskMessage(addressedTuple.getDest(), serializer.serialize(addressedTuple.getTuple()));
+    }
+
     public void flushRemotes() throws InterruptedException {
         transferQueue.flush();
     }
 
     public boolean tryFlushRemotes() {
-        return transferQueue.tryFlush();
+        return transferQueue.tryFlushAll();
     }
 
 
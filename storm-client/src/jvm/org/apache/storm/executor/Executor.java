@@ -45,6 +45,7 @@ import org.apache.storm.cluster.ClusterStateContext;
 import org.apache.storm.cluster.ClusterUtils;
 import org.apache.storm.cluster.DaemonType;
 import org.apache.storm.cluster.IStormClusterState;
+import org.apache.storm.daemon.AckBatcher;
 import org.apache.storm.daemon.Acker;
 import org.apache.storm.daemon.GrouperFactory;
 import org.apache.storm.daemon.StormCommon;
@@ -58,6 +59,7 @@ import org.apache.storm.executor.spout.SpoutExecutor;
 import org.apache.storm.generated.Bolt;
 import org.apache.storm.generated.Credentials;
 import org.apache.storm.generated.DebugOptions;
+import org.apache.storm.generated.ExecutorStats;
 import org.apache.storm.generated.Grouping;
 import org.apache.storm.generated.SpoutSpec;
 import org.apache.storm.generated.StormTopology;
@@ -67,6 +69,7 @@ import org.apache.storm.metric.api.IMetric;
 import org.apache.storm.metric.api.IMetricsConsumer;
 import org.apache.storm.metrics2.PerReporterGauge;
 import org.apache.storm.metrics2.RateCounter;
+import org.apache.storm.metrics2.ThreadResourceUsage;
 import org.apache.storm.shade.com.google.common.annotations.VisibleForTesting;
 import org.apache.storm.shade.com.google.common.collect.Lists;
 import org.apache.storm.shade.org.jctools.queues.MpscChunkedArrayQueue;
@@ -120,6 +123,7 @@ public abstract class Executor implements Callable, JCQueue.Consumer {
     protected final Boolean isDebug;
     protected final Boolean hasEventLoggers;
     protected final boolean ackingEnabled;
+    protected final AckBatcher ackBatcher; // null unless acker updates are batched, see Config.TOPOLOGY_ACKER_BATCH_SIZE
     protected final MpscChunkedArrayQueue<AddressedTuple> pendingEmits = new MpscChunkedArrayQueue<>(1024, (int) Math.pow(2, 30));
     private final AddressedTuple flushTuple;
     protected ExecutorTransfer executorTransfer;
@@ -129,8 +133,17 @@ public abstract class Executor implements Callable, JCQueue.Consumer {
     private static final double msDurationFactor = 1.0 / TimeUnit.MILLISECONDS.toNanos(1);
     private AtomicBoolean needToRefreshCreds = new AtomicBoolean(false);
     private final RateCounter reportedErrorCount;
+    private final RateCounter localTransferCount;
+    private final RateCounter unaddressedTransferCount;
     private final boolean enableV2MetricsDataPoints;
     private final Integer v2MetricsTickInterval;
+    // bolt executors that run on the thread of this one, see Config.TOPOLOGY_EXECUTOR_FUSION
+    private final List<BoltExecutor> fusedExecutors = new ArrayList<>();
+    private Executor fusedInto = null;
+    // set when this executor failed on the thread it is fused into, only accessed on that thread
+    private boolean fusedDied = false;
+    // the threads this executor runs on, including the bolts fused into it
+    private final ThreadResourceUsage resourceUsage = new ThreadResourceUsage();
 
     protected Executor(WorkerState workerData, List<Long> executorId, Map<String, String> credentials, String type) {
         this.workerData = workerData;
@@ -177,6 +190,14 @@ public abstract class Executor implements Callable, JCQueue.Consumer {
         this.credentials = credentials;
         this.hasEventLoggers = StormCommon.hasEventLoggers(topoConf);
         this.ackingEnabled = StormCommon.hasAckers(topoConf);
+        int ackBatchSize = AckBatcher.getBatchSize(topoConf);
+        // the acker and the other system components do not send updates worth batching
+        if (ackingEnabled && ackBatchSize > 1 && !Utils.isSystemId(componentId)) {
+            String stream = ClientStatsUtil.SPOUT.equals(type) ? Acker.ACKER_INIT_BATCH_STREAM_ID : Acker.ACKER_ACK_BATCH_STREAM_ID;
+            this.ackBatcher = new AckBatcher(this, stream, ackBatchSize);
+        } else {
+            this.ackBatcher = null;
+        }
 
         try {
             this.hostname = Utils.hostname();
@@ -186,6 +207,13 @@ public abstract class Executor implements Callable, JCQueue.Consumer {
         flushTuple = AddressedTuple.createFlushTuple(workerTopologyContext);
         this.reportedErrorCount = workerData.getMetricRegistry().rateCounter("__reported-error-count", componentId,
                 taskIds.get(0));
+        this.localTransferCount = workerData.getMetricRegistry().rateCounter("__local-transfer-count", componentId,
+                taskIds.get(0));
+        this.unaddressedTransferCount = workerData.getMetricRegistry().rateCounter("__local-unaddressed-transfer-count", componentId,
+                taskIds.get(0));
+        executorTransfer.setLocalTransferMetrics(localTransferCount, unaddressedTransferCount);
+        workerData.getMetricRegistry().gauge("__cpu-time-ms", resourceUsage::getCpuTimeMillis, componentId, taskIds.get(0));
+        workerData.getMetricRegistry().gauge("__allocated-bytes", resourceUsage::getAllocatedBytes, componentId, taskIds.get(0));
 
         enableV2MetricsDataPoints = ObjectReader.getBoolean(topoConf.get(Config.TOPOLOGY_ENABLE_V2_METRICS_TICK), false);
         v2MetricsTickInterval = ObjectReader.getInt(topoConf.get(Config.TOPOLOGY_V2_METRICS_TICK_INTERVAL_SECONDS), 60);
@@ -270,21 +298,155 @@ public abstract class Executor implements Callable, JCQueue.Consumer {
         LOG.info("Loading executor tasks " + componentId + ":" + executorId);
 
         String handlerName = componentId + "-executor" + executorId;
+        if (fusedInto != null) {
+            LOG.info("Finished loading executor " + componentId + ":" + executorId + " on the thread of " + fusedInto.getComponentId()
+                     + ":" + fusedInto.getExecutorId());
+            return new ExecutorShutdown(this, new ArrayList<>(), idToTask, receiveQueue);
+        }
+        ExecutorPool pool = workerData.getExecutorPool();
+        ExecutorPool.Turn turn = (pool != null) ? pooledTurn() : null;
+        if (turn != null) {
+            ExecutorPool.Turn measuredTurn = quota -> {
+                resourceUsage.startSlice();
+                try {
+                    return turn.run(quota);
+                } finally {
+                    resourceUsage.endSlice();
+                }
+            };
+            ExecutorPool.Registration registration = pool.register(receiveQueue, measuredTurn, reportErrorDie);
+            LOG.info("Finished loading executor " + componentId + ":" + executorId + " on a shared thread");
+            return new ExecutorShutdown(this, new ArrayList<>(), idToTask, receiveQueue, registration);
+        }
         Utils.SmartThread handler =
             Utils.asyncLoop(this, false, reportErrorDie, Thread.NORM_PRIORITY, true, true, handlerName);
+        resourceUsage.addThread(handler);
 
         LOG.info("Finished loading executor " + componentId + ":" + executorId);
         return new ExecutorShutdown(this, Lists.newArrayList(handler), idToTask, receiveQueue);
     }
 
+    /**
+     * Run this executor in turns on a thread of the worker's {@link ExecutorPool}, instead of on a thread of its own.
+     *
+     * @return the turn, or null if this executor needs a thread of its own
+     */
+    protected ExecutorPool.Turn pooledTurn() {
+        return null;
+    }
+
+    /**
+     * Run the downstream bolt executor on the thread of this one from now on. Must be called before either is executed.
+     */
+    void fuse(BoltExecutor downstream) {
+        fusedExecutors.add(downstream);
+        ((Executor) downstream).fusedInto = this;
+        // a flush of the downstream bolt must not block the thread that consumes its destination queues
+        ((Executor) downstream).executorTransfer.setNonBlockingFlush(true);
+        executorTransfer.addFused(downstream);
+    }
+
+    Executor getFusedInto() {
+        return fusedInto;
+    }
+
+    /**
+     * Whether this executor runs on the thread of another one, see {@link Config#TOPOLOGY_EXECUTOR_FUSION}.
+     */
+    public boolean isFused() {
+        return fusedInto != null;
+    }
+
+    /**
+     * Prepare the executors fused into this one. Called on the thread of this executor, after preparing it.
+     */
+    protected void initFused() throws InterruptedException {
+        for (BoltExecutor fused : fusedExecutors) {
+            try {
+                fused.initAsFused();
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Throwable t) {
+                ((Executor) fused).fusedExecutorDied(t);
+            }
+        }
+    }
+
+    /**
+     * Consume what arrived in the receive queues of the executors fused into this one, such as tick tuples and tuples from other
+     * workers. Called on the thread of this executor.
+     *
+     * @return the number of tuples consumed
+     */
+    protected int consumeFused() {
+        if (fusedExecutors.isEmpty()) {
+            return 0;
+        }
+        int count = 0;
+        for (int i = 0; i < fusedExecutors.size(); i++) {
+            Executor fused = fusedExecutors.get(i);
+            if (fused.fusedDied) {
+                continue;
+            }
+            try {
+                count += ((BoltExecutor) fused).consumeAsFused();
+            } catch (Throwable t) {
+                fused.fusedExecutorDied(t);
+            }
+        }
+        executorTransfer.retryFusedFlush();
+        return count;
+    }
+
+    /**
+     * Process a tuple on the calling thread, if nothing sent earlier is still waiting in the receive queue and the emits of this executor
+     * are not held up. Only called on the thread this executor is fused into.
+     *
+     * @return true if the tuple was processed
+     */
+    boolean tryAcceptDirect(Object tuple) {
+        if (fusedDied || !pendingEmits.isEmpty() || !receiveQueue.isEmpty() || !executorTransfer.retryFlush()) {
+            return false;
+        }
+        try {
+            accept(tuple);
+        } catch (Throwable t) {
+            fusedExecutorDied(t);
+        }
+        return true;
+    }
+
+    /**
+     * Handle an error of this executor on the thread it is fused into the way its own thread would: report it under the component of
+     * this executor and kill the worker. This executor is not run again, the one it is fused into keeps running until the worker is
+     * gone. An interruption is passed on, since it stops the thread for all of them.
+     */
+    private void fusedExecutorDied(Throwable error) {
+        if (Utils.exceptionCauseIsInstanceOf(InterruptedException.class, error)) {
+            if (error instanceof RuntimeException) {
+                throw (RuntimeException) error;
+            }
+            throw new RuntimeException(error);
+        }
+        fusedDied = true;
+        reportErrorDie.uncaughtException(Thread.currentThread(), error);
+    }
+
     public abstract void tupleActionFn(int taskId, TupleImpl tuple) throws Exception;
 
     @Override
     public void accept(Object event) {
-        AddressedTuple addressedTuple = (AddressedTuple) event;
-        int taskId = addressedTuple.getDest();
-
-        TupleImpl tuple = (TupleImpl) addressedTuple.getTuple();
+        int taskId;
+        TupleImpl tuple;
+        if (event instanceof TupleImpl) {
+            // sent without an address to the only task of this executor, see ExecutorTransfer.tryTransfer(int, TupleImpl, Queue)
+            taskId = idToTaskBase;
+            tuple = (TupleImpl) event;
+        } else {
+            AddressedTuple addressedTuple = (AddressedTuple) event;
+            taskId = addressedTuple.getDest();
+            tuple = (TupleImpl) addressedTuple.getTuple();
+        }
         if (isDebug) {
             LOG.info("Processing received TUPLE: {} for TASK: {} ", tuple, taskId);
         }
@@ -603,7 +765,9 @@ public abstract class Executor implements Callable, JCQueue.Consumer {
         keysToRemove.remove(Config.TOPOLOGY_BOLTS_MESSAGE_ID_FIELD_NAME);
         keysToRemove.remove(Config.TOPOLOGY_STATE_PROVIDER);
         keysToRemove.remove(Config.TOPOLOGY_STATE_PROVIDER_CONFIG);
+        keysToRemove.remove(Config.TOPOLOGY_STATE_CHECKPOINT_ASYNC);
         keysToRemove.remove(Config.TOPOLOGY_BOLTS_LATE_TUPLE_STREAM);
+        keysToRemove.remove(Config.TOPOLOGY_BOLTS_WINDOW_MAX_EVENTS_ON_HEAP);
 
         Map<String, Object> componentConf;
         String specJsonConf = topologyContext.getComponentCommon(componentId).get_json_conf();
@@ -653,6 +817,19 @@ public abstract class Executor implements Callable, JCQueue.Consumer {
 
     public abstract CommonStats getStats();
 
+    /**
+     * The stats of this executor, with the CPU time and the bytes allocated by the thread it runs on. An executor fused into another one
+     * has no thread of its own, what it uses is accounted to the executor it runs on.
+     */
+    public ExecutorStats renderStats() {
+        ExecutorStats stats = getStats().renderStats();
+        if (ThreadResourceUsage.isSupported() && fusedInto == null) {
+            stats.set_cpu_time_ms(resourceUsage.getCpuTimeMillis());
+            stats.set_allocated_bytes(resourceUsage.getAllocatedBytes());
+        }
+        return stats;
+    }
+
     public String getType() {
         return type;
     }
@@ -665,6 +842,10 @@ public abstract class Executor implements Callable, JCQueue.Consumer {
         return executorTransfer;
     }
 
+    public AckBatcher getAckBatcher() {
+        return ackBatcher;
+    }
+
     public IReportError getReportError() {
         return reportError;
     }
@@ -708,6 +889,7 @@ public abstract class Executor implements Callable, JCQueue.Consumer {
     @VisibleForTesting
     public void setLocalExecutorTransfer(ExecutorTransfer executorTransfer) {
         this.executorTransfer = executorTransfer;
+        executorTransfer.setLocalTransferMetrics(localTransferCount, unaddressedTransferCount);
     }
 
     public void incrementReportedErrorCount() {
@@ -0,0 +1,113 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.executor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.storm.Config;
+import org.apache.storm.daemon.worker.WorkerState;
+import org.apache.storm.executor.bolt.BoltExecutor;
+import org.apache.storm.generated.GlobalStreamId;
+import org.apache.storm.generated.Grouping;
+import org.apache.storm.task.WorkerTopologyContext;
+import org.apache.storm.utils.ObjectReader;
+import org.apache.storm.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decides which executors of a worker run on the thread of their upstream executor, see {@link Config#TOPOLOGY_EXECUTOR_FUSION}.
+ *
+ * <p>A local or shuffle grouping only sends to tasks in the same worker if there are any. So when the only inputs of a bolt are local or
+ * shuffle groupings from one component, and the worker has one executor of each, every tuple the bolt gets from its input comes from
+ * that one upstream executor. The bolt can then run on the thread of the upstream executor, which hands it tuples by calling it. Tick,
+ * flush and metrics tuples, and tuples from workers without an executor of the bolt, still arrive in its receive queue, and the upstream
+ * thread consumes them too. Executors, tasks, stats and metrics of both components stay as they are, and so do errors: an error of the bolt
+ * is reported under its own component. The bolt never blocks the upstream thread, a tuple it can not take right away goes to its receive
+ * queue instead.
+ */
+public class ExecutorFusion {
+    private static final Logger LOG = LoggerFactory.getLogger(ExecutorFusion.class);
+
+    /**
+     * Fuse the eligible executors of a worker. Must be called after all executors are made, and before any of them is executed.
+     *
+     * @return the number of executors fused into another one
+     */
+    public static int fuse(List<Executor> executors, WorkerState workerState) {
+        if (!ObjectReader.getBoolean(workerState.getTopologyConf().get(Config.TOPOLOGY_EXECUTOR_FUSION), false)) {
+            return 0;
+        }
+        WorkerTopologyContext context = workerState.getWorkerTopologyContext();
+        boolean sharedThreads = workerState.getExecutorPool() != null;
+        Map<String, List<Executor>> componentToExecutors = new HashMap<>();
+        for (Executor executor : executors) {
+            componentToExecutors.computeIfAbsent(executor.getComponentId(), id -> new ArrayList<>()).add(executor);
+        }
+        int fused = 0;
+        for (Executor executor : executors) {
+            // only bolts can be fused, spouts drive their own loop
+            if (!(executor instanceof BoltExecutor)) {
+                continue;
+            }
+            BoltExecutor downstream = (BoltExecutor) executor;
+            String componentId = downstream.getComponentId();
+            if (Utils.isSystemId(componentId) || componentToExecutors.get(componentId).size() != 1) {
+                continue;
+            }
+            String upstreamId = onlyLocalOrShuffleInput(context.getSources(componentId));
+            if (upstreamId == null || upstreamId.equals(componentId) || Utils.isSystemId(upstreamId)) {
+                continue;
+            }
+            List<Executor> upstreamExecutors = componentToExecutors.get(upstreamId);
+            if (upstreamExecutors == null || upstreamExecutors.size() != 1) {
+                continue;
+            }
+            Executor upstream = upstreamExecutors.get(0);
+            if (sharedThreads && upstream instanceof BoltExecutor) {
+                continue;
+            }
+            // every executor has at most one upstream, so only an upstream running on the thread of the bolt closes a cycle
+            if (threadOwner(upstream) == downstream) {
+                continue;
+            }
+            upstream.fuse(downstream);
+            fused++;
+            LOG.info("Executor {}:{} runs on the thread of {}:{}", componentId, downstream.getExecutorId(), upstreamId,
+                     upstream.getExecutorId());
+        }
+        return fused;
+    }
+
+    private static String onlyLocalOrShuffleInput(Map<GlobalStreamId, Grouping> sources) {
+        String upstreamId = null;
+        for (Map.Entry<GlobalStreamId, Grouping> entry : sources.entrySet()) {
+            String sourceId = entry.getKey().get_componentId();
+            if (entry.getValue().getSetField() != Grouping._Fields.LOCAL_OR_SHUFFLE
+                || (upstreamId != null && !upstreamId.equals(sourceId))) {
+                return null;
+            }
+            upstreamId = sourceId;
+        }
+        return upstreamId;
+    }
+
+    private static Executor threadOwner(Executor executor) {
+        while (executor.getFusedInto() != null) {
+            executor = executor.getFusedInto();
+        }
+        return executor;
+    }
+}
@@ -0,0 +1,266 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.executor;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import org.apache.storm.Config;
+import org.apache.storm.shade.org.jctools.queues.MpscUnboundedArrayQueue;
+import org.apache.storm.utils.JCQueue;
+import org.apache.storm.utils.ObjectReader;
+import org.apache.storm.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs executors on a fixed number of threads shared by all of them, see {@link Config#TOPOLOGY_EXECUTOR_POOL_THREADS}.
+ *
+ * <p>Every executor is assigned to one of the threads for good, like a netty channel to its event loop, so its thread local state (batches
+ * of emitted tuples, serializers) stays with it. A thread runs its executors in turns, in the order their receive queues got tuples. A turn
+ * ends when the queue is empty or after {@link Config#TOPOLOGY_EXECUTOR_POOL_QUOTA} tuples, and an executor with tuples left goes to the
+ * back of the line. An executor that can not hand off its emits because the destination queues are full is retried shortly after,
+ * instead of blocking the thread. A thread with no executor to run parks until a tuple arrives for one of them.
+ */
+public class ExecutorPool {
+    private static final Logger LOG = LoggerFactory.getLogger(ExecutorPool.class);
+    // how long an executor facing back pressure waits for another turn, if nothing else is ready to run
+    private static final long BACK_PRESSURE_RETRY_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long CANCEL_WAIT_MS = 100;
+
+    private final Loop[] loops;
+    private final int quota;
+    private int nextLoop = 0;
+
+    public ExecutorPool(String name, int threads, int quota) {
+        this.quota = quota;
+        this.loops = new Loop[threads];
+        for (int i = 0; i < threads; i++) {
+            loops[i] = new Loop();
+            Thread thread = new Thread(loops[i], name + "-" + i);
+            thread.setDaemon(true);
+            loops[i].thread = thread;
+            thread.start();
+        }
+        LOG.info("Started {} shared executor threads with a quota of {} tuples per turn", threads, quota);
+    }
+
+    /**
+     * Create the pool for a worker.
+     *
+     * @return the pool, or null if every executor should run on a thread of its own
+     */
+    public static ExecutorPool fromConf(Map<String, Object> topoConf, String name) {
+        int threads = ObjectReader.getInt(topoConf.get(Config.TOPOLOGY_EXECUTOR_POOL_THREADS), 0);
+        if (threads == 0) {
+            return null;
+        }
+        if (threads < 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        return new ExecutorPool(name, threads, ObjectReader.getInt(topoConf.get(Config.TOPOLOGY_EXECUTOR_POOL_QUOTA), 1000));
+    }
+
+    /**
+     * Run an executor on one of the threads, first right away and then whenever tuples arrive in its receive queue.
+     *
+     * @param receiveQueue the receive queue of the executor
+     * @param turn runs the executor for one turn
+     * @param errorHandler called with the error if a turn fails, after which the executor is not run again
+     */
+    public synchronized Registration register(JCQueue receiveQueue, Turn turn, Thread.UncaughtExceptionHandler errorHandler) {
+        Loop loop = loops[nextLoop];
+        nextLoop = (nextLoop + 1) % loops.length;
+        Registration registration = new Registration(loop, receiveQueue, turn, errorHandler);
+        receiveQueue.setArrivalListener(registration);
+        registration.run();
+        return registration;
+    }
+
+    /**
+     * Stop the threads. Executors still registered are not run again.
+     */
+    public void shutdown() throws InterruptedException {
+        for (Loop loop : loops) {
+            loop.stopped = true;
+            LockSupport.unpark(loop.thread);
+        }
+        for (Loop loop : loops) {
+            loop.thread.join(CANCEL_WAIT_MS);
+            if (loop.thread.isAlive()) {
+                LOG.warn("Shared executor thread {} is still alive ({} ms after shutdown). Stop waiting for it.", loop.thread.getName(),
+                         CANCEL_WAIT_MS);
+            }
+        }
+    }
+
+    public enum TurnResult {
+        /**
+         * The executor stopped at its quota with tuples left in its queue.
+         */
+        READY,
+        /**
+         * The receive queue of the executor is empty.
+         */
+        IDLE,
+        /**
+         * The executor could not hand off all its emits, because their destination queues are full.
+         */
+        BACK_PRESSURE
+    }
+
+    /**
+     * One turn of an executor on a shared thread. It must not block, since other executors wait for the same thread.
+     */
+    public interface Turn {
+        /**
+         * Consume up to quota tuples from the receive queue.
+         */
+        TurnResult run(int quota) throws Exception;
+    }
+
+    /**
+     * An executor registered with the pool. It is also the arrival listener of the receive queue, which puts the executor in line to run.
+     */
+    public static final class Registration implements Runnable {
+        private final Loop loop;
+        private final JCQueue receiveQueue;
+        private final Turn turn;
+        private final Thread.UncaughtExceptionHandler errorHandler;
+        // true while the executor is in line to run, running or waiting out back pressure
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+        private final CountDownLatch stopped = new CountDownLatch(1);
+        private volatile boolean cancelled = false;
+        // only accessed by the thread of the loop
+        private long retryAtNanos;
+
+        private Registration(Loop loop, JCQueue receiveQueue, Turn turn, Thread.UncaughtExceptionHandler errorHandler) {
+            this.loop = loop;
+            this.receiveQueue = receiveQueue;
+            this.turn = turn;
+            this.errorHandler = errorHandler;
+        }
+
+        @Override
+        public void run() {
+            if (!scheduled.get() && scheduled.compareAndSet(false, true)) {
+                loop.submit(this);
+            }
+        }
+
+        /**
+         * Stop running the executor, waiting a short while for a turn in progress to end.
+         */
+        public void cancel() throws InterruptedException {
+            cancelled = true;
+            receiveQueue.setArrivalListener(null);
+            run();
+            if (!stopped.await(CANCEL_WAIT_MS, TimeUnit.MILLISECONDS)) {
+                LOG.warn("Executor on shared thread {} is still running ({} ms after cancellation). Stop waiting for it.",
+                         loop.thread.getName(), CANCEL_WAIT_MS);
+            }
+        }
+    }
+
+    private final class Loop implements Runnable {
+        private final MpscUnboundedArrayQueue<Registration> runQueue = new MpscUnboundedArrayQueue<>(64);
+        private final ArrayDeque<Registration> backPressured = new ArrayDeque<>();
+        private volatile boolean sleeping = false;
+        private volatile boolean stopped = false;
+        private Thread thread;
+
+        void submit(Registration registration) {
+            runQueue.offer(registration);
+            if (sleeping) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        @Override
+        public void run() {
+            while (!stopped) {
+                if (!backPressured.isEmpty()) {
+                    retryBackPressured(System.nanoTime());
+                }
+                Registration registration = runQueue.poll();
+                if (registration != null) {
+                    runTurn(registration);
+                } else {
+                    sleep();
+                }
+            }
+        }
+
+        private void retryBackPressured(long now) {
+            for (Registration registration = backPressured.peek();
+                 registration != null && registration.retryAtNanos - now <= 0;
+                 registration = backPressured.peek()) {
+                runQueue.offer(backPressured.poll());
+            }
+        }
+
+        private void sleep() {
+            sleeping = true;
+            if (runQueue.isEmpty() && !stopped) {
+                if (backPressured.isEmpty()) {
+                    LockSupport.park(this);
+                } else {
+                    LockSupport.parkNanos(this, backPressured.peek().retryAtNanos - System.nanoTime());
+                }
+            }
+            sleeping = false;
+        }
+
+        private void runTurn(Registration registration) {
+            if (registration.cancelled) {
+                registration.stopped.countDown();
+                return;
+            }
+            TurnResult result;
+            try {
+                result = registration.turn.run(quota);
+            } catch (Throwable t) {
+                registration.stopped.countDown();
+                if (Utils.exceptionCauseIsInstanceOf(InterruptedException.class, t)) {
+                    LOG.info("Executor on shared thread {} interrupted!", thread.getName());
+                    return;
+                }
+                LOG.error("Executor on shared thread {} died!", thread.getName(), t);
+                registration.errorHandler.uncaughtException(thread, t);
+                return;
+            }
+            if (registration.cancelled) {
+                registration.stopped.countDown();
+                return;
+            }
+            switch (result) {
+                case READY:
+                    runQueue.offer(registration);
+                    break;
+                case BACK_PRESSURE:
+                    registration.retryAtNanos = System.nanoTime() + BACK_PRESSURE_RETRY_NANOS;
+                    backPressured.add(registration);
+                    break;
+                default:
+                    registration.scheduled.set(false);
+                    // a tuple may have arrived after the turn found the queue empty, but before it was taken out of line
+                    if (!registration.receiveQueue.isEmpty()) {
+                        registration.run();
+                    }
+            }
+        }
+    }
+}
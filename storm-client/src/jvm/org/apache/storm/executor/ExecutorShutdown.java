@@ -40,17 +40,27 @@ public class ExecutorShutdown implements Shutdownable, IRunningExecutor {
     private final List<Utils.SmartThread> threads;
     private final ArrayList<Task> taskDatas;
     private final JCQueue receiveQueue;
+    private final ExecutorPool.Registration registration;
 
     public ExecutorShutdown(Executor executor, List<Utils.SmartThread> threads, ArrayList<Task> taskDatas, JCQueue recvQueue) {
+        this(executor, threads, taskDatas, recvQueue, null);
+    }
+
+    /**
+     * Shuts down an executor, which runs on a shared thread if registration is not null.
+     */
+    public ExecutorShutdown(Executor executor, List<Utils.SmartThread> threads, ArrayList<Task> taskDatas, JCQueue recvQueue,
+                            ExecutorPool.Registration registration) {
         this.executor = executor;
         this.threads = threads;
         this.taskDatas = taskDatas;
         this.receiveQueue = recvQueue;
+        this.registration = registration;
     }
 
     @Override
     public ExecutorStats renderStats() {
-        return executor.getStats().renderStats();
+        return executor.renderStats();
     }
 
     @Override
@@ -86,6 +96,9 @@ public class ExecutorShutdown implements Shutdownable, IRunningExecutor {
             for (Utils.SmartThread t : threads) {
                 t.interrupt();
             }
+            if (registration != null) {
+                registration.cancel();
+            }
             for (Utils.SmartThread t : threads) {
                 LOG.debug("Executor " + executor.getComponentId() + ":" + executor.getExecutorId() + " joining thread " + t.getName());
                 //Don't wait forever.
@@ -13,14 +13,18 @@
 package org.apache.storm.executor;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 import org.apache.storm.Config;
 import org.apache.storm.daemon.worker.WorkerState;
+import org.apache.storm.metrics2.RateCounter;
 import org.apache.storm.serialization.KryoTupleSerializer;
 import org.apache.storm.task.WorkerTopologyContext;
 import org.apache.storm.tuple.AddressedTuple;
+import org.apache.storm.tuple.TupleImpl;
 import org.apache.storm.utils.JCQueue;
 import org.apache.storm.utils.ObjectReader;
 import org.apache.storm.utils.Utils;
@@ -35,16 +39,32 @@ public class ExecutorTransfer {
     // one serializer per thread to avoid data corruption
     private final ThreadLocal<KryoTupleSerializer> threadLocalSerializer;
     private final boolean isDebug;
+    private final boolean trySerializeLocal;
     private int indexingBase = 0;
     private ArrayList<JCQueue> localReceiveQueues; // [taskId-indexingBase] => queue : List of all recvQs local to this worker
     private AtomicReferenceArray<JCQueue> queuesToFlush;
     // [taskId-indexingBase] => queue, some entries can be null. : outbound Qs for this executor instance
+    // executors on a shared thread must not block in flush(), the consumer of the full queue may be waiting for the same thread
+    private boolean nonBlockingFlush = false;
+    private boolean flushPending = false;
+    // executors that run on the thread of this one and get their tuples by a method call, see Config.TOPOLOGY_EXECUTOR_FUSION
+    private final List<Executor> fused = new ArrayList<>();
+    private Executor[] fusedByTask; // [taskId-indexingBase] => fused executor, null if nothing is fused
+    private int[] fusedIndexes = new int[0]; // the indexes of fusedByTask that are set
+    // [taskId-indexingBase] => true if the queue belongs to an executor with only that task, so tuples need no address to get there
+    private boolean[] singleTaskQueues;
+    private RateCounter localTransferCounter;
+    private RateCounter unaddressedTransferCounter;
+    // counted without synchronization and added to the rate counters on flush, the counters are too costly to update per tuple
+    private long localTransfers = 0;
+    private long unaddressedTransfers = 0;
 
     public ExecutorTransfer(WorkerState workerData, Map<String, Object> topoConf) {
         this.workerData = workerData;
         WorkerTopologyContext workerTopologyContext = workerData.getWorkerTopologyContext();
         this.threadLocalSerializer = ThreadLocal.withInitial(() -> new KryoTupleSerializer(topoConf, workerTopologyContext));
         this.isDebug = ObjectReader.getBoolean(topoConf.get(Config.TOPOLOGY_DEBUG), false);
+        this.trySerializeLocal = workerData.isTrySerializeLocal();
     }
 
     // to be called after all Executor objects in the worker are created and before this object is used
@@ -53,10 +73,46 @@ public class ExecutorTransfer {
         this.localReceiveQueues = Utils.convertToArray(workerData.getLocalReceiveQueues(), minTaskId);
         this.indexingBase = minTaskId;
         this.queuesToFlush = new AtomicReferenceArray<JCQueue>(localReceiveQueues.size());
+        Map<JCQueue, Integer> tasksPerQueue = new IdentityHashMap<>();
+        for (JCQueue queue : localReceiveQueues) {
+            if (queue != null) {
+                tasksPerQueue.merge(queue, 1, Integer::sum);
+            }
+        }
+        this.singleTaskQueues = new boolean[localReceiveQueues.size()];
+        for (int i = 0; i < singleTaskQueues.length; i++) {
+            JCQueue queue = localReceiveQueues.get(i);
+            singleTaskQueues[i] = queue != null && tasksPerQueue.get(queue) == 1;
+        }
+        if (!fused.isEmpty()) {
+            this.fusedByTask = new Executor[localReceiveQueues.size()];
+            List<Integer> indexes = new ArrayList<>();
+            for (Executor executor : fused) {
+                for (Integer taskId : executor.getTaskIds()) {
+                    fusedByTask[taskId - indexingBase] = executor;
+                    indexes.add(taskId - indexingBase);
+                }
+            }
+            this.fusedIndexes = indexes.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    // to be called before initLocalRecvQueues()
+    void addFused(Executor executor) {
+        fused.add(executor);
+    }
+
+    void setLocalTransferMetrics(RateCounter localTransferCounter, RateCounter unaddressedTransferCounter) {
+        this.localTransferCounter = localTransferCounter;
+        this.unaddressedTransferCounter = unaddressedTransferCounter;
     }
 
     // adds addressedTuple to destination Q if it is not full. else adds to pendingEmits (if its not null)
     public boolean tryTransfer(AddressedTuple addressedTuple, Queue<AddressedTuple> pendingEmits) {
+        return transfer(addressedTuple, pendingEmits);
+    }
+
+    private boolean transfer(AddressedTuple addressedTuple, Queue<AddressedTuple> pendingEmits) {
         if (isDebug) {
             LOG.info("TRANSFERRING tuple {}", addressedTuple);
         }
@@ -68,23 +124,116 @@ public class ExecutorTransfer {
         return workerData.tryTransferRemote(addressedTuple, pendingEmits, threadLocalSerializer.get());
     }
 
+    /**
+     * Same as {@link #tryTransfer(AddressedTuple, Queue)}, for a tuple that is not addressed yet. A tuple for an executor in this worker
+     * that has no other task than dest goes into its receive queue as it is, without an {@link AddressedTuple} around it, since the
+     * queue already tells the destination. Only tuples that end up in pendingEmits or go to another worker are addressed.
+     */
+    public boolean tryTransfer(int dest, TupleImpl tuple, Queue<AddressedTuple> pendingEmits) {
+        int index = dest - indexingBase;
+        if (isDebug || index < 0 || index >= singleTaskQueues.length || !singleTaskQueues[index]) {
+            return transfer(new AddressedTuple(dest, tuple), pendingEmits);
+        }
+        if (trySerializeLocal) {
+            workerData.checkSerialize(threadLocalSerializer.get(), new AddressedTuple(dest, tuple));
+        }
+        if (pendingEmits == null || pendingEmits.isEmpty()) {
+            if (tryDeliverLocal(index, localReceiveQueues.get(index), tuple)) {
+                unaddressedTransfers++;
+                return true;
+            }
+        }
+        if (pendingEmits != null) {
+            pendingEmits.add(new AddressedTuple(dest, tuple));
+        }
+        return false;
+    }
 
     // flushes local and remote messages
     public void flush() throws InterruptedException {
+        publishLocalTransferMetrics();
+        if (nonBlockingFlush) {
+            flushPending = !tryFlush();
+            return;
+        }
         flushLocal();
         workerData.flushRemotes();
     }
 
+    /**
+     * Make {@link #flush()} non-blocking. What does not fit into the destination queues stays batched until {@link #retryFlush()}.
+     */
+    public void setNonBlockingFlush(boolean nonBlockingFlush) {
+        this.nonBlockingFlush = nonBlockingFlush;
+    }
+
+    /**
+     * Non blocking. Retries the last non-blocking {@link #flush()}, if it left messages behind.
+     *
+     * @return true if nothing is left to flush
+     */
+    public boolean retryFlush() {
+        if (flushPending) {
+            flushPending = !tryFlush();
+        }
+        return !flushPending;
+    }
+
+    private void publishLocalTransferMetrics() {
+        if (localTransferCounter != null && localTransfers != 0) {
+            localTransferCounter.inc(localTransfers);
+            unaddressedTransferCounter.inc(unaddressedTransfers);
+        }
+        localTransfers = 0;
+        unaddressedTransfers = 0;
+    }
+
+    private boolean tryFlush() {
+        boolean flushed = true;
+        for (int i = 0; i < queuesToFlush.length(); i++) {
+            JCQueue q = queuesToFlush.get(i);
+            if (q != null) {
+                if (q.tryFlushAll()) {
+                    queuesToFlush.set(i, null);
+                } else {
+                    flushed = false;
+                }
+            }
+        }
+        return workerData.tryFlushRemotes() && flushed;
+    }
+
     private void flushLocal() throws InterruptedException {
         for (int i = 0; i < queuesToFlush.length(); i++) {
             JCQueue q = queuesToFlush.get(i);
             if (q != null) {
+                if (fusedByTask != null && fusedByTask[i] != null) {
+                    // only this thread makes room in the queue of a fused executor, what does not fit waits for retryFusedFlush()
+                    if (q.tryFlushAll()) {
+                        queuesToFlush.set(i, null);
+                    }
+                    continue;
+                }
                 q.flush();
                 queuesToFlush.set(i, null);
             }
         }
     }
 
+    /**
+     * Non blocking. Flushes what {@link #flush()} left batched for the receive queues of the executors fused into this one. Called on the
+     * thread of this executor after it consumed those queues.
+     */
+    void retryFusedFlush() {
+        for (int i = 0; i < fusedIndexes.length; i++) {
+            int index = fusedIndexes[i];
+            JCQueue q = queuesToFlush.get(index);
+            if (q != null && q.tryFlushAll()) {
+                queuesToFlush.set(index, null);
+            }
+        }
+    }
+
 
     public JCQueue getLocalQueue(AddressedTuple tuple) {
         if ((tuple.dest - indexingBase) >= localReceiveQueues.size()) {
@@ -98,18 +247,36 @@ public class ExecutorTransfer {
      * Returns false if unable to add to localQueue.
      */
     public boolean tryTransferLocal(AddressedTuple tuple, JCQueue localQueue, Queue<AddressedTuple> pendingEmits) {
-        workerData.checkSerialize(threadLocalSerializer.get(), tuple);
+        if (trySerializeLocal) {
+            workerData.checkSerialize(threadLocalSerializer.get(), tuple);
+        }
+        if (pendingEmits == null || pendingEmits.isEmpty()) {
+            if (tryDeliverLocal(tuple.dest - indexingBase, localQueue, tuple)) {
+                return true;
+            }
+        }
         if (pendingEmits != null) {
-            if (pendingEmits.isEmpty() && localQueue.tryPublish(tuple)) {
-                queuesToFlush.set(tuple.dest - indexingBase, localQueue);
+            pendingEmits.add(tuple);
+        }
+        return false;
+    }
+
+    // tuple is an AddressedTuple, or a TupleImpl for an executor with only one task
+    private boolean tryDeliverLocal(int index, JCQueue localQueue, Object tuple) {
+        if (fusedByTask != null) {
+            Executor executor = fusedByTask[index];
+            // tuples this thread batched for the queue of the executor must go first
+            if (executor != null && queuesToFlush.get(index) == null && executor.tryAcceptDirect(tuple)) {
+                localTransfers++;
                 return true;
-            } else {
-                pendingEmits.add(tuple);
-                return false;
             }
-        } else {
-            return localQueue.tryPublish(tuple);
         }
+        if (localQueue.tryPublish(tuple)) {
+            queuesToFlush.set(index, localQueue);
+            localTransfers++;
+            return true;
+        }
+        return false;
     }
 
 }
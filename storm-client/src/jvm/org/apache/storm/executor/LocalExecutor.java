@@ -18,6 +18,7 @@ import java.util.Queue;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.storm.daemon.worker.WorkerState;
 import org.apache.storm.tuple.AddressedTuple;
+import org.apache.storm.tuple.TupleImpl;
 import org.apache.storm.utils.RegisteredGlobalState;
 
 public class LocalExecutor {
@@ -35,6 +36,14 @@ public class LocalExecutor {
                 }
                 return super.tryTransfer(tuple, pendingEmits);
             }
+
+            @Override
+            public boolean tryTransfer(int dest, TupleImpl tuple, Queue<AddressedTuple> pendingEmits) {
+                if (null != trackId) {
+                    ((AtomicInteger) ((Map) RegisteredGlobalState.getState(trackId)).get("transferred")).incrementAndGet();
+                }
+                return super.tryTransfer(dest, tuple, pendingEmits);
+            }
         });
         return executor;
     }
@@ -26,6 +26,7 @@ import org.apache.storm.daemon.Task;
 import org.apache.storm.daemon.metrics.BuiltinMetricsUtil;
 import org.apache.storm.daemon.worker.WorkerState;
 import org.apache.storm.executor.Executor;
+import org.apache.storm.executor.ExecutorPool;
 import org.apache.storm.generated.NodeInfo;
 import org.apache.storm.hooks.info.BoltExecuteInfo;
 import org.apache.storm.messaging.IConnection;
@@ -39,6 +40,7 @@ import org.apache.storm.stats.ClientStatsUtil;
 import org.apache.storm.task.IBolt;
 import org.apache.storm.task.OutputCollector;
 import org.apache.storm.task.TopologyContext;
+import org.apache.storm.topology.StatefulBoltExecutor;
 import org.apache.storm.tuple.AddressedTuple;
 import org.apache.storm.tuple.TupleImpl;
 import org.apache.storm.utils.ConfigUtils;
@@ -61,6 +63,7 @@ public class BoltExecutor extends Executor {
     private final IWaitStrategy backPressureWaitStrategy;  // employed when outbound path is congested
     private final BoltExecutorStats stats;
     private BoltOutputCollectorImpl outputCollector;
+    private final ExitCondition tillNoPendingEmits = () -> pendingEmits.isEmpty();
 
     public BoltExecutor(WorkerState workerData, List<Long> executorId, Map<String, String> credentials) {
         super(workerData, executorId, credentials, ClientStatsUtil.BOLT);
@@ -126,6 +129,10 @@ public class BoltExecutor extends Executor {
 
             this.outputCollector = new BoltOutputCollectorImpl(this, taskData, rand, hasEventLoggers, ackingEnabled, isDebug);
             boltObject.prepare(topoConf, userContext, new OutputCollector(outputCollector));
+            if (boltObject instanceof StatefulBoltExecutor) {
+                // the flush tuple has the executor finish an asynchronous commit right away, see tupleActionFn
+                ((StatefulBoltExecutor<?>) boltObject).setWakeUp(this::publishFlushTuple);
+            }
         }
         openOrPrepareWasCalled.set(true);
         LOG.info("Prepared bolt {}:{}", componentId, taskIds);
@@ -136,11 +143,11 @@ public class BoltExecutor extends Executor {
     @Override
     public Callable<Long> call() throws Exception {
         init(idToTask, idToTaskBase);
+        initFused();
 
         return new Callable<Long>() {
             int bpIdleCount = 0;
             int consumeIdleCounter = 0;
-            private final ExitCondition tillNoPendingEmits = () -> pendingEmits.isEmpty();
 
             @Override
             public Long call() throws Exception {
@@ -152,6 +159,7 @@ public class BoltExecutor extends Executor {
                     }
                     bpIdleCount = 0;
                     int consumeCount = receiveQueue.consume(BoltExecutor.this, tillNoPendingEmits);
+                    consumeCount += consumeFused();
                     if (consumeCount == 0) {
                         if (consumeIdleCounter == 0) {
                             LOG.debug("Invoking consume wait strategy");
@@ -170,31 +178,91 @@ public class BoltExecutor extends Executor {
                     if (bpIdleCount == 0) { // check avoids multiple log msgs when spinning in a idle loop
                         LOG.debug("Experiencing Back Pressure. Entering BackPressure Wait. PendingEmits = {}", pendingEmits.size());
                     }
-                    bpIdleCount = backPressureWaitStrategy.idle(bpIdleCount);
+                    // the emits may wait for room in the queue of an executor fused into this one, which only this thread consumes
+                    if (consumeFused() == 0) {
+                        bpIdleCount = backPressureWaitStrategy.idle(bpIdleCount);
+                    }
                 }
 
                 return 0L;
             }
+        };
+    }
 
-            // returns true if pendingEmits is empty
-            private boolean tryFlushPendingEmits() {
-                for (AddressedTuple t = pendingEmits.peek(); t != null; t = pendingEmits.peek()) {
-                    if (executorTransfer.tryTransfer(t, null)) {
-                        pendingEmits.poll();
-                    } else { // to avoid reordering of emits, stop at first failure
-                        return false;
-                    }
+    @Override
+    protected ExecutorPool.Turn pooledTurn() {
+        executorTransfer.setNonBlockingFlush(true);
+        return new ExecutorPool.Turn() {
+            private boolean initialized = false;
+            private int consumed;
+            private int turnQuota;
+            private final ExitCondition withinQuota = () -> pendingEmits.isEmpty() && consumed++ < turnQuota;
+
+            @Override
+            public ExecutorPool.TurnResult run(int quota) throws Exception {
+                if (!initialized) {
+                    // blocks until the worker is ready and the topology active, which holds up every executor on the thread alike
+                    init(idToTask, idToTaskBase);
+                    initialized = true;
+                }
+                updateExecCredsIfRequired();
+                if (!executorTransfer.retryFlush() || !tryFlushPendingEmits()) {
+                    return ExecutorPool.TurnResult.BACK_PRESSURE;
+                }
+                consumed = 0;
+                turnQuota = quota;
+                receiveQueue.consume(BoltExecutor.this, withinQuota);
+                if (!pendingEmits.isEmpty() || !executorTransfer.retryFlush()) {
+                    return ExecutorPool.TurnResult.BACK_PRESSURE;
                 }
-                return true;
+                return receiveQueue.isEmpty() ? ExecutorPool.TurnResult.IDLE : ExecutorPool.TurnResult.READY;
             }
-
         };
     }
 
+    /**
+     * Prepare this executor, and the ones fused into it, on the thread of the executor it is fused into.
+     */
+    public void initAsFused() throws InterruptedException {
+        init(idToTask, idToTaskBase);
+        initFused();
+    }
+
+    /**
+     * Consume what arrived in the receive queue of this executor, on the thread of the executor it is fused into.
+     *
+     * @return the number of tuples consumed
+     */
+    public int consumeAsFused() {
+        updateExecCredsIfRequired();
+        // the executors fused into this one may hold the emits of this one up, so they run even while this one faces back pressure
+        int count = consumeFused();
+        if (!executorTransfer.retryFlush() || !tryFlushPendingEmits()) {
+            return count;
+        }
+        return count + receiveQueue.consume(this, tillNoPendingEmits);
+    }
+
+    // returns true if pendingEmits is empty
+    private boolean tryFlushPendingEmits() {
+        for (AddressedTuple t = pendingEmits.peek(); t != null; t = pendingEmits.peek()) {
+            if (executorTransfer.tryTransfer(t, null)) {
+                pendingEmits.poll();
+            } else { // to avoid reordering of emits, stop at first failure
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public void tupleActionFn(int taskId, TupleImpl tuple) throws Exception {
         String streamId = tuple.getSourceStreamId();
         if (Constants.SYSTEM_FLUSH_STREAM_ID.equals(streamId)) {
+            Object taskObject = idToTask.get(taskId - idToTaskBase).getTaskObject();
+            if (taskObject instanceof StatefulBoltExecutor) {
+                ((StatefulBoltExecutor<?>) taskObject).finishCommit();
+            }
             outputCollector.flush();
         } else if (Constants.METRICS_TICK_STREAM_ID.equals(streamId)) {
             metricsTick(idToTask.get(taskId - idToTaskBase), tuple);
@@ -202,7 +270,7 @@ public class BoltExecutor extends Executor {
             IBolt boltObject = (IBolt) idToTask.get(taskId - idToTaskBase).getTaskObject();
             boolean isSampled = sampler.getAsBoolean();
             boolean isExecuteSampler = executeSampler.getAsBoolean();
-            Long now = (isSampled || isExecuteSampler) ? Time.currentTimeMillis() : null;
+            Long now = (isSampled || isExecuteSampler) ? Time.nanoTime() : null;
             if (isSampled) {
                 tuple.setProcessSampleStartTime(now);
             }
@@ -211,8 +279,9 @@ public class BoltExecutor extends Executor {
             }
             boltObject.execute(tuple);
 
-            Long ms = tuple.getExecuteSampleStartTime();
-            long delta = (ms != null) ? Time.deltaMs(ms) : -1;
+            Long start = tuple.getExecuteSampleStartTime();
+            long deltaNanos = (start != null) ? Time.nanoTime() - start : -1;
+            long delta = (start != null) ? Time.nanosToMillis(deltaNanos) : -1;
             if (isDebug) {
                 LOG.info("Execute done TUPLE {} TASK: {} DELTA: {}", tuple, taskId, delta);
             }
@@ -223,10 +292,10 @@ public class BoltExecutor extends Executor {
             }
             if (delta >= 0) {
                 Task firstTask = idToTask.get(taskIds.get(0) - idToTaskBase);
-                stats.boltExecuteTuple(tuple.getSourceComponent(), tuple.getSourceStreamId(), delta,
+                stats.boltExecuteTuple(tuple.getSourceComponent(), tuple.getSourceStreamId(), deltaNanos,
                         workerData.getUptime().upTime(), firstTask);
                 Task currentTask = idToTask.get(taskId - idToTaskBase);
-                currentTask.getTaskMetrics().boltExecuteTuple(tuple.getSourceComponent(), tuple.getSourceStreamId(), delta);
+                currentTask.getTaskMetrics().boltExecuteTuple(tuple.getSourceComponent(), tuple.getSourceStreamId(), deltaNanos);
             }
         }
     }
@@ -18,13 +18,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import org.apache.storm.daemon.AckBatcher;
 import org.apache.storm.daemon.Acker;
 import org.apache.storm.daemon.Task;
 import org.apache.storm.executor.ExecutorTransfer;
 import org.apache.storm.hooks.info.BoltAckInfo;
 import org.apache.storm.hooks.info.BoltFailInfo;
 import org.apache.storm.task.IOutputCollector;
-import org.apache.storm.tuple.AddressedTuple;
 import org.apache.storm.tuple.MessageId;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.TupleImpl;
@@ -44,6 +44,7 @@ public class BoltOutputCollectorImpl implements IOutputCollector {
     private final Random random;
     private final boolean isEventLoggers;
     private final ExecutorTransfer xsfer;
+    private final AckBatcher ackBatcher;
     private final boolean isDebug;
     private boolean ackingEnabled;
 
@@ -57,6 +58,7 @@ public class BoltOutputCollectorImpl implements IOutputCollector {
         this.ackingEnabled = ackingEnabled;
         this.isDebug = isDebug;
         this.xsfer = executor.getExecutorTransfer();
+        this.ackBatcher = executor.getAckBatcher();
     }
 
     @Override
@@ -109,7 +111,7 @@ public class BoltOutputCollectorImpl implements IOutputCollector {
             }
             TupleImpl tupleExt = new TupleImpl(
                 executor.getWorkerTopologyContext(), values, executor.getComponentId(), taskId, streamId, msgId);
-            xsfer.tryTransfer(new AddressedTuple(t, tupleExt), executor.getPendingEmits());
+            xsfer.tryTransfer(t, tupleExt, executor.getPendingEmits());
         }
         if (isEventLoggers) {
             task.sendToEventLogger(executor, values, executor.getComponentId(), null, random, executor.getPendingEmits());
@@ -125,11 +127,16 @@ public class BoltOutputCollectorImpl implements IOutputCollector {
         long ackValue = ((TupleImpl) input).getAckVal();
         Map<Long, Long> anchorsToIds = input.getMessageId().getAnchorsToIds();
         for (Map.Entry<Long, Long> entry : anchorsToIds.entrySet()) {
-            task.sendUnanchored(Acker.ACKER_ACK_STREAM_ID,
-                                new Values(entry.getKey(), Utils.bitXor(entry.getValue(), ackValue)),
-                                executor.getExecutorTransfer(), executor.getPendingEmits());
+            if (ackBatcher != null) {
+                ackBatcher.add(task, entry.getKey(), entry.getValue() ^ ackValue);
+            } else {
+                task.sendUnanchored(Acker.ACKER_ACK_STREAM_ID,
+                                    new Values(entry.getKey(), Utils.bitXor(entry.getValue(), ackValue)),
+                                    executor.getExecutorTransfer(), executor.getPendingEmits());
+            }
         }
-        long delta = tupleTimeDelta((TupleImpl) input);
+        long deltaNanos = tupleTimeDeltaNanos((TupleImpl) input);
+        long delta = deltaNanos >= 0 ? Time.nanosToMillis(deltaNanos) : -1;
         if (isDebug) {
             LOG.info("BOLT ack TASK: {} TIME: {} TUPLE: {}", taskId, delta, input);
         }
@@ -139,8 +146,8 @@ public class BoltOutputCollectorImpl implements IOutputCollector {
             boltAckInfo.applyOn(task.getUserContext());
         }
         if (delta >= 0) {
-            executor.getStats().boltAckedTuple(input.getSourceComponent(), input.getSourceStreamId(), delta);
-            task.getTaskMetrics().boltAckedTuple(input.getSourceComponent(), input.getSourceStreamId(), delta);
+            executor.getStats().boltAckedTuple(input.getSourceComponent(), input.getSourceStreamId(), deltaNanos);
+            task.getTaskMetrics().boltAckedTuple(input.getSourceComponent(), input.getSourceStreamId(), deltaNanos);
         }
     }
 
@@ -154,7 +161,8 @@ public class BoltOutputCollectorImpl implements IOutputCollector {
             task.sendUnanchored(Acker.ACKER_FAIL_STREAM_ID,
                                 new Values(root), executor.getExecutorTransfer(), executor.getPendingEmits());
         }
-        long delta = tupleTimeDelta((TupleImpl) input);
+        long deltaNanos = tupleTimeDeltaNanos((TupleImpl) input);
+        long delta = deltaNanos >= 0 ? Time.nanosToMillis(deltaNanos) : -1;
         if (isDebug) {
             LOG.info("BOLT fail TASK: {} TIME: {} TUPLE: {}", taskId, delta, input);
         }
@@ -178,6 +186,9 @@ public class BoltOutputCollectorImpl implements IOutputCollector {
     @Override
     public void flush() {
         try {
+            if (ackBatcher != null) {
+                ackBatcher.flush();
+            }
             xsfer.flush();
         } catch (InterruptedException e) {
             LOG.warn("Bolt thread interrupted during flush()");
@@ -191,10 +202,10 @@ public class BoltOutputCollectorImpl implements IOutputCollector {
         executor.getReportError().report(error);
     }
 
-    private long tupleTimeDelta(TupleImpl tuple) {
-        Long ms = tuple.getProcessSampleStartTime();
-        if (ms != null) {
-            return Time.deltaMs(ms);
+    private long tupleTimeDeltaNanos(TupleImpl tuple) {
+        Long start = tuple.getProcessSampleStartTime();
+        if (start != null) {
+            return Time.nanoTime() - start;
         }
         return -1;
     }
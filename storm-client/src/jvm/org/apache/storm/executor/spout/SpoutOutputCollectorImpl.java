@@ -15,17 +15,17 @@ package org.apache.storm.executor.spout;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import org.apache.storm.daemon.AckBatcher;
 import org.apache.storm.daemon.Acker;
 import org.apache.storm.daemon.Task;
 import org.apache.storm.executor.TupleInfo;
 import org.apache.storm.spout.ISpout;
 import org.apache.storm.spout.ISpoutOutputCollector;
-import org.apache.storm.tuple.AddressedTuple;
 import org.apache.storm.tuple.MessageId;
 import org.apache.storm.tuple.TupleImpl;
 import org.apache.storm.tuple.Values;
 import org.apache.storm.utils.MutableLong;
-import org.apache.storm.utils.RotatingMap;
+import org.apache.storm.utils.RotatingLongMap;
 import org.apache.storm.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,7 +43,8 @@ public class SpoutOutputCollectorImpl implements ISpoutOutputCollector {
     private final Random random;
     private final Boolean isEventLoggers;
     private final Boolean isDebug;
-    private final RotatingMap<Long, TupleInfo> pending;
+    private final RotatingLongMap<TupleInfo> pending;
+    private final AckBatcher ackBatcher;
     private final long spoutExecutorThdId;
     private TupleInfo globalTupleInfo = new TupleInfo();
     // thread safety: assumes Collector.emit*() calls are externally synchronized (if needed).
@@ -51,7 +52,7 @@ public class SpoutOutputCollectorImpl implements ISpoutOutputCollector {
     @SuppressWarnings("unused")
     public SpoutOutputCollectorImpl(ISpout spout, SpoutExecutor executor, Task taskData,
                                     MutableLong emittedCount, boolean hasAckers, Random random,
-                                    Boolean isEventLoggers, Boolean isDebug, RotatingMap<Long, TupleInfo> pending) {
+                                    Boolean isEventLoggers, Boolean isDebug, RotatingLongMap<TupleInfo> pending) {
         this.executor = executor;
         this.taskData = taskData;
         this.taskId = taskData.getTaskId();
@@ -61,6 +62,7 @@ public class SpoutOutputCollectorImpl implements ISpoutOutputCollector {
         this.isEventLoggers = isEventLoggers;
         this.isDebug = isDebug;
         this.pending = pending;
+        this.ackBatcher = executor.getAckBatcher();
         this.spoutExecutorThdId = executor.getThreadId();
     }
 
@@ -87,6 +89,9 @@ public class SpoutOutputCollectorImpl implements ISpoutOutputCollector {
     @Override
     public void flush() {
         try {
+            if (ackBatcher != null) {
+                ackBatcher.flush();
+            }
             executor.getExecutorTransfer().flush();
         } catch (InterruptedException e) {
             LOG.warn("Spout thread interrupted during flush().");
@@ -136,8 +141,7 @@ public class SpoutOutputCollectorImpl implements ISpoutOutputCollector {
 
             final TupleImpl tuple =
                 new TupleImpl(executor.getWorkerTopologyContext(), values, executor.getComponentId(), this.taskId, stream, msgId);
-            AddressedTuple adrTuple = new AddressedTuple(t, tuple);
-            executor.getExecutorTransfer().tryTransfer(adrTuple, executor.getPendingEmits());
+            executor.getExecutorTransfer().tryTransfer(t, tuple, executor.getPendingEmits());
         }
         if (isEventLoggers) {
             taskData.sendToEventLogger(executor, values, executor.getComponentId(), messageId, random, executor.getPendingEmits());
@@ -158,8 +162,13 @@ public class SpoutOutputCollectorImpl implements ISpoutOutputCollector {
             }
 
             pending.put(rootId, info);
-            List<Object> ackInitTuple = new Values(rootId, Utils.bitXorVals(ackSeq), this.taskId);
-            taskData.sendUnanchored(Acker.ACKER_INIT_STREAM_ID, ackInitTuple, executor.getExecutorTransfer(), executor.getPendingEmits());
+            if (ackBatcher != null) {
+                ackBatcher.add(taskData, rootId, Utils.bitXorVals(ackSeq));
+            } else {
+                List<Object> ackInitTuple = new Values(rootId, Utils.bitXorVals(ackSeq), this.taskId);
+                taskData.sendUnanchored(Acker.ACKER_INIT_STREAM_ID, ackInitTuple, executor.getExecutorTransfer(),
+                                        executor.getPendingEmits());
+            }
         } else if (messageId != null) {
             // Reusing TupleInfo object as we directly call executor.ackSpoutMsg() & are not sending msgs. perf critical
             if (isDebug) {
@@ -32,6 +32,10 @@ public class BoltAggregateStats implements org.apache.storm.thrift.TBase<BoltAgg
   private static final org.apache.storm.thrift.protocol.TField PROCESS_LATENCY_MS_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("process_latency_ms", org.apache.storm.thrift.protocol.TType.DOUBLE, (short)2);
   private static final org.apache.storm.thrift.protocol.TField EXECUTED_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("executed", org.apache.storm.thrift.protocol.TType.I64, (short)3);
   private static final org.apache.storm.thrift.protocol.TField CAPACITY_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("capacity", org.apache.storm.thrift.protocol.TType.DOUBLE, (short)4);
+  private static final org.apache.storm.thrift.protocol.TField EXECUTE_LATENCY_P99_MS_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("execute_latency_p99_ms", org.apache.storm.thrift.protocol.TType.DOUBLE, (short)5);
+  private static final org.apache.storm.thrift.protocol.TField EXECUTE_LATENCY_P999_MS_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("execute_latency_p999_ms", org.apache.storm.thrift.protocol.TType.DOUBLE, (short)6);
+  private static final org.apache.storm.thrift.protocol.TField PROCESS_LATENCY_P99_MS_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("process_latency_p99_ms", org.apache.storm.thrift.protocol.TType.DOUBLE, (short)7);
+  private static final org.apache.storm.thrift.protocol.TField PROCESS_LATENCY_P999_MS_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("process_latency_p999_ms", org.apache.storm.thrift.protocol.TType.DOUBLE, (short)8);
 
   private static final org.apache.storm.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new BoltAggregateStatsStandardSchemeFactory();
   private static final org.apache.storm.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new BoltAggregateStatsTupleSchemeFactory();
@@ -40,13 +44,21 @@ public class BoltAggregateStats implements org.apache.storm.thrift.TBase<BoltAgg
   private double process_latency_ms; // optional
   private long executed; // optional
   private double capacity; // optional
+  private double execute_latency_p99_ms; // optional
+  private double execute_latency_p999_ms; // optional
+  private double process_latency_p99_ms; // optional
+  private double process_latency_p999_ms; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.storm.thrift.TFieldIdEnum {
     EXECUTE_LATENCY_MS((short)1, "execute_latency_ms"),
     PROCESS_LATENCY_MS((short)2, "process_latency_ms"),
     EXECUTED((short)3, "executed"),
-    CAPACITY((short)4, "capacity");
+    CAPACITY((short)4, "capacity"),
+    EXECUTE_LATENCY_P99_MS((short)5, "execute_latency_p99_ms"),
+    EXECUTE_LATENCY_P999_MS((short)6, "execute_latency_p999_ms"),
+    PROCESS_LATENCY_P99_MS((short)7, "process_latency_p99_ms"),
+    PROCESS_LATENCY_P999_MS((short)8, "process_latency_p999_ms");
 
     private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
 
@@ -70,6 +82,14 @@ public class BoltAggregateStats implements org.apache.storm.thrift.TBase<BoltAgg
           return EXECUTED;
         case 4: // CAPACITY
           return CAPACITY;
+        case 5: // EXECUTE_LATENCY_P99_MS
+          return EXECUTE_LATENCY_P99_MS;
+        case 6: // EXECUTE_LATENCY_P999_MS
+          return EXECUTE_LATENCY_P999_MS;
+        case 7: // PROCESS_LATENCY_P99_MS
+          return PROCESS_LATENCY_P99_MS;
+        case 8: // PROCESS_LATENCY_P999_MS
+          return PROCESS_LATENCY_P999_MS;
         default:
           return null;
       }
@@ -115,8 +135,12 @@ public class BoltAggregateStats implements org.apache.storm.thrift.TBase<BoltAgg
   private static final int __PROCESS_LATENCY_MS_ISSET_ID = 1;
   private static final int __EXECUTED_ISSET_ID = 2;
   private static final int __CAPACITY_ISSET_ID = 3;
+  private static final int __EXECUTE_LATENCY_P99_MS_ISSET_ID = 4;
+  private static final int __EXECUTE_LATENCY_P999_MS_ISSET_ID = 5;
+  private static final int __PROCESS_LATENCY_P99_MS_ISSET_ID = 6;
+  private static final int __PROCESS_LATENCY_P999_MS_ISSET_ID = 7;
   private byte __isset_bitfield = 0;
-  private static final _Fields optionals[] = {_Fields.EXECUTE_LATENCY_MS,_Fields.PROCESS_LATENCY_MS,_Fields.EXECUTED,_Fields.CAPACITY};
+  private static final _Fields optionals[] = {_Fields.EXECUTE_LATENCY_MS,_Fields.PROCESS_LATENCY_MS,_Fields.EXECUTED,_Fields.CAPACITY,_Fields.EXECUTE_LATENCY_P99_MS,_Fields.EXECUTE_LATENCY_P999_MS,_Fields.PROCESS_LATENCY_P99_MS,_Fields.PROCESS_LATENCY_P999_MS};
   public static final java.util.Map<_Fields, org.apache.storm.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     java.util.Map<_Fields, org.apache.storm.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.storm.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -128,6 +152,14 @@ public class BoltAggregateStats implements org.apache.storm.thrift.TBase<BoltAgg
         new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.I64)));
     tmpMap.put(_Fields.CAPACITY, new org.apache.storm.thrift.meta_data.FieldMetaData("capacity", org.apache.storm.thrift.TFieldRequirementType.OPTIONAL, 
         new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.DOUBLE)));
+    tmpMap.put(_Fields.EXECUTE_LATENCY_P99_MS, new org.apache.storm.thrift.meta_data.FieldMetaData("execute_latency_p99_ms", org.apache.storm.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.DOUBLE)));
+    tmpMap.put(_Fields.EXECUTE_LATENCY_P999_MS, new org.apache.storm.thrift.meta_data.FieldMetaData("execute_latency_p999_ms", org.apache.storm.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.DOUBLE)));
+    tmpMap.put(_Fields.PROCESS_LATENCY_P99_MS, new org.apache.storm.thrift.meta_data.FieldMetaData("process_latency_p99_ms", org.apache.storm.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.DOUBLE)));
+    tmpMap.put(_Fields.PROCESS_LATENCY_P999_MS, new org.apache.storm.thrift.meta_data.FieldMetaData("process_latency_p999_ms", org.apache.storm.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.DOUBLE)));
     metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
     org.apache.storm.thrift.meta_data.FieldMetaData.addStructMetaDataMap(BoltAggregateStats.class, metaDataMap);
   }
@@ -144,6 +176,10 @@ public class BoltAggregateStats implements org.apache.storm.thrift.TBase<BoltAgg
     this.process_latency_ms = other.process_latency_ms;
     this.executed = other.executed;
     this.capacity = other.capacity;
+    this.execute_latency_p99_ms = other.execute_latency_p99_ms;
+    this.execute_latency_p999_ms = other.execute_latency_p999_ms;
+    this.process_latency_p99_ms = other.process_latency_p99_ms;
+    this.process_latency_p999_ms = other.process_latency_p999_ms;
   }
 
   public BoltAggregateStats deepCopy() {
@@ -160,6 +196,14 @@ public class BoltAggregateStats implements org.apache.storm.thrift.TBase<BoltAgg
     this.executed = 0;
     set_capacity_isSet(false);
     this.capacity = 0.0;
+    set_execute_latency_p99_ms_isSet(false);
+    this.execute_latency_p99_ms = 0.0;
+    set_execute_latency_p999_ms_isSet(false);
+    this.execute_latency_p999_ms = 0.0;
+    set_process_latency_p99_ms_isSet(false);
+    this.process_latency_p99_ms = 0.0;
+    set_process_latency_p999_ms_isSet(false);
+    this.process_latency_p999_ms = 0.0;
   }
 
   public double get_execute_latency_ms() {
@@ -250,6 +294,94 @@ public class BoltAggregateStats implements org.apache.storm.thrift.TBase<BoltAgg
     __isset_bitfield = org.apache.storm.thrift.EncodingUtils.setBit(__isset_bitfield, __CAPACITY_ISSET_ID, value);
   }
 
+  public double get_execute_latency_p99_ms() {
+    return this.execute_latency_p99_ms;
+  }
+
+  public void set_execute_latency_p99_ms(double execute_latency_p99_ms) {
+    this.execute_latency_p99_ms = execute_latency_p99_ms;
+    set_execute_latency_p99_ms_isSet(true);
+  }
+
+  public void unset_execute_latency_p99_ms() {
+    __isset_bitfield = org.apache.storm.thrift.EncodingUtils.clearBit(__isset_bitfield, __EXECUTE_LATENCY_P99_MS_ISSET_ID);
+  }
+
+  /** Returns true if field execute_latency_p99_ms is set (has been assigned a value) and false otherwise */
+  public boolean is_set_execute_latency_p99_ms() {
+    return org.apache.storm.thrift.EncodingUtils.testBit(__isset_bitfield, __EXECUTE_LATENCY_P99_MS_ISSET_ID);
+  }
+
+  public void set_execute_latency_p99_ms_isSet(boolean value) {
+    __isset_bitfield = org.apache.storm.thrift.EncodingUtils.setBit(__isset_bitfield, __EXECUTE_LATENCY_P99_MS_ISSET_ID, value);
+  }
+
+  public double get_execute_latency_p999_ms() {
+    return this.execute_latency_p999_ms;
+  }
+
+  public void set_execute_latency_p999_ms(double execute_latency_p999_ms) {
+    this.execute_latency_p999_ms = execute_latency_p999_ms;
+    set_execute_latency_p999_ms_isSet(true);
+  }
+
+  public void unset_execute_latency_p999_ms() {
+    __isset_bitfield = org.apache.storm.thrift.EncodingUtils.clearBit(__isset_bitfield, __EXECUTE_LATENCY_P999_MS_ISSET_ID);
+  }
+
+  /** Returns true if field execute_latency_p999_ms is set (has been assigned a value) and false otherwise */
+  public boolean is_set_execute_latency_p999_ms() {
+    return org.apache.storm.thrift.EncodingUtils.testBit(__isset_bitfield, __EXECUTE_LATENCY_P999_MS_ISSET_ID);
+  }
+
+  public void set_execute_latency_p999_ms_isSet(boolean value) {
+    __isset_bitfield = org.apache.storm.thrift.EncodingUtils.setBit(__isset_bitfield, __EXECUTE_LATENCY_P999_MS_ISSET_ID, value);
+  }
+
+  public double get_process_latency_p99_ms() {
+    return this.process_latency_p99_ms;
+  }
+
+  public void set_process_latency_p99_ms(double process_latency_p99_ms) {
+    this.process_latency_p99_ms = process_latency_p99_ms;
+    set_process_latency_p99_ms_isSet(true);
+  }
+
+  public void unset_process_latency_p99_ms() {
+    __isset_bitfield = org.apache.storm.thrift.EncodingUtils.clearBit(__isset_bitfield, __PROCESS_LATENCY_P99_MS_ISSET_ID);
+  }
+
+  /** Returns true if field process_latency_p99_ms is set (has been assigned a value) and false otherwise */
+  public boolean is_set_process_latency_p99_ms() {
+    return org.apache.storm.thrift.EncodingUtils.testBit(__isset_bitfield, __PROCESS_LATENCY_P99_MS_ISSET_ID);
+  }
+
+  public void set_process_latency_p99_ms_isSet(boolean value) {
+    __isset_bitfield = org.apache.storm.thrift.EncodingUtils.setBit(__isset_bitfield, __PROCESS_LATENCY_P99_MS_ISSET_ID, value);
+  }
+
+  public double get_process_latency_p999_ms() {
+    return this.process_latency_p999_ms;
+  }
+
+  public void set_process_latency_p999_ms(double process_latency_p999_ms) {
+    this.process_latency_p999_ms = process_latency_p999_ms;
+    set_process_latency_p999_ms_isSet(true);
+  }
+
+  public void unset_process_latency_p999_ms() {
+    __isset_bitfield = org.apache.storm.thrift.EncodingUtils.clearBit(__isset_bitfield, __PROCESS_LATENCY_P999_MS_ISSET_ID);
+  }
+
+  /** Returns true if field process_latency_p999_ms is set (has been assigned a value) and false otherwise */
+  public boolean is_set_process_latency_p999_ms() {
+    return org.apache.storm.thrift.EncodingUtils.testBit(__isset_bitfield, __PROCESS_LATENCY_P999_MS_ISSET_ID);
+  }
+
+  public void set_process_latency_p999_ms_isSet(boolean value) {
+    __isset_bitfield = org.apache.storm.thrift.EncodingUtils.setBit(__isset_bitfield, __PROCESS_LATENCY_P999_MS_ISSET_ID, value);
+  }
+
   public void setFieldValue(_Fields field, @org.apache.storm.thrift.annotation.Nullable java.lang.Object value) {
     switch (field) {
     case EXECUTE_LATENCY_MS:
@@ -284,6 +416,38 @@ public class BoltAggregateStats implements org.apache.storm.thrift.TBase<BoltAgg
       }
       break;
 
+    case EXECUTE_LATENCY_P99_MS:
+      if (value == null) {
+        unset_execute_latency_p99_ms();
+      } else {
+        set_execute_latency_p99_ms((java.lang.Double)value);
+      }
+      break;
+
+    case EXECUTE_LATENCY_P999_MS:
+      if (value == null) {
+        unset_execute_latency_p999_ms();
+      } else {
+        set_execute_latency_p999_ms((java.lang.Double)value);
+      }
+      break;
+
+    case PROCESS_LATENCY_P99_MS:
+      if (value == null) {
+        unset_process_latency_p99_ms();
+      } else {
+        set_process_latency_p99_ms((java.lang.Double)value);
+      }
+      break;
+
+    case PROCESS_LATENCY_P999_MS:
+      if (value == null) {
+        unset_process_latency_p999_ms();
+      } else {
+        set_process_latency_p999_ms((java.lang.Double)value);
+      }
+      break;
+
     }
   }
 
@@ -302,6 +466,18 @@ public class BoltAggregateStats implements org.apache.storm.thrift.TBase<BoltAgg
     case CAPACITY:
       return get_capacity();
 
+    case EXECUTE_LATENCY_P99_MS:
+      return get_execute_latency_p99_ms();
+
+    case EXECUTE_LATENCY_P999_MS:
+      return get_execute_latency_p999_ms();
+
+    case PROCESS_LATENCY_P99_MS:
+      return get_process_latency_p99_ms();
+
+    case PROCESS_LATENCY_P999_MS:
+      return get_process_latency_p999_ms();
+
     }
     throw new java.lang.IllegalStateException();
   }
@@ -321,6 +497,14 @@ public class BoltAggregateStats implements org.apache.storm.thrift.TBase<BoltAgg
       return is_set_executed();
     case CAPACITY:
       return is_set_capacity();
+    case EXECUTE_LATENCY_P99_MS:
+      return is_set_execute_latency_p99_ms();
+    case EXECUTE_LATENCY_P999_MS:
+      return is_set_execute_latency_p999_ms();
+    case PROCESS_LATENCY_P99_MS:
+      return is_set_process_latency_p99_ms();
+    case PROCESS_LATENCY_P999_MS:
+      return is_set_process_latency_p999_ms();
     }
     throw new java.lang.IllegalStateException();
   }
@@ -376,6 +560,42 @@ public class BoltAggregateStats implements org.apache.storm.thrift.TBase<BoltAgg
         return false;
     }
 
+    boolean this_present_execute_latency_p99_ms = true && this.is_set_execute_latency_p99_ms();
+    boolean that_present_execute_latency_p99_ms = true && that.is_set_execute_latency_p99_ms();
+    if (this_present_execute_latency_p99_ms || that_present_execute_latency_p99_ms) {
+      if (!(this_present_execute_latency_p99_ms && that_present_execute_latency_p99_ms))
+        return false;
+      if (this.execute_latency_p99_ms != that.execute_latency_p99_ms)
+        return false;
+    }
+
+    boolean this_present_execute_latency_p999_ms = true && this.is_set_execute_latency_p999_ms();
+    boolean that_present_execute_latency_p999_ms = true && that.is_set_execute_latency_p999_ms();
+    if (this_present_execute_latency_p999_ms || that_present_execute_latency_p999_ms) {
+      if (!(this_present_execute_latency_p999_ms && that_present_execute_latency_p999_ms))
+        return false;
+      if (this.execute_latency_p999_ms != that.execute_latency_p999_ms)
+        return false;
+    }
+
+    boolean this_present_process_latency_p99_ms = true && this.is_set_process_latency_p99_ms();
+    boolean that_present_process_latency_p99_ms = true && that.is_set_process_latency_p99_ms();
+    if (this_present_process_latency_p99_ms || that_present_process_latency_p99_ms) {
+      if (!(this_present_process_latency_p99_ms && that_present_process_latency_p99_ms))
+        return false;
+      if (this.process_latency_p99_ms != that.process_latency_p99_ms)
+        return false;
+    }
+
+    boolean this_present_process_latency_p999_ms = true && this.is_set_process_latency_p999_ms();
+    boolean that_present_process_latency_p999_ms = true && that.is_set_process_latency_p999_ms();
+    if (this_present_process_latency_p999_ms || that_present_process_latency_p999_ms) {
+      if (!(this_present_process_latency_p999_ms && that_present_process_latency_p999_ms))
+        return false;
+      if (this.process_latency_p999_ms != that.process_latency_p999_ms)
+        return false;
+    }
+
     return true;
   }
 
@@ -399,6 +619,22 @@ public class BoltAggregateStats implements org.apache.storm.thrift.TBase<BoltAgg
     if (is_set_capacity())
       hashCode = hashCode * 8191 + org.apache.storm.thrift.TBaseHelper.hashCode(capacity);
 
+    hashCode = hashCode * 8191 + ((is_set_execute_latency_p99_ms()) ? 131071 : 524287);
+    if (is_set_execute_latency_p99_ms())
+      hashCode = hashCode * 8191 + org.apache.storm.thrift.TBaseHelper.hashCode(execute_latency_p99_ms);
+
+    hashCode = hashCode * 8191 + ((is_set_execute_latency_p999_ms()) ? 131071 : 524287);
+    if (is_set_execute_latency_p999_ms())
+      hashCode = hashCode * 8191 + org.apache.storm.thrift.TBaseHelper.hashCode(execute_latency_p999_ms);
+
+    hashCode = hashCode * 8191 + ((is_set_process_latency_p99_ms()) ? 131071 : 524287);
+    if (is_set_process_latency_p99_ms())
+      hashCode = hashCode * 8191 + org.apache.storm.thrift.TBaseHelper.hashCode(process_latency_p99_ms);
+
+    hashCode = hashCode * 8191 + ((is_set_process_latency_p999_ms()) ? 131071 : 524287);
+    if (is_set_process_latency_p999_ms())
+      hashCode = hashCode * 8191 + org.apache.storm.thrift.TBaseHelper.hashCode(process_latency_p999_ms);
+
     return hashCode;
   }
 
@@ -450,6 +686,46 @@ public class BoltAggregateStats implements org.apache.storm.thrift.TBase<BoltAgg
         return lastComparison;
       }
     }
+    lastComparison = java.lang.Boolean.valueOf(is_set_execute_latency_p99_ms()).compareTo(other.is_set_execute_latency_p99_ms());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (is_set_execute_latency_p99_ms()) {
+      lastComparison = org.apache.storm.thrift.TBaseHelper.compareTo(this.execute_latency_p99_ms, other.execute_latency_p99_ms);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = java.lang.Boolean.valueOf(is_set_execute_latency_p999_ms()).compareTo(other.is_set_execute_latency_p999_ms());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (is_set_execute_latency_p999_ms()) {
+      lastComparison = org.apache.storm.thrift.TBaseHelper.compareTo(this.execute_latency_p999_ms, other.execute_latency_p999_ms);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = java.lang.Boolean.valueOf(is_set_process_latency_p99_ms()).compareTo(other.is_set_process_latency_p99_ms());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (is_set_process_latency_p99_ms()) {
+      lastComparison = org.apache.storm.thrift.TBaseHelper.compareTo(this.process_latency_p99_ms, other.process_latency_p99_ms);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = java.lang.Boolean.valueOf(is_set_process_latency_p999_ms()).compareTo(other.is_set_process_latency_p999_ms());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (is_set_process_latency_p999_ms()) {
+      lastComparison = org.apache.storm.thrift.TBaseHelper.compareTo(this.process_latency_p999_ms, other.process_latency_p999_ms);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -494,6 +770,30 @@ public class BoltAggregateStats implements org.apache.storm.thrift.TBase<BoltAgg
       sb.append(this.capacity);
       first = false;
     }
+    if (is_set_execute_latency_p99_ms()) {
+      if (!first) sb.append(", ");
+      sb.append("execute_latency_p99_ms:");
+      sb.append(this.execute_latency_p99_ms);
+      first = false;
+    }
+    if (is_set_execute_latency_p999_ms()) {
+      if (!first) sb.append(", ");
+      sb.append("execute_latency_p999_ms:");
+      sb.append(this.execute_latency_p999_ms);
+      first = false;
+    }
+    if (is_set_process_latency_p99_ms()) {
+      if (!first) sb.append(", ");
+      sb.append("process_latency_p99_ms:");
+      sb.append(this.process_latency_p99_ms);
+      first = false;
+    }
+    if (is_set_process_latency_p999_ms()) {
+      if (!first) sb.append(", ");
+      sb.append("process_latency_p999_ms:");
+      sb.append(this.process_latency_p999_ms);
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -571,6 +871,38 @@ public class BoltAggregateStats implements org.apache.storm.thrift.TBase<BoltAgg
               org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 5: // EXECUTE_LATENCY_P99_MS
+            if (schemeField.type == org.apache.storm.thrift.protocol.TType.DOUBLE) {
+              struct.execute_latency_p99_ms = iprot.readDouble();
+              struct.set_execute_latency_p99_ms_isSet(true);
+            } else { 
+              org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 6: // EXECUTE_LATENCY_P999_MS
+            if (schemeField.type == org.apache.storm.thrift.protocol.TType.DOUBLE) {
+              struct.execute_latency_p999_ms = iprot.readDouble();
+              struct.set_execute_latency_p999_ms_isSet(true);
+            } else { 
+              org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 7: // PROCESS_LATENCY_P99_MS
+            if (schemeField.type == org.apache.storm.thrift.protocol.TType.DOUBLE) {
+              struct.process_latency_p99_ms = iprot.readDouble();
+              struct.set_process_latency_p99_ms_isSet(true);
+            } else { 
+              org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 8: // PROCESS_LATENCY_P999_MS
+            if (schemeField.type == org.apache.storm.thrift.protocol.TType.DOUBLE) {
+              struct.process_latency_p999_ms = iprot.readDouble();
+              struct.set_process_latency_p999_ms_isSet(true);
+            } else { 
+              org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -604,6 +936,26 @@ public class BoltAggregateStats implements org.apache.storm.thrift.TBase<BoltAgg
         oprot.writeDouble(struct.capacity);
         oprot.writeFieldEnd();
       }
+      if (struct.is_set_execute_latency_p99_ms()) {
+        oprot.writeFieldBegin(EXECUTE_LATENCY_P99_MS_FIELD_DESC);
+        oprot.writeDouble(struct.execute_latency_p99_ms);
+        oprot.writeFieldEnd();
+      }
+      if (struct.is_set_execute_latency_p999_ms()) {
+        oprot.writeFieldBegin(EXECUTE_LATENCY_P999_MS_FIELD_DESC);
+        oprot.writeDouble(struct.execute_latency_p999_ms);
+        oprot.writeFieldEnd();
+      }
+      if (struct.is_set_process_latency_p99_ms()) {
+        oprot.writeFieldBegin(PROCESS_LATENCY_P99_MS_FIELD_DESC);
+        oprot.writeDouble(struct.process_latency_p99_ms);
+        oprot.writeFieldEnd();
+      }
+      if (struct.is_set_process_latency_p999_ms()) {
+        oprot.writeFieldBegin(PROCESS_LATENCY_P999_MS_FIELD_DESC);
+        oprot.writeDouble(struct.process_latency_p999_ms);
+        oprot.writeFieldEnd();
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -634,7 +986,19 @@ public class BoltAggregateStats implements org.apache.storm.thrift.TBase<BoltAgg
       if (struct.is_set_capacity()) {
         optionals.set(3);
       }
-      oprot.writeBitSet(optionals, 4);
+      if (struct.is_set_execute_latency_p99_ms()) {
+        optionals.set(4);
+      }
+      if (struct.is_set_execute_latency_p999_ms()) {
+        optionals.set(5);
+      }
+      if (struct.is_set_process_latency_p99_ms()) {
+        optionals.set(6);
+      }
+      if (struct.is_set_process_latency_p999_ms()) {
+        optionals.set(7);
+      }
+      oprot.writeBitSet(optionals, 8);
       if (struct.is_set_execute_latency_ms()) {
         oprot.writeDouble(struct.execute_latency_ms);
       }
@@ -647,12 +1011,24 @@ public class BoltAggregateStats implements org.apache.storm.thrift.TBase<BoltAgg
       if (struct.is_set_capacity()) {
         oprot.writeDouble(struct.capacity);
       }
+      if (struct.is_set_execute_latency_p99_ms()) {
+        oprot.writeDouble(struct.execute_latency_p99_ms);
+      }
+      if (struct.is_set_execute_latency_p999_ms()) {
+        oprot.writeDouble(struct.execute_latency_p999_ms);
+      }
+      if (struct.is_set_process_latency_p99_ms()) {
+        oprot.writeDouble(struct.process_latency_p99_ms);
+      }
+      if (struct.is_set_process_latency_p999_ms()) {
+        oprot.writeDouble(struct.process_latency_p999_ms);
+      }
     }
 
     @Override
     public void read(org.apache.storm.thrift.protocol.TProtocol prot, BoltAggregateStats struct) throws org.apache.storm.thrift.TException {
       org.apache.storm.thrift.protocol.TTupleProtocol iprot = (org.apache.storm.thrift.protocol.TTupleProtocol) prot;
-      java.util.BitSet incoming = iprot.readBitSet(4);
+      java.util.BitSet incoming = iprot.readBitSet(8);
       if (incoming.get(0)) {
         struct.execute_latency_ms = iprot.readDouble();
         struct.set_execute_latency_ms_isSet(true);
@@ -669,6 +1045,22 @@ public class BoltAggregateStats implements org.apache.storm.thrift.TBase<BoltAgg
         struct.capacity = iprot.readDouble();
         struct.set_capacity_isSet(true);
       }
+      if (incoming.get(4)) {
+        struct.execute_latency_p99_ms = iprot.readDouble();
+        struct.set_execute_latency_p99_ms_isSet(true);
+      }
+      if (incoming.get(5)) {
+        struct.execute_latency_p999_ms = iprot.readDouble();
+        struct.set_execute_latency_p999_ms_isSet(true);
+      }
+      if (incoming.get(6)) {
+        struct.process_latency_p99_ms = iprot.readDouble();
+        struct.set_process_latency_p99_ms_isSet(true);
+      }
+      if (incoming.get(7)) {
+        struct.process_latency_p999_ms = iprot.readDouble();
+        struct.set_process_latency_p999_ms_isSet(true);
+      }
     }
   }
 
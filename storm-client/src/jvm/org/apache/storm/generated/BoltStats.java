@@ -33,6 +33,10 @@ public class BoltStats implements org.apache.storm.thrift.TBase<BoltStats, BoltS
   private static final org.apache.storm.thrift.protocol.TField PROCESS_MS_AVG_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("process_ms_avg", org.apache.storm.thrift.protocol.TType.MAP, (short)3);
   private static final org.apache.storm.thrift.protocol.TField EXECUTED_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("executed", org.apache.storm.thrift.protocol.TType.MAP, (short)4);
   private static final org.apache.storm.thrift.protocol.TField EXECUTE_MS_AVG_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("execute_ms_avg", org.apache.storm.thrift.protocol.TType.MAP, (short)5);
+  private static final org.apache.storm.thrift.protocol.TField PROCESS_MS_P99_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("process_ms_p99", org.apache.storm.thrift.protocol.TType.MAP, (short)6);
+  private static final org.apache.storm.thrift.protocol.TField PROCESS_MS_P999_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("process_ms_p999", org.apache.storm.thrift.protocol.TType.MAP, (short)7);
+  private static final org.apache.storm.thrift.protocol.TField EXECUTE_MS_P99_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("execute_ms_p99", org.apache.storm.thrift.protocol.TType.MAP, (short)8);
+  private static final org.apache.storm.thrift.protocol.TField EXECUTE_MS_P999_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("execute_ms_p999", org.apache.storm.thrift.protocol.TType.MAP, (short)9);
 
   private static final org.apache.storm.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new BoltStatsStandardSchemeFactory();
   private static final org.apache.storm.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new BoltStatsTupleSchemeFactory();
@@ -42,6 +46,10 @@ public class BoltStats implements org.apache.storm.thrift.TBase<BoltStats, BoltS
   private @org.apache.storm.thrift.annotation.Nullable java.util.Map<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>> process_ms_avg; // required
   private @org.apache.storm.thrift.annotation.Nullable java.util.Map<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Long>> executed; // required
   private @org.apache.storm.thrift.annotation.Nullable java.util.Map<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>> execute_ms_avg; // required
+  private @org.apache.storm.thrift.annotation.Nullable java.util.Map<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>> process_ms_p99; // optional
+  private @org.apache.storm.thrift.annotation.Nullable java.util.Map<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>> process_ms_p999; // optional
+  private @org.apache.storm.thrift.annotation.Nullable java.util.Map<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>> execute_ms_p99; // optional
+  private @org.apache.storm.thrift.annotation.Nullable java.util.Map<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>> execute_ms_p999; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.storm.thrift.TFieldIdEnum {
@@ -49,7 +57,11 @@ public class BoltStats implements org.apache.storm.thrift.TBase<BoltStats, BoltS
     FAILED((short)2, "failed"),
     PROCESS_MS_AVG((short)3, "process_ms_avg"),
     EXECUTED((short)4, "executed"),
-    EXECUTE_MS_AVG((short)5, "execute_ms_avg");
+    EXECUTE_MS_AVG((short)5, "execute_ms_avg"),
+    PROCESS_MS_P99((short)6, "process_ms_p99"),
+    PROCESS_MS_P999((short)7, "process_ms_p999"),
+    EXECUTE_MS_P99((short)8, "execute_ms_p99"),
+    EXECUTE_MS_P999((short)9, "execute_ms_p999");
 
     private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
 
@@ -75,6 +87,14 @@ public class BoltStats implements org.apache.storm.thrift.TBase<BoltStats, BoltS
           return EXECUTED;
         case 5: // EXECUTE_MS_AVG
           return EXECUTE_MS_AVG;
+        case 6: // PROCESS_MS_P99
+          return PROCESS_MS_P99;
+        case 7: // PROCESS_MS_P999
+          return PROCESS_MS_P999;
+        case 8: // EXECUTE_MS_P99
+          return EXECUTE_MS_P99;
+        case 9: // EXECUTE_MS_P999
+          return EXECUTE_MS_P999;
         default:
           return null;
       }
@@ -116,6 +136,7 @@ public class BoltStats implements org.apache.storm.thrift.TBase<BoltStats, BoltS
   }
 
   // isset id assignments
+  private static final _Fields optionals[] = {_Fields.PROCESS_MS_P99,_Fields.PROCESS_MS_P999,_Fields.EXECUTE_MS_P99,_Fields.EXECUTE_MS_P999};
   public static final java.util.Map<_Fields, org.apache.storm.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     java.util.Map<_Fields, org.apache.storm.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.storm.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -149,6 +170,30 @@ public class BoltStats implements org.apache.storm.thrift.TBase<BoltStats, BoltS
             new org.apache.storm.thrift.meta_data.MapMetaData(org.apache.storm.thrift.protocol.TType.MAP, 
                 new org.apache.storm.thrift.meta_data.StructMetaData(org.apache.storm.thrift.protocol.TType.STRUCT, GlobalStreamId.class), 
                 new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.DOUBLE)))));
+    tmpMap.put(_Fields.PROCESS_MS_P99, new org.apache.storm.thrift.meta_data.FieldMetaData("process_ms_p99", org.apache.storm.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.storm.thrift.meta_data.MapMetaData(org.apache.storm.thrift.protocol.TType.MAP, 
+            new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.STRING), 
+            new org.apache.storm.thrift.meta_data.MapMetaData(org.apache.storm.thrift.protocol.TType.MAP, 
+                new org.apache.storm.thrift.meta_data.StructMetaData(org.apache.storm.thrift.protocol.TType.STRUCT, GlobalStreamId.class), 
+                new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.DOUBLE)))));
+    tmpMap.put(_Fields.PROCESS_MS_P999, new org.apache.storm.thrift.meta_data.FieldMetaData("process_ms_p999", org.apache.storm.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.storm.thrift.meta_data.MapMetaData(org.apache.storm.thrift.protocol.TType.MAP, 
+            new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.STRING), 
+            new org.apache.storm.thrift.meta_data.MapMetaData(org.apache.storm.thrift.protocol.TType.MAP, 
+                new org.apache.storm.thrift.meta_data.StructMetaData(org.apache.storm.thrift.protocol.TType.STRUCT, GlobalStreamId.class), 
+                new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.DOUBLE)))));
+    tmpMap.put(_Fields.EXECUTE_MS_P99, new org.apache.storm.thrift.meta_data.FieldMetaData("execute_ms_p99", org.apache.storm.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.storm.thrift.meta_data.MapMetaData(org.apache.storm.thrift.protocol.TType.MAP, 
+            new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.STRING), 
+            new org.apache.storm.thrift.meta_data.MapMetaData(org.apache.storm.thrift.protocol.TType.MAP, 
+                new org.apache.storm.thrift.meta_data.StructMetaData(org.apache.storm.thrift.protocol.TType.STRUCT, GlobalStreamId.class), 
+                new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.DOUBLE)))));
+    tmpMap.put(_Fields.EXECUTE_MS_P999, new org.apache.storm.thrift.meta_data.FieldMetaData("execute_ms_p999", org.apache.storm.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.storm.thrift.meta_data.MapMetaData(org.apache.storm.thrift.protocol.TType.MAP, 
+            new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.STRING), 
+            new org.apache.storm.thrift.meta_data.MapMetaData(org.apache.storm.thrift.protocol.TType.MAP, 
+                new org.apache.storm.thrift.meta_data.StructMetaData(org.apache.storm.thrift.protocol.TType.STRUCT, GlobalStreamId.class), 
+                new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.DOUBLE)))));
     metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
     org.apache.storm.thrift.meta_data.FieldMetaData.addStructMetaDataMap(BoltStats.class, metaDataMap);
   }
@@ -305,6 +350,110 @@ public class BoltStats implements org.apache.storm.thrift.TBase<BoltStats, BoltS
       }
       this.execute_ms_avg = __this__execute_ms_avg;
     }
+    if (other.is_set_process_ms_p99()) {
+      java.util.Map<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>> __this__process_ms_p99 = new java.util.HashMap<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>>(other.process_ms_p99.size());
+      for (java.util.Map.Entry<java.lang.String, java.util.Map<GlobalStreamId,java.lang.Double>> other_element : other.process_ms_p99.entrySet()) {
+
+        java.lang.String other_element_key = other_element.getKey();
+        java.util.Map<GlobalStreamId,java.lang.Double> other_element_value = other_element.getValue();
+
+        java.lang.String __this__process_ms_p99_copy_key = other_element_key;
+
+        java.util.Map<GlobalStreamId,java.lang.Double> __this__process_ms_p99_copy_value = new java.util.HashMap<GlobalStreamId,java.lang.Double>(other_element_value.size());
+        for (java.util.Map.Entry<GlobalStreamId, java.lang.Double> other_element_value_element : other_element_value.entrySet()) {
+
+          GlobalStreamId other_element_value_element_key = other_element_value_element.getKey();
+          java.lang.Double other_element_value_element_value = other_element_value_element.getValue();
+
+          GlobalStreamId __this__process_ms_p99_copy_value_copy_key = new GlobalStreamId(other_element_value_element_key);
+
+          java.lang.Double __this__process_ms_p99_copy_value_copy_value = other_element_value_element_value;
+
+          __this__process_ms_p99_copy_value.put(__this__process_ms_p99_copy_value_copy_key, __this__process_ms_p99_copy_value_copy_value);
+        }
+
+        __this__process_ms_p99.put(__this__process_ms_p99_copy_key, __this__process_ms_p99_copy_value);
+      }
+      this.process_ms_p99 = __this__process_ms_p99;
+    }
+    if (other.is_set_process_ms_p999()) {
+      java.util.Map<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>> __this__process_ms_p999 = new java.util.HashMap<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>>(other.process_ms_p999.size());
+      for (java.util.Map.Entry<java.lang.String, java.util.Map<GlobalStreamId,java.lang.Double>> other_element : other.process_ms_p999.entrySet()) {
+
+        java.lang.String other_element_key = other_element.getKey();
+        java.util.Map<GlobalStreamId,java.lang.Double> other_element_value = other_element.getValue();
+
+        java.lang.String __this__process_ms_p999_copy_key = other_element_key;
+
+        java.util.Map<GlobalStreamId,java.lang.Double> __this__process_ms_p999_copy_value = new java.util.HashMap<GlobalStreamId,java.lang.Double>(other_element_value.size());
+        for (java.util.Map.Entry<GlobalStreamId, java.lang.Double> other_element_value_element : other_element_value.entrySet()) {
+
+          GlobalStreamId other_element_value_element_key = other_element_value_element.getKey();
+          java.lang.Double other_element_value_element_value = other_element_value_element.getValue();
+
+          GlobalStreamId __this__process_ms_p999_copy_value_copy_key = new GlobalStreamId(other_element_value_element_key);
+
+          java.lang.Double __this__process_ms_p999_copy_value_copy_value = other_element_value_element_value;
+
+          __this__process_ms_p999_copy_value.put(__this__process_ms_p999_copy_value_copy_key, __this__process_ms_p999_copy_value_copy_value);
+        }
+
+        __this__process_ms_p999.put(__this__process_ms_p999_copy_key, __this__process_ms_p999_copy_value);
+      }
+      this.process_ms_p999 = __this__process_ms_p999;
+    }
+    if (other.is_set_execute_ms_p99()) {
+      java.util.Map<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>> __this__execute_ms_p99 = new java.util.HashMap<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>>(other.execute_ms_p99.size());
+      for (java.util.Map.Entry<java.lang.String, java.util.Map<GlobalStreamId,java.lang.Double>> other_element : other.execute_ms_p99.entrySet()) {
+
+        java.lang.String other_element_key = other_element.getKey();
+        java.util.Map<GlobalStreamId,java.lang.Double> other_element_value = other_element.getValue();
+
+        java.lang.String __this__execute_ms_p99_copy_key = other_element_key;
+
+        java.util.Map<GlobalStreamId,java.lang.Double> __this__execute_ms_p99_copy_value = new java.util.HashMap<GlobalStreamId,java.lang.Double>(other_element_value.size());
+        for (java.util.Map.Entry<GlobalStreamId, java.lang.Double> other_element_value_element : other_element_value.entrySet()) {
+
+          GlobalStreamId other_element_value_element_key = other_element_value_element.getKey();
+          java.lang.Double other_element_value_element_value = other_element_value_element.getValue();
+
+          GlobalStreamId __this__execute_ms_p99_copy_value_copy_key = new GlobalStreamId(other_element_value_element_key);
+
+          java.lang.Double __this__execute_ms_p99_copy_value_copy_value = other_element_value_element_value;
+
+          __this__execute_ms_p99_copy_value.put(__this__execute_ms_p99_copy_value_copy_key, __this__execute_ms_p99_copy_value_copy_value);
+        }
+
+        __this__execute_ms_p99.put(__this__execute_ms_p99_copy_key, __this__execute_ms_p99_copy_value);
+      }
+      this.execute_ms_p99 = __this__execute_ms_p99;
+    }
+    if (other.is_set_execute_ms_p999()) {
+      java.util.Map<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>> __this__execute_ms_p999 = new java.util.HashMap<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>>(other.execute_ms_p999.size());
+      for (java.util.Map.Entry<java.lang.String, java.util.Map<GlobalStreamId,java.lang.Double>> other_element : other.execute_ms_p999.entrySet()) {
+
+        java.lang.String other_element_key = other_element.getKey();
+        java.util.Map<GlobalStreamId,java.lang.Double> other_element_value = other_element.getValue();
+
+        java.lang.String __this__execute_ms_p999_copy_key = other_element_key;
+
+        java.util.Map<GlobalStreamId,java.lang.Double> __this__execute_ms_p999_copy_value = new java.util.HashMap<GlobalStreamId,java.lang.Double>(other_element_value.size());
+        for (java.util.Map.Entry<GlobalStreamId, java.lang.Double> other_element_value_element : other_element_value.entrySet()) {
+
+          GlobalStreamId other_element_value_element_key = other_element_value_element.getKey();
+          java.lang.Double other_element_value_element_value = other_element_value_element.getValue();
+
+          GlobalStreamId __this__execute_ms_p999_copy_value_copy_key = new GlobalStreamId(other_element_value_element_key);
+
+          java.lang.Double __this__execute_ms_p999_copy_value_copy_value = other_element_value_element_value;
+
+          __this__execute_ms_p999_copy_value.put(__this__execute_ms_p999_copy_value_copy_key, __this__execute_ms_p999_copy_value_copy_value);
+        }
+
+        __this__execute_ms_p999.put(__this__execute_ms_p999_copy_key, __this__execute_ms_p999_copy_value);
+      }
+      this.execute_ms_p999 = __this__execute_ms_p999;
+    }
   }
 
   public BoltStats deepCopy() {
@@ -318,6 +467,10 @@ public class BoltStats implements org.apache.storm.thrift.TBase<BoltStats, BoltS
     this.process_ms_avg = null;
     this.executed = null;
     this.execute_ms_avg = null;
+    this.process_ms_p99 = null;
+    this.process_ms_p999 = null;
+    this.execute_ms_p99 = null;
+    this.execute_ms_p999 = null;
   }
 
   public int get_acked_size() {
@@ -495,6 +648,146 @@ public class BoltStats implements org.apache.storm.thrift.TBase<BoltStats, BoltS
     }
   }
 
+  public int get_process_ms_p99_size() {
+    return (this.process_ms_p99 == null) ? 0 : this.process_ms_p99.size();
+  }
+
+  public void put_to_process_ms_p99(java.lang.String key, java.util.Map<GlobalStreamId,java.lang.Double> val) {
+    if (this.process_ms_p99 == null) {
+      this.process_ms_p99 = new java.util.HashMap<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>>();
+    }
+    this.process_ms_p99.put(key, val);
+  }
+
+  @org.apache.storm.thrift.annotation.Nullable
+  public java.util.Map<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>> get_process_ms_p99() {
+    return this.process_ms_p99;
+  }
+
+  public void set_process_ms_p99(@org.apache.storm.thrift.annotation.Nullable java.util.Map<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>> process_ms_p99) {
+    this.process_ms_p99 = process_ms_p99;
+  }
+
+  public void unset_process_ms_p99() {
+    this.process_ms_p99 = null;
+  }
+
+  /** Returns true if field process_ms_p99 is set (has been assigned a value) and false otherwise */
+  public boolean is_set_process_ms_p99() {
+    return this.process_ms_p99 != null;
+  }
+
+  public void set_process_ms_p99_isSet(boolean value) {
+    if (!value) {
+      this.process_ms_p99 = null;
+    }
+  }
+
+  public int get_process_ms_p999_size() {
+    return (this.process_ms_p999 == null) ? 0 : this.process_ms_p999.size();
+  }
+
+  public void put_to_process_ms_p999(java.lang.String key, java.util.Map<GlobalStreamId,java.lang.Double> val) {
+    if (this.process_ms_p999 == null) {
+      this.process_ms_p999 = new java.util.HashMap<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>>();
+    }
+    this.process_ms_p999.put(key, val);
+  }
+
+  @org.apache.storm.thrift.annotation.Nullable
+  public java.util.Map<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>> get_process_ms_p999() {
+    return this.process_ms_p999;
+  }
+
+  public void set_process_ms_p999(@org.apache.storm.thrift.annotation.Nullable java.util.Map<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>> process_ms_p999) {
+    this.process_ms_p999 = process_ms_p999;
+  }
+
+  public void unset_process_ms_p999() {
+    this.process_ms_p999 = null;
+  }
+
+  /** Returns true if field process_ms_p999 is set (has been assigned a value) and false otherwise */
+  public boolean is_set_process_ms_p999() {
+    return this.process_ms_p999 != null;
+  }
+
+  public void set_process_ms_p999_isSet(boolean value) {
+    if (!value) {
+      this.process_ms_p999 = null;
+    }
+  }
+
+  public int get_execute_ms_p99_size() {
+    return (this.execute_ms_p99 == null) ? 0 : this.execute_ms_p99.size();
+  }
+
+  public void put_to_execute_ms_p99(java.lang.String key, java.util.Map<GlobalStreamId,java.lang.Double> val) {
+    if (this.execute_ms_p99 == null) {
+      this.execute_ms_p99 = new java.util.HashMap<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>>();
+    }
+    this.execute_ms_p99.put(key, val);
+  }
+
+  @org.apache.storm.thrift.annotation.Nullable
+  public java.util.Map<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>> get_execute_ms_p99() {
+    return this.execute_ms_p99;
+  }
+
+  public void set_execute_ms_p99(@org.apache.storm.thrift.annotation.Nullable java.util.Map<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>> execute_ms_p99) {
+    this.execute_ms_p99 = execute_ms_p99;
+  }
+
+  public void unset_execute_ms_p99() {
+    this.execute_ms_p99 = null;
+  }
+
+  /** Returns true if field execute_ms_p99 is set (has been assigned a value) and false otherwise */
+  public boolean is_set_execute_ms_p99() {
+    return this.execute_ms_p99 != null;
+  }
+
+  public void set_execute_ms_p99_isSet(boolean value) {
+    if (!value) {
+      this.execute_ms_p99 = null;
+    }
+  }
+
+  public int get_execute_ms_p999_size() {
+    return (this.execute_ms_p999 == null) ? 0 : this.execute_ms_p999.size();
+  }
+
+  public void put_to_execute_ms_p999(java.lang.String key, java.util.Map<GlobalStreamId,java.lang.Double> val) {
+    if (this.execute_ms_p999 == null) {
+      this.execute_ms_p999 = new java.util.HashMap<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>>();
+    }
+    this.execute_ms_p999.put(key, val);
+  }
+
+  @org.apache.storm.thrift.annotation.Nullable
+  public java.util.Map<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>> get_execute_ms_p999() {
+    return this.execute_ms_p999;
+  }
+
+  public void set_execute_ms_p999(@org.apache.storm.thrift.annotation.Nullable java.util.Map<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>> execute_ms_p999) {
+    this.execute_ms_p999 = execute_ms_p999;
+  }
+
+  public void unset_execute_ms_p999() {
+    this.execute_ms_p999 = null;
+  }
+
+  /** Returns true if field execute_ms_p999 is set (has been assigned a value) and false otherwise */
+  public boolean is_set_execute_ms_p999() {
+    return this.execute_ms_p999 != null;
+  }
+
+  public void set_execute_ms_p999_isSet(boolean value) {
+    if (!value) {
+      this.execute_ms_p999 = null;
+    }
+  }
+
   public void setFieldValue(_Fields field, @org.apache.storm.thrift.annotation.Nullable java.lang.Object value) {
     switch (field) {
     case ACKED:
@@ -537,6 +830,38 @@ public class BoltStats implements org.apache.storm.thrift.TBase<BoltStats, BoltS
       }
       break;
 
+    case PROCESS_MS_P99:
+      if (value == null) {
+        unset_process_ms_p99();
+      } else {
+        set_process_ms_p99((java.util.Map<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>>)value);
+      }
+      break;
+
+    case PROCESS_MS_P999:
+      if (value == null) {
+        unset_process_ms_p999();
+      } else {
+        set_process_ms_p999((java.util.Map<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>>)value);
+      }
+      break;
+
+    case EXECUTE_MS_P99:
+      if (value == null) {
+        unset_execute_ms_p99();
+      } else {
+        set_execute_ms_p99((java.util.Map<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>>)value);
+      }
+      break;
+
+    case EXECUTE_MS_P999:
+      if (value == null) {
+        unset_execute_ms_p999();
+      } else {
+        set_execute_ms_p999((java.util.Map<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>>)value);
+      }
+      break;
+
     }
   }
 
@@ -558,6 +883,18 @@ public class BoltStats implements org.apache.storm.thrift.TBase<BoltStats, BoltS
     case EXECUTE_MS_AVG:
       return get_execute_ms_avg();
 
+    case PROCESS_MS_P99:
+      return get_process_ms_p99();
+
+    case PROCESS_MS_P999:
+      return get_process_ms_p999();
+
+    case EXECUTE_MS_P99:
+      return get_execute_ms_p99();
+
+    case EXECUTE_MS_P999:
+      return get_execute_ms_p999();
+
     }
     throw new java.lang.IllegalStateException();
   }
@@ -579,6 +916,14 @@ public class BoltStats implements org.apache.storm.thrift.TBase<BoltStats, BoltS
       return is_set_executed();
     case EXECUTE_MS_AVG:
       return is_set_execute_ms_avg();
+    case PROCESS_MS_P99:
+      return is_set_process_ms_p99();
+    case PROCESS_MS_P999:
+      return is_set_process_ms_p999();
+    case EXECUTE_MS_P99:
+      return is_set_execute_ms_p99();
+    case EXECUTE_MS_P999:
+      return is_set_execute_ms_p999();
     }
     throw new java.lang.IllegalStateException();
   }
@@ -643,6 +988,42 @@ public class BoltStats implements org.apache.storm.thrift.TBase<BoltStats, BoltS
         return false;
     }
 
+    boolean this_present_process_ms_p99 = true && this.is_set_process_ms_p99();
+    boolean that_present_process_ms_p99 = true && that.is_set_process_ms_p99();
+    if (this_present_process_ms_p99 || that_present_process_ms_p99) {
+      if (!(this_present_process_ms_p99 && that_present_process_ms_p99))
+        return false;
+      if (!this.process_ms_p99.equals(that.process_ms_p99))
+        return false;
+    }
+
+    boolean this_present_process_ms_p999 = true && this.is_set_process_ms_p999();
+    boolean that_present_process_ms_p999 = true && that.is_set_process_ms_p999();
+    if (this_present_process_ms_p999 || that_present_process_ms_p999) {
+      if (!(this_present_process_ms_p999 && that_present_process_ms_p999))
+        return false;
+      if (!this.process_ms_p999.equals(that.process_ms_p999))
+        return false;
+    }
+
+    boolean this_present_execute_ms_p99 = true && this.is_set_execute_ms_p99();
+    boolean that_present_execute_ms_p99 = true && that.is_set_execute_ms_p99();
+    if (this_present_execute_ms_p99 || that_present_execute_ms_p99) {
+      if (!(this_present_execute_ms_p99 && that_present_execute_ms_p99))
+        return false;
+      if (!this.execute_ms_p99.equals(that.execute_ms_p99))
+        return false;
+    }
+
+    boolean this_present_execute_ms_p999 = true && this.is_set_execute_ms_p999();
+    boolean that_present_execute_ms_p999 = true && that.is_set_execute_ms_p999();
+    if (this_present_execute_ms_p999 || that_present_execute_ms_p999) {
+      if (!(this_present_execute_ms_p999 && that_present_execute_ms_p999))
+        return false;
+      if (!this.execute_ms_p999.equals(that.execute_ms_p999))
+        return false;
+    }
+
     return true;
   }
 
@@ -670,6 +1051,22 @@ public class BoltStats implements org.apache.storm.thrift.TBase<BoltStats, BoltS
     if (is_set_execute_ms_avg())
       hashCode = hashCode * 8191 + execute_ms_avg.hashCode();
 
+    hashCode = hashCode * 8191 + ((is_set_process_ms_p99()) ? 131071 : 524287);
+    if (is_set_process_ms_p99())
+      hashCode = hashCode * 8191 + process_ms_p99.hashCode();
+
+    hashCode = hashCode * 8191 + ((is_set_process_ms_p999()) ? 131071 : 524287);
+    if (is_set_process_ms_p999())
+      hashCode = hashCode * 8191 + process_ms_p999.hashCode();
+
+    hashCode = hashCode * 8191 + ((is_set_execute_ms_p99()) ? 131071 : 524287);
+    if (is_set_execute_ms_p99())
+      hashCode = hashCode * 8191 + execute_ms_p99.hashCode();
+
+    hashCode = hashCode * 8191 + ((is_set_execute_ms_p999()) ? 131071 : 524287);
+    if (is_set_execute_ms_p999())
+      hashCode = hashCode * 8191 + execute_ms_p999.hashCode();
+
     return hashCode;
   }
 
@@ -731,6 +1128,46 @@ public class BoltStats implements org.apache.storm.thrift.TBase<BoltStats, BoltS
         return lastComparison;
       }
     }
+    lastComparison = java.lang.Boolean.valueOf(is_set_process_ms_p99()).compareTo(other.is_set_process_ms_p99());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (is_set_process_ms_p99()) {
+      lastComparison = org.apache.storm.thrift.TBaseHelper.compareTo(this.process_ms_p99, other.process_ms_p99);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = java.lang.Boolean.valueOf(is_set_process_ms_p999()).compareTo(other.is_set_process_ms_p999());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (is_set_process_ms_p999()) {
+      lastComparison = org.apache.storm.thrift.TBaseHelper.compareTo(this.process_ms_p999, other.process_ms_p999);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = java.lang.Boolean.valueOf(is_set_execute_ms_p99()).compareTo(other.is_set_execute_ms_p99());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (is_set_execute_ms_p99()) {
+      lastComparison = org.apache.storm.thrift.TBaseHelper.compareTo(this.execute_ms_p99, other.execute_ms_p99);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = java.lang.Boolean.valueOf(is_set_execute_ms_p999()).compareTo(other.is_set_execute_ms_p999());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (is_set_execute_ms_p999()) {
+      lastComparison = org.apache.storm.thrift.TBaseHelper.compareTo(this.execute_ms_p999, other.execute_ms_p999);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -791,6 +1228,46 @@ public class BoltStats implements org.apache.storm.thrift.TBase<BoltStats, BoltS
       sb.append(this.execute_ms_avg);
     }
     first = false;
+    if (is_set_process_ms_p99()) {
+      if (!first) sb.append(", ");
+      sb.append("process_ms_p99:");
+      if (this.process_ms_p99 == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.process_ms_p99);
+      }
+      first = false;
+    }
+    if (is_set_process_ms_p999()) {
+      if (!first) sb.append(", ");
+      sb.append("process_ms_p999:");
+      if (this.process_ms_p999 == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.process_ms_p999);
+      }
+      first = false;
+    }
+    if (is_set_execute_ms_p99()) {
+      if (!first) sb.append(", ");
+      sb.append("execute_ms_p99:");
+      if (this.execute_ms_p99 == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.execute_ms_p99);
+      }
+      first = false;
+    }
+    if (is_set_execute_ms_p999()) {
+      if (!first) sb.append(", ");
+      sb.append("execute_ms_p999:");
+      if (this.execute_ms_p999 == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.execute_ms_p999);
+      }
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -1019,6 +1496,138 @@ public class BoltStats implements org.apache.storm.thrift.TBase<BoltStats, BoltS
               org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 6: // PROCESS_MS_P99
+            if (schemeField.type == org.apache.storm.thrift.protocol.TType.MAP) {
+              {
+                org.apache.storm.thrift.protocol.TMap _map290 = iprot.readMapBegin();
+                struct.process_ms_p99 = new java.util.HashMap<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>>(2*_map290.size);
+                @org.apache.storm.thrift.annotation.Nullable java.lang.String _key291;
+                @org.apache.storm.thrift.annotation.Nullable java.util.Map<GlobalStreamId,java.lang.Double> _val292;
+                for (int _i293 = 0; _i293 < _map290.size; ++_i293)
+                {
+                  _key291 = iprot.readString();
+                  {
+                    org.apache.storm.thrift.protocol.TMap _map294 = iprot.readMapBegin();
+                    _val292 = new java.util.HashMap<GlobalStreamId,java.lang.Double>(2*_map294.size);
+                    @org.apache.storm.thrift.annotation.Nullable GlobalStreamId _key295;
+                    double _val296;
+                    for (int _i297 = 0; _i297 < _map294.size; ++_i297)
+                    {
+                      _key295 = new GlobalStreamId();
+                      _key295.read(iprot);
+                      _val296 = iprot.readDouble();
+                      _val292.put(_key295, _val296);
+                    }
+                    iprot.readMapEnd();
+                  }
+                  struct.process_ms_p99.put(_key291, _val292);
+                }
+                iprot.readMapEnd();
+              }
+              struct.set_process_ms_p99_isSet(true);
+            } else { 
+              org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 7: // PROCESS_MS_P999
+            if (schemeField.type == org.apache.storm.thrift.protocol.TType.MAP) {
+              {
+                org.apache.storm.thrift.protocol.TMap _map298 = iprot.readMapBegin();
+                struct.process_ms_p999 = new java.util.HashMap<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>>(2*_map298.size);
+                @org.apache.storm.thrift.annotation.Nullable java.lang.String _key299;
+                @org.apache.storm.thrift.annotation.Nullable java.util.Map<GlobalStreamId,java.lang.Double> _val300;
+                for (int _i301 = 0; _i301 < _map298.size; ++_i301)
+                {
+                  _key299 = iprot.readString();
+                  {
+                    org.apache.storm.thrift.protocol.TMap _map302 = iprot.readMapBegin();
+                    _val300 = new java.util.HashMap<GlobalStreamId,java.lang.Double>(2*_map302.size);
+                    @org.apache.storm.thrift.annotation.Nullable GlobalStreamId _key303;
+                    double _val304;
+                    for (int _i305 = 0; _i305 < _map302.size; ++_i305)
+                    {
+                      _key303 = new GlobalStreamId();
+                      _key303.read(iprot);
+                      _val304 = iprot.readDouble();
+                      _val300.put(_key303, _val304);
+                    }
+                    iprot.readMapEnd();
+                  }
+                  struct.process_ms_p999.put(_key299, _val300);
+                }
+                iprot.readMapEnd();
+              }
+              struct.set_process_ms_p999_isSet(true);
+            } else { 
+              org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 8: // EXECUTE_MS_P99
+            if (schemeField.type == org.apache.storm.thrift.protocol.TType.MAP) {
+              {
+                org.apache.storm.thrift.protocol.TMap _map306 = iprot.readMapBegin();
+                struct.execute_ms_p99 = new java.util.HashMap<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>>(2*_map306.size);
+                @org.apache.storm.thrift.annotation.Nullable java.lang.String _key307;
+                @org.apache.storm.thrift.annotation.Nullable java.util.Map<GlobalStreamId,java.lang.Double> _val308;
+                for (int _i309 = 0; _i309 < _map306.size; ++_i309)
+                {
+                  _key307 = iprot.readString();
+                  {
+                    org.apache.storm.thrift.protocol.TMap _map310 = iprot.readMapBegin();
+                    _val308 = new java.util.HashMap<GlobalStreamId,java.lang.Double>(2*_map310.size);
+                    @org.apache.storm.thrift.annotation.Nullable GlobalStreamId _key311;
+                    double _val312;
+                    for (int _i313 = 0; _i313 < _map310.size; ++_i313)
+                    {
+                      _key311 = new GlobalStreamId();
+                      _key311.read(iprot);
+                      _val312 = iprot.readDouble();
+                      _val308.put(_key311, _val312);
+                    }
+                    iprot.readMapEnd();
+                  }
+                  struct.execute_ms_p99.put(_key307, _val308);
+                }
+                iprot.readMapEnd();
+              }
+              struct.set_execute_ms_p99_isSet(true);
+            } else { 
+              org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 9: // EXECUTE_MS_P999
+            if (schemeField.type == org.apache.storm.thrift.protocol.TType.MAP) {
+              {
+                org.apache.storm.thrift.protocol.TMap _map314 = iprot.readMapBegin();
+                struct.execute_ms_p999 = new java.util.HashMap<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>>(2*_map314.size);
+                @org.apache.storm.thrift.annotation.Nullable java.lang.String _key315;
+                @org.apache.storm.thrift.annotation.Nullable java.util.Map<GlobalStreamId,java.lang.Double> _val316;
+                for (int _i317 = 0; _i317 < _map314.size; ++_i317)
+                {
+                  _key315 = iprot.readString();
+                  {
+                    org.apache.storm.thrift.protocol.TMap _map318 = iprot.readMapBegin();
+                    _val316 = new java.util.HashMap<GlobalStreamId,java.lang.Double>(2*_map318.size);
+                    @org.apache.storm.thrift.annotation.Nullable GlobalStreamId _key319;
+                    double _val320;
+                    for (int _i321 = 0; _i321 < _map318.size; ++_i321)
+                    {
+                      _key319 = new GlobalStreamId();
+                      _key319.read(iprot);
+                      _val320 = iprot.readDouble();
+                      _val316.put(_key319, _val320);
+                    }
+                    iprot.readMapEnd();
+                  }
+                  struct.execute_ms_p999.put(_key315, _val316);
+                }
+                iprot.readMapEnd();
+              }
+              struct.set_execute_ms_p999_isSet(true);
+            } else { 
+              org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -1137,6 +1746,98 @@ public class BoltStats implements org.apache.storm.thrift.TBase<BoltStats, BoltS
         }
         oprot.writeFieldEnd();
       }
+      if (struct.process_ms_p99 != null) {
+        if (struct.is_set_process_ms_p99()) {
+          oprot.writeFieldBegin(PROCESS_MS_P99_FIELD_DESC);
+          {
+            oprot.writeMapBegin(new org.apache.storm.thrift.protocol.TMap(org.apache.storm.thrift.protocol.TType.STRING, org.apache.storm.thrift.protocol.TType.MAP, struct.process_ms_p99.size()));
+            for (java.util.Map.Entry<java.lang.String, java.util.Map<GlobalStreamId,java.lang.Double>> _iter322 : struct.process_ms_p99.entrySet())
+            {
+              oprot.writeString(_iter322.getKey());
+              {
+                oprot.writeMapBegin(new org.apache.storm.thrift.protocol.TMap(org.apache.storm.thrift.protocol.TType.STRUCT, org.apache.storm.thrift.protocol.TType.DOUBLE, _iter322.getValue().size()));
+                for (java.util.Map.Entry<GlobalStreamId, java.lang.Double> _iter323 : _iter322.getValue().entrySet())
+                {
+                  _iter323.getKey().write(oprot);
+                  oprot.writeDouble(_iter323.getValue());
+                }
+                oprot.writeMapEnd();
+              }
+            }
+            oprot.writeMapEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+      }
+      if (struct.process_ms_p999 != null) {
+        if (struct.is_set_process_ms_p999()) {
+          oprot.writeFieldBegin(PROCESS_MS_P999_FIELD_DESC);
+          {
+            oprot.writeMapBegin(new org.apache.storm.thrift.protocol.TMap(org.apache.storm.thrift.protocol.TType.STRING, org.apache.storm.thrift.protocol.TType.MAP, struct.process_ms_p999.size()));
+            for (java.util.Map.Entry<java.lang.String, java.util.Map<GlobalStreamId,java.lang.Double>> _iter324 : struct.process_ms_p999.entrySet())
+            {
+              oprot.writeString(_iter324.getKey());
+              {
+                oprot.writeMapBegin(new org.apache.storm.thrift.protocol.TMap(org.apache.storm.thrift.protocol.TType.STRUCT, org.apache.storm.thrift.protocol.TType.DOUBLE, _iter324.getValue().size()));
+                for (java.util.Map.Entry<GlobalStreamId, java.lang.Double> _iter325 : _iter324.getValue().entrySet())
+                {
+                  _iter325.getKey().write(oprot);
+                  oprot.writeDouble(_iter325.getValue());
+                }
+                oprot.writeMapEnd();
+              }
+            }
+            oprot.writeMapEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+      }
+      if (struct.execute_ms_p99 != null) {
+        if (struct.is_set_execute_ms_p99()) {
+          oprot.writeFieldBegin(EXECUTE_MS_P99_FIELD_DESC);
+          {
+            oprot.writeMapBegin(new org.apache.storm.thrift.protocol.TMap(org.apache.storm.thrift.protocol.TType.STRING, org.apache.storm.thrift.protocol.TType.MAP, struct.execute_ms_p99.size()));
+            for (java.util.Map.Entry<java.lang.String, java.util.Map<GlobalStreamId,java.lang.Double>> _iter326 : struct.execute_ms_p99.entrySet())
+            {
+              oprot.writeString(_iter326.getKey());
+              {
+                oprot.writeMapBegin(new org.apache.storm.thrift.protocol.TMap(org.apache.storm.thrift.protocol.TType.STRUCT, org.apache.storm.thrift.protocol.TType.DOUBLE, _iter326.getValue().size()));
+                for (java.util.Map.Entry<GlobalStreamId, java.lang.Double> _iter327 : _iter326.getValue().entrySet())
+                {
+                  _iter327.getKey().write(oprot);
+                  oprot.writeDouble(_iter327.getValue());
+                }
+                oprot.writeMapEnd();
+              }
+            }
+            oprot.writeMapEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+      }
+      if (struct.execute_ms_p999 != null) {
+        if (struct.is_set_execute_ms_p999()) {
+          oprot.writeFieldBegin(EXECUTE_MS_P999_FIELD_DESC);
+          {
+            oprot.writeMapBegin(new org.apache.storm.thrift.protocol.TMap(org.apache.storm.thrift.protocol.TType.STRING, org.apache.storm.thrift.protocol.TType.MAP, struct.execute_ms_p999.size()));
+            for (java.util.Map.Entry<java.lang.String, java.util.Map<GlobalStreamId,java.lang.Double>> _iter328 : struct.execute_ms_p999.entrySet())
+            {
+              oprot.writeString(_iter328.getKey());
+              {
+                oprot.writeMapBegin(new org.apache.storm.thrift.protocol.TMap(org.apache.storm.thrift.protocol.TType.STRUCT, org.apache.storm.thrift.protocol.TType.DOUBLE, _iter328.getValue().size()));
+                for (java.util.Map.Entry<GlobalStreamId, java.lang.Double> _iter329 : _iter328.getValue().entrySet())
+                {
+                  _iter329.getKey().write(oprot);
+                  oprot.writeDouble(_iter329.getValue());
+                }
+                oprot.writeMapEnd();
+              }
+            }
+            oprot.writeMapEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -1229,6 +1930,88 @@ public class BoltStats implements org.apache.storm.thrift.TBase<BoltStats, BoltS
           }
         }
       }
+      java.util.BitSet optionals = new java.util.BitSet();
+      if (struct.is_set_process_ms_p99()) {
+        optionals.set(0);
+      }
+      if (struct.is_set_process_ms_p999()) {
+        optionals.set(1);
+      }
+      if (struct.is_set_execute_ms_p99()) {
+        optionals.set(2);
+      }
+      if (struct.is_set_execute_ms_p999()) {
+        optionals.set(3);
+      }
+      oprot.writeBitSet(optionals, 4);
+      if (struct.is_set_process_ms_p99()) {
+        {
+          oprot.writeI32(struct.process_ms_p99.size());
+          for (java.util.Map.Entry<java.lang.String, java.util.Map<GlobalStreamId,java.lang.Double>> _iter330 : struct.process_ms_p99.entrySet())
+          {
+            oprot.writeString(_iter330.getKey());
+            {
+              oprot.writeI32(_iter330.getValue().size());
+              for (java.util.Map.Entry<GlobalStreamId, java.lang.Double> _iter331 : _iter330.getValue().entrySet())
+              {
+                _iter331.getKey().write(oprot);
+                oprot.writeDouble(_iter331.getValue());
+              }
+            }
+          }
+        }
+      }
+      if (struct.is_set_process_ms_p999()) {
+        {
+          oprot.writeI32(struct.process_ms_p999.size());
+          for (java.util.Map.Entry<java.lang.String, java.util.Map<GlobalStreamId,java.lang.Double>> _iter332 : struct.process_ms_p999.entrySet())
+          {
+            oprot.writeString(_iter332.getKey());
+            {
+              oprot.writeI32(_iter332.getValue().size());
+              for (java.util.Map.Entry<GlobalStreamId, java.lang.Double> _iter333 : _iter332.getValue().entrySet())
+              {
+                _iter333.getKey().write(oprot);
+                oprot.writeDouble(_iter333.getValue());
+              }
+            }
+          }
+        }
+      }
+      if (struct.is_set_execute_ms_p99()) {
+        {
+          oprot.writeI32(struct.execute_ms_p99.size());
+          for (java.util.Map.Entry<java.lang.String, java.util.Map<GlobalStreamId,java.lang.Double>> _iter334 : struct.execute_ms_p99.entrySet())
+          {
+            oprot.writeString(_iter334.getKey());
+            {
+              oprot.writeI32(_iter334.getValue().size());
+              for (java.util.Map.Entry<GlobalStreamId, java.lang.Double> _iter335 : _iter334.getValue().entrySet())
+              {
+                _iter335.getKey().write(oprot);
+                oprot.writeDouble(_iter335.getValue());
+              }
+            }
+          }
+        }
+      }
+      if (struct.is_set_execute_ms_p999()) {
+        {
+          oprot.writeI32(struct.execute_ms_p999.size());
+          for (java.util.Map.Entry<java.lang.String, java.util.Map<GlobalStreamId,java.lang.Double>> _iter336 : struct.execute_ms_p999.entrySet())
+          {
+            oprot.writeString(_iter336.getKey());
+            {
+              oprot.writeI32(_iter336.getValue().size());
+              for (java.util.Map.Entry<GlobalStreamId, java.lang.Double> _iter337 : _iter336.getValue().entrySet())
+              {
+                _iter337.getKey().write(oprot);
+                oprot.writeDouble(_iter337.getValue());
+              }
+            }
+          }
+        }
+      }
     }
 
     @Override
@@ -1359,6 +2142,115 @@ public class BoltStats implements org.apache.storm.thrift.TBase<BoltStats, BoltS
         }
       }
       struct.set_execute_ms_avg_isSet(true);
+      java.util.BitSet incoming = iprot.readBitSet(4);
+      if (incoming.get(0)) {
+        {
+          org.apache.storm.thrift.protocol.TMap _map338 = new org.apache.storm.thrift.protocol.TMap(org.apache.storm.thrift.protocol.TType.STRING, org.apache.storm.thrift.protocol.TType.MAP, iprot.readI32());
+          struct.process_ms_p99 = new java.util.HashMap<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>>(2*_map338.size);
+          @org.apache.storm.thrift.annotation.Nullable java.lang.String _key339;
+          @org.apache.storm.thrift.annotation.Nullable java.util.Map<GlobalStreamId,java.lang.Double> _val340;
+          for (int _i341 = 0; _i341 < _map338.size; ++_i341)
+          {
+            _key339 = iprot.readString();
+            {
+              org.apache.storm.thrift.protocol.TMap _map342 = new org.apache.storm.thrift.protocol.TMap(org.apache.storm.thrift.protocol.TType.STRUCT, org.apache.storm.thrift.protocol.TType.DOUBLE, iprot.readI32());
+              _val340 = new java.util.HashMap<GlobalStreamId,java.lang.Double>(2*_map342.size);
+              @org.apache.storm.thrift.annotation.Nullable GlobalStreamId _key343;
+              double _val344;
+              for (int _i345 = 0; _i345 < _map342.size; ++_i345)
+              {
+                _key343 = new GlobalStreamId();
+                _key343.read(iprot);
+                _val344 = iprot.readDouble();
+                _val340.put(_key343, _val344);
+              }
+            }
+            struct.process_ms_p99.put(_key339, _val340);
+          }
+        }
+        struct.set_process_ms_p99_isSet(true);
+      }
+      if (incoming.get(1)) {
+        {
+          org.apache.storm.thrift.protocol.TMap _map346 = new org.apache.storm.thrift.protocol.TMap(org.apache.storm.thrift.protocol.TType.STRING, org.apache.storm.thrift.protocol.TType.MAP, iprot.readI32());
+          struct.process_ms_p999 = new java.util.HashMap<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>>(2*_map346.size);
+          @org.apache.storm.thrift.annotation.Nullable java.lang.String _key347;
+          @org.apache.storm.thrift.annotation.Nullable java.util.Map<GlobalStreamId,java.lang.Double> _val348;
+          for (int _i349 = 0; _i349 < _map346.size; ++_i349)
+          {
+            _key347 = iprot.readString();
+            {
+              org.apache.storm.thrift.protocol.TMap _map350 = new org.apache.storm.thrift.protocol.TMap(org.apache.storm.thrift.protocol.TType.STRUCT, org.apache.storm.thrift.protocol.TType.DOUBLE, iprot.readI32());
+              _val348 = new java.util.HashMap<GlobalStreamId,java.lang.Double>(2*_map350.size);
+              @org.apache.storm.thrift.annotation.Nullable GlobalStreamId _key351;
+              double _val352;
+              for (int _i353 = 0; _i353 < _map350.size; ++_i353)
+              {
+                _key351 = new GlobalStreamId();
+                _key351.read(iprot);
+                _val352 = iprot.readDouble();
+                _val348.put(_key351, _val352);
+              }
+            }
+            struct.process_ms_p999.put(_key347, _val348);
+          }
+        }
+        struct.set_process_ms_p999_isSet(true);
+      }
+      if (incoming.get(2)) {
+        {
+          org.apache.storm.thrift.protocol.TMap _map354 = new org.apache.storm.thrift.protocol.TMap(org.apache.storm.thrift.protocol.TType.STRING, org.apache.storm.thrift.protocol.TType.MAP, iprot.readI32());
+          struct.execute_ms_p99 = new java.util.HashMap<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>>(2*_map354.size);
+          @org.apache.storm.thrift.annotation.Nullable java.lang.String _key355;
+          @org.apache.storm.thrift.annotation.Nullable java.util.Map<GlobalStreamId,java.lang.Double> _val356;
+          for (int _i357 = 0; _i357 < _map354.size; ++_i357)
+          {
+            _key355 = iprot.readString();
+            {
+              org.apache.storm.thrift.protocol.TMap _map358 = new org.apache.storm.thrift.protocol.TMap(org.apache.storm.thrift.protocol.TType.STRUCT, org.apache.storm.thrift.protocol.TType.DOUBLE, iprot.readI32());
+              _val356 = new java.util.HashMap<GlobalStreamId,java.lang.Double>(2*_map358.size);
+              @org.apache.storm.thrift.annotation.Nullable GlobalStreamId _key359;
+              double _val360;
+              for (int _i361 = 0; _i361 < _map358.size; ++_i361)
+              {
+                _key359 = new GlobalStreamId();
+                _key359.read(iprot);
+                _val360 = iprot.readDouble();
+                _val356.put(_key359, _val360);
+              }
+            }
+            struct.execute_ms_p99.put(_key355, _val356);
+          }
+        }
+        struct.set_execute_ms_p99_isSet(true);
+      }
+      if (incoming.get(3)) {
+        {
+          org.apache.storm.thrift.protocol.TMap _map362 = new org.apache.storm.thrift.protocol.TMap(org.apache.storm.thrift.protocol.TType.STRING, org.apache.storm.thrift.protocol.TType.MAP, iprot.readI32());
+          struct.execute_ms_p999 = new java.util.HashMap<java.lang.String,java.util.Map<GlobalStreamId,java.lang.Double>>(2*_map362.size);
+          @org.apache.storm.thrift.annotation.Nullable java.lang.String _key363;
+          @org.apache.storm.thrift.annotation.Nullable java.util.Map<GlobalStreamId,java.lang.Double> _val364;
+          for (int _i365 = 0; _i365 < _map362.size; ++_i365)
+          {
+            _key363 = iprot.readString();
+            {
+              org.apache.storm.thrift.protocol.TMap _map366 = new org.apache.storm.thrift.protocol.TMap(org.apache.storm.thrift.protocol.TType.STRUCT, org.apache.storm.thrift.protocol.TType.DOUBLE, iprot.readI32());
+              _val364 = new java.util.HashMap<GlobalStreamId,java.lang.Double>(2*_map366.size);
+              @org.apache.storm.thrift.annotation.Nullable GlobalStreamId _key367;
+              double _val368;
+              for (int _i369 = 0; _i369 < _map366.size; ++_i369)
+              {
+                _key367 = new GlobalStreamId();
+                _key367.read(iprot);
+                _val368 = iprot.readDouble();
+                _val364.put(_key367, _val368);
+              }
+            }
+            struct.execute_ms_p999.put(_key363, _val364);
+          }
+        }
+        struct.set_execute_ms_p999_isSet(true);
+      }
     }
   }
 
@@ -35,6 +35,8 @@ public class CommonAggregateStats implements org.apache.storm.thrift.TBase<Commo
   private static final org.apache.storm.thrift.protocol.TField ACKED_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("acked", org.apache.storm.thrift.protocol.TType.I64, (short)5);
   private static final org.apache.storm.thrift.protocol.TField FAILED_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("failed", org.apache.storm.thrift.protocol.TType.I64, (short)6);
   private static final org.apache.storm.thrift.protocol.TField RESOURCES_MAP_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("resources_map", org.apache.storm.thrift.protocol.TType.MAP, (short)7);
+  private static final org.apache.storm.thrift.protocol.TField CPU_USAGE_PCT_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("cpu_usage_pct", org.apache.storm.thrift.protocol.TType.DOUBLE, (short)8);
+  private static final org.apache.storm.thrift.protocol.TField ALLOCATED_BYTES_PER_SEC_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("allocated_bytes_per_sec", org.apache.storm.thrift.protocol.TType.DOUBLE, (short)9);
 
   private static final org.apache.storm.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new CommonAggregateStatsStandardSchemeFactory();
   private static final org.apache.storm.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new CommonAggregateStatsTupleSchemeFactory();
@@ -46,6 +48,8 @@ public class CommonAggregateStats implements org.apache.storm.thrift.TBase<Commo
   private long acked; // optional
   private long failed; // optional
   private @org.apache.storm.thrift.annotation.Nullable java.util.Map<java.lang.String,java.lang.Double> resources_map; // optional
+  private double cpu_usage_pct; // optional
+  private double allocated_bytes_per_sec; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.storm.thrift.TFieldIdEnum {
@@ -55,7 +59,9 @@ public class CommonAggregateStats implements org.apache.storm.thrift.TBase<Commo
     TRANSFERRED((short)4, "transferred"),
     ACKED((short)5, "acked"),
     FAILED((short)6, "failed"),
-    RESOURCES_MAP((short)7, "resources_map");
+    RESOURCES_MAP((short)7, "resources_map"),
+    CPU_USAGE_PCT((short)8, "cpu_usage_pct"),
+    ALLOCATED_BYTES_PER_SEC((short)9, "allocated_bytes_per_sec");
 
     private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
 
@@ -85,6 +91,10 @@ public class CommonAggregateStats implements org.apache.storm.thrift.TBase<Commo
           return FAILED;
         case 7: // RESOURCES_MAP
           return RESOURCES_MAP;
+        case 8: // CPU_USAGE_PCT
+          return CPU_USAGE_PCT;
+        case 9: // ALLOCATED_BYTES_PER_SEC
+          return ALLOCATED_BYTES_PER_SEC;
         default:
           return null;
       }
@@ -132,8 +142,10 @@ public class CommonAggregateStats implements org.apache.storm.thrift.TBase<Commo
   private static final int __TRANSFERRED_ISSET_ID = 3;
   private static final int __ACKED_ISSET_ID = 4;
   private static final int __FAILED_ISSET_ID = 5;
+  private static final int __CPU_USAGE_PCT_ISSET_ID = 6;
+  private static final int __ALLOCATED_BYTES_PER_SEC_ISSET_ID = 7;
   private byte __isset_bitfield = 0;
-  private static final _Fields optionals[] = {_Fields.NUM_EXECUTORS,_Fields.NUM_TASKS,_Fields.EMITTED,_Fields.TRANSFERRED,_Fields.ACKED,_Fields.FAILED,_Fields.RESOURCES_MAP};
+  private static final _Fields optionals[] = {_Fields.NUM_EXECUTORS,_Fields.NUM_TASKS,_Fields.EMITTED,_Fields.TRANSFERRED,_Fields.ACKED,_Fields.FAILED,_Fields.RESOURCES_MAP,_Fields.CPU_USAGE_PCT,_Fields.ALLOCATED_BYTES_PER_SEC};
   public static final java.util.Map<_Fields, org.apache.storm.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     java.util.Map<_Fields, org.apache.storm.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.storm.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -153,6 +165,10 @@ public class CommonAggregateStats implements org.apache.storm.thrift.TBase<Commo
         new org.apache.storm.thrift.meta_data.MapMetaData(org.apache.storm.thrift.protocol.TType.MAP, 
             new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.STRING), 
             new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.DOUBLE))));
+    tmpMap.put(_Fields.CPU_USAGE_PCT, new org.apache.storm.thrift.meta_data.FieldMetaData("cpu_usage_pct", org.apache.storm.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.DOUBLE)));
+    tmpMap.put(_Fields.ALLOCATED_BYTES_PER_SEC, new org.apache.storm.thrift.meta_data.FieldMetaData("allocated_bytes_per_sec", org.apache.storm.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.DOUBLE)));
     metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
     org.apache.storm.thrift.meta_data.FieldMetaData.addStructMetaDataMap(CommonAggregateStats.class, metaDataMap);
   }
@@ -175,6 +191,8 @@ public class CommonAggregateStats implements org.apache.storm.thrift.TBase<Commo
       java.util.Map<java.lang.String,java.lang.Double> __this__resources_map = new java.util.HashMap<java.lang.String,java.lang.Double>(other.resources_map);
       this.resources_map = __this__resources_map;
     }
+    this.cpu_usage_pct = other.cpu_usage_pct;
+    this.allocated_bytes_per_sec = other.allocated_bytes_per_sec;
   }
 
   public CommonAggregateStats deepCopy() {
@@ -196,6 +214,10 @@ public class CommonAggregateStats implements org.apache.storm.thrift.TBase<Commo
     set_failed_isSet(false);
     this.failed = 0;
     this.resources_map = null;
+    set_cpu_usage_pct_isSet(false);
+    this.cpu_usage_pct = 0.0;
+    set_allocated_bytes_per_sec_isSet(false);
+    this.allocated_bytes_per_sec = 0.0;
   }
 
   public int get_num_executors() {
@@ -365,6 +387,50 @@ public class CommonAggregateStats implements org.apache.storm.thrift.TBase<Commo
     }
   }
 
+  public double get_cpu_usage_pct() {
+    return this.cpu_usage_pct;
+  }
+
+  public void set_cpu_usage_pct(double cpu_usage_pct) {
+    this.cpu_usage_pct = cpu_usage_pct;
+    set_cpu_usage_pct_isSet(true);
+  }
+
+  public void unset_cpu_usage_pct() {
+    __isset_bitfield = org.apache.storm.thrift.EncodingUtils.clearBit(__isset_bitfield, __CPU_USAGE_PCT_ISSET_ID);
+  }
+
+  /** Returns true if field cpu_usage_pct is set (has been assigned a value) and false otherwise */
+  public boolean is_set_cpu_usage_pct() {
+    return org.apache.storm.thrift.EncodingUtils.testBit(__isset_bitfield, __CPU_USAGE_PCT_ISSET_ID);
+  }
+
+  public void set_cpu_usage_pct_isSet(boolean value) {
+    __isset_bitfield = org.apache.storm.thrift.EncodingUtils.setBit(__isset_bitfield, __CPU_USAGE_PCT_ISSET_ID, value);
+  }
+
+  public double get_allocated_bytes_per_sec() {
+    return this.allocated_bytes_per_sec;
+  }
+
+  public void set_allocated_bytes_per_sec(double allocated_bytes_per_sec) {
+    this.allocated_bytes_per_sec = allocated_bytes_per_sec;
+    set_allocated_bytes_per_sec_isSet(true);
+  }
+
+  public void unset_allocated_bytes_per_sec() {
+    __isset_bitfield = org.apache.storm.thrift.EncodingUtils.clearBit(__isset_bitfield, __ALLOCATED_BYTES_PER_SEC_ISSET_ID);
+  }
+
+  /** Returns true if field allocated_bytes_per_sec is set (has been assigned a value) and false otherwise */
+  public boolean is_set_allocated_bytes_per_sec() {
+    return org.apache.storm.thrift.EncodingUtils.testBit(__isset_bitfield, __ALLOCATED_BYTES_PER_SEC_ISSET_ID);
+  }
+
+  public void set_allocated_bytes_per_sec_isSet(boolean value) {
+    __isset_bitfield = org.apache.storm.thrift.EncodingUtils.setBit(__isset_bitfield, __ALLOCATED_BYTES_PER_SEC_ISSET_ID, value);
+  }
+
   public void setFieldValue(_Fields field, @org.apache.storm.thrift.annotation.Nullable java.lang.Object value) {
     switch (field) {
     case NUM_EXECUTORS:
@@ -423,6 +489,22 @@ public class CommonAggregateStats implements org.apache.storm.thrift.TBase<Commo
       }
       break;
 
+    case CPU_USAGE_PCT:
+      if (value == null) {
+        unset_cpu_usage_pct();
+      } else {
+        set_cpu_usage_pct((java.lang.Double)value);
+      }
+      break;
+
+    case ALLOCATED_BYTES_PER_SEC:
+      if (value == null) {
+        unset_allocated_bytes_per_sec();
+      } else {
+        set_allocated_bytes_per_sec((java.lang.Double)value);
+      }
+      break;
+
     }
   }
 
@@ -450,6 +532,12 @@ public class CommonAggregateStats implements org.apache.storm.thrift.TBase<Commo
     case RESOURCES_MAP:
       return get_resources_map();
 
+    case CPU_USAGE_PCT:
+      return get_cpu_usage_pct();
+
+    case ALLOCATED_BYTES_PER_SEC:
+      return get_allocated_bytes_per_sec();
+
     }
     throw new java.lang.IllegalStateException();
   }
@@ -475,6 +563,10 @@ public class CommonAggregateStats implements org.apache.storm.thrift.TBase<Commo
       return is_set_failed();
     case RESOURCES_MAP:
       return is_set_resources_map();
+    case CPU_USAGE_PCT:
+      return is_set_cpu_usage_pct();
+    case ALLOCATED_BYTES_PER_SEC:
+      return is_set_allocated_bytes_per_sec();
     }
     throw new java.lang.IllegalStateException();
   }
@@ -557,6 +649,24 @@ public class CommonAggregateStats implements org.apache.storm.thrift.TBase<Commo
         return false;
     }
 
+    boolean this_present_cpu_usage_pct = true && this.is_set_cpu_usage_pct();
+    boolean that_present_cpu_usage_pct = true && that.is_set_cpu_usage_pct();
+    if (this_present_cpu_usage_pct || that_present_cpu_usage_pct) {
+      if (!(this_present_cpu_usage_pct && that_present_cpu_usage_pct))
+        return false;
+      if (this.cpu_usage_pct != that.cpu_usage_pct)
+        return false;
+    }
+
+    boolean this_present_allocated_bytes_per_sec = true && this.is_set_allocated_bytes_per_sec();
+    boolean that_present_allocated_bytes_per_sec = true && that.is_set_allocated_bytes_per_sec();
+    if (this_present_allocated_bytes_per_sec || that_present_allocated_bytes_per_sec) {
+      if (!(this_present_allocated_bytes_per_sec && that_present_allocated_bytes_per_sec))
+        return false;
+      if (this.allocated_bytes_per_sec != that.allocated_bytes_per_sec)
+        return false;
+    }
+
     return true;
   }
 
@@ -592,6 +702,14 @@ public class CommonAggregateStats implements org.apache.storm.thrift.TBase<Commo
     if (is_set_resources_map())
       hashCode = hashCode * 8191 + resources_map.hashCode();
 
+    hashCode = hashCode * 8191 + ((is_set_cpu_usage_pct()) ? 131071 : 524287);
+    if (is_set_cpu_usage_pct())
+      hashCode = hashCode * 8191 + org.apache.storm.thrift.TBaseHelper.hashCode(cpu_usage_pct);
+
+    hashCode = hashCode * 8191 + ((is_set_allocated_bytes_per_sec()) ? 131071 : 524287);
+    if (is_set_allocated_bytes_per_sec())
+      hashCode = hashCode * 8191 + org.apache.storm.thrift.TBaseHelper.hashCode(allocated_bytes_per_sec);
+
     return hashCode;
   }
 
@@ -673,6 +791,26 @@ public class CommonAggregateStats implements org.apache.storm.thrift.TBase<Commo
         return lastComparison;
       }
     }
+    lastComparison = java.lang.Boolean.valueOf(is_set_cpu_usage_pct()).compareTo(other.is_set_cpu_usage_pct());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (is_set_cpu_usage_pct()) {
+      lastComparison = org.apache.storm.thrift.TBaseHelper.compareTo(this.cpu_usage_pct, other.cpu_usage_pct);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = java.lang.Boolean.valueOf(is_set_allocated_bytes_per_sec()).compareTo(other.is_set_allocated_bytes_per_sec());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (is_set_allocated_bytes_per_sec()) {
+      lastComparison = org.apache.storm.thrift.TBaseHelper.compareTo(this.allocated_bytes_per_sec, other.allocated_bytes_per_sec);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -739,6 +877,18 @@ public class CommonAggregateStats implements org.apache.storm.thrift.TBase<Commo
       }
       first = false;
     }
+    if (is_set_cpu_usage_pct()) {
+      if (!first) sb.append(", ");
+      sb.append("cpu_usage_pct:");
+      sb.append(this.cpu_usage_pct);
+      first = false;
+    }
+    if (is_set_allocated_bytes_per_sec()) {
+      if (!first) sb.append(", ");
+      sb.append("allocated_bytes_per_sec:");
+      sb.append(this.allocated_bytes_per_sec);
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -852,6 +1002,22 @@ public class CommonAggregateStats implements org.apache.storm.thrift.TBase<Commo
               org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 8: // CPU_USAGE_PCT
+            if (schemeField.type == org.apache.storm.thrift.protocol.TType.DOUBLE) {
+              struct.cpu_usage_pct = iprot.readDouble();
+              struct.set_cpu_usage_pct_isSet(true);
+            } else { 
+              org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 9: // ALLOCATED_BYTES_PER_SEC
+            if (schemeField.type == org.apache.storm.thrift.protocol.TType.DOUBLE) {
+              struct.allocated_bytes_per_sec = iprot.readDouble();
+              struct.set_allocated_bytes_per_sec_isSet(true);
+            } else { 
+              org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -910,6 +1076,16 @@ public class CommonAggregateStats implements org.apache.storm.thrift.TBase<Commo
           oprot.writeFieldEnd();
         }
       }
+      if (struct.is_set_cpu_usage_pct()) {
+        oprot.writeFieldBegin(CPU_USAGE_PCT_FIELD_DESC);
+        oprot.writeDouble(struct.cpu_usage_pct);
+        oprot.writeFieldEnd();
+      }
+      if (struct.is_set_allocated_bytes_per_sec()) {
+        oprot.writeFieldBegin(ALLOCATED_BYTES_PER_SEC_FIELD_DESC);
+        oprot.writeDouble(struct.allocated_bytes_per_sec);
+        oprot.writeFieldEnd();
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -949,7 +1125,13 @@ public class CommonAggregateStats implements org.apache.storm.thrift.TBase<Commo
       if (struct.is_set_resources_map()) {
         optionals.set(6);
       }
-      oprot.writeBitSet(optionals, 7);
+      if (struct.is_set_cpu_usage_pct()) {
+        optionals.set(7);
+      }
+      if (struct.is_set_allocated_bytes_per_sec()) {
+        optionals.set(8);
+      }
+      oprot.writeBitSet(optionals, 9);
       if (struct.is_set_num_executors()) {
         oprot.writeI32(struct.num_executors);
       }
@@ -978,12 +1160,18 @@ public class CommonAggregateStats implements org.apache.storm.thrift.TBase<Commo
           }
         }
       }
+      if (struct.is_set_cpu_usage_pct()) {
+        oprot.writeDouble(struct.cpu_usage_pct);
+      }
+      if (struct.is_set_allocated_bytes_per_sec()) {
+        oprot.writeDouble(struct.allocated_bytes_per_sec);
+      }
     }
 
     @Override
     public void read(org.apache.storm.thrift.protocol.TProtocol prot, CommonAggregateStats struct) throws org.apache.storm.thrift.TException {
       org.apache.storm.thrift.protocol.TTupleProtocol iprot = (org.apache.storm.thrift.protocol.TTupleProtocol) prot;
-      java.util.BitSet incoming = iprot.readBitSet(7);
+      java.util.BitSet incoming = iprot.readBitSet(9);
       if (incoming.get(0)) {
         struct.num_executors = iprot.readI32();
         struct.set_num_executors_isSet(true);
@@ -1023,6 +1211,14 @@ public class CommonAggregateStats implements org.apache.storm.thrift.TBase<Commo
         }
         struct.set_resources_map_isSet(true);
       }
+      if (incoming.get(7)) {
+        struct.cpu_usage_pct = iprot.readDouble();
+        struct.set_cpu_usage_pct_isSet(true);
+      }
+      if (incoming.get(8)) {
+        struct.allocated_bytes_per_sec = iprot.readDouble();
+        struct.set_allocated_bytes_per_sec_isSet(true);
+      }
     }
   }
 
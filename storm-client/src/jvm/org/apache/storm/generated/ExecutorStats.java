@@ -32,6 +32,8 @@ public class ExecutorStats implements org.apache.storm.thrift.TBase<ExecutorStat
   private static final org.apache.storm.thrift.protocol.TField TRANSFERRED_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("transferred", org.apache.storm.thrift.protocol.TType.MAP, (short)2);
   private static final org.apache.storm.thrift.protocol.TField SPECIFIC_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("specific", org.apache.storm.thrift.protocol.TType.STRUCT, (short)3);
   private static final org.apache.storm.thrift.protocol.TField RATE_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("rate", org.apache.storm.thrift.protocol.TType.DOUBLE, (short)4);
+  private static final org.apache.storm.thrift.protocol.TField CPU_TIME_MS_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("cpu_time_ms", org.apache.storm.thrift.protocol.TType.I64, (short)5);
+  private static final org.apache.storm.thrift.protocol.TField ALLOCATED_BYTES_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("allocated_bytes", org.apache.storm.thrift.protocol.TType.I64, (short)6);
 
   private static final org.apache.storm.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new ExecutorStatsStandardSchemeFactory();
   private static final org.apache.storm.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new ExecutorStatsTupleSchemeFactory();
@@ -40,13 +42,17 @@ public class ExecutorStats implements org.apache.storm.thrift.TBase<ExecutorStat
   private @org.apache.storm.thrift.annotation.Nullable java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.Long>> transferred; // required
   private @org.apache.storm.thrift.annotation.Nullable ExecutorSpecificStats specific; // required
   private double rate; // required
+  private long cpu_time_ms; // optional
+  private long allocated_bytes; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.storm.thrift.TFieldIdEnum {
     EMITTED((short)1, "emitted"),
     TRANSFERRED((short)2, "transferred"),
     SPECIFIC((short)3, "specific"),
-    RATE((short)4, "rate");
+    RATE((short)4, "rate"),
+    CPU_TIME_MS((short)5, "cpu_time_ms"),
+    ALLOCATED_BYTES((short)6, "allocated_bytes");
 
     private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
 
@@ -70,6 +76,10 @@ public class ExecutorStats implements org.apache.storm.thrift.TBase<ExecutorStat
           return SPECIFIC;
         case 4: // RATE
           return RATE;
+        case 5: // CPU_TIME_MS
+          return CPU_TIME_MS;
+        case 6: // ALLOCATED_BYTES
+          return ALLOCATED_BYTES;
         default:
           return null;
       }
@@ -112,7 +122,10 @@ public class ExecutorStats implements org.apache.storm.thrift.TBase<ExecutorStat
 
   // isset id assignments
   private static final int __RATE_ISSET_ID = 0;
+  private static final int __CPU_TIME_MS_ISSET_ID = 1;
+  private static final int __ALLOCATED_BYTES_ISSET_ID = 2;
   private byte __isset_bitfield = 0;
+  private static final _Fields optionals[] = {_Fields.CPU_TIME_MS,_Fields.ALLOCATED_BYTES};
   public static final java.util.Map<_Fields, org.apache.storm.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     java.util.Map<_Fields, org.apache.storm.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.storm.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -132,6 +145,10 @@ public class ExecutorStats implements org.apache.storm.thrift.TBase<ExecutorStat
         new org.apache.storm.thrift.meta_data.StructMetaData(org.apache.storm.thrift.protocol.TType.STRUCT, ExecutorSpecificStats.class)));
     tmpMap.put(_Fields.RATE, new org.apache.storm.thrift.meta_data.FieldMetaData("rate", org.apache.storm.thrift.TFieldRequirementType.REQUIRED, 
         new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.DOUBLE)));
+    tmpMap.put(_Fields.CPU_TIME_MS, new org.apache.storm.thrift.meta_data.FieldMetaData("cpu_time_ms", org.apache.storm.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.I64)));
+    tmpMap.put(_Fields.ALLOCATED_BYTES, new org.apache.storm.thrift.meta_data.FieldMetaData("allocated_bytes", org.apache.storm.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.I64)));
     metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
     org.apache.storm.thrift.meta_data.FieldMetaData.addStructMetaDataMap(ExecutorStats.class, metaDataMap);
   }
@@ -192,6 +209,8 @@ public class ExecutorStats implements org.apache.storm.thrift.TBase<ExecutorStat
       this.specific = new ExecutorSpecificStats(other.specific);
     }
     this.rate = other.rate;
+    this.cpu_time_ms = other.cpu_time_ms;
+    this.allocated_bytes = other.allocated_bytes;
   }
 
   public ExecutorStats deepCopy() {
@@ -205,6 +224,10 @@ public class ExecutorStats implements org.apache.storm.thrift.TBase<ExecutorStat
     this.specific = null;
     set_rate_isSet(false);
     this.rate = 0.0;
+    set_cpu_time_ms_isSet(false);
+    this.cpu_time_ms = 0;
+    set_allocated_bytes_isSet(false);
+    this.allocated_bytes = 0;
   }
 
   public int get_emitted_size() {
@@ -323,6 +346,50 @@ public class ExecutorStats implements org.apache.storm.thrift.TBase<ExecutorStat
     __isset_bitfield = org.apache.storm.thrift.EncodingUtils.setBit(__isset_bitfield, __RATE_ISSET_ID, value);
   }
 
+  public long get_cpu_time_ms() {
+    return this.cpu_time_ms;
+  }
+
+  public void set_cpu_time_ms(long cpu_time_ms) {
+    this.cpu_time_ms = cpu_time_ms;
+    set_cpu_time_ms_isSet(true);
+  }
+
+  public void unset_cpu_time_ms() {
+    __isset_bitfield = org.apache.storm.thrift.EncodingUtils.clearBit(__isset_bitfield, __CPU_TIME_MS_ISSET_ID);
+  }
+
+  /** Returns true if field cpu_time_ms is set (has been assigned a value) and false otherwise */
+  public boolean is_set_cpu_time_ms() {
+    return org.apache.storm.thrift.EncodingUtils.testBit(__isset_bitfield, __CPU_TIME_MS_ISSET_ID);
+  }
+
+  public void set_cpu_time_ms_isSet(boolean value) {
+    __isset_bitfield = org.apache.storm.thrift.EncodingUtils.setBit(__isset_bitfield, __CPU_TIME_MS_ISSET_ID, value);
+  }
+
+  public long get_allocated_bytes() {
+    return this.allocated_bytes;
+  }
+
+  public void set_allocated_bytes(long allocated_bytes) {
+    this.allocated_bytes = allocated_bytes;
+    set_allocated_bytes_isSet(true);
+  }
+
+  public void unset_allocated_bytes() {
+    __isset_bitfield = org.apache.storm.thrift.EncodingUtils.clearBit(__isset_bitfield, __ALLOCATED_BYTES_ISSET_ID);
+  }
+
+  /** Returns true if field allocated_bytes is set (has been assigned a value) and false otherwise */
+  public boolean is_set_allocated_bytes() {
+    return org.apache.storm.thrift.EncodingUtils.testBit(__isset_bitfield, __ALLOCATED_BYTES_ISSET_ID);
+  }
+
+  public void set_allocated_bytes_isSet(boolean value) {
+    __isset_bitfield = org.apache.storm.thrift.EncodingUtils.setBit(__isset_bitfield, __ALLOCATED_BYTES_ISSET_ID, value);
+  }
+
   public void setFieldValue(_Fields field, @org.apache.storm.thrift.annotation.Nullable java.lang.Object value) {
     switch (field) {
     case EMITTED:
@@ -357,6 +424,22 @@ public class ExecutorStats implements org.apache.storm.thrift.TBase<ExecutorStat
       }
       break;
 
+    case CPU_TIME_MS:
+      if (value == null) {
+        unset_cpu_time_ms();
+      } else {
+        set_cpu_time_ms((java.lang.Long)value);
+      }
+      break;
+
+    case ALLOCATED_BYTES:
+      if (value == null) {
+        unset_allocated_bytes();
+      } else {
+        set_allocated_bytes((java.lang.Long)value);
+      }
+      break;
+
     }
   }
 
@@ -375,6 +458,12 @@ public class ExecutorStats implements org.apache.storm.thrift.TBase<ExecutorStat
     case RATE:
       return get_rate();
 
+    case CPU_TIME_MS:
+      return get_cpu_time_ms();
+
+    case ALLOCATED_BYTES:
+      return get_allocated_bytes();
+
     }
     throw new java.lang.IllegalStateException();
   }
@@ -394,6 +483,10 @@ public class ExecutorStats implements org.apache.storm.thrift.TBase<ExecutorStat
       return is_set_specific();
     case RATE:
       return is_set_rate();
+    case CPU_TIME_MS:
+      return is_set_cpu_time_ms();
+    case ALLOCATED_BYTES:
+      return is_set_allocated_bytes();
     }
     throw new java.lang.IllegalStateException();
   }
@@ -449,6 +542,24 @@ public class ExecutorStats implements org.apache.storm.thrift.TBase<ExecutorStat
         return false;
     }
 
+    boolean this_present_cpu_time_ms = true && this.is_set_cpu_time_ms();
+    boolean that_present_cpu_time_ms = true && that.is_set_cpu_time_ms();
+    if (this_present_cpu_time_ms || that_present_cpu_time_ms) {
+      if (!(this_present_cpu_time_ms && that_present_cpu_time_ms))
+        return false;
+      if (this.cpu_time_ms != that.cpu_time_ms)
+        return false;
+    }
+
+    boolean this_present_allocated_bytes = true && this.is_set_allocated_bytes();
+    boolean that_present_allocated_bytes = true && that.is_set_allocated_bytes();
+    if (this_present_allocated_bytes || that_present_allocated_bytes) {
+      if (!(this_present_allocated_bytes && that_present_allocated_bytes))
+        return false;
+      if (this.allocated_bytes != that.allocated_bytes)
+        return false;
+    }
+
     return true;
   }
 
@@ -470,6 +581,14 @@ public class ExecutorStats implements org.apache.storm.thrift.TBase<ExecutorStat
 
     hashCode = hashCode * 8191 + org.apache.storm.thrift.TBaseHelper.hashCode(rate);
 
+    hashCode = hashCode * 8191 + ((is_set_cpu_time_ms()) ? 131071 : 524287);
+    if (is_set_cpu_time_ms())
+      hashCode = hashCode * 8191 + org.apache.storm.thrift.TBaseHelper.hashCode(cpu_time_ms);
+
+    hashCode = hashCode * 8191 + ((is_set_allocated_bytes()) ? 131071 : 524287);
+    if (is_set_allocated_bytes())
+      hashCode = hashCode * 8191 + org.apache.storm.thrift.TBaseHelper.hashCode(allocated_bytes);
+
     return hashCode;
   }
 
@@ -521,6 +640,26 @@ public class ExecutorStats implements org.apache.storm.thrift.TBase<ExecutorStat
         return lastComparison;
       }
     }
+    lastComparison = java.lang.Boolean.valueOf(is_set_cpu_time_ms()).compareTo(other.is_set_cpu_time_ms());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (is_set_cpu_time_ms()) {
+      lastComparison = org.apache.storm.thrift.TBaseHelper.compareTo(this.cpu_time_ms, other.cpu_time_ms);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = java.lang.Boolean.valueOf(is_set_allocated_bytes()).compareTo(other.is_set_allocated_bytes());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (is_set_allocated_bytes()) {
+      lastComparison = org.apache.storm.thrift.TBaseHelper.compareTo(this.allocated_bytes, other.allocated_bytes);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -569,6 +708,18 @@ public class ExecutorStats implements org.apache.storm.thrift.TBase<ExecutorStat
     sb.append("rate:");
     sb.append(this.rate);
     first = false;
+    if (is_set_cpu_time_ms()) {
+      if (!first) sb.append(", ");
+      sb.append("cpu_time_ms:");
+      sb.append(this.cpu_time_ms);
+      first = false;
+    }
+    if (is_set_allocated_bytes()) {
+      if (!first) sb.append(", ");
+      sb.append("allocated_bytes:");
+      sb.append(this.allocated_bytes);
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -711,6 +862,22 @@ public class ExecutorStats implements org.apache.storm.thrift.TBase<ExecutorStat
               org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 5: // CPU_TIME_MS
+            if (schemeField.type == org.apache.storm.thrift.protocol.TType.I64) {
+              struct.cpu_time_ms = iprot.readI64();
+              struct.set_cpu_time_ms_isSet(true);
+            } else { 
+              org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 6: // ALLOCATED_BYTES
+            if (schemeField.type == org.apache.storm.thrift.protocol.TType.I64) {
+              struct.allocated_bytes = iprot.readI64();
+              struct.set_allocated_bytes_isSet(true);
+            } else { 
+              org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -774,6 +941,16 @@ public class ExecutorStats implements org.apache.storm.thrift.TBase<ExecutorStat
       oprot.writeFieldBegin(RATE_FIELD_DESC);
       oprot.writeDouble(struct.rate);
       oprot.writeFieldEnd();
+      if (struct.is_set_cpu_time_ms()) {
+        oprot.writeFieldBegin(CPU_TIME_MS_FIELD_DESC);
+        oprot.writeI64(struct.cpu_time_ms);
+        oprot.writeFieldEnd();
+      }
+      if (struct.is_set_allocated_bytes()) {
+        oprot.writeFieldBegin(ALLOCATED_BYTES_FIELD_DESC);
+        oprot.writeI64(struct.allocated_bytes);
+        oprot.writeFieldEnd();
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -823,6 +1000,20 @@ public class ExecutorStats implements org.apache.storm.thrift.TBase<ExecutorStat
       }
       struct.specific.write(oprot);
       oprot.writeDouble(struct.rate);
+      java.util.BitSet optionals = new java.util.BitSet();
+      if (struct.is_set_cpu_time_ms()) {
+        optionals.set(0);
+      }
+      if (struct.is_set_allocated_bytes()) {
+        optionals.set(1);
+      }
+      oprot.writeBitSet(optionals, 2);
+      if (struct.is_set_cpu_time_ms()) {
+        oprot.writeI64(struct.cpu_time_ms);
+      }
+      if (struct.is_set_allocated_bytes()) {
+        oprot.writeI64(struct.allocated_bytes);
+      }
     }
 
     @Override
@@ -881,6 +1072,15 @@ public class ExecutorStats implements org.apache.storm.thrift.TBase<ExecutorStat
       struct.set_specific_isSet(true);
       struct.rate = iprot.readDouble();
       struct.set_rate_isSet(true);
+      java.util.BitSet incoming = iprot.readBitSet(2);
+      if (incoming.get(0)) {
+        struct.cpu_time_ms = iprot.readI64();
+        struct.set_cpu_time_ms_isSet(true);
+      }
+      if (incoming.get(1)) {
+        struct.allocated_bytes = iprot.readI64();
+        struct.set_allocated_bytes_isSet(true);
+      }
     }
   }
 
@@ -29,15 +29,21 @@ public class SpoutAggregateStats implements org.apache.storm.thrift.TBase<SpoutA
   private static final org.apache.storm.thrift.protocol.TStruct STRUCT_DESC = new org.apache.storm.thrift.protocol.TStruct("SpoutAggregateStats");
 
   private static final org.apache.storm.thrift.protocol.TField COMPLETE_LATENCY_MS_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("complete_latency_ms", org.apache.storm.thrift.protocol.TType.DOUBLE, (short)1);
+  private static final org.apache.storm.thrift.protocol.TField COMPLETE_LATENCY_P99_MS_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("complete_latency_p99_ms", org.apache.storm.thrift.protocol.TType.DOUBLE, (short)2);
+  private static final org.apache.storm.thrift.protocol.TField COMPLETE_LATENCY_P999_MS_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("complete_latency_p999_ms", org.apache.storm.thrift.protocol.TType.DOUBLE, (short)3);
 
   private static final org.apache.storm.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new SpoutAggregateStatsStandardSchemeFactory();
   private static final org.apache.storm.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new SpoutAggregateStatsTupleSchemeFactory();
 
   private double complete_latency_ms; // optional
+  private double complete_latency_p99_ms; // optional
+  private double complete_latency_p999_ms; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.storm.thrift.TFieldIdEnum {
-    COMPLETE_LATENCY_MS((short)1, "complete_latency_ms");
+    COMPLETE_LATENCY_MS((short)1, "complete_latency_ms"),
+    COMPLETE_LATENCY_P99_MS((short)2, "complete_latency_p99_ms"),
+    COMPLETE_LATENCY_P999_MS((short)3, "complete_latency_p999_ms");
 
     private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
 
@@ -55,6 +61,10 @@ public class SpoutAggregateStats implements org.apache.storm.thrift.TBase<SpoutA
       switch(fieldId) {
         case 1: // COMPLETE_LATENCY_MS
           return COMPLETE_LATENCY_MS;
+        case 2: // COMPLETE_LATENCY_P99_MS
+          return COMPLETE_LATENCY_P99_MS;
+        case 3: // COMPLETE_LATENCY_P999_MS
+          return COMPLETE_LATENCY_P999_MS;
         default:
           return null;
       }
@@ -97,13 +107,19 @@ public class SpoutAggregateStats implements org.apache.storm.thrift.TBase<SpoutA
 
   // isset id assignments
   private static final int __COMPLETE_LATENCY_MS_ISSET_ID = 0;
+  private static final int __COMPLETE_LATENCY_P99_MS_ISSET_ID = 1;
+  private static final int __COMPLETE_LATENCY_P999_MS_ISSET_ID = 2;
   private byte __isset_bitfield = 0;
-  private static final _Fields optionals[] = {_Fields.COMPLETE_LATENCY_MS};
+  private static final _Fields optionals[] = {_Fields.COMPLETE_LATENCY_MS,_Fields.COMPLETE_LATENCY_P99_MS,_Fields.COMPLETE_LATENCY_P999_MS};
   public static final java.util.Map<_Fields, org.apache.storm.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     java.util.Map<_Fields, org.apache.storm.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.storm.thrift.meta_data.FieldMetaData>(_Fields.class);
     tmpMap.put(_Fields.COMPLETE_LATENCY_MS, new org.apache.storm.thrift.meta_data.FieldMetaData("complete_latency_ms", org.apache.storm.thrift.TFieldRequirementType.OPTIONAL, 
         new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.DOUBLE)));
+    tmpMap.put(_Fields.COMPLETE_LATENCY_P99_MS, new org.apache.storm.thrift.meta_data.FieldMetaData("complete_latency_p99_ms", org.apache.storm.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.DOUBLE)));
+    tmpMap.put(_Fields.COMPLETE_LATENCY_P999_MS, new org.apache.storm.thrift.meta_data.FieldMetaData("complete_latency_p999_ms", org.apache.storm.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.DOUBLE)));
     metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
     org.apache.storm.thrift.meta_data.FieldMetaData.addStructMetaDataMap(SpoutAggregateStats.class, metaDataMap);
   }
@@ -117,6 +133,8 @@ public class SpoutAggregateStats implements org.apache.storm.thrift.TBase<SpoutA
   public SpoutAggregateStats(SpoutAggregateStats other) {
     __isset_bitfield = other.__isset_bitfield;
     this.complete_latency_ms = other.complete_latency_ms;
+    this.complete_latency_p99_ms = other.complete_latency_p99_ms;
+    this.complete_latency_p999_ms = other.complete_latency_p999_ms;
   }
 
   public SpoutAggregateStats deepCopy() {
@@ -127,6 +145,10 @@ public class SpoutAggregateStats implements org.apache.storm.thrift.TBase<SpoutA
   public void clear() {
     set_complete_latency_ms_isSet(false);
     this.complete_latency_ms = 0.0;
+    set_complete_latency_p99_ms_isSet(false);
+    this.complete_latency_p99_ms = 0.0;
+    set_complete_latency_p999_ms_isSet(false);
+    this.complete_latency_p999_ms = 0.0;
   }
 
   public double get_complete_latency_ms() {
@@ -151,6 +173,50 @@ public class SpoutAggregateStats implements org.apache.storm.thrift.TBase<SpoutA
     __isset_bitfield = org.apache.storm.thrift.EncodingUtils.setBit(__isset_bitfield, __COMPLETE_LATENCY_MS_ISSET_ID, value);
   }
 
+  public double get_complete_latency_p99_ms() {
+    return this.complete_latency_p99_ms;
+  }
+
+  public void set_complete_latency_p99_ms(double complete_latency_p99_ms) {
+    this.complete_latency_p99_ms = complete_latency_p99_ms;
+    set_complete_latency_p99_ms_isSet(true);
+  }
+
+  public void unset_complete_latency_p99_ms() {
+    __isset_bitfield = org.apache.storm.thrift.EncodingUtils.clearBit(__isset_bitfield, __COMPLETE_LATENCY_P99_MS_ISSET_ID);
+  }
+
+  /** Returns true if field complete_latency_p99_ms is set (has been assigned a value) and false otherwise */
+  public boolean is_set_complete_latency_p99_ms() {
+    return org.apache.storm.thrift.EncodingUtils.testBit(__isset_bitfield, __COMPLETE_LATENCY_P99_MS_ISSET_ID);
+  }
+
+  public void set_complete_latency_p99_ms_isSet(boolean value) {
+    __isset_bitfield = org.apache.storm.thrift.EncodingUtils.setBit(__isset_bitfield, __COMPLETE_LATENCY_P99_MS_ISSET_ID, value);
+  }
+
+  public double get_complete_latency_p999_ms() {
+    return this.complete_latency_p999_ms;
+  }
+
+  public void set_complete_latency_p999_ms(double complete_latency_p999_ms) {
+    this.complete_latency_p999_ms = complete_latency_p999_ms;
+    set_complete_latency_p999_ms_isSet(true);
+  }
+
+  public void unset_complete_latency_p999_ms() {
+    __isset_bitfield = org.apache.storm.thrift.EncodingUtils.clearBit(__isset_bitfield, __COMPLETE_LATENCY_P999_MS_ISSET_ID);
+  }
+
+  /** Returns true if field complete_latency_p999_ms is set (has been assigned a value) and false otherwise */
+  public boolean is_set_complete_latency_p999_ms() {
+    return org.apache.storm.thrift.EncodingUtils.testBit(__isset_bitfield, __COMPLETE_LATENCY_P999_MS_ISSET_ID);
+  }
+
+  public void set_complete_latency_p999_ms_isSet(boolean value) {
+    __isset_bitfield = org.apache.storm.thrift.EncodingUtils.setBit(__isset_bitfield, __COMPLETE_LATENCY_P999_MS_ISSET_ID, value);
+  }
+
   public void setFieldValue(_Fields field, @org.apache.storm.thrift.annotation.Nullable java.lang.Object value) {
     switch (field) {
     case COMPLETE_LATENCY_MS:
@@ -161,6 +227,22 @@ public class SpoutAggregateStats implements org.apache.storm.thrift.TBase<SpoutA
       }
       break;
 
+    case COMPLETE_LATENCY_P99_MS:
+      if (value == null) {
+        unset_complete_latency_p99_ms();
+      } else {
+        set_complete_latency_p99_ms((java.lang.Double)value);
+      }
+      break;
+
+    case COMPLETE_LATENCY_P999_MS:
+      if (value == null) {
+        unset_complete_latency_p999_ms();
+      } else {
+        set_complete_latency_p999_ms((java.lang.Double)value);
+      }
+      break;
+
     }
   }
 
@@ -170,6 +252,12 @@ public class SpoutAggregateStats implements org.apache.storm.thrift.TBase<SpoutA
     case COMPLETE_LATENCY_MS:
       return get_complete_latency_ms();
 
+    case COMPLETE_LATENCY_P99_MS:
+      return get_complete_latency_p99_ms();
+
+    case COMPLETE_LATENCY_P999_MS:
+      return get_complete_latency_p999_ms();
+
     }
     throw new java.lang.IllegalStateException();
   }
@@ -183,6 +271,10 @@ public class SpoutAggregateStats implements org.apache.storm.thrift.TBase<SpoutA
     switch (field) {
     case COMPLETE_LATENCY_MS:
       return is_set_complete_latency_ms();
+    case COMPLETE_LATENCY_P99_MS:
+      return is_set_complete_latency_p99_ms();
+    case COMPLETE_LATENCY_P999_MS:
+      return is_set_complete_latency_p999_ms();
     }
     throw new java.lang.IllegalStateException();
   }
@@ -211,6 +303,24 @@ public class SpoutAggregateStats implements org.apache.storm.thrift.TBase<SpoutA
         return false;
     }
 
+    boolean this_present_complete_latency_p99_ms = true && this.is_set_complete_latency_p99_ms();
+    boolean that_present_complete_latency_p99_ms = true && that.is_set_complete_latency_p99_ms();
+    if (this_present_complete_latency_p99_ms || that_present_complete_latency_p99_ms) {
+      if (!(this_present_complete_latency_p99_ms && that_present_complete_latency_p99_ms))
+        return false;
+      if (this.complete_latency_p99_ms != that.complete_latency_p99_ms)
+        return false;
+    }
+
+    boolean this_present_complete_latency_p999_ms = true && this.is_set_complete_latency_p999_ms();
+    boolean that_present_complete_latency_p999_ms = true && that.is_set_complete_latency_p999_ms();
+    if (this_present_complete_latency_p999_ms || that_present_complete_latency_p999_ms) {
+      if (!(this_present_complete_latency_p999_ms && that_present_complete_latency_p999_ms))
+        return false;
+      if (this.complete_latency_p999_ms != that.complete_latency_p999_ms)
+        return false;
+    }
+
     return true;
   }
 
@@ -222,6 +332,14 @@ public class SpoutAggregateStats implements org.apache.storm.thrift.TBase<SpoutA
     if (is_set_complete_latency_ms())
       hashCode = hashCode * 8191 + org.apache.storm.thrift.TBaseHelper.hashCode(complete_latency_ms);
 
+    hashCode = hashCode * 8191 + ((is_set_complete_latency_p99_ms()) ? 131071 : 524287);
+    if (is_set_complete_latency_p99_ms())
+      hashCode = hashCode * 8191 + org.apache.storm.thrift.TBaseHelper.hashCode(complete_latency_p99_ms);
+
+    hashCode = hashCode * 8191 + ((is_set_complete_latency_p999_ms()) ? 131071 : 524287);
+    if (is_set_complete_latency_p999_ms())
+      hashCode = hashCode * 8191 + org.apache.storm.thrift.TBaseHelper.hashCode(complete_latency_p999_ms);
+
     return hashCode;
   }
 
@@ -243,6 +361,26 @@ public class SpoutAggregateStats implements org.apache.storm.thrift.TBase<SpoutA
         return lastComparison;
       }
     }
+    lastComparison = java.lang.Boolean.valueOf(is_set_complete_latency_p99_ms()).compareTo(other.is_set_complete_latency_p99_ms());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (is_set_complete_latency_p99_ms()) {
+      lastComparison = org.apache.storm.thrift.TBaseHelper.compareTo(this.complete_latency_p99_ms, other.complete_latency_p99_ms);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = java.lang.Boolean.valueOf(is_set_complete_latency_p999_ms()).compareTo(other.is_set_complete_latency_p999_ms());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (is_set_complete_latency_p999_ms()) {
+      lastComparison = org.apache.storm.thrift.TBaseHelper.compareTo(this.complete_latency_p999_ms, other.complete_latency_p999_ms);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -269,6 +407,18 @@ public class SpoutAggregateStats implements org.apache.storm.thrift.TBase<SpoutA
       sb.append(this.complete_latency_ms);
       first = false;
     }
+    if (is_set_complete_latency_p99_ms()) {
+      if (!first) sb.append(", ");
+      sb.append("complete_latency_p99_ms:");
+      sb.append(this.complete_latency_p99_ms);
+      first = false;
+    }
+    if (is_set_complete_latency_p999_ms()) {
+      if (!first) sb.append(", ");
+      sb.append("complete_latency_p999_ms:");
+      sb.append(this.complete_latency_p999_ms);
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -322,6 +472,22 @@ public class SpoutAggregateStats implements org.apache.storm.thrift.TBase<SpoutA
               org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 2: // COMPLETE_LATENCY_P99_MS
+            if (schemeField.type == org.apache.storm.thrift.protocol.TType.DOUBLE) {
+              struct.complete_latency_p99_ms = iprot.readDouble();
+              struct.set_complete_latency_p99_ms_isSet(true);
+            } else { 
+              org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 3: // COMPLETE_LATENCY_P999_MS
+            if (schemeField.type == org.apache.storm.thrift.protocol.TType.DOUBLE) {
+              struct.complete_latency_p999_ms = iprot.readDouble();
+              struct.set_complete_latency_p999_ms_isSet(true);
+            } else { 
+              org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -340,6 +506,16 @@ public class SpoutAggregateStats implements org.apache.storm.thrift.TBase<SpoutA
         oprot.writeDouble(struct.complete_latency_ms);
         oprot.writeFieldEnd();
       }
+      if (struct.is_set_complete_latency_p99_ms()) {
+        oprot.writeFieldBegin(COMPLETE_LATENCY_P99_MS_FIELD_DESC);
+        oprot.writeDouble(struct.complete_latency_p99_ms);
+        oprot.writeFieldEnd();
+      }
+      if (struct.is_set_complete_latency_p999_ms()) {
+        oprot.writeFieldBegin(COMPLETE_LATENCY_P999_MS_FIELD_DESC);
+        oprot.writeDouble(struct.complete_latency_p999_ms);
+        oprot.writeFieldEnd();
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -361,20 +537,40 @@ public class SpoutAggregateStats implements org.apache.storm.thrift.TBase<SpoutA
       if (struct.is_set_complete_latency_ms()) {
         optionals.set(0);
       }
-      oprot.writeBitSet(optionals, 1);
+      if (struct.is_set_complete_latency_p99_ms()) {
+        optionals.set(1);
+      }
+      if (struct.is_set_complete_latency_p999_ms()) {
+        optionals.set(2);
+      }
+      oprot.writeBitSet(optionals, 3);
       if (struct.is_set_complete_latency_ms()) {
         oprot.writeDouble(struct.complete_latency_ms);
       }
+      if (struct.is_set_complete_latency_p99_ms()) {
+        oprot.writeDouble(struct.complete_latency_p99_ms);
+      }
+      if (struct.is_set_complete_latency_p999_ms()) {
+        oprot.writeDouble(struct.complete_latency_p999_ms);
+      }
     }
 
     @Override
     public void read(org.apache.storm.thrift.protocol.TProtocol prot, SpoutAggregateStats struct) throws org.apache.storm.thrift.TException {
       org.apache.storm.thrift.protocol.TTupleProtocol iprot = (org.apache.storm.thrift.protocol.TTupleProtocol) prot;
-      java.util.BitSet incoming = iprot.readBitSet(1);
+      java.util.BitSet incoming = iprot.readBitSet(3);
       if (incoming.get(0)) {
         struct.complete_latency_ms = iprot.readDouble();
         struct.set_complete_latency_ms_isSet(true);
       }
+      if (incoming.get(1)) {
+        struct.complete_latency_p99_ms = iprot.readDouble();
+        struct.set_complete_latency_p99_ms_isSet(true);
+      }
+      if (incoming.get(2)) {
+        struct.complete_latency_p999_ms = iprot.readDouble();
+        struct.set_complete_latency_p999_ms_isSet(true);
+      }
     }
   }
 
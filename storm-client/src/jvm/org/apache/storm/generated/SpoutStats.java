@@ -31,6 +31,8 @@ public class SpoutStats implements org.apache.storm.thrift.TBase<SpoutStats, Spo
   private static final org.apache.storm.thrift.protocol.TField ACKED_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("acked", org.apache.storm.thrift.protocol.TType.MAP, (short)1);
   private static final org.apache.storm.thrift.protocol.TField FAILED_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("failed", org.apache.storm.thrift.protocol.TType.MAP, (short)2);
   private static final org.apache.storm.thrift.protocol.TField COMPLETE_MS_AVG_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("complete_ms_avg", org.apache.storm.thrift.protocol.TType.MAP, (short)3);
+  private static final org.apache.storm.thrift.protocol.TField COMPLETE_MS_P99_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("complete_ms_p99", org.apache.storm.thrift.protocol.TType.MAP, (short)4);
+  private static final org.apache.storm.thrift.protocol.TField COMPLETE_MS_P999_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("complete_ms_p999", org.apache.storm.thrift.protocol.TType.MAP, (short)5);
 
   private static final org.apache.storm.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new SpoutStatsStandardSchemeFactory();
   private static final org.apache.storm.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new SpoutStatsTupleSchemeFactory();
@@ -38,12 +40,16 @@ public class SpoutStats implements org.apache.storm.thrift.TBase<SpoutStats, Spo
   private @org.apache.storm.thrift.annotation.Nullable java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.Long>> acked; // required
   private @org.apache.storm.thrift.annotation.Nullable java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.Long>> failed; // required
   private @org.apache.storm.thrift.annotation.Nullable java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.Double>> complete_ms_avg; // required
+  private @org.apache.storm.thrift.annotation.Nullable java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.Double>> complete_ms_p99; // optional
+  private @org.apache.storm.thrift.annotation.Nullable java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.Double>> complete_ms_p999; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.storm.thrift.TFieldIdEnum {
     ACKED((short)1, "acked"),
     FAILED((short)2, "failed"),
-    COMPLETE_MS_AVG((short)3, "complete_ms_avg");
+    COMPLETE_MS_AVG((short)3, "complete_ms_avg"),
+    COMPLETE_MS_P99((short)4, "complete_ms_p99"),
+    COMPLETE_MS_P999((short)5, "complete_ms_p999");
 
     private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
 
@@ -65,6 +71,10 @@ public class SpoutStats implements org.apache.storm.thrift.TBase<SpoutStats, Spo
           return FAILED;
         case 3: // COMPLETE_MS_AVG
           return COMPLETE_MS_AVG;
+        case 4: // COMPLETE_MS_P99
+          return COMPLETE_MS_P99;
+        case 5: // COMPLETE_MS_P999
+          return COMPLETE_MS_P999;
         default:
           return null;
       }
@@ -106,6 +116,7 @@ public class SpoutStats implements org.apache.storm.thrift.TBase<SpoutStats, Spo
   }
 
   // isset id assignments
+  private static final _Fields optionals[] = {_Fields.COMPLETE_MS_P99,_Fields.COMPLETE_MS_P999};
   public static final java.util.Map<_Fields, org.apache.storm.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     java.util.Map<_Fields, org.apache.storm.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.storm.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -127,6 +138,18 @@ public class SpoutStats implements org.apache.storm.thrift.TBase<SpoutStats, Spo
             new org.apache.storm.thrift.meta_data.MapMetaData(org.apache.storm.thrift.protocol.TType.MAP, 
                 new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.STRING), 
                 new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.DOUBLE)))));
+    tmpMap.put(_Fields.COMPLETE_MS_P99, new org.apache.storm.thrift.meta_data.FieldMetaData("complete_ms_p99", org.apache.storm.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.storm.thrift.meta_data.MapMetaData(org.apache.storm.thrift.protocol.TType.MAP, 
+            new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.STRING), 
+            new org.apache.storm.thrift.meta_data.MapMetaData(org.apache.storm.thrift.protocol.TType.MAP, 
+                new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.STRING), 
+                new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.DOUBLE)))));
+    tmpMap.put(_Fields.COMPLETE_MS_P999, new org.apache.storm.thrift.meta_data.FieldMetaData("complete_ms_p999", org.apache.storm.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.storm.thrift.meta_data.MapMetaData(org.apache.storm.thrift.protocol.TType.MAP, 
+            new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.STRING), 
+            new org.apache.storm.thrift.meta_data.MapMetaData(org.apache.storm.thrift.protocol.TType.MAP, 
+                new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.STRING), 
+                new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.DOUBLE)))));
     metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
     org.apache.storm.thrift.meta_data.FieldMetaData.addStructMetaDataMap(SpoutStats.class, metaDataMap);
   }
@@ -194,6 +217,36 @@ public class SpoutStats implements org.apache.storm.thrift.TBase<SpoutStats, Spo
       }
       this.complete_ms_avg = __this__complete_ms_avg;
     }
+    if (other.is_set_complete_ms_p99()) {
+      java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.Double>> __this__complete_ms_p99 = new java.util.HashMap<java.lang.String,java.util.Map<java.lang.String,java.lang.Double>>(other.complete_ms_p99.size());
+      for (java.util.Map.Entry<java.lang.String, java.util.Map<java.lang.String,java.lang.Double>> other_element : other.complete_ms_p99.entrySet()) {
+
+        java.lang.String other_element_key = other_element.getKey();
+        java.util.Map<java.lang.String,java.lang.Double> other_element_value = other_element.getValue();
+
+        java.lang.String __this__complete_ms_p99_copy_key = other_element_key;
+
+        java.util.Map<java.lang.String,java.lang.Double> __this__complete_ms_p99_copy_value = new java.util.HashMap<java.lang.String,java.lang.Double>(other_element_value);
+
+        __this__complete_ms_p99.put(__this__complete_ms_p99_copy_key, __this__complete_ms_p99_copy_value);
+      }
+      this.complete_ms_p99 = __this__complete_ms_p99;
+    }
+    if (other.is_set_complete_ms_p999()) {
+      java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.Double>> __this__complete_ms_p999 = new java.util.HashMap<java.lang.String,java.util.Map<java.lang.String,java.lang.Double>>(other.complete_ms_p999.size());
+      for (java.util.Map.Entry<java.lang.String, java.util.Map<java.lang.String,java.lang.Double>> other_element : other.complete_ms_p999.entrySet()) {
+
+        java.lang.String other_element_key = other_element.getKey();
+        java.util.Map<java.lang.String,java.lang.Double> other_element_value = other_element.getValue();
+
+        java.lang.String __this__complete_ms_p999_copy_key = other_element_key;
+
+        java.util.Map<java.lang.String,java.lang.Double> __this__complete_ms_p999_copy_value = new java.util.HashMap<java.lang.String,java.lang.Double>(other_element_value);
+
+        __this__complete_ms_p999.put(__this__complete_ms_p999_copy_key, __this__complete_ms_p999_copy_value);
+      }
+      this.complete_ms_p999 = __this__complete_ms_p999;
+    }
   }
 
   public SpoutStats deepCopy() {
@@ -205,6 +258,8 @@ public class SpoutStats implements org.apache.storm.thrift.TBase<SpoutStats, Spo
     this.acked = null;
     this.failed = null;
     this.complete_ms_avg = null;
+    this.complete_ms_p99 = null;
+    this.complete_ms_p999 = null;
   }
 
   public int get_acked_size() {
@@ -312,6 +367,76 @@ public class SpoutStats implements org.apache.storm.thrift.TBase<SpoutStats, Spo
     }
   }
 
+  public int get_complete_ms_p99_size() {
+    return (this.complete_ms_p99 == null) ? 0 : this.complete_ms_p99.size();
+  }
+
+  public void put_to_complete_ms_p99(java.lang.String key, java.util.Map<java.lang.String,java.lang.Double> val) {
+    if (this.complete_ms_p99 == null) {
+      this.complete_ms_p99 = new java.util.HashMap<java.lang.String,java.util.Map<java.lang.String,java.lang.Double>>();
+    }
+    this.complete_ms_p99.put(key, val);
+  }
+
+  @org.apache.storm.thrift.annotation.Nullable
+  public java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.Double>> get_complete_ms_p99() {
+    return this.complete_ms_p99;
+  }
+
+  public void set_complete_ms_p99(@org.apache.storm.thrift.annotation.Nullable java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.Double>> complete_ms_p99) {
+    this.complete_ms_p99 = complete_ms_p99;
+  }
+
+  public void unset_complete_ms_p99() {
+    this.complete_ms_p99 = null;
+  }
+
+  /** Returns true if field complete_ms_p99 is set (has been assigned a value) and false otherwise */
+  public boolean is_set_complete_ms_p99() {
+    return this.complete_ms_p99 != null;
+  }
+
+  public void set_complete_ms_p99_isSet(boolean value) {
+    if (!value) {
+      this.complete_ms_p99 = null;
+    }
+  }
+
+  public int get_complete_ms_p999_size() {
+    return (this.complete_ms_p999 == null) ? 0 : this.complete_ms_p999.size();
+  }
+
+  public void put_to_complete_ms_p999(java.lang.String key, java.util.Map<java.lang.String,java.lang.Double> val) {
+    if (this.complete_ms_p999 == null) {
+      this.complete_ms_p999 = new java.util.HashMap<java.lang.String,java.util.Map<java.lang.String,java.lang.Double>>();
+    }
+    this.complete_ms_p999.put(key, val);
+  }
+
+  @org.apache.storm.thrift.annotation.Nullable
+  public java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.Double>> get_complete_ms_p999() {
+    return this.complete_ms_p999;
+  }
+
+  public void set_complete_ms_p999(@org.apache.storm.thrift.annotation.Nullable java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.Double>> complete_ms_p999) {
+    this.complete_ms_p999 = complete_ms_p999;
+  }
+
+  public void unset_complete_ms_p999() {
+    this.complete_ms_p999 = null;
+  }
+
+  /** Returns true if field complete_ms_p999 is set (has been assigned a value) and false otherwise */
+  public boolean is_set_complete_ms_p999() {
+    return this.complete_ms_p999 != null;
+  }
+
+  public void set_complete_ms_p999_isSet(boolean value) {
+    if (!value) {
+      this.complete_ms_p999 = null;
+    }
+  }
+
   public void setFieldValue(_Fields field, @org.apache.storm.thrift.annotation.Nullable java.lang.Object value) {
     switch (field) {
     case ACKED:
@@ -338,6 +463,22 @@ public class SpoutStats implements org.apache.storm.thrift.TBase<SpoutStats, Spo
       }
       break;
 
+    case COMPLETE_MS_P99:
+      if (value == null) {
+        unset_complete_ms_p99();
+      } else {
+        set_complete_ms_p99((java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.Double>>)value);
+      }
+      break;
+
+    case COMPLETE_MS_P999:
+      if (value == null) {
+        unset_complete_ms_p999();
+      } else {
+        set_complete_ms_p999((java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.Double>>)value);
+      }
+      break;
+
     }
   }
 
@@ -353,6 +494,12 @@ public class SpoutStats implements org.apache.storm.thrift.TBase<SpoutStats, Spo
     case COMPLETE_MS_AVG:
       return get_complete_ms_avg();
 
+    case COMPLETE_MS_P99:
+      return get_complete_ms_p99();
+
+    case COMPLETE_MS_P999:
+      return get_complete_ms_p999();
+
     }
     throw new java.lang.IllegalStateException();
   }
@@ -370,6 +517,10 @@ public class SpoutStats implements org.apache.storm.thrift.TBase<SpoutStats, Spo
       return is_set_failed();
     case COMPLETE_MS_AVG:
       return is_set_complete_ms_avg();
+    case COMPLETE_MS_P99:
+      return is_set_complete_ms_p99();
+    case COMPLETE_MS_P999:
+      return is_set_complete_ms_p999();
     }
     throw new java.lang.IllegalStateException();
   }
@@ -416,6 +567,24 @@ public class SpoutStats implements org.apache.storm.thrift.TBase<SpoutStats, Spo
         return false;
     }
 
+    boolean this_present_complete_ms_p99 = true && this.is_set_complete_ms_p99();
+    boolean that_present_complete_ms_p99 = true && that.is_set_complete_ms_p99();
+    if (this_present_complete_ms_p99 || that_present_complete_ms_p99) {
+      if (!(this_present_complete_ms_p99 && that_present_complete_ms_p99))
+        return false;
+      if (!this.complete_ms_p99.equals(that.complete_ms_p99))
+        return false;
+    }
+
+    boolean this_present_complete_ms_p999 = true && this.is_set_complete_ms_p999();
+    boolean that_present_complete_ms_p999 = true && that.is_set_complete_ms_p999();
+    if (this_present_complete_ms_p999 || that_present_complete_ms_p999) {
+      if (!(this_present_complete_ms_p999 && that_present_complete_ms_p999))
+        return false;
+      if (!this.complete_ms_p999.equals(that.complete_ms_p999))
+        return false;
+    }
+
     return true;
   }
 
@@ -435,6 +604,14 @@ public class SpoutStats implements org.apache.storm.thrift.TBase<SpoutStats, Spo
     if (is_set_complete_ms_avg())
       hashCode = hashCode * 8191 + complete_ms_avg.hashCode();
 
+    hashCode = hashCode * 8191 + ((is_set_complete_ms_p99()) ? 131071 : 524287);
+    if (is_set_complete_ms_p99())
+      hashCode = hashCode * 8191 + complete_ms_p99.hashCode();
+
+    hashCode = hashCode * 8191 + ((is_set_complete_ms_p999()) ? 131071 : 524287);
+    if (is_set_complete_ms_p999())
+      hashCode = hashCode * 8191 + complete_ms_p999.hashCode();
+
     return hashCode;
   }
 
@@ -476,6 +653,26 @@ public class SpoutStats implements org.apache.storm.thrift.TBase<SpoutStats, Spo
         return lastComparison;
       }
     }
+    lastComparison = java.lang.Boolean.valueOf(is_set_complete_ms_p99()).compareTo(other.is_set_complete_ms_p99());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (is_set_complete_ms_p99()) {
+      lastComparison = org.apache.storm.thrift.TBaseHelper.compareTo(this.complete_ms_p99, other.complete_ms_p99);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = java.lang.Boolean.valueOf(is_set_complete_ms_p999()).compareTo(other.is_set_complete_ms_p999());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (is_set_complete_ms_p999()) {
+      lastComparison = org.apache.storm.thrift.TBaseHelper.compareTo(this.complete_ms_p999, other.complete_ms_p999);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -520,6 +717,26 @@ public class SpoutStats implements org.apache.storm.thrift.TBase<SpoutStats, Spo
       sb.append(this.complete_ms_avg);
     }
     first = false;
+    if (is_set_complete_ms_p99()) {
+      if (!first) sb.append(", ");
+      sb.append("complete_ms_p99:");
+      if (this.complete_ms_p99 == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.complete_ms_p99);
+      }
+      first = false;
+    }
+    if (is_set_complete_ms_p999()) {
+      if (!first) sb.append(", ");
+      sb.append("complete_ms_p999:");
+      if (this.complete_ms_p999 == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.complete_ms_p999);
+      }
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -671,6 +888,70 @@ public class SpoutStats implements org.apache.storm.thrift.TBase<SpoutStats, Spo
               org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 4: // COMPLETE_MS_P99
+            if (schemeField.type == org.apache.storm.thrift.protocol.TType.MAP) {
+              {
+                org.apache.storm.thrift.protocol.TMap _map350 = iprot.readMapBegin();
+                struct.complete_ms_p99 = new java.util.HashMap<java.lang.String,java.util.Map<java.lang.String,java.lang.Double>>(2*_map350.size);
+                @org.apache.storm.thrift.annotation.Nullable java.lang.String _key351;
+                @org.apache.storm.thrift.annotation.Nullable java.util.Map<java.lang.String,java.lang.Double> _val352;
+                for (int _i353 = 0; _i353 < _map350.size; ++_i353)
+                {
+                  _key351 = iprot.readString();
+                  {
+                    org.apache.storm.thrift.protocol.TMap _map354 = iprot.readMapBegin();
+                    _val352 = new java.util.HashMap<java.lang.String,java.lang.Double>(2*_map354.size);
+                    @org.apache.storm.thrift.annotation.Nullable java.lang.String _key355;
+                    double _val356;
+                    for (int _i357 = 0; _i357 < _map354.size; ++_i357)
+                    {
+                      _key355 = iprot.readString();
+                      _val356 = iprot.readDouble();
+                      _val352.put(_key355, _val356);
+                    }
+                    iprot.readMapEnd();
+                  }
+                  struct.complete_ms_p99.put(_key351, _val352);
+                }
+                iprot.readMapEnd();
+              }
+              struct.set_complete_ms_p99_isSet(true);
+            } else { 
+              org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 5: // COMPLETE_MS_P999
+            if (schemeField.type == org.apache.storm.thrift.protocol.TType.MAP) {
+              {
+                org.apache.storm.thrift.protocol.TMap _map358 = iprot.readMapBegin();
+                struct.complete_ms_p999 = new java.util.HashMap<java.lang.String,java.util.Map<java.lang.String,java.lang.Double>>(2*_map358.size);
+                @org.apache.storm.thrift.annotation.Nullable java.lang.String _key359;
+                @org.apache.storm.thrift.annotation.Nullable java.util.Map<java.lang.String,java.lang.Double> _val360;
+                for (int _i361 = 0; _i361 < _map358.size; ++_i361)
+                {
+                  _key359 = iprot.readString();
+                  {
+                    org.apache.storm.thrift.protocol.TMap _map362 = iprot.readMapBegin();
+                    _val360 = new java.util.HashMap<java.lang.String,java.lang.Double>(2*_map362.size);
+                    @org.apache.storm.thrift.annotation.Nullable java.lang.String _key363;
+                    double _val364;
+                    for (int _i365 = 0; _i365 < _map362.size; ++_i365)
+                    {
+                      _key363 = iprot.readString();
+                      _val364 = iprot.readDouble();
+                      _val360.put(_key363, _val364);
+                    }
+                    iprot.readMapEnd();
+                  }
+                  struct.complete_ms_p999.put(_key359, _val360);
+                }
+                iprot.readMapEnd();
+              }
+              struct.set_complete_ms_p999_isSet(true);
+            } else { 
+              org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -747,6 +1028,52 @@ public class SpoutStats implements org.apache.storm.thrift.TBase<SpoutStats, Spo
         }
         oprot.writeFieldEnd();
       }
+      if (struct.complete_ms_p99 != null) {
+        if (struct.is_set_complete_ms_p99()) {
+          oprot.writeFieldBegin(COMPLETE_MS_P99_FIELD_DESC);
+          {
+            oprot.writeMapBegin(new org.apache.storm.thrift.protocol.TMap(org.apache.storm.thrift.protocol.TType.STRING, org.apache.storm.thrift.protocol.TType.MAP, struct.complete_ms_p99.size()));
+            for (java.util.Map.Entry<java.lang.String, java.util.Map<java.lang.String,java.lang.Double>> _iter366 : struct.complete_ms_p99.entrySet())
+            {
+              oprot.writeString(_iter366.getKey());
+              {
+                oprot.writeMapBegin(new org.apache.storm.thrift.protocol.TMap(org.apache.storm.thrift.protocol.TType.STRING, org.apache.storm.thrift.protocol.TType.DOUBLE, _iter366.getValue().size()));
+                for (java.util.Map.Entry<java.lang.String, java.lang.Double> _iter367 : _iter366.getValue().entrySet())
+                {
+                  oprot.writeString(_iter367.getKey());
+                  oprot.writeDouble(_iter367.getValue());
+                }
+                oprot.writeMapEnd();
+              }
+            }
+            oprot.writeMapEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+      }
+      if (struct.complete_ms_p999 != null) {
+        if (struct.is_set_complete_ms_p999()) {
+          oprot.writeFieldBegin(COMPLETE_MS_P999_FIELD_DESC);
+          {
+            oprot.writeMapBegin(new org.apache.storm.thrift.protocol.TMap(org.apache.storm.thrift.protocol.TType.STRING, org.apache.storm.thrift.protocol.TType.MAP, struct.complete_ms_p999.size()));
+            for (java.util.Map.Entry<java.lang.String, java.util.Map<java.lang.String,java.lang.Double>> _iter368 : struct.complete_ms_p999.entrySet())
+            {
+              oprot.writeString(_iter368.getKey());
+              {
+                oprot.writeMapBegin(new org.apache.storm.thrift.protocol.TMap(org.apache.storm.thrift.protocol.TType.STRING, org.apache.storm.thrift.protocol.TType.DOUBLE, _iter368.getValue().size()));
+                for (java.util.Map.Entry<java.lang.String, java.lang.Double> _iter369 : _iter368.getValue().entrySet())
+                {
+                  oprot.writeString(_iter369.getKey());
+                  oprot.writeDouble(_iter369.getValue());
+                }
+                oprot.writeMapEnd();
+              }
+            }
+            oprot.writeMapEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -809,6 +1136,48 @@ public class SpoutStats implements org.apache.storm.thrift.TBase<SpoutStats, Spo
           }
         }
       }
+      java.util.BitSet optionals = new java.util.BitSet();
+      if (struct.is_set_complete_ms_p99()) {
+        optionals.set(0);
+      }
+      if (struct.is_set_complete_ms_p999()) {
+        optionals.set(1);
+      }
+      oprot.writeBitSet(optionals, 2);
+      if (struct.is_set_complete_ms_p99()) {
+        {
+          oprot.writeI32(struct.complete_ms_p99.size());
+          for (java.util.Map.Entry<java.lang.String, java.util.Map<java.lang.String,java.lang.Double>> _iter370 : struct.complete_ms_p99.entrySet())
+          {
+            oprot.writeString(_iter370.getKey());
+            {
+              oprot.writeI32(_iter370.getValue().size());
+              for (java.util.Map.Entry<java.lang.String, java.lang.Double> _iter371 : _iter370.getValue().entrySet())
+              {
+                oprot.writeString(_iter371.getKey());
+                oprot.writeDouble(_iter371.getValue());
+              }
+            }
+          }
+        }
+      }
+      if (struct.is_set_complete_ms_p999()) {
+        {
+          oprot.writeI32(struct.complete_ms_p999.size());
+          for (java.util.Map.Entry<java.lang.String, java.util.Map<java.lang.String,java.lang.Double>> _iter372 : struct.complete_ms_p999.entrySet())
+          {
+            oprot.writeString(_iter372.getKey());
+            {
+              oprot.writeI32(_iter372.getValue().size());
+              for (java.util.Map.Entry<java.lang.String, java.lang.Double> _iter373 : _iter372.getValue().entrySet())
+              {
+                oprot.writeString(_iter373.getKey());
+                oprot.writeDouble(_iter373.getValue());
+              }
+            }
+          }
+        }
+      }
     }
 
     @Override
@@ -886,6 +1255,59 @@ public class SpoutStats implements org.apache.storm.thrift.TBase<SpoutStats, Spo
         }
       }
       struct.set_complete_ms_avg_isSet(true);
+      java.util.BitSet incoming = iprot.readBitSet(2);
+      if (incoming.get(0)) {
+        {
+          org.apache.storm.thrift.protocol.TMap _map374 = new org.apache.storm.thrift.protocol.TMap(org.apache.storm.thrift.protocol.TType.STRING, org.apache.storm.thrift.protocol.TType.MAP, iprot.readI32());
+          struct.complete_ms_p99 = new java.util.HashMap<java.lang.String,java.util.Map<java.lang.String,java.lang.Double>>(2*_map374.size);
+          @org.apache.storm.thrift.annotation.Nullable java.lang.String _key375;
+          @org.apache.storm.thrift.annotation.Nullable java.util.Map<java.lang.String,java.lang.Double> _val376;
+          for (int _i377 = 0; _i377 < _map374.size; ++_i377)
+          {
+            _key375 = iprot.readString();
+            {
+              org.apache.storm.thrift.protocol.TMap _map378 = new org.apache.storm.thrift.protocol.TMap(org.apache.storm.thrift.protocol.TType.STRING, org.apache.storm.thrift.protocol.TType.DOUBLE, iprot.readI32());
+              _val376 = new java.util.HashMap<java.lang.String,java.lang.Double>(2*_map378.size);
+              @org.apache.storm.thrift.annotation.Nullable java.lang.String _key379;
+              double _val380;
+              for (int _i381 = 0; _i381 < _map378.size; ++_i381)
+              {
+                _key379 = iprot.readString();
+                _val380 = iprot.readDouble();
+                _val376.put(_key379, _val380);
+              }
+            }
+            struct.complete_ms_p99.put(_key375, _val376);
+          }
+        }
+        struct.set_complete_ms_p99_isSet(true);
+      }
+      if (incoming.get(1)) {
+        {
+          org.apache.storm.thrift.protocol.TMap _map382 = new org.apache.storm.thrift.protocol.TMap(org.apache.storm.thrift.protocol.TType.STRING, org.apache.storm.thrift.protocol.TType.MAP, iprot.readI32());
+          struct.complete_ms_p999 = new java.util.HashMap<java.lang.String,java.util.Map<java.lang.String,java.lang.Double>>(2*_map382.size);
+          @org.apache.storm.thrift.annotation.Nullable java.lang.String _key383;
+          @org.apache.storm.thrift.annotation.Nullable java.util.Map<java.lang.String,java.lang.Double> _val384;
+          for (int _i385 = 0; _i385 < _map382.size; ++_i385)
+          {
+            _key383 = iprot.readString();
+            {
+              org.apache.storm.thrift.protocol.TMap _map386 = new org.apache.storm.thrift.protocol.TMap(org.apache.storm.thrift.protocol.TType.STRING, org.apache.storm.thrift.protocol.TType.DOUBLE, iprot.readI32());
+              _val384 = new java.util.HashMap<java.lang.String,java.lang.Double>(2*_map386.size);
+              @org.apache.storm.thrift.annotation.Nullable java.lang.String _key387;
+              double _val388;
+              for (int _i389 = 0; _i389 < _map386.size; ++_i389)
+              {
+                _key387 = iprot.readString();
+                _val388 = iprot.readDouble();
+                _val384.put(_key387, _val388);
+              }
+            }
+            struct.complete_ms_p999.put(_key383, _val384);
+          }
+        }
+        struct.set_complete_ms_p999_isSet(true);
+      }
     }
   }
 
@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.grouping;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.storm.generated.GlobalStreamId;
+import org.apache.storm.task.WorkerTopologyContext;
+import org.apache.storm.tuple.Fields;
+import org.apache.storm.utils.TupleUtils;
+
+/**
+ * A variation on FieldGrouping that assigns keys to tasks with jump consistent hashing instead of hash modulo the number of tasks.
+ *
+ * <p>When the number of target tasks grows from n to m, only (m - n) / m of the keys move to another task, and all of them move to one
+ * of the new tasks; the same holds in reverse when it shrinks. With a fields grouping nearly every key moves. Keys are placed by the
+ * position of a task in the sorted target tasks, so this is what happens when a topology is redeployed with a different number of tasks
+ * for the consuming component. Note that rebalancing a running topology only spreads the existing tasks over a different number of
+ * executors, which moves no keys with either grouping.
+ *
+ * <p>See https://arxiv.org/abs/1406.2294
+ */
+public class ConsistentHashGrouping implements CustomStreamGrouping, Serializable {
+    private static final long serialVersionUID = 5381027254218870132L;
+    private final Fields fields;
+    private int[] fieldIndices;
+    private List<List<Integer>> targetTasks;
+
+    public ConsistentHashGrouping(Fields fields) {
+        this.fields = fields;
+    }
+
+    @Override
+    public void prepare(WorkerTopologyContext context, GlobalStreamId stream, List<Integer> targetTasks) {
+        Fields outFields = context.getComponentOutputFields(stream);
+        fieldIndices = new int[fields.size()];
+        for (int i = 0; i < fieldIndices.length; i++) {
+            fieldIndices[i] = outFields.fieldIndex(fields.get(i));
+        }
+        List<Integer> sorted = new ArrayList<>(targetTasks);
+        Collections.sort(sorted);
+        this.targetTasks = new ArrayList<>(sorted.size());
+        for (Integer task : sorted) {
+            this.targetTasks.add(Collections.singletonList(task));
+        }
+    }
+
+    @Override
+    public List<Integer> chooseTasks(int taskId, List<Object> values) {
+        long key = TupleUtils.mix(TupleUtils.fieldsHashCode(values, fieldIndices));
+        return targetTasks.get(jumpHash(key, targetTasks.size()));
+    }
+
+    /**
+     * Jump consistent hash of Lamping and Veach.
+     * @param key the key
+     * @param buckets the number of buckets
+     * @return the bucket of the key, from 0 to buckets - 1
+     */
+    static int jumpHash(long key, int buckets) {
+        long bucket = -1;
+        long next = 0;
+        while (next < buckets) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+}
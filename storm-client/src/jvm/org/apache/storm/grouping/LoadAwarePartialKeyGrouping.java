@@ -0,0 +1,160 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.grouping;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.storm.generated.GlobalStreamId;
+import org.apache.storm.task.WorkerTopologyContext;
+import org.apache.storm.tuple.Fields;
+import org.apache.storm.utils.TupleUtils;
+
+/**
+ * A variation on {@link PartialKeyGrouping} that picks between the candidate tasks of a key by their actual load, as reported to the
+ * worker in the {@link LoadMapping}, instead of only by how many tuples this grouping sent to each of them.
+ *
+ * <p>Every key hashes to two candidate tasks. A tuple goes to the least loaded candidate. Candidates whose load is within 5% of the
+ * least loaded one count as equally loaded, and among those the one that got the fewest tuples from this grouping is chosen, so this
+ * behaves like {@link PartialKeyGrouping} while no candidate is congested.
+ *
+ * <p>With a hot key threshold, the grouping also keeps a decaying count of how often each key is seen. A key that makes up more than
+ * that fraction of the stream is spread over as many candidates as it needs for its share of the tuples to fit on one task, up to all
+ * of them. Counts are kept in a fixed number of hashed slots, so a rare key sharing a slot with a hot one is spread as well. As with
+ * {@link PartialKeyGrouping} the downstream bolt has to merge the partial results for a key, now over more than two tasks.
+ */
+public class LoadAwarePartialKeyGrouping implements LoadAwareCustomStreamGrouping, Serializable {
+    private static final long serialVersionUID = 2409184382473028745L;
+    private static final double LOAD_TOLERANCE = 0.05;
+    private static final int HOT_KEY_SLOTS = 4096;
+    private static final int HOT_KEY_DECAY_INTERVAL = 16384;
+    private static final int HOT_KEY_MIN_SAMPLES = 1024;
+
+    private final Fields fields;
+    private final double hotKeyThreshold;
+    private int[] fieldIndices;
+    private int[] tasks;
+    private List<List<Integer>> targetTasks;
+    // written by the load refresh timer, read by the executor thread
+    private volatile double[] loads;
+    private long[] sent;
+    private int[] keyCounts;
+    private int seen;
+
+    public LoadAwarePartialKeyGrouping(Fields fields) {
+        this(fields, 0);
+    }
+
+    /**
+     * Create the grouping with hot key detection.
+     * @param fields the fields making up the key
+     * @param hotKeyThreshold the fraction of the stream, from 0 to 1, above which a key is spread over more than two tasks, or 0 to
+     *     always use two
+     */
+    public LoadAwarePartialKeyGrouping(Fields fields, double hotKeyThreshold) {
+        if (hotKeyThreshold < 0 || hotKeyThreshold >= 1) {
+            throw new IllegalArgumentException("hotKeyThreshold must be at least 0 and less than 1, not " + hotKeyThreshold);
+        }
+        this.fields = fields;
+        this.hotKeyThreshold = hotKeyThreshold;
+    }
+
+    @Override
+    public void prepare(WorkerTopologyContext context, GlobalStreamId stream, List<Integer> targetTasks) {
+        Fields outFields = context.getComponentOutputFields(stream);
+        fieldIndices = new int[fields.size()];
+        for (int i = 0; i < fieldIndices.length; i++) {
+            fieldIndices[i] = outFields.fieldIndex(fields.get(i));
+        }
+        List<Integer> sorted = new ArrayList<>(targetTasks);
+        Collections.sort(sorted);
+        tasks = new int[sorted.size()];
+        this.targetTasks = new ArrayList<>(sorted.size());
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] = sorted.get(i);
+            this.targetTasks.add(Collections.singletonList(sorted.get(i)));
+        }
+        loads = new double[tasks.length];
+        sent = new long[tasks.length];
+        if (hotKeyThreshold > 0) {
+            keyCounts = new int[HOT_KEY_SLOTS];
+        }
+    }
+
+    @Override
+    public void refreshLoad(LoadMapping loadMapping) {
+        double[] newLoads = new double[tasks.length];
+        for (int i = 0; i < tasks.length; i++) {
+            newLoads[i] = loadMapping.get(tasks[i]);
+        }
+        loads = newLoads;
+    }
+
+    @Override
+    public List<Integer> chooseTasks(int taskId, List<Object> values) {
+        int numTasks = tasks.length;
+        if (numTasks == 1) {
+            return targetTasks.get(0);
+        }
+        long hash = TupleUtils.mix(TupleUtils.fieldsHashCode(values, fieldIndices));
+        int first = (int) ((hash & 0xffffffffL) % numTasks);
+        int second = (int) ((hash >>> 32) % numTasks);
+        if (second == first) {
+            second = (first + 1) % numTasks;
+        }
+        double[] currentLoads = loads;
+        int chosen = better(currentLoads, first, second);
+        if (keyCounts != null) {
+            int extra = candidates(hash, numTasks) - 2;
+            for (int i = 1; extra > 0; i++) {
+                int candidate = (first + i) % numTasks;
+                if (candidate != second) {
+                    chosen = better(currentLoads, chosen, candidate);
+                    extra--;
+                }
+            }
+        }
+        sent[chosen]++;
+        return targetTasks.get(chosen);
+    }
+
+    private int better(double[] currentLoads, int current, int candidate) {
+        double diff = currentLoads[candidate] - currentLoads[current];
+        if (diff < -LOAD_TOLERANCE || (diff <= LOAD_TOLERANCE && sent[candidate] < sent[current])) {
+            return candidate;
+        }
+        return current;
+    }
+
+    /**
+     * Count the key and return over how many tasks it should be spread.
+     */
+    private int candidates(long hash, int numTasks) {
+        if (++seen >= HOT_KEY_DECAY_INTERVAL) {
+            for (int i = 0; i < keyCounts.length; i++) {
+                keyCounts[i] >>>= 1;
+            }
+            seen >>>= 1;
+        }
+        int count = ++keyCounts[(int) (hash >>> 52) & (HOT_KEY_SLOTS - 1)];
+        if (seen < HOT_KEY_MIN_SAMPLES) {
+            return 2;
+        }
+        double share = (double) count / seen;
+        if (share <= hotKeyThreshold) {
+            return 2;
+        }
+        return Math.min(numTasks, Math.max(2, (int) Math.ceil(share * numTasks) + 1));
+    }
+}
@@ -22,6 +22,7 @@ import org.apache.storm.Config;
 import org.apache.storm.daemon.worker.WorkerState;
 import org.apache.storm.metric.api.IMetric;
 import org.apache.storm.serialization.KryoTupleDeserializer;
+import org.apache.storm.shade.io.netty.buffer.ByteBuf;
 import org.apache.storm.task.GeneralTopologyContext;
 import org.apache.storm.tuple.AddressedTuple;
 import org.apache.storm.tuple.Tuple;
@@ -30,6 +31,9 @@ import org.apache.storm.utils.ObjectReader;
 
 /**
  * A class that is called when a TaskMessage arrives.
+ *
+ * <p>Each receiving thread, a netty event loop for remote messages, has its own deserializer and tuple list. Messages holding a buffer
+ * are deserialized from it in place and released.
  */
 public class DeserializingConnectionCallback implements IConnectionCallback, IMetric {
     private final WorkerState.ILocalTransferCallback cb;
@@ -43,6 +47,8 @@ public class DeserializingConnectionCallback implements IConnectionCallback, IMe
                 return new KryoTupleDeserializer(conf, context);
             }
         };
+    // handed to the transfer callback, which is done with it when it returns
+    private final ThreadLocal<ArrayList<AddressedTuple>> tuples = ThreadLocal.withInitial(ArrayList::new);
 
     // Track serialized size of messages.
     private final boolean sizeMetricsEnabled;
@@ -61,14 +67,34 @@ public class DeserializingConnectionCallback implements IConnectionCallback, IMe
     @Override
     public void recv(List<TaskMessage> batch) {
         KryoTupleDeserializer des = this.des.get();
-        ArrayList<AddressedTuple> ret = new ArrayList<>(batch.size());
-        for (TaskMessage message : batch) {
-            Tuple tuple = des.deserialize(message.message());
-            AddressedTuple addrTuple = new AddressedTuple(message.task(), tuple);
-            updateMetrics(tuple.getSourceTask(), message);
-            ret.add(addrTuple);
+        ArrayList<AddressedTuple> ret = tuples.get();
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                TaskMessage message = batch.get(i);
+                int length = message.length();
+                Tuple tuple;
+                if (message.hasBuffer()) {
+                    ByteBuf buf = message.takeBuffer();
+                    try {
+                        tuple = des.deserialize(buf);
+                    } finally {
+                        buf.release();
+                    }
+                } else {
+                    tuple = des.deserialize(message.message());
+                }
+                AddressedTuple addrTuple = new AddressedTuple(message.task(), tuple);
+                updateMetrics(tuple.getSourceTask(), message.task(), length);
+                ret.add(addrTuple);
+            }
+            cb.transfer(ret);
+        } finally {
+            ret.clear();
+            // only does anything if deserialization failed part way through the batch
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).release();
+            }
         }
-        cb.transfer(ret);
     }
 
     /**
@@ -98,9 +124,11 @@ public class DeserializingConnectionCallback implements IConnectionCallback, IMe
      * @param message      serialized message
      */
     protected void updateMetrics(int sourceTaskId, TaskMessage message) {
+        updateMetrics(sourceTaskId, message.task(), message.length());
+    }
+
+    private void updateMetrics(int sourceTaskId, int dest, int len) {
         if (sizeMetricsEnabled) {
-            int dest = message.task();
-            int len = message.message().length;
             String key = Integer.toString(sourceTaskId) + "-" + Integer.toString(dest);
             byteCounts.computeIfAbsent(key, k -> new AtomicLong(0L)).addAndGet(len);
         }
@@ -19,7 +19,8 @@ import java.util.List;
  */
 public interface IConnectionCallback {
     /**
-     * A batch of new messages have arrived to be processed.
+     * A batch of new messages have arrived to be processed. Messages may hold their payload in a buffer that the callback must release,
+     * see {@link TaskMessage}.
      *
      * @param batch the messages to be processed
      */
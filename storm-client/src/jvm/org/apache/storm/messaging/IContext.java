@@ -16,6 +16,7 @@ import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 import org.apache.storm.metrics2.StormMetricRegistry;
+import org.apache.storm.utils.JCQueue;
 
 /**
  * This interface needs to be implemented for messaging plugin.
@@ -61,6 +62,18 @@ public interface IContext {
      */
     IConnection bind(String stormId, int port, IConnectionCallback cb, Supplier<Object> newConnectionResponse);
 
+    /**
+     * Same as {@link #bind(String, int, IConnectionCallback, Supplier)}, granting credits for messages to the tasks of this worker to
+     * clients that ask for them, see {@link org.apache.storm.Config#TOPOLOGY_BACKPRESSURE_CREDITS}. Messaging plugins that do not
+     * support credits ignore the queues.
+     *
+     * @param creditedQueues the receive queue of every task to grant credits for, by task id. Credits come out of its free capacity.
+     */
+    default IConnection bind(String stormId, int port, IConnectionCallback cb, Supplier<Object> newConnectionResponse,
+                             Map<Integer, JCQueue> creditedQueues) {
+        return bind(stormId, port, cb, newConnectionResponse);
+    }
+
     /**
      * This method establish a client side connection to a remote server
      * implementation should return a new connection every call.
@@ -72,4 +85,14 @@ public interface IContext {
      * @return client side connection
      */
     IConnection connect(String stormId, String host, int port, AtomicBoolean[] remoteBpStatus);
+
+    /**
+     * Same as {@link #connect(String, String, int, AtomicBoolean[])}, asking the remote server for credits, see
+     * {@link org.apache.storm.Config#TOPOLOGY_BACKPRESSURE_CREDITS}. Messaging plugins that do not support credits ignore them.
+     *
+     * @param remoteCredits the credits for remote tasks, which the connection adds the credits granted by the server to
+     */
+    default IConnection connect(String stormId, String host, int port, AtomicBoolean[] remoteBpStatus, RemoteTaskCredits remoteCredits) {
+        return connect(stormId, host, port, remoteBpStatus);
+    }
 }
@@ -0,0 +1,118 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.messaging;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Histogram;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.apache.storm.Constants;
+import org.apache.storm.metrics2.StormMetricRegistry;
+
+/**
+ * The credits a worker has for sending messages to the tasks of other workers, see
+ * {@link org.apache.storm.Config#TOPOLOGY_BACKPRESSURE_CREDITS}. Connections add the credits the remote workers grant, and every message
+ * sent to a task takes one.
+ *
+ * <p>A task has no credit limit until its worker grants credits, which workers that do not support credits never do. It goes back to
+ * having no limit when the connection to its worker is lost, since the worker at the other end of the next connection may not grant any.
+ */
+public class RemoteTaskCredits {
+    private static final int UNLIMITED = -1;
+
+    private final AtomicInteger[] credits; // [remoteTaskId] -> credits left, or UNLIMITED
+    private final AtomicLongArray stalledSinceNanos; // [remoteTaskId] -> when the task ran out of credits, or 0 if it has some
+    private final Counter stalls;
+    private final Counter granted;
+    private final Histogram grantLatencyMicros;
+
+    public RemoteTaskCredits(int maxTaskId, StormMetricRegistry metricRegistry) {
+        this.credits = new AtomicInteger[maxTaskId + 1];
+        for (int i = 0; i < credits.length; i++) {
+            credits[i] = new AtomicInteger(UNLIMITED);
+        }
+        this.stalledSinceNanos = new AtomicLongArray(maxTaskId + 1);
+        this.stalls = metricRegistry.counter("__credit-stall-count", Constants.SYSTEM_COMPONENT_ID, (int) Constants.SYSTEM_TASK_ID);
+        this.granted = metricRegistry.counter("__credits-granted", Constants.SYSTEM_COMPONENT_ID, (int) Constants.SYSTEM_TASK_ID);
+        this.grantLatencyMicros = metricRegistry.histogram("__credit-grant-latency-us", Constants.SYSTEM_COMPONENT_ID,
+                                                           (int) Constants.SYSTEM_TASK_ID);
+    }
+
+    /**
+     * Take a credit for sending a message to a task.
+     *
+     * @return false if there is no credit left for the task
+     */
+    public boolean tryAcquire(int task) {
+        AtomicInteger taskCredits = credits[task];
+        while (true) {
+            int current = taskCredits.get();
+            if (current == UNLIMITED) {
+                return true;
+            }
+            if (current == 0) {
+                if (stalledSinceNanos.compareAndSet(task, 0, System.nanoTime())) {
+                    stalls.inc();
+                }
+                return false;
+            }
+            if (taskCredits.compareAndSet(current, current - 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Give back a credit taken for a message that was not sent after all.
+     */
+    public void release(int task) {
+        AtomicInteger taskCredits = credits[task];
+        int current = taskCredits.get();
+        while (current != UNLIMITED && !taskCredits.compareAndSet(current, current + 1)) {
+            current = taskCredits.get();
+        }
+    }
+
+    /**
+     * Add credits granted by the worker of a task. The first grant for a task puts a limit on the messages sent to it.
+     */
+    public void grant(int task, int amount) {
+        if (task < 0 || task >= credits.length || amount <= 0) {
+            return;
+        }
+        AtomicInteger taskCredits = credits[task];
+        int current = taskCredits.get();
+        while (!taskCredits.compareAndSet(current, current == UNLIMITED ? amount : current + amount)) {
+            current = taskCredits.get();
+        }
+        granted.inc(amount);
+        long stalledSince = stalledSinceNanos.getAndSet(task, 0);
+        if (stalledSince != 0) {
+            grantLatencyMicros.update(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - stalledSince));
+        }
+    }
+
+    /**
+     * Lift the limit on messages sent to tasks, after the connection that granted credits for them was lost.
+     */
+    public void reset(Collection<Integer> tasks) {
+        for (Integer task : tasks) {
+            if (task >= 0 && task < credits.length) {
+                credits[task].set(UNLIMITED);
+                stalledSinceNanos.set(task, 0);
+            }
+        }
+    }
+}
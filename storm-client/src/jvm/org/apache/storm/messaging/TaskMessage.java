@@ -13,28 +13,95 @@
 package org.apache.storm.messaging;
 
 import java.nio.ByteBuffer;
+import org.apache.storm.shade.io.netty.buffer.ByteBuf;
 
+/**
+ * A serialized tuple addressed to a task.
+ *
+ * <p>The payload is either a plain byte array or a reference counted {@link ByteBuf} (see
+ * {@link org.apache.storm.Config#TOPOLOGY_TRANSFER_POOLED_BUFFERS}). A message that holds a buffer owns one reference to it: whoever
+ * consumes the message must either hand the buffer on with {@link #takeBuffer()} or call {@link #release()} when the message is
+ * dropped. Calling {@link #message()} on such a message copies the payload into an array and releases the buffer, so transports that
+ * only understand byte arrays keep working.
+ */
 public class TaskMessage {
     private int task;
     private byte[] message;
+    private ByteBuf buffer;
 
     public TaskMessage(int task, byte[] message) {
         this.task = task;
         this.message = message;
     }
 
+    /**
+     * Creates a message whose payload is the readable part of a reference counted buffer. The message takes over the caller's reference.
+     */
+    public static TaskMessage fromBuffer(int task, ByteBuf buffer) {
+        TaskMessage msg = new TaskMessage(task, (byte[]) null);
+        msg.buffer = buffer;
+        return msg;
+    }
+
     public int task() {
         return task;
     }
 
     public byte[] message() {
+        if (buffer != null) {
+            byte[] bytes = new byte[buffer.readableBytes()];
+            buffer.getBytes(buffer.readerIndex(), bytes);
+            buffer.release();
+            buffer = null;
+            message = bytes;
+        }
         return message;
     }
 
+    /**
+     * Returns true if the payload is held in a reference counted buffer rather than a byte array.
+     */
+    public boolean hasBuffer() {
+        return buffer != null;
+    }
+
+    /**
+     * Hands the payload buffer over to the caller, who becomes responsible for releasing it. The message no longer has a payload
+     * afterwards.
+     *
+     * @return the buffer, or null if the payload is not held in a buffer
+     */
+    public ByteBuf takeBuffer() {
+        ByteBuf ret = buffer;
+        buffer = null;
+        return ret;
+    }
+
+    /**
+     * Payload length in bytes, 0 if there is no payload.
+     */
+    public int length() {
+        if (buffer != null) {
+            return buffer.readableBytes();
+        }
+        return message == null ? 0 : message.length;
+    }
+
+    /**
+     * Releases the payload buffer, if any. Must be called for messages holding a buffer that are dropped instead of being sent.
+     */
+    public void release() {
+        if (buffer != null) {
+            buffer.release();
+            buffer = null;
+        }
+    }
+
     public ByteBuffer serialize() {
-        ByteBuffer bb = ByteBuffer.allocate(message.length + 2);
+        byte[] payload = message();
+        ByteBuffer bb = ByteBuffer.allocate(payload.length + 2);
         bb.putShort((short) task);
-        bb.put(message);
+        bb.put(payload);
         return bb;
     }
 
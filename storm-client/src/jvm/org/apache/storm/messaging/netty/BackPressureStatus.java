@@ -31,6 +31,7 @@ public class BackPressureStatus {
     public static final short IDENTIFIER = (short) -600;
     private static final int SIZE_OF_ID = 2; // size if IDENTIFIER
     private static final int SIZE_OF_INT = 4;
+    private static final String CREDITS_OFFERED = "+credits";
 
     private static AtomicLong bpCount = new AtomicLong(0);
     public final long id;                  // monotonically increasing id for correlating sent/recvd msgs. ok if restarts from 0 on crash.
@@ -52,6 +53,22 @@ public class BackPressureStatus {
         this.nonBpTasks = nonBpTasks;
     }
 
+    /**
+     * Tell the client this status is sent to that the server grants credits, see {@link org.apache.storm.Config#TOPOLOGY_BACKPRESSURE_CREDITS}.
+     * The mark goes into the worker id, which clients of older versions only log, so they can still read the status.
+     */
+    public BackPressureStatus offerCredits() {
+        workerId = workerId + CREDITS_OFFERED;
+        return this;
+    }
+
+    /**
+     * Whether the server that sent this status grants credits to the clients that ask for them.
+     */
+    public boolean offersCredits() {
+        return workerId != null && workerId.endsWith(CREDITS_OFFERED);
+    }
+
     public static BackPressureStatus read(byte[] bytes, KryoValuesDeserializer deserializer) {
         return (BackPressureStatus) deserializer.deserializeObject(bytes);
     }
@@ -17,15 +17,21 @@ import static org.apache.storm.shade.com.google.common.base.Preconditions.checkS
 import com.codahale.metrics.Gauge;
 import com.codahale.metrics.Metric;
 import java.io.IOException;
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
 import java.net.SocketAddress;
+import java.net.SocketException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Timer;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -35,6 +41,7 @@ import org.apache.storm.Config;
 import org.apache.storm.Constants;
 import org.apache.storm.grouping.Load;
 import org.apache.storm.messaging.ConnectionWithStatus;
+import org.apache.storm.messaging.RemoteTaskCredits;
 import org.apache.storm.messaging.TaskMessage;
 import org.apache.storm.metrics2.StormMetricRegistry;
 import org.apache.storm.policy.IWaitStrategy;
@@ -117,6 +124,14 @@ public class Client extends ConnectionWithStatus implements ISaslClient {
     private final AtomicBoolean saslChannelReady = new AtomicBoolean(false);
     private final HashedWheelTimer scheduler;
     private final MessageBuffer batcher;
+    /**
+     * Codec message batches to this destination are compressed with, 0 if they are not.
+     */
+    private final byte compressionCodec;
+    private final int compressionLevel;
+    private final int compressionThreshold;
+    // bigger batches are sent uncompressed, as receivers reject compressed ones above this length
+    private final int compressionMaxLength;
     // wait strategy when the netty channel is not writable
     private final IWaitStrategy waitStrategy;
     private volatile Map<Integer, Double> serverLoad = null;
@@ -124,13 +139,24 @@ public class Client extends ConnectionWithStatus implements ISaslClient {
      * This flag is set to true if and only if a client instance is being closed.
      */
     private volatile boolean closing = false;
+    // null unless this client asks the server for credits, see Config.TOPOLOGY_BACKPRESSURE_CREDITS
+    private final RemoteTaskCredits remoteCredits;
+    // the tasks the server granted credits for over the current channel
+    private final Set<Integer> creditedTasks = ConcurrentHashMap.newKeySet();
     StormMetricRegistry metricRegistry;
     private Set<Metric> metrics = new HashSet<>();
 
     Client(Map<String, Object> topoConf, AtomicBoolean[] remoteBpStatus,
+        EventLoopGroup eventLoopGroup, HashedWheelTimer scheduler, String host,
+           int port, StormMetricRegistry metricRegistry) {
+        this(topoConf, remoteBpStatus, null, eventLoopGroup, scheduler, host, port, metricRegistry);
+    }
+
+    Client(Map<String, Object> topoConf, AtomicBoolean[] remoteBpStatus, RemoteTaskCredits remoteCredits,
         EventLoopGroup eventLoopGroup, HashedWheelTimer scheduler, String host,
            int port, StormMetricRegistry metricRegistry) {
         this.topoConf = topoConf;
+        this.remoteCredits = remoteCredits;
         closing = false;
         this.scheduler = scheduler;
         int bufferSize = ObjectReader.getInt(topoConf.get(Config.STORM_MESSAGING_NETTY_BUFFER_SIZE));
@@ -163,6 +189,22 @@ public class Client extends ConnectionWithStatus implements ISaslClient {
         scheduleConnect(NO_DELAY_MS);
         int messageBatchSize = ObjectReader.getInt(topoConf.get(Config.STORM_NETTY_MESSAGE_BATCH_SIZE), 262144);
         batcher = new MessageBuffer(messageBatchSize);
+        byte codec = CompressedMessageBatch.codec((String) topoConf.get(Config.STORM_MESSAGING_NETTY_COMPRESSION_CODEC));
+        if (codec != 0 && !ObjectReader.getBoolean(topoConf.get(Config.STORM_MESSAGING_NETTY_COMPRESSION_LOCAL), false)
+            && isLocal(dstAddress)) {
+            codec = 0;
+        }
+        compressionCodec = codec;
+        compressionLevel = ObjectReader.getInt(topoConf.get(Config.STORM_MESSAGING_NETTY_COMPRESSION_LEVEL), 1);
+        if (compressionLevel < 1 || compressionLevel > 9) {
+            throw new IllegalArgumentException(Config.STORM_MESSAGING_NETTY_COMPRESSION_LEVEL + " must be between 1 and 9");
+        }
+        compressionThreshold = ObjectReader.getInt(topoConf.get(Config.STORM_MESSAGING_NETTY_COMPRESSION_THRESHOLD_BYTES), 4096);
+        compressionMaxLength = CompressedMessageBatch.maxUncompressedLength(topoConf);
+        if (compressionCodec != 0) {
+            LOG.info("Compressing message batches of at least {} bytes to {} with {} level {}", compressionThreshold,
+                     dstAddressPrefixedName, topoConf.get(Config.STORM_MESSAGING_NETTY_COMPRESSION_CODEC), compressionLevel);
+        }
         String clazz = (String) topoConf.get(Config.TOPOLOGY_BACKPRESSURE_WAIT_STRATEGY);
         if (clazz == null) {
             waitStrategy = new WaitStrategyProgressive();
@@ -243,6 +285,21 @@ public class Client extends ConnectionWithStatus implements ISaslClient {
         }, 0, CHANNEL_ALIVE_INTERVAL_MS);
     }
 
+    private static boolean isLocal(InetSocketAddress address) {
+        InetAddress inetAddress = address.getAddress();
+        if (inetAddress == null) {
+            return false;
+        }
+        if (inetAddress.isLoopbackAddress() || inetAddress.isAnyLocalAddress()) {
+            return true;
+        }
+        try {
+            return NetworkInterface.getByInetAddress(inetAddress) != null;
+        } catch (SocketException e) {
+            return false;
+        }
+    }
+
     private String prefixedName(InetSocketAddress dstAddress) {
         if (null != dstAddress) {
             return PREFIX + dstAddress.toString();
@@ -339,6 +396,11 @@ public class Client extends ConnectionWithStatus implements ISaslClient {
             }
         } catch (IOException e) {
             LOG.warn("Exception when sending message to remote worker.", e);
+            MessageBatch pending = batcher.drain();
+            if (pending != null) {
+                messagesLost.getAndAdd(pending.size());
+                pending.release(remoteCredits);
+            }
             dropMessages(msgs);
         }
     }
@@ -356,7 +418,13 @@ public class Client extends ConnectionWithStatus implements ISaslClient {
                 idleCounter = waitStrategy.idle(idleCounter);
             }
             flushMessages(channel, batch);
+        } catch (IOException e) {
+            messagesLost.getAndAdd(batch.size());
+            batch.release(remoteCredits);
+            throw e;
         } catch (InterruptedException e) {
+            messagesLost.getAndAdd(batch.size());
+            batch.release(remoteCredits);
             throw new RuntimeException(e);
         }
     }
@@ -385,7 +453,7 @@ public class Client extends ConnectionWithStatus implements ISaslClient {
     }
 
     private void dropMessages(Iterator<TaskMessage> msgs) {
-        // We consume the iterator by traversing and thus "emptying" it.
+        // We consume the iterator by traversing and thus "emptying" it, releasing any pooled payloads on the way.
         int msgCount = iteratorSize(msgs);
         messagesLost.getAndAdd(msgCount);
         LOG.info("Dropping {} messages", msgCount);
@@ -396,7 +464,12 @@ public class Client extends ConnectionWithStatus implements ISaslClient {
         if (msgs != null) {
             while (msgs.hasNext()) {
                 size++;
-                msgs.next();
+                TaskMessage msg = msgs.next();
+                msg.release();
+                // the channel may stay open, so the credit would not come back with the next grant
+                if (remoteCredits != null) {
+                    remoteCredits.release(msg.task());
+                }
             }
         }
         return size;
@@ -416,20 +489,32 @@ public class Client extends ConnectionWithStatus implements ISaslClient {
         LOG.debug("writing {} messages to channel {}", batch.size(), channel.toString());
         pendingMessages.addAndGet(numMessages);
 
-        ChannelFuture future = channel.writeAndFlush(batch);
+        // Batches carrying large pooled payloads are framed here so the payloads reach the socket without being copied again.
+        // Compressed batches are encoded by the channel's event loop, which copies the payloads while compressing them.
+        Object frame;
+        if (compressionCodec != 0 && batch.encodeLength() >= compressionThreshold && batch.encodeLength() <= compressionMaxLength) {
+            frame = new CompressedMessageBatch(batch, compressionCodec, compressionLevel);
+        } else if (batch.hasZeroCopyPayloads()) {
+            frame = batch.encode(channel.alloc());
+        } else {
+            frame = batch;
+        }
+        ChannelFuture future = channel.writeAndFlush(frame);
         future.addListener(new ChannelFutureListener() {
             @Override
             public void operationComplete(ChannelFuture future) throws Exception {
                 pendingMessages.addAndGet(0 - numMessages);
                 if (future.isSuccess()) {
                     LOG.debug("sent {} messages to {}", numMessages, dstAddressPrefixedName);
-                    messagesSent.getAndAdd(batch.size());
+                    messagesSent.getAndAdd(numMessages);
                 } else {
                     LOG.error("failed to send {} messages to {}: {}", numMessages, dstAddressPrefixedName,
                               future.cause());
+                    batch.release(remoteCredits);
                     closeChannelAndReconnect(future.channel());
                     messagesLost.getAndAdd(numMessages);
                 }
+                batcher.recycle(batch);
             }
 
         });
@@ -469,6 +554,7 @@ public class Client extends ConnectionWithStatus implements ISaslClient {
             closing = true;
             waitForPendingMessagesToBeSent();
             closeChannel();
+            resetCredits();
 
             // stop tracking metrics for this client
             if (this.metricRegistry != null) {
@@ -506,6 +592,31 @@ public class Client extends ConnectionWithStatus implements ISaslClient {
         }
     }
 
+    boolean wantsCredits() {
+        return remoteCredits != null;
+    }
+
+    void grantCredits(CreditGrant grant) {
+        if (remoteCredits == null || closing) {
+            return;
+        }
+        for (int i = 0; i < grant.tasks.length; i++) {
+            creditedTasks.add(grant.tasks[i]);
+            remoteCredits.grant(grant.tasks[i], grant.credits[i]);
+        }
+    }
+
+    /**
+     * Lift the credit limits of the tasks of the server, when the channel closes. The next channel may go to a worker that grants none.
+     */
+    void resetCredits() {
+        if (remoteCredits != null && !creditedTasks.isEmpty()) {
+            List<Integer> tasks = new ArrayList<>(creditedTasks);
+            creditedTasks.removeAll(tasks);
+            remoteCredits.reset(tasks);
+        }
+    }
+
     void setLoadMetrics(Map<Integer, Double> taskToLoad) {
         this.serverLoad = taskToLoad;
     }
@@ -0,0 +1,199 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.messaging.netty;
+
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import org.apache.storm.Config;
+import org.apache.storm.shade.io.netty.buffer.ByteBuf;
+import org.apache.storm.shade.io.netty.buffer.ByteBufAllocator;
+import org.apache.storm.shade.io.netty.handler.codec.compression.DecompressionException;
+import org.apache.storm.utils.ObjectReader;
+
+/**
+ * A {@link MessageBatch} sent as one compressed frame. The frame is self describing, so the receiving {@link MessageDecoder} needs no
+ * prior agreement on the codec and every connection can decide for itself whether to compress.
+ *
+ * <p>The frame is encoded as:
+ * <pre>
+ *  identifier ... short(2)
+ *  codec ... byte(1)
+ *  uncompressed length ... int(4)
+ *  compressed length ... int(4)
+ *  compressed encoding of the batch ... byte[]
+ * </pre>
+ * Batches that do not shrink are written uncompressed, in the usual {@link MessageBatch} format. The only codec so far is deflate, the
+ * codec byte leaves room for others.
+ *
+ * <p>The uncompressed length comes from the peer, so the receiver rejects frames claiming more than {@link #maxUncompressedLength(Map)},
+ * and senders do not compress batches that are bigger than that. The output buffer grows while inflating rather than being allocated
+ * up front from the header.
+ */
+class CompressedMessageBatch implements INettySerializable {
+    public static final short IDENTIFIER = (short) -700;
+    static final byte DEFLATE = 1;
+    static final int HEADER_LENGTH = 2 + 1 + 4 + 4;
+    private static final int MIN_INFLATE_CAPACITY = 4096;
+
+    // the codecs run on netty event loop threads, which are few and live as long as the worker
+    private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED, true));
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(() -> new Inflater(true));
+
+    private final MessageBatch batch;
+    private final byte codec;
+    private final int level;
+
+    CompressedMessageBatch(MessageBatch batch, byte codec, int level) {
+        this.batch = batch;
+        this.codec = codec;
+        this.level = level;
+    }
+
+    /**
+     * Parse the codec name used in the configuration.
+     * @param name "deflate" or "none"
+     * @return the codec, or 0 for no compression
+     */
+    static byte codec(String name) {
+        if (name == null || "none".equals(name)) {
+            return 0;
+        } else if ("deflate".equals(name)) {
+            return DEFLATE;
+        }
+        throw new IllegalArgumentException("Unknown message compression codec " + name);
+    }
+
+    /**
+     * The largest batch that is sent compressed, and that a receiver accepts decompressing: twice the bigger of the netty buffer size and
+     * the transfer batch size, since a batch may go over the batch size by one message.
+     */
+    static int maxUncompressedLength(Map<String, Object> topoConf) {
+        int bufferSize = ObjectReader.getInt(topoConf.get(Config.STORM_MESSAGING_NETTY_BUFFER_SIZE), 5242880);
+        int batchSize = ObjectReader.getInt(topoConf.get(Config.STORM_NETTY_MESSAGE_BATCH_SIZE), 262144);
+        return (int) Math.min(Integer.MAX_VALUE, 2L * Math.max(bufferSize, batchSize));
+    }
+
+    @Override
+    public int encodeLength() {
+        return HEADER_LENGTH + batch.encodeLength();
+    }
+
+    @Override
+    public void write(ByteBuf dest) {
+        ByteBufAllocator alloc = dest.alloc();
+        ByteBuf raw = alloc.heapBuffer(batch.encodeLength());
+        ByteBuf compressed = alloc.heapBuffer(batch.encodeLength() / 2);
+        try {
+            batch.write(raw);
+            compress(raw, compressed);
+            if (compressed.readableBytes() + HEADER_LENGTH < raw.readableBytes()) {
+                dest.writeShort(IDENTIFIER);
+                dest.writeByte(codec);
+                dest.writeInt(raw.readableBytes());
+                dest.writeInt(compressed.readableBytes());
+                dest.writeBytes(compressed);
+            } else {
+                dest.writeBytes(raw);
+            }
+        } finally {
+            raw.release();
+            compressed.release();
+        }
+    }
+
+    private void compress(ByteBuf raw, ByteBuf out) {
+        if (codec == DEFLATE) {
+            Deflater deflater = DEFLATER.get();
+            try {
+                deflater.setLevel(level);
+                deflater.setInput(raw.array(), raw.arrayOffset() + raw.readerIndex(), raw.readableBytes());
+                deflater.finish();
+                while (!deflater.finished()) {
+                    out.ensureWritable(4096);
+                    int written = deflater.deflate(out.array(), out.arrayOffset() + out.writerIndex(), out.writableBytes());
+                    out.writerIndex(out.writerIndex() + written);
+                }
+            } finally {
+                deflater.reset();
+            }
+        } else {
+            throw new IllegalStateException("Unknown message compression codec " + codec);
+        }
+    }
+
+    /**
+     * Decompress the body of a compressed frame.
+     * @param codec the codec read from the frame
+     * @param compressed the compressed bytes, which are consumed
+     * @param uncompressedLength the uncompressed length read from the frame
+     * @param maxUncompressedLength the largest uncompressed length accepted
+     * @param alloc allocator for the result
+     * @return a buffer holding the encoding of the original batch, which the caller must release
+     */
+    static ByteBuf decompress(byte codec, ByteBuf compressed, int uncompressedLength, int maxUncompressedLength, ByteBufAllocator alloc) {
+        if (uncompressedLength < 0 || uncompressedLength > maxUncompressedLength) {
+            throw new DecompressionException("Invalid uncompressed length " + uncompressedLength
+                                             + ", the limit is " + maxUncompressedLength);
+        }
+        if (codec != DEFLATE) {
+            throw new DecompressionException("Unknown message compression codec " + codec);
+        }
+        // start from what the compressed bytes plausibly expand to, and only grow up to the claimed length as data comes out
+        int initialCapacity = (int) Math.min(uncompressedLength, Math.max(MIN_INFLATE_CAPACITY, 4L * compressed.readableBytes()));
+        ByteBuf out = alloc.heapBuffer(initialCapacity, uncompressedLength);
+        try {
+            inflate(compressed, out);
+            if (out.readableBytes() != uncompressedLength) {
+                throw new DecompressionException("Expected " + uncompressedLength + " bytes, decompressed " + out.readableBytes());
+            }
+            return out;
+        } catch (RuntimeException e) {
+            out.release();
+            throw e;
+        }
+    }
+
+    private static void inflate(ByteBuf compressed, ByteBuf out) {
+        Inflater inflater = INFLATER.get();
+        try {
+            int length = compressed.readableBytes();
+            if (compressed.hasArray()) {
+                inflater.setInput(compressed.array(), compressed.arrayOffset() + compressed.readerIndex(), length);
+            } else {
+                byte[] input = new byte[length];
+                compressed.getBytes(compressed.readerIndex(), input);
+                inflater.setInput(input);
+            }
+            compressed.skipBytes(length);
+            while (!inflater.finished()) {
+                if (!out.isWritable()) {
+                    if (out.maxWritableBytes() == 0) {
+                        break;
+                    }
+                    out.ensureWritable(Math.min(out.capacity(), out.maxWritableBytes()));
+                }
+                int written = inflater.inflate(out.array(), out.arrayOffset() + out.writerIndex(), out.writableBytes());
+                if (written == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                out.writerIndex(out.writerIndex() + written);
+            }
+        } catch (DataFormatException e) {
+            throw new DecompressionException(e);
+        } finally {
+            inflater.reset();
+        }
+    }
+}
@@ -22,10 +22,12 @@ import org.apache.storm.Config;
 import org.apache.storm.messaging.IConnection;
 import org.apache.storm.messaging.IConnectionCallback;
 import org.apache.storm.messaging.IContext;
+import org.apache.storm.messaging.RemoteTaskCredits;
 import org.apache.storm.metrics2.StormMetricRegistry;
 import org.apache.storm.shade.io.netty.channel.EventLoopGroup;
 import org.apache.storm.shade.io.netty.channel.nio.NioEventLoopGroup;
 import org.apache.storm.shade.io.netty.util.HashedWheelTimer;
+import org.apache.storm.utils.JCQueue;
 import org.apache.storm.utils.ObjectReader;
 
 public class Context implements IContext {
@@ -69,12 +71,31 @@ public class Context implements IContext {
         return server;
     }
 
+    /**
+     * establish a server with a binding port, granting credits for the given queues.
+     */
+    @Override
+    public synchronized IConnection bind(String stormId, int port, IConnectionCallback cb, Supplier<Object> newConnectionResponse,
+                                         Map<Integer, JCQueue> creditedQueues) {
+        Server server = new Server(topoConf, port, cb, newConnectionResponse, creditedQueues);
+        serverConnections.add(server);
+        return server;
+    }
+
     /**
      * establish a connection to a remote server.
      */
     @Override
     public IConnection connect(String stormId, String host, int port, AtomicBoolean[] remoteBpStatus) {
-        return new Client(topoConf, remoteBpStatus, workerEventLoopGroup,
+        return connect(stormId, host, port, remoteBpStatus, null);
+    }
+
+    /**
+     * establish a connection to a remote server, asking it for credits if remoteCredits is not null.
+     */
+    @Override
+    public IConnection connect(String stormId, String host, int port, AtomicBoolean[] remoteBpStatus, RemoteTaskCredits remoteCredits) {
+        return new Client(topoConf, remoteBpStatus, remoteCredits, workerEventLoopGroup,
                                         clientScheduleService, host, port, metricRegistry);
     }
 
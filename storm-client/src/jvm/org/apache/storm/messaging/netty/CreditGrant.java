@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.messaging.netty;
+
+import java.util.Arrays;
+import org.apache.storm.shade.io.netty.buffer.ByteBuf;
+
+/**
+ * Credits granted by a worker to a worker sending to it, see {@link org.apache.storm.Config#TOPOLOGY_BACKPRESSURE_CREDITS}. Every entry
+ * allows the sender to send that many more messages to a task.
+ *
+ * <p>A server only sends these to clients that asked for credits, by sending it a {@link BackPressureStatus}, since clients of older
+ * versions can not decode them. Clients only ask servers whose first status offered credits, see {@link BackPressureStatus#offersCredits()},
+ * since servers of older versions can not handle the request. The frame is encoded as:
+ * <pre>
+ *  identifier ... short(2)
+ *  number of entries ... int(4)
+ *  task id ... int(4), credits ... int(4), for every entry
+ * </pre>
+ */
+class CreditGrant implements INettySerializable {
+    public static final short IDENTIFIER = (short) -601;
+    static final int HEADER_LENGTH = 2 + 4;
+    private static final int ENTRY_LENGTH = 4 + 4;
+
+    final int[] tasks;
+    final int[] credits;
+
+    CreditGrant(int[] tasks, int[] credits) {
+        this.tasks = tasks;
+        this.credits = credits;
+    }
+
+    /**
+     * Read the entries of a grant, after its identifier.
+     *
+     * @return the grant, or null if the buffer does not hold all of it yet
+     */
+    static CreditGrant read(ByteBuf buf) {
+        if (buf.readableBytes() < HEADER_LENGTH - 2) {
+            return null;
+        }
+        int entries = buf.readInt();
+        if (buf.readableBytes() < (long) entries * ENTRY_LENGTH) {
+            return null;
+        }
+        int[] tasks = new int[entries];
+        int[] credits = new int[entries];
+        for (int i = 0; i < entries; i++) {
+            tasks[i] = buf.readInt();
+            credits[i] = buf.readInt();
+        }
+        return new CreditGrant(tasks, credits);
+    }
+
+    @Override
+    public int encodeLength() {
+        return HEADER_LENGTH + tasks.length * ENTRY_LENGTH;
+    }
+
+    @Override
+    public void write(ByteBuf buf) {
+        buf.writeShort(IDENTIFIER);
+        buf.writeInt(tasks.length);
+        for (int i = 0; i < tasks.length; i++) {
+            buf.writeInt(tasks[i]);
+            buf.writeInt(credits[i]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "{tasks=" + Arrays.toString(tasks) + ", credits=" + Arrays.toString(credits) + '}';
+    }
+}
@@ -0,0 +1,195 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.messaging.netty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.storm.messaging.TaskMessage;
+import org.apache.storm.shade.io.netty.channel.Channel;
+import org.apache.storm.shade.io.netty.channel.group.ChannelGroup;
+import org.apache.storm.shade.io.netty.channel.group.DefaultChannelGroup;
+import org.apache.storm.shade.io.netty.util.AttributeKey;
+import org.apache.storm.shade.io.netty.util.concurrent.GlobalEventExecutor;
+import org.apache.storm.utils.JCQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Grants credits for the tasks of a worker to the clients connected to its server, see
+ * {@link org.apache.storm.Config#TOPOLOGY_BACKPRESSURE_CREDITS}.
+ *
+ * <p>The free capacity of the receive queue of a task, less the credits other clients hold for it and may still use, is shared evenly by
+ * the clients that asked for credits. A client is granted more credits for a task once it used up half of its share, or right away if it
+ * has none left. A client with no credits left for a task whose
+ * queue is full is looked after again every refresh interval, until there is room to grant it credits. All the state of a client is
+ * only touched on the event loop thread of its channel.
+ */
+class CreditGranter {
+    private static final Logger LOG = LoggerFactory.getLogger(CreditGranter.class);
+    private static final AttributeKey<ChannelCredits> CREDITS = AttributeKey.valueOf("storm.credits");
+
+    private final int[] tasks;
+    private final JCQueue[] queues;
+    private final int minTask;
+    private final int[] taskToIndex; // [taskId-minTask] -> index into tasks, or -1
+    private final long refreshMillis;
+    private final ChannelGroup channels = new DefaultChannelGroup("storm-credits", GlobalEventExecutor.INSTANCE);
+    private final AtomicLong granted = new AtomicLong(0);
+    // [index of task] -> credits granted to all clients that they did not use yet
+    private final AtomicIntegerArray held;
+
+    CreditGranter(Map<Integer, JCQueue> creditedQueues, long refreshMillis) {
+        Map<Integer, JCQueue> sorted = new TreeMap<>();
+        for (Map.Entry<Integer, JCQueue> entry : creditedQueues.entrySet()) {
+            // the system task does not take part in back pressure
+            if (entry.getKey() >= 0) {
+                sorted.put(entry.getKey(), entry.getValue());
+            }
+        }
+        this.tasks = new int[sorted.size()];
+        this.queues = new JCQueue[sorted.size()];
+        int i = 0;
+        for (Map.Entry<Integer, JCQueue> entry : sorted.entrySet()) {
+            tasks[i] = entry.getKey();
+            queues[i] = entry.getValue();
+            i++;
+        }
+        this.minTask = tasks.length == 0 ? 0 : tasks[0];
+        this.taskToIndex = new int[tasks.length == 0 ? 0 : tasks[tasks.length - 1] - minTask + 1];
+        Arrays.fill(taskToIndex, -1);
+        for (i = 0; i < tasks.length; i++) {
+            taskToIndex[tasks[i] - minTask] = i;
+        }
+        this.held = new AtomicIntegerArray(tasks.length);
+        this.refreshMillis = refreshMillis;
+    }
+
+    /**
+     * Start granting credits to a client, which asked for them.
+     */
+    void addChannel(Channel channel) {
+        ChannelCredits state = new ChannelCredits(tasks.length);
+        if (channel.attr(CREDITS).setIfAbsent(state) != null) {
+            return;
+        }
+        channels.add(channel);
+        // the credits of a client that is gone will not be used, so others can have them
+        channel.closeFuture().addListener(future -> {
+            for (int i = 0; i < tasks.length; i++) {
+                held.addAndGet(i, -state.outstanding[i]);
+                state.outstanding[i] = 0;
+            }
+        });
+        LOG.info("Granting credits to {} for tasks {}", channel.remoteAddress(), Arrays.toString(tasks));
+        refill(channel);
+    }
+
+    /**
+     * Account for messages received from a client, before they are handed to the receive queues.
+     */
+    void received(Channel channel, List<TaskMessage> msgs) {
+        ChannelCredits state = channel.attr(CREDITS).get();
+        if (state == null) {
+            return;
+        }
+        int[] outstanding = state.outstanding;
+        for (int i = 0; i < msgs.size(); i++) {
+            int index = indexOf(msgs.get(i).task());
+            // the client may have sent messages before it had credits
+            if (index >= 0 && outstanding[index] > 0) {
+                outstanding[index]--;
+                held.decrementAndGet(index);
+            }
+        }
+    }
+
+    /**
+     * Grant a client the credits it ran low on, if there is room for them in the receive queues.
+     */
+    void refill(Channel channel) {
+        ChannelCredits state = channel.attr(CREDITS).get();
+        if (state == null || !channel.isActive()) {
+            return;
+        }
+        int clients = Math.max(1, channels.size());
+        int[] outstanding = state.outstanding;
+        List<Integer> grantTasks = null;
+        List<Integer> grantCredits = null;
+        boolean starved = false;
+        for (int i = 0; i < tasks.length; i++) {
+            int heldByOthers = held.get(i) - outstanding[i];
+            int share = Math.max(0, queues[i].getFreeCapacity() - heldByOthers) / clients;
+            int more = share - outstanding[i];
+            if (more > 0 && (outstanding[i] == 0 || more >= share / 2)) {
+                if (grantTasks == null) {
+                    grantTasks = new ArrayList<>();
+                    grantCredits = new ArrayList<>();
+                }
+                grantTasks.add(tasks[i]);
+                grantCredits.add(more);
+                outstanding[i] = share;
+                held.addAndGet(i, more);
+                granted.addAndGet(more);
+            }
+            starved |= outstanding[i] == 0;
+        }
+        if (grantTasks != null) {
+            int[] taskIds = new int[grantTasks.size()];
+            int[] credits = new int[grantTasks.size()];
+            for (int i = 0; i < taskIds.length; i++) {
+                taskIds[i] = grantTasks.get(i);
+                credits[i] = grantCredits.get(i);
+            }
+            channel.writeAndFlush(new CreditGrant(taskIds, credits), channel.voidPromise());
+        }
+        if (starved && !state.refreshScheduled) {
+            state.refreshScheduled = true;
+            channel.eventLoop().schedule(() -> {
+                state.refreshScheduled = false;
+                refill(channel);
+            }, refreshMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    long getGranted() {
+        return granted.get();
+    }
+
+    int getClients() {
+        return channels.size();
+    }
+
+    private int indexOf(int task) {
+        int offset = task - minTask;
+        if (offset < 0 || offset >= taskToIndex.length) {
+            return -1;
+        }
+        return taskToIndex[offset];
+    }
+
+    private static class ChannelCredits {
+        // [index of task] -> credits granted to the client that it did not use yet
+        final int[] outstanding;
+        boolean refreshScheduled = false;
+
+        ChannelCredits(int tasks) {
+            this.outstanding = new int[tasks];
+        }
+    }
+}
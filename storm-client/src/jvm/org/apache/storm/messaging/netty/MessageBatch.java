@@ -13,14 +13,23 @@
 package org.apache.storm.messaging.netty;
 
 import java.util.ArrayList;
+import org.apache.storm.messaging.RemoteTaskCredits;
 import org.apache.storm.messaging.TaskMessage;
 import org.apache.storm.shade.io.netty.buffer.ByteBuf;
+import org.apache.storm.shade.io.netty.buffer.ByteBufAllocator;
+import org.apache.storm.shade.io.netty.buffer.CompositeByteBuf;
 
 class MessageBatch implements INettySerializable {
+    /**
+     * Pooled payloads smaller than this are copied into the frame, as they are cheaper to copy than to carry as a separate component of a
+     * gathering write.
+     */
+    static final int ZERO_COPY_MIN_PAYLOAD_BYTES = 1024;
 
     private final int bufferSize;
     private final ArrayList<TaskMessage> msgs;
     private int encodedLength;
+    private int zeroCopyPayloads;
 
     MessageBatch(int bufferSize) {
         this.bufferSize = bufferSize;
@@ -35,6 +44,9 @@ class MessageBatch implements INettySerializable {
 
         msgs.add(msg);
         encodedLength += msgEncodeLength(msg);
+        if (isZeroCopy(msg)) {
+            zeroCopyPayloads++;
+        }
     }
 
     private int msgEncodeLength(TaskMessage taskMsg) {
@@ -43,12 +55,14 @@ class MessageBatch implements INettySerializable {
         }
 
         int size = 6; //INT + SHORT
-        if (taskMsg.message() != null) {
-            size += taskMsg.message().length;
-        }
+        size += taskMsg.length();
         return size;
     }
 
+    private static boolean isZeroCopy(TaskMessage msg) {
+        return msg.hasBuffer() && msg.length() >= ZERO_COPY_MIN_PAYLOAD_BYTES;
+    }
+
     /**
      * Check whether full.
      * @return true if this batch used up allowed buffer size
@@ -73,6 +87,14 @@ class MessageBatch implements INettySerializable {
         return msgs.size();
     }
 
+    /**
+     * Check whether the batch carries pooled payloads that are worth sending without copying them, see {@link #encode(ByteBufAllocator)}.
+     * @return true if at least one payload would be attached to the frame as is
+     */
+    boolean hasZeroCopyPayloads() {
+        return zeroCopyPayloads > 0;
+    }
+
     @Override
     public int encodeLength() {
         return encodedLength;
@@ -91,27 +113,103 @@ class MessageBatch implements INettySerializable {
         ControlMessage.EOB_MESSAGE.write(dest);
     }
 
+    /**
+     * Encode this batch without copying large pooled payloads. Headers and small payloads are written into one framing buffer, slices of
+     * which are interleaved with the pooled payload buffers in a composite buffer. The wire format is identical to {@link #write(ByteBuf)}.
+     * Ownership of the payload buffers passes to the returned buffer, which the caller must write to a channel or release.
+     */
+    ByteBuf encode(ByteBufAllocator alloc) {
+        int framingLength = encodedLength;
+        for (TaskMessage msg : msgs) {
+            if (isZeroCopy(msg)) {
+                framingLength -= msg.length();
+            }
+        }
+        ByteBuf framing = alloc.ioBuffer(framingLength);
+        CompositeByteBuf frame = alloc.compositeDirectBuffer(2 * zeroCopyPayloads + 1);
+        try {
+            int sliceStart = 0;
+            for (TaskMessage msg : msgs) {
+                if (isZeroCopy(msg)) {
+                    writeTaskMessageHeader(framing, msg.task(), msg.length());
+                    frame.addComponent(true, framing.retainedSlice(sliceStart, framing.writerIndex() - sliceStart));
+                    sliceStart = framing.writerIndex();
+                    frame.addComponent(true, msg.takeBuffer());
+                } else {
+                    writeTaskMessage(framing, msg);
+                }
+            }
+            ControlMessage.EOB_MESSAGE.write(framing);
+            frame.addComponent(true, framing.retainedSlice(sliceStart, framing.writerIndex() - sliceStart));
+        } catch (RuntimeException e) {
+            frame.release();
+            release();
+            throw e;
+        } finally {
+            framing.release();
+        }
+        return frame;
+    }
+
+    /**
+     * Remove all messages, so the batch can be reused.
+     */
+    void clear() {
+        msgs.clear();
+        encodedLength = ControlMessage.EOB_MESSAGE.encodeLength();
+        zeroCopyPayloads = 0;
+    }
+
+    /**
+     * Release the pooled payloads of all messages in this batch. Used when the batch is dropped instead of sent.
+     */
+    void release() {
+        release(null);
+    }
+
+    /**
+     * Release the pooled payloads of all messages in this batch, and give back the credits taken for sending them.
+     *
+     * @param credits the credits of the remote tasks, or null if credits are not used
+     */
+    void release(RemoteTaskCredits credits) {
+        for (TaskMessage msg : msgs) {
+            msg.release();
+            if (credits != null) {
+                credits.release(msg.task());
+            }
+        }
+    }
+
     /**
      * write a TaskMessage into a buffer.
      *
      * <p>Each TaskMessage is encoded as: task ... short(2) len ... int(4) payload ... byte[]     *
      */
     private void writeTaskMessage(ByteBuf buf, TaskMessage message) {
-        int payloadLen = 0;
-        if (message.message() != null) {
-            payloadLen = message.message().length;
+        int payloadLen = message.length();
+        writeTaskMessageHeader(buf, message.task(), payloadLen);
+        if (payloadLen > 0) {
+            if (message.hasBuffer()) {
+                ByteBuf payload = message.takeBuffer();
+                try {
+                    buf.writeBytes(payload, payload.readerIndex(), payloadLen);
+                } finally {
+                    payload.release();
+                }
+            } else {
+                buf.writeBytes(message.message());
+            }
         }
+    }
 
-        int taskId = message.task();
+    private void writeTaskMessageHeader(ByteBuf buf, int taskId, int payloadLen) {
         if (taskId > Short.MAX_VALUE) {
             throw new RuntimeException("Task ID should not exceed " + Short.MAX_VALUE);
         }
 
         buf.writeShort((short) taskId);
         buf.writeInt(payloadLen);
-        if (payloadLen > 0) {
-            buf.writeBytes(message.message());
-        }
     }
 
 }
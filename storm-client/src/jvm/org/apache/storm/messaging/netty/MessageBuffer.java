@@ -13,12 +13,23 @@
 package org.apache.storm.messaging.netty;
 
 import org.apache.storm.messaging.TaskMessage;
+import org.apache.storm.shade.org.jctools.queues.MpscArrayQueue;
 
 /**
  * Encapsulates the state used for batching up messages.
+ *
+ * <p>Messages are added and batches drained only by the thread sending to the connection, the worker transfer thread, so the current
+ * batch needs no lock. Batches that were written are handed back by the event loop threads through {@link #recycle(MessageBatch)}, a
+ * lock-free queue, and reused, so a busy connection does not allocate and grow a new batch for every write.
+ *
+ * <p>Note: {@link #add(TaskMessage)}, {@link #isEmpty()} and {@link #drain()} must be called from a single thread.
  */
 public class MessageBuffer {
+    private static final int MAX_RECYCLED_BATCHES = 16;
+
     private final int mesageBatchSize;
+    // written by event loop threads, more than one if the client reconnected, and taken by the sending thread
+    private final MpscArrayQueue<MessageBatch> recycled = new MpscArrayQueue<>(MAX_RECYCLED_BATCHES);
     private MessageBatch currentBatch;
 
     public MessageBuffer(int mesageBatchSize) {
@@ -26,28 +37,40 @@ public class MessageBuffer {
         this.currentBatch = new MessageBatch(mesageBatchSize);
     }
 
-    public synchronized MessageBatch add(TaskMessage msg) {
+    public MessageBatch add(TaskMessage msg) {
         currentBatch.add(msg);
         if (currentBatch.isFull()) {
-            MessageBatch ret = currentBatch;
-            currentBatch = new MessageBatch(mesageBatchSize);
-            return ret;
+            return swap();
         } else {
             return null;
         }
     }
 
-    public synchronized boolean isEmpty() {
+    public boolean isEmpty() {
         return currentBatch.isEmpty();
     }
 
-    public synchronized MessageBatch drain() {
+    public MessageBatch drain() {
         if (!currentBatch.isEmpty()) {
-            MessageBatch ret = currentBatch;
-            currentBatch = new MessageBatch(mesageBatchSize);
-            return ret;
+            return swap();
         } else {
             return null;
         }
     }
+
+    /**
+     * Hand back a batch that was written or dropped, so that it can be reused. May be called from any thread, but only once the batch is
+     * no longer referenced by the channel.
+     */
+    void recycle(MessageBatch batch) {
+        batch.clear();
+        recycled.offer(batch);
+    }
+
+    private MessageBatch swap() {
+        MessageBatch ret = currentBatch;
+        MessageBatch next = recycled.relaxedPoll();
+        currentBatch = next != null ? next : new MessageBatch(mesageBatchSize);
+        return ret;
+    }
 }
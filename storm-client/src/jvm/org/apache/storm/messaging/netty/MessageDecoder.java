@@ -13,12 +13,14 @@
 package org.apache.storm.messaging.netty;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import org.apache.storm.messaging.TaskMessage;
 import org.apache.storm.serialization.KryoValuesDeserializer;
 import org.apache.storm.shade.io.netty.buffer.ByteBuf;
 import org.apache.storm.shade.io.netty.channel.ChannelHandlerContext;
 import org.apache.storm.shade.io.netty.handler.codec.ByteToMessageDecoder;
+import org.apache.storm.shade.io.netty.handler.codec.compression.DecompressionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,9 +28,20 @@ public class MessageDecoder extends ByteToMessageDecoder {
 
     private static final Logger LOG = LoggerFactory.getLogger(MessageDecoder.class);
     private final KryoValuesDeserializer deser;
+    private final int maxUncompressedLength;
 
     public MessageDecoder(KryoValuesDeserializer deser) {
+        this(deser, CompressedMessageBatch.maxUncompressedLength(Collections.emptyMap()));
+    }
+
+    /**
+     * Constructor.
+     * @param deser the deserializer for the messages
+     * @param maxUncompressedLength the largest compressed batch accepted, by its uncompressed length
+     */
+    public MessageDecoder(KryoValuesDeserializer deser, int maxUncompressedLength) {
         this.deser = deser;
+        this.maxUncompressedLength = maxUncompressedLength;
     }
 
     /*
@@ -38,6 +51,11 @@ public class MessageDecoder extends ByteToMessageDecoder {
      *  task (>=0) ... short(2)
      *  len ... int(4)
      *  payload ... byte[]     *
+     *
+     * Task message payloads are not copied out: each message holds a retained slice of the inbound buffer, which the handler
+     * consuming the message releases (see TaskMessage#release()).
+     *
+     * A batch compressed by the sender (see CompressedMessageBatch) is decompressed into a buffer of its own and decoded from there.
      */
     @Override
     protected void decode(ChannelHandlerContext ctx, ByteBuf buf, List<Object> out) throws Exception {
@@ -48,7 +66,7 @@ public class MessageDecoder extends ByteToMessageDecoder {
             return;
         }
 
-        List<Object> ret = new ArrayList<>();
+        List<TaskMessage> ret = new ArrayList<>();
 
         // Use while loop, try to decode as more messages as possible in single call
         while (available >= 2) {
@@ -70,6 +88,7 @@ public class MessageDecoder extends ByteToMessageDecoder {
                 if (controlMessage == ControlMessage.EOB_MESSAGE) {
                     continue;
                 } else {
+                    addBatch(ret, out);
                     out.add(controlMessage);
                     return;
                 }
@@ -81,12 +100,14 @@ public class MessageDecoder extends ByteToMessageDecoder {
                 if (buf.readableBytes() < 4) {
                     //need more data
                     buf.resetReaderIndex();
+                    addBatch(ret, out);
                     return;
                 }
 
                 // Read the length field.
                 int length = buf.readInt();
                 if (length <= 0) {
+                    addBatch(ret, out);
                     out.add(new SaslMessageToken(null));
                     return;
                 }
@@ -95,6 +116,7 @@ public class MessageDecoder extends ByteToMessageDecoder {
                 if (buf.readableBytes() < length) {
                     // The whole bytes were not received yet - return null.
                     buf.resetReaderIndex();
+                    addBatch(ret, out);
                     return;
                 }
 
@@ -103,6 +125,7 @@ public class MessageDecoder extends ByteToMessageDecoder {
                 buf.readBytes(bytes);
                 // Successfully decoded a frame.
                 // Return a SaslTokenMessageRequest object
+                addBatch(ret, out);
                 out.add(new SaslMessageToken(bytes));
                 return;
             }
@@ -113,21 +136,72 @@ public class MessageDecoder extends ByteToMessageDecoder {
                 if (available < 4) {
                     //Need  more data
                     buf.resetReaderIndex();
+                    addBatch(ret, out);
                     return;
                 }
                 int dataLen = buf.readInt();
                 if (available < 4 + dataLen) {
                     // need more data
                     buf.resetReaderIndex();
+                    addBatch(ret, out);
                     return;
                 }
                 byte[] bytes = new byte[dataLen];
                 buf.readBytes(bytes);
+                addBatch(ret, out);
                 out.add(BackPressureStatus.read(bytes, deser));
                 return;
             }
 
-            // case 4: task Message
+            // case 4: CreditGrant
+            if (code == CreditGrant.IDENTIFIER) {
+                CreditGrant grant = CreditGrant.read(buf);
+                if (grant == null) {
+                    buf.resetReaderIndex();
+                    addBatch(ret, out);
+                    return;
+                }
+                addBatch(ret, out);
+                out.add(grant);
+                return;
+            }
+
+            // case 5: compressed MessageBatch
+            if (code == CompressedMessageBatch.IDENTIFIER) {
+                available = buf.readableBytes();
+                if (available < CompressedMessageBatch.HEADER_LENGTH - 2) {
+                    buf.resetReaderIndex();
+                    addBatch(ret, out);
+                    return;
+                }
+                byte codec = buf.readByte();
+                int uncompressedLength = buf.readInt();
+                int compressedLength = buf.readInt();
+                if (buf.readableBytes() < compressedLength) {
+                    buf.resetReaderIndex();
+                    addBatch(ret, out);
+                    return;
+                }
+                ByteBuf batch = CompressedMessageBatch.decompress(codec, buf.readSlice(compressedLength), uncompressedLength,
+                                                                  maxUncompressedLength, buf.alloc());
+                try {
+                    addBatch(ret, out);
+                    ret = new ArrayList<>();
+                    while (batch.isReadable()) {
+                        int readerIndex = batch.readerIndex();
+                        decode(ctx, batch, out);
+                        if (batch.readerIndex() == readerIndex) {
+                            throw new DecompressionException("Compressed batch ends with a truncated message");
+                        }
+                    }
+                } finally {
+                    batch.release();
+                }
+                available = buf.readableBytes();
+                continue;
+            }
+
+            // case 6: task Message
 
             // Make sure that we have received at least an integer (length)
             if (available < 4) {
@@ -154,15 +228,17 @@ public class MessageDecoder extends ByteToMessageDecoder {
             }
             available -= length;
 
-            // There's enough bytes in the buffer. Read it.
-            byte[] bytes = new byte[length];
-            buf.readBytes(bytes);
-
-            // Successfully decoded a frame.
-            // Return a TaskMessage object
-            ret.add(new TaskMessage(code, bytes));
+            // There's enough bytes in the buffer. Take a slice of it.
+            ret.add(TaskMessage.fromBuffer(code, buf.readRetainedSlice(length)));
         }
 
+        addBatch(ret, out);
+    }
+
+    /**
+     * Pass on the task messages decoded so far, ahead of the message about to be added, so that messages keep their order.
+     */
+    private static void addBatch(List<TaskMessage> ret, List<Object> out) {
         if (!ret.isEmpty()) {
             out.add(ret);
         }
@@ -12,6 +12,8 @@
 
 package org.apache.storm.messaging.netty;
 
+import java.util.List;
+import org.apache.storm.messaging.TaskMessage;
 import org.apache.storm.shade.io.netty.channel.ChannelHandlerContext;
 import org.apache.storm.shade.io.netty.channel.ChannelInboundHandlerAdapter;
 import org.slf4j.Logger;
@@ -48,6 +50,7 @@ public class SaslStormServerAuthorizeHandler extends ChannelInboundHandlerAdapte
                      + "this action since there's no saslNettyServer to "
                      + "authenticate the client: "
                      + "refusing to perform requested action: " + msg);
+            release(msg);
             return;
         }
 
@@ -57,6 +60,7 @@ public class SaslStormServerAuthorizeHandler extends ChannelInboundHandlerAdapte
                      + "refusing to perform requested action: " + msg);
             // Return now *WITHOUT* sending upstream here, since client
             // not authorized.
+            release(msg);
             return;
         }
 
@@ -69,4 +73,17 @@ public class SaslStormServerAuthorizeHandler extends ChannelInboundHandlerAdapte
         // pipeline component.
         ctx.fireChannelRead(msg);
     }
+
+    /**
+     * Release the payload buffers of refused task messages.
+     */
+    private static void release(Object msg) {
+        if (msg instanceof List) {
+            for (Object o : (List<?>) msg) {
+                if (o instanceof TaskMessage) {
+                    ((TaskMessage) o).release();
+                }
+            }
+        }
+    }
 }
@@ -43,6 +43,7 @@ import org.apache.storm.shade.io.netty.channel.group.DefaultChannelGroup;
 import org.apache.storm.shade.io.netty.channel.nio.NioEventLoopGroup;
 import org.apache.storm.shade.io.netty.channel.socket.nio.NioServerSocketChannel;
 import org.apache.storm.shade.io.netty.util.concurrent.GlobalEventExecutor;
+import org.apache.storm.utils.JCQueue;
 import org.apache.storm.utils.ObjectReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -64,6 +65,8 @@ class Server extends ConnectionWithStatus implements IStatefulObject, ISaslServe
     private final KryoValuesSerializer ser;
     private final IConnectionCallback cb;
     private final Supplier<Object> newConnectionResponse;
+    // null unless credits are granted, see Config.TOPOLOGY_BACKPRESSURE_CREDITS
+    private final CreditGranter creditGranter;
     private volatile boolean closing = false;
     private final boolean isNettyAuthRequired;
 
@@ -76,12 +79,23 @@ class Server extends ConnectionWithStatus implements IStatefulObject, ISaslServe
      *                              is required, the message will be sent after authentication is complete.
      */
     Server(Map<String, Object> topoConf, int port, IConnectionCallback cb, Supplier<Object> newConnectionResponse) {
+        this(topoConf, port, cb, newConnectionResponse, null);
+    }
+
+    /**
+     * Starts Netty at the given port, granting credits to the clients that ask for them.
+     * @param creditedQueues The receive queues of the tasks to grant credits for, by task id. Can be null to grant no credits.
+     */
+    Server(Map<String, Object> topoConf, int port, IConnectionCallback cb, Supplier<Object> newConnectionResponse,
+           Map<Integer, JCQueue> creditedQueues) {
         this.topoConf = topoConf;
         this.isNettyAuthRequired = (Boolean) topoConf.get(Config.STORM_MESSAGING_NETTY_AUTHENTICATION);
         this.port = port;
         ser = new KryoValuesSerializer(topoConf);
         this.cb = cb;
         this.newConnectionResponse = newConnectionResponse;
+        this.creditGranter = creditedQueues == null ? null
+            : new CreditGranter(creditedQueues, ObjectReader.getInt(topoConf.get(Config.TOPOLOGY_BACKPRESSURE_CREDIT_REFRESH_MILLIS), 1));
 
         // Configure the server.
         int bufferSize = ObjectReader.getInt(topoConf.get(Config.STORM_MESSAGING_NETTY_BUFFER_SIZE));
@@ -142,7 +156,13 @@ class Server extends ConnectionWithStatus implements IStatefulObject, ISaslServe
      * enqueue a received message.
      */
     protected void enqueue(List<TaskMessage> msgs, String from) throws InterruptedException {
-        if (null == msgs || msgs.isEmpty() || closing) {
+        if (null == msgs || msgs.isEmpty()) {
+            return;
+        }
+        if (closing) {
+            for (TaskMessage msg : msgs) {
+                msg.release();
+            }
             return;
         }
         addReceiveCount(from, msgs.size());
@@ -238,6 +258,10 @@ class Server extends ConnectionWithStatus implements IStatefulObject, ISaslServe
             }
         }
         ret.put("enqueued", enqueued);
+        if (creditGranter != null) {
+            ret.put("creditsGranted", creditGranter.getGranted());
+            ret.put("creditedClients", creditGranter.getClients());
+        }
 
         // Report messageSizes metric, if enabled (non-null).
         if (cb instanceof IMetric) {
@@ -264,6 +288,15 @@ class Server extends ConnectionWithStatus implements IStatefulObject, ISaslServe
 
     @Override
     public void received(Object message, String remote, Channel channel) throws InterruptedException {
+        if (message instanceof BackPressureStatus) {
+            // a client asking for credits, clients only send this to servers that offered them
+            if (creditGranter != null) {
+                creditGranter.addChannel(channel);
+            } else {
+                LOG.debug("Not granting credits to {}, {} is off", remote, Config.TOPOLOGY_BACKPRESSURE_CREDITS);
+            }
+            return;
+        }
         List<TaskMessage> msgs;
 
         try {
@@ -274,7 +307,13 @@ class Server extends ConnectionWithStatus implements IStatefulObject, ISaslServe
             return;
         }
 
-        enqueue(msgs, remote);
+        if (creditGranter != null) {
+            creditGranter.received(channel, msgs);
+            enqueue(msgs, remote);
+            creditGranter.refill(channel);
+        } else {
+            enqueue(msgs, remote);
+        }
     }
 
     @Override
@@ -295,7 +334,12 @@ class Server extends ConnectionWithStatus implements IStatefulObject, ISaslServe
             LOG.debug("The channel {} is active", c);
         }
         if (newConnectionResponse != null) {
-            c.writeAndFlush(newConnectionResponse.get(), c.voidPromise());
+            Object response = newConnectionResponse.get();
+            if (creditGranter != null && response instanceof BackPressureStatus) {
+                // only clients told so ask for credits, servers of older versions would not know what to make of the request
+                ((BackPressureStatus) response).offerCredits();
+            }
+            c.writeAndFlush(response, c.voidPromise());
         }
     }
 
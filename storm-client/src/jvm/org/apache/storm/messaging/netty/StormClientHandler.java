@@ -29,6 +29,7 @@ public class StormClientHandler extends ChannelInboundHandlerAdapter {
     private final Client client;
     private final KryoValuesDeserializer des;
     private final AtomicBoolean[] remoteBpStatus;
+    private boolean creditsRequested = false;
 
     StormClientHandler(Client client, AtomicBoolean[] remoteBpStatus, Map<String, Object> conf) {
         this.client = client;
@@ -69,6 +70,13 @@ public class StormClientHandler extends ChannelInboundHandlerAdapter {
                 }
             }
             LOG.debug("Received BackPressure status update : {}", status);
+            if (client.wantsCredits() && !creditsRequested && status.offersCredits()) {
+                // the status the server sends once the connection is authenticated tells whether it grants credits
+                creditsRequested = true;
+                ctx.channel().writeAndFlush(new BackPressureStatus(), ctx.channel().voidPromise());
+            }
+        } else if (message instanceof CreditGrant) {
+            client.grantCredits((CreditGrant) message);
         } else if (message instanceof List) {
             //This should be the load metrics. 
             //There will usually only be one message, but if there are multiple we only process the latest one.
@@ -76,6 +84,9 @@ public class StormClientHandler extends ChannelInboundHandlerAdapter {
             if (list.size() < 1) {
                 throw new RuntimeException("Didn't see enough load metrics (" + client.getDstAddress() + ") " + list);
             }
+            for (int i = 0; i < list.size() - 1; i++) {
+                list.get(i).release();
+            }
             TaskMessage tm = list.get(list.size() - 1);
             if (tm.task() != Server.LOAD_METRICS_TASK_ID) {
                 throw new RuntimeException("Metrics messages are sent to the system task (" + client.getDstAddress() + ") " + tm);
@@ -94,6 +105,12 @@ public class StormClientHandler extends ChannelInboundHandlerAdapter {
         }
     }
 
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        client.resetCredits();
+        super.channelInactive(ctx);
+    }
+
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
         if (!(cause instanceof ConnectException)) {
@@ -16,6 +16,7 @@ import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.storm.Config;
 import org.apache.storm.serialization.KryoValuesDeserializer;
+import org.apache.storm.serialization.KryoValuesSerializer;
 import org.apache.storm.shade.io.netty.channel.Channel;
 import org.apache.storm.shade.io.netty.channel.ChannelInitializer;
 import org.apache.storm.shade.io.netty.channel.ChannelPipeline;
@@ -37,9 +38,14 @@ class StormClientPipelineFactory extends ChannelInitializer<Channel> {
         ChannelPipeline pipeline = ch.pipeline();
 
         // Decoder
-        pipeline.addLast("decoder", new MessageDecoder(new KryoValuesDeserializer(conf)));
+        pipeline.addLast("decoder", new MessageDecoder(new KryoValuesDeserializer(conf),
+                                                       CompressedMessageBatch.maxUncompressedLength(conf)));
         // Encoder
         pipeline.addLast("encoder", NettySerializableMessageEncoder.INSTANCE);
+        if (client.wantsCredits()) {
+            // asks the server for credits
+            pipeline.addLast("backpressure-encoder", new BackPressureStatusEncoder(new KryoValuesSerializer(conf)));
+        }
 
         boolean isNettyAuth = (Boolean) conf
             .get(Config.STORM_MESSAGING_NETTY_AUTHENTICATION);
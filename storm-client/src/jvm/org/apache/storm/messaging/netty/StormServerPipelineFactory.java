@@ -37,7 +37,8 @@ class StormServerPipelineFactory extends ChannelInitializer<Channel> {
         ChannelPipeline pipeline = ch.pipeline();
 
         // Decoder
-        pipeline.addLast("decoder", new MessageDecoder(new KryoValuesDeserializer(topoConf)));
+        pipeline.addLast("decoder", new MessageDecoder(new KryoValuesDeserializer(topoConf),
+                                                       CompressedMessageBatch.maxUncompressedLength(topoConf)));
         // Encoders
         pipeline.addLast("netty-serializable-encoder", NettySerializableMessageEncoder.INSTANCE);
         pipeline.addLast("backpressure-encoder", new BackPressureStatusEncoder(new KryoValuesSerializer(topoConf)));
@@ -0,0 +1,142 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.metric.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of latencies in microseconds that can be recorded into from any number of threads without locking.
+ *
+ * <p>Latencies below 16 us each get a bucket of their own. Above that every power of two is split into 8 buckets of equal width, so a
+ * percentile is off by at most about 6% of its value, the same way as with an HDR histogram of 1 significant digit. This keeps the
+ * percentiles of tuples that take well under a millisecond apart. Latencies of more than about 24 days all land in the last bucket.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_BUCKETS = 2 * SUB_BUCKETS;
+    private static final long MAX_LATENCY = TimeUnit.MILLISECONDS.toMicros(Integer.MAX_VALUE);
+    /**
+     * The number of buckets of every histogram.
+     */
+    public static final int BUCKETS = bucketOf(MAX_LATENCY) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Record a latency.
+     *
+     * @param latencyNanos the latency in nanoseconds
+     * @param count        how many times it was seen, which is the sampling rate when only a sample of the latencies is recorded
+     */
+    public void record(long latencyNanos, long count) {
+        counts.addAndGet(bucketOf(TimeUnit.NANOSECONDS.toMicros(latencyNanos)), count);
+    }
+
+    /**
+     * Add the counts of this histogram to the counts of another one.
+     *
+     * @param target the counts to add to, or null
+     * @return the counts added to, which are newly allocated if target was null and this histogram is not empty
+     */
+    public long[] addTo(long[] target) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = counts.get(i);
+            if (count != 0) {
+                if (target == null) {
+                    target = new long[BUCKETS];
+                }
+                target[i] += count;
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Add the counts of one histogram to the counts of another one.
+     *
+     * @param target the counts to add to, or null
+     * @param source the counts to add, or null
+     * @return the counts added to, which are newly allocated if target was null and source was not
+     */
+    public static long[] add(long[] target, long[] source) {
+        if (source == null) {
+            return target;
+        }
+        if (target == null) {
+            return source.clone();
+        }
+        for (int i = 0; i < BUCKETS; i++) {
+            target[i] += source[i];
+        }
+        return target;
+    }
+
+    /**
+     * Get latency percentiles from the counts of a histogram.
+     *
+     * @param counts    the counts of the histogram, or null if it is empty
+     * @param quantiles the percentiles to get, as fractions between 0 and 1
+     * @return the latency in milliseconds at each of the percentiles, 0 for all of them if the histogram is empty
+     */
+    public static double[] percentiles(long[] counts, double... quantiles) {
+        double[] ret = new double[quantiles.length];
+        if (counts == null) {
+            return ret;
+        }
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return ret;
+        }
+        for (int q = 0; q < quantiles.length; q++) {
+            long rank = Math.max(1, (long) Math.ceil(quantiles[q] * total));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    ret[q] = valueOf(i) / 1000;
+                    break;
+                }
+            }
+        }
+        return ret;
+    }
+
+    static int bucketOf(long latencyMicros) {
+        long value = Math.min(Math.max(latencyMicros, 0), MAX_LATENCY);
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_BUCKETS + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * The middle of the range of latencies counted in a bucket, in microseconds.
+     */
+    static double valueOf(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+        int subBucket = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        long lowest = (SUB_BUCKETS + subBucket) * width;
+        return lowest + (width - 1) / 2.0;
+    }
+}
@@ -0,0 +1,167 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.metric.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TimerTask;
+
+/**
+ * Keeps track of approximate latency percentiles for the last 10 mins, 3 hours, 1 day, and all time.
+ *
+ * <p>Latencies are recorded into a {@link LatencyHistogram} without locking. Every 200 seconds it is swapped for an empty one, and its
+ * counts are added to the buckets of the time periods once the swap is sure to be seen by all the threads recording. Each time period
+ * is divided into 4 buckets, which are only allocated once something was recorded in them, so a stat that is not used costs little.
+ */
+public class LatencyHistogramStat {
+    private static final String[] WINDOWS = { "600", "10800", "86400" };
+    private static final long[] WINDOW_MILLIS = { 600 * 1000L, 10800 * 1000L, 86400 * 1000L };
+    private static final int NUM_BUCKETS = 4;
+
+    private final TimerTask task;
+    // [window] -> the time one bucket covers
+    private final long[] bucketSize = new long[WINDOWS.length];
+    // [window][bucket] -> time covered by the bucket and its counts, or null if nothing was recorded in it
+    private final long[][] bucketTime = new long[WINDOWS.length][NUM_BUCKETS];
+    private final long[][][] buckets = new long[WINDOWS.length][NUM_BUCKETS][];
+    private volatile LatencyHistogram current = new LatencyHistogram();
+    // All internal state except for the current histogram is protected using the Object Lock
+    private LatencyHistogram previous;
+    private long previousTime;
+    private long bucketStart;
+    private long[] allTime;
+
+    public LatencyHistogramStat() {
+        this(-1);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param startTime if positive the simulated time to start the from.
+     */
+    LatencyHistogramStat(long startTime) {
+        for (int w = 0; w < WINDOWS.length; w++) {
+            // We want to capture the full time range, so the target size is as if we had one bucket less, then we do
+            bucketSize[w] = WINDOW_MILLIS[w] / (NUM_BUCKETS - 1);
+        }
+        bucketStart = startTime >= 0 ? startTime : System.currentTimeMillis();
+        if (startTime < 0) {
+            task = new Fresher();
+            MetricStatTimer.timer.scheduleAtFixedRate(task, bucketSize[0], bucketSize[0]);
+        } else {
+            task = null;
+        }
+    }
+
+    /**
+     * Record a specific latency.
+     *
+     * @param latencyNanos what we are recording, in nanoseconds
+     * @param count        how many times it was seen, the sampling rate if only a sample of the latencies is recorded
+     */
+    public void record(long latencyNanos, long count) {
+        current.record(latencyNanos, count);
+    }
+
+    synchronized void rotateSched(long now) {
+        LatencyHistogram retired = current;
+        current = new LatencyHistogram();
+        // a thread may still record into the histogram retired the previous time, if it picked it up right before the swap
+        if (previous != null) {
+            long[] counts = previous.addTo(null);
+            for (int w = 0; w < WINDOWS.length; w++) {
+                rotate(counts, previousTime, bucketSize[w], bucketTime[w], buckets[w]);
+            }
+            allTime = LatencyHistogram.add(allTime, counts);
+        }
+        previous = retired;
+        previousTime = now - bucketStart;
+        bucketStart = now;
+    }
+
+    private static void rotate(long[] counts, long timeSpent, long targetSize, long[] times, long[][] histograms) {
+        times[0] += timeSpent;
+        histograms[0] = LatencyHistogram.add(histograms[0], counts);
+        if (times[0] >= targetSize) {
+            for (int i = histograms.length - 1; i > 0; i--) {
+                times[i] = times[i - 1];
+                histograms[i] = histograms[i - 1];
+            }
+            times[0] = 0;
+            histograms[0] = null;
+        }
+    }
+
+    /**
+     * Get latency percentiles.
+     *
+     * @param quantiles the percentiles to get, as fractions between 0 and 1
+     * @return a map of time window to the latencies in milliseconds at the percentiles. Keys are "600" for last 10 mins "10800" for the last 3 hours
+     *     "86400" for the last day ":all-time" for all time
+     */
+    public Map<String, double[]> getTimePercentiles(double... quantiles) {
+        return getTimePercentiles(System.currentTimeMillis(), quantiles);
+    }
+
+    synchronized Map<String, double[]> getTimePercentiles(long now, double... quantiles) {
+        Map<String, double[]> ret = new HashMap<>();
+        long[] recent = recentCounts();
+        for (int w = 0; w < WINDOWS.length; w++) {
+            ret.put(WINDOWS[w], LatencyHistogram.percentiles(windowCounts(w, LatencyHistogram.add(null, recent), now), quantiles));
+        }
+        ret.put(":all-time", LatencyHistogram.percentiles(LatencyHistogram.add(recent, allTime), quantiles));
+        return ret;
+    }
+
+    /**
+     * Get a latency percentile over the last 10 mins, in milliseconds.
+     *
+     * @param quantile the percentile to get, as a fraction between 0 and 1
+     */
+    public synchronized double getTenMinPercentile(double quantile) {
+        return LatencyHistogram.percentiles(windowCounts(0, recentCounts(), System.currentTimeMillis()), quantile)[0];
+    }
+
+    private long[] windowCounts(int window, long[] recent, long now) {
+        long[] counts = recent;
+        long timeNeeded = WINDOW_MILLIS[window] - (now - bucketStart + previousTime);
+        for (int i = 0; i < NUM_BUCKETS && timeNeeded > 0; i++) {
+            //Don't pro-rate anything, it is all approximate so an extra bucket is not that bad.
+            counts = LatencyHistogram.add(counts, buckets[window][i]);
+            timeNeeded -= bucketTime[window][i];
+        }
+        return counts;
+    }
+
+    private long[] recentCounts() {
+        long[] counts = current.addTo(null);
+        if (previous != null) {
+            counts = previous.addTo(counts);
+        }
+        return counts;
+    }
+
+    public void close() {
+        if (task != null) {
+            task.cancel();
+        }
+    }
+
+    private class Fresher extends TimerTask {
+        @Override
+        public void run() {
+            rotateSched(System.currentTimeMillis());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.metric.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of approximate latency percentiles for the last 10 mins, 3 hours, 1 day, and all time for the same keys.
+ */
+public class MultiLatencyHistogramStat<T> {
+    private ConcurrentHashMap<T, LatencyHistogramStat> lat = new ConcurrentHashMap<>();
+
+    LatencyHistogramStat get(T key) {
+        LatencyHistogramStat c = lat.get(key);
+        if (c == null) {
+            synchronized (this) {
+                c = lat.get(key);
+                if (c == null) {
+                    c = new LatencyHistogramStat();
+                    lat.put(key, c);
+                }
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Record a latency value.
+     *
+     * @param latencyNanos the measurement to record, in nanoseconds
+     * @param count        how many times it was seen, the sampling rate if only a sample of the latencies is recorded
+     */
+    public void record(T key, long latencyNanos, long count) {
+        get(key).record(latencyNanos, count);
+    }
+
+    /**
+     * Get latency percentiles.
+     *
+     * @param quantiles the percentiles to get, as fractions between 0 and 1
+     * @return for each of the percentiles, a map of time window to key to latency in milliseconds
+     */
+    public List<Map<String, Map<T, Double>>> getTimePercentiles(double... quantiles) {
+        List<Map<String, Map<T, Double>>> ret = new ArrayList<>(quantiles.length);
+        for (int q = 0; q < quantiles.length; q++) {
+            ret.add(new HashMap<>());
+        }
+        for (Map.Entry<T, LatencyHistogramStat> entry : lat.entrySet()) {
+            T key = entry.getKey();
+            Map<String, double[]> toFlip = entry.getValue().getTimePercentiles(quantiles);
+            for (Map.Entry<String, double[]> subEntry : toFlip.entrySet()) {
+                String time = subEntry.getKey();
+                for (int q = 0; q < quantiles.length; q++) {
+                    ret.get(q).computeIfAbsent(time, t -> new HashMap<>()).put(key, subEntry.getValue()[q]);
+                }
+            }
+        }
+        return ret;
+    }
+
+    public void close() {
+        for (LatencyHistogramStat l : lat.values()) {
+            l.close();
+        }
+    }
+}
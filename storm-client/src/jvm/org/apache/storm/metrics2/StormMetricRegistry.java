@@ -180,6 +180,14 @@ public class StormMetricRegistry implements MetricRegistryProvider {
         return histogram;
     }
 
+    public Histogram histogram(String name, String componentId, Integer taskId) {
+        MetricNames metricNames = workerMetricName(name, topologyId, componentId, taskId, port);
+        Histogram histogram = registerHistogram(metricNames, new Histogram(new ExponentiallyDecayingReservoir()),
+                taskId, componentId, null);
+        saveMetricTaskIdMapping(taskId, metricNames, histogram, taskIdHistograms);
+        return histogram;
+    }
+
     public void metricSet(String prefix, MetricSet set, TopologyContext context) {
         // Instead of registering the metrics as a set, register them individually.
         // This allows fetching the individual metrics by type (getTaskGauges())
@@ -16,8 +16,10 @@ import com.codahale.metrics.Counter;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import org.apache.storm.metric.internal.LatencyHistogramStat;
 import org.apache.storm.task.WorkerTopologyContext;
 import org.apache.storm.utils.ConfigUtils;
+import org.apache.storm.utils.Time;
 import org.apache.storm.utils.Utils;
 
 public class TaskMetrics {
@@ -30,9 +32,12 @@ public class TaskMetrics {
     private static final String METRIC_NAME_COMPLETE_LATENCY = "__complete-latency";
     private static final String METRIC_NAME_EXECUTE_LATENCY = "__execute-latency";
     private static final String METRIC_NAME_CAPACITY = "__capacity";
+    private static final double[] PERCENTILES = { 0.99, 0.999 };
+    private static final String[] PERCENTILE_NAMES = { "p99", "p999" };
 
     private final ConcurrentMap<String, RateCounter> rateCounters = new ConcurrentHashMap<>();
     private final ConcurrentMap<String, RollingAverageGauge> gauges = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LatencyHistogramStat> histograms = new ConcurrentHashMap<>();
 
     private final String topologyId;
     private final String componentId;
@@ -67,9 +72,10 @@ public class TaskMetrics {
         metricName = METRIC_NAME_COMPLETE_LATENCY + "-" + streamId;
         RollingAverageGauge gauge = this.getRollingAverageGauge(metricName, streamId);
         gauge.addValue(latencyMs);
+        this.getLatencyHistogram(METRIC_NAME_COMPLETE_LATENCY, streamId, streamId).record(Time.millisToNanos(latencyMs), this.samplingRate);
     }
 
-    public void boltAckedTuple(String sourceComponentId, String sourceStreamId, long latencyMs) {
+    public void boltAckedTuple(String sourceComponentId, String sourceStreamId, long latencyNanos) {
         String key = sourceComponentId + ":" + sourceStreamId;
         String metricName = METRIC_NAME_ACKED + "-" + key;
         RateCounter rc = this.getRateCounter(metricName, sourceStreamId);
@@ -77,7 +83,8 @@ public class TaskMetrics {
 
         metricName = METRIC_NAME_PROCESS_LATENCY + "-" + key;
         RollingAverageGauge gauge = this.getRollingAverageGauge(metricName, sourceStreamId);
-        gauge.addValue(latencyMs);
+        gauge.addValue(Time.nanosToMillis(latencyNanos));
+        this.getLatencyHistogram(METRIC_NAME_PROCESS_LATENCY, key, sourceStreamId).record(latencyNanos, this.samplingRate);
     }
 
     public void spoutFailedTuple(String streamId) {
@@ -108,7 +115,7 @@ public class TaskMetrics {
         rc.inc(amount * this.samplingRate);
     }
 
-    public void boltExecuteTuple(String sourceComponentId, String sourceStreamId, long latencyMs) {
+    public void boltExecuteTuple(String sourceComponentId, String sourceStreamId, long latencyNanos) {
         String key = sourceComponentId + ":" + sourceStreamId;
         String metricName = METRIC_NAME_EXECUTED + "-" + key;
         RateCounter rc = this.getRateCounter(metricName, sourceStreamId);
@@ -116,7 +123,8 @@ public class TaskMetrics {
 
         metricName = METRIC_NAME_EXECUTE_LATENCY + "-" + key;
         RollingAverageGauge gauge = this.getRollingAverageGauge(metricName, sourceStreamId);
-        gauge.addValue(latencyMs);
+        gauge.addValue(Time.nanosToMillis(latencyNanos));
+        this.getLatencyHistogram(METRIC_NAME_EXECUTE_LATENCY, key, sourceStreamId).record(latencyNanos, this.samplingRate);
     }
 
     private RateCounter getRateCounter(String metricName, String streamId) {
@@ -149,4 +157,29 @@ public class TaskMetrics {
         }
         return gauge;
     }
+
+    /**
+     * The latencies behind the percentile gauges of a metric, which report the 99th and the 99.9th percentile over the last 10 minutes
+     * as the metric name followed by -p99 or -p999.
+     */
+    private LatencyHistogramStat getLatencyHistogram(String metricName, String key, String streamId) {
+        String histogramName = metricName + "-" + key;
+        LatencyHistogramStat histogram = this.histograms.get(histogramName);
+        if (histogram == null) {
+            synchronized (this) {
+                histogram = this.histograms.get(histogramName);
+                if (histogram == null) {
+                    LatencyHistogramStat stat = new LatencyHistogramStat();
+                    for (int i = 0; i < PERCENTILES.length; i++) {
+                        double quantile = PERCENTILES[i];
+                        metricRegistry.gauge(metricName + "-" + PERCENTILE_NAMES[i] + "-" + key, () -> stat.getTenMinPercentile(quantile),
+                                this.topologyId, this.componentId, streamId, this.taskId, this.workerPort);
+                    }
+                    this.histograms.put(histogramName, stat);
+                    histogram = stat;
+                }
+            }
+        }
+        return histogram;
+    }
 }
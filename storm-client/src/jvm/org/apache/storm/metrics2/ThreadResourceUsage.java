@@ -0,0 +1,211 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.metrics2;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The CPU time and the bytes allocated on the heap by a group of threads, as accounted by the JVM. The group is made of the threads
+ * added to it, the threads whose name starts with one of its prefixes, and the slices of time some other thread spends working for it,
+ * like an executor taking turns on a shared thread.
+ *
+ * <p>The totals only ever grow: what a thread used up to when it was last measured is kept after it dies. Measuring the threads is left
+ * to whoever reads the totals, so it happens at the rate metrics and stats are reported, except for slices which are measured by the
+ * thread running them. All the totals are 0 if the JVM does not support measuring the CPU time of threads, or has it disabled.
+ */
+public class ThreadResourceUsage {
+    private static final Logger LOG = LoggerFactory.getLogger(ThreadResourceUsage.class);
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = threadMxBean();
+
+    private final String[] namePrefixes;
+    private final List<Thread> threads = new ArrayList<>();
+    // the live threads with one of the prefixes, looked up again only when the JVM started new threads since
+    private final List<Long> prefixedThreadIds = new ArrayList<>();
+    private long startedThreads = -1;
+    private final Map<Long, long[]> lastUsage = new HashMap<>(); // thread id -> {cpu nanos, allocated bytes} when last measured
+    private long retiredCpuNanos = 0;
+    private long retiredAllocatedBytes = 0;
+    private long lastCpuNanos = 0;
+    private long lastAllocatedBytes = 0;
+    // only written by the thread running the slices
+    private volatile long sliceCpuNanos = 0;
+    private volatile long sliceAllocatedBytes = 0;
+    private long sliceStartCpuNanos;
+    private long sliceStartAllocatedBytes;
+
+    /**
+     * Track the threads with a name starting with any of the prefixes, as well as the threads added later.
+     */
+    public ThreadResourceUsage(String... namePrefixes) {
+        this.namePrefixes = namePrefixes;
+    }
+
+    private static com.sun.management.ThreadMXBean threadMxBean() {
+        try {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean && bean.isThreadCpuTimeSupported()) {
+                com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+                if (bean.isThreadCpuTimeEnabled() && sunBean.isThreadAllocatedMemorySupported()) {
+                    sunBean.setThreadAllocatedMemoryEnabled(true);
+                    return sunBean;
+                }
+            }
+        } catch (LinkageError | RuntimeException e) {
+            LOG.debug("Could not get the thread MX bean", e);
+        }
+        LOG.info("Measuring the CPU time and allocations of threads is not supported, they are reported as 0");
+        return null;
+    }
+
+    /**
+     * Whether the JVM supports measuring the CPU time and allocations of threads.
+     */
+    public static boolean isSupported() {
+        return THREAD_MX_BEAN != null;
+    }
+
+    public synchronized void addThread(Thread thread) {
+        if (THREAD_MX_BEAN != null) {
+            threads.add(thread);
+        }
+    }
+
+    /**
+     * Start a slice of the work of the current thread that is accounted to this group. Slices of the same group must all be run by one
+     * thread, one after the other.
+     */
+    public void startSlice() {
+        if (THREAD_MX_BEAN != null) {
+            sliceStartCpuNanos = THREAD_MX_BEAN.getCurrentThreadCpuTime();
+            sliceStartAllocatedBytes = THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+    }
+
+    /**
+     * End the slice started last on the current thread.
+     */
+    public void endSlice() {
+        if (THREAD_MX_BEAN != null) {
+            long cpuNanos = THREAD_MX_BEAN.getCurrentThreadCpuTime() - sliceStartCpuNanos;
+            long allocatedBytes = THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId()) - sliceStartAllocatedBytes;
+            if (cpuNanos > 0) {
+                sliceCpuNanos += cpuNanos;
+            }
+            if (allocatedBytes > 0) {
+                sliceAllocatedBytes += allocatedBytes;
+            }
+        }
+    }
+
+    public long getCpuTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(getCpuTimeNanos());
+    }
+
+    public synchronized long getCpuTimeNanos() {
+        measure();
+        return lastCpuNanos + sliceCpuNanos;
+    }
+
+    public synchronized long getAllocatedBytes() {
+        measure();
+        return lastAllocatedBytes + sliceAllocatedBytes;
+    }
+
+    private void measure() {
+        if (THREAD_MX_BEAN == null) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>();
+        for (Iterator<Thread> it = threads.iterator(); it.hasNext(); ) {
+            Thread thread = it.next();
+            if (thread.isAlive()) {
+                ids.add(thread.getId());
+            } else {
+                it.remove();
+            }
+        }
+        if (namePrefixes.length > 0) {
+            findPrefixedThreads();
+            ids.addAll(prefixedThreadIds);
+        }
+        long[] idArray = new long[ids.size()];
+        for (int i = 0; i < idArray.length; i++) {
+            idArray[i] = ids.get(i);
+        }
+        long[] cpuNanos = THREAD_MX_BEAN.getThreadCpuTime(idArray);
+        long[] allocatedBytes = THREAD_MX_BEAN.getThreadAllocatedBytes(idArray);
+        Map<Long, long[]> live = new HashMap<>();
+        for (int i = 0; i < idArray.length; i++) {
+            // -1 if the thread died since it was listed
+            if (cpuNanos[i] >= 0 && allocatedBytes[i] >= 0) {
+                live.put(idArray[i], new long[]{ cpuNanos[i], allocatedBytes[i] });
+            }
+        }
+        prefixedThreadIds.retainAll(live.keySet());
+        for (Map.Entry<Long, long[]> entry : lastUsage.entrySet()) {
+            if (!live.containsKey(entry.getKey())) {
+                retiredCpuNanos += entry.getValue()[0];
+                retiredAllocatedBytes += entry.getValue()[1];
+            }
+        }
+        lastUsage.clear();
+        lastUsage.putAll(live);
+        long totalCpuNanos = retiredCpuNanos;
+        long totalAllocatedBytes = retiredAllocatedBytes;
+        for (long[] usage : live.values()) {
+            totalCpuNanos += usage[0];
+            totalAllocatedBytes += usage[1];
+        }
+        lastCpuNanos = Math.max(lastCpuNanos, totalCpuNanos);
+        lastAllocatedBytes = Math.max(lastAllocatedBytes, totalAllocatedBytes);
+    }
+
+    /**
+     * Look up the threads with one of the prefixes, if threads were started since the last look up. Getting the names of all threads is
+     * costly in a worker with many of them, and the threads with the prefixes are mostly started early on.
+     */
+    private void findPrefixedThreads() {
+        long started = THREAD_MX_BEAN.getTotalStartedThreadCount();
+        if (started == startedThreads) {
+            return;
+        }
+        startedThreads = started;
+        prefixedThreadIds.clear();
+        for (ThreadInfo info : THREAD_MX_BEAN.getThreadInfo(THREAD_MX_BEAN.getAllThreadIds(), 0)) {
+            if (info != null && hasPrefix(info.getThreadName())) {
+                prefixedThreadIds.add(info.getThreadId());
+            }
+        }
+    }
+
+    private boolean hasPrefix(String name) {
+        if (name == null) {
+            return false;
+        }
+        for (String prefix : namePrefixes) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
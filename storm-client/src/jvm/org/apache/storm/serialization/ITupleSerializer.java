@@ -12,10 +12,22 @@
 
 package org.apache.storm.serialization;
 
+import org.apache.storm.shade.io.netty.buffer.ByteBuf;
+import org.apache.storm.shade.io.netty.buffer.ByteBufAllocator;
 import org.apache.storm.tuple.Tuple;
 
 
 public interface ITupleSerializer {
     byte[] serialize(Tuple tuple);
     //    long crc32(Tuple tuple);
+
+    /**
+     * Serialize the tuple into a buffer obtained from the given allocator. The caller owns the returned buffer and must release it.
+     */
+    default ByteBuf serialize(Tuple tuple, ByteBufAllocator allocator) {
+        byte[] bytes = serialize(tuple);
+        ByteBuf buf = allocator.buffer(bytes.length);
+        buf.writeBytes(bytes);
+        return buf;
+    }
 }
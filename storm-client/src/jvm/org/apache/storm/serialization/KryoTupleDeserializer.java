@@ -16,18 +16,27 @@ import com.esotericsoftware.kryo.io.Input;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import org.apache.storm.Config;
+import org.apache.storm.shade.io.netty.buffer.ByteBuf;
 import org.apache.storm.task.GeneralTopologyContext;
 import org.apache.storm.tuple.MessageId;
 import org.apache.storm.tuple.TupleImpl;
+import org.apache.storm.utils.ObjectReader;
 
 public class KryoTupleDeserializer implements ITupleDeserializer {
+    // larger payloads are copied into an array of their own rather than growing the reused one for good
+    private static final int MAX_REUSED_BYTES = 1024 * 1024;
+
     private GeneralTopologyContext context;
     private KryoValuesDeserializer kryo;
     private SerializationFactory.IdDictionary ids;
     private Input kryoInput;
+    private byte[] reusedBytes = new byte[0];
+    private boolean compact;
 
     public KryoTupleDeserializer(final Map<String, Object> conf, final GeneralTopologyContext context) {
         kryo = new KryoValuesDeserializer(conf);
+        compact = ObjectReader.getBoolean(conf.get(Config.TOPOLOGY_TUPLE_COMPACT_ENCODING), false);
         this.context = context;
         ids = new SerializationFactory.IdDictionary(context.getRawTopology());
         kryoInput = new Input(1);
@@ -35,14 +44,38 @@ public class KryoTupleDeserializer implements ITupleDeserializer {
 
     @Override
     public TupleImpl deserialize(byte[] ser) {
+        return deserialize(ser, 0, ser.length);
+    }
+
+    /**
+     * Deserialize a tuple from the readable bytes of a buffer without allocating an array for them. Heap buffers are read in place,
+     * direct buffers are copied into an array that is reused across calls. The buffer is neither modified nor released.
+     */
+    public TupleImpl deserialize(ByteBuf ser) {
+        int length = ser.readableBytes();
+        if (ser.hasArray()) {
+            return deserialize(ser.array(), ser.arrayOffset() + ser.readerIndex(), length);
+        }
+        byte[] bytes = reusedBytes;
+        if (bytes.length < length) {
+            bytes = new byte[length];
+            if (length <= MAX_REUSED_BYTES) {
+                reusedBytes = bytes;
+            }
+        }
+        ser.getBytes(ser.readerIndex(), bytes, 0, length);
+        return deserialize(bytes, 0, length);
+    }
+
+    private TupleImpl deserialize(byte[] ser, int offset, int length) {
         try {
-            kryoInput.setBuffer(ser);
+            kryoInput.setBuffer(ser, offset, length);
             int taskId = kryoInput.readInt(true);
             int streamId = kryoInput.readInt(true);
             String componentName = context.getComponentId(taskId);
             String streamName = ids.getStreamName(componentName, streamId);
             MessageId id = MessageId.deserialize(kryoInput);
-            List<Object> values = kryo.deserializeFrom(kryoInput);
+            List<Object> values = compact ? kryo.deserializeCompactFrom(kryoInput) : kryo.deserializeFrom(kryoInput);
             return new TupleImpl(context, values, componentName, taskId, streamName, id);
         } catch (IOException e) {
             throw new RuntimeException(e);
@@ -15,30 +15,56 @@ package org.apache.storm.serialization;
 import com.esotericsoftware.kryo.io.Output;
 import java.io.IOException;
 import java.util.Map;
+import org.apache.storm.Config;
+import org.apache.storm.shade.io.netty.buffer.ByteBuf;
+import org.apache.storm.shade.io.netty.buffer.ByteBufAllocator;
 import org.apache.storm.task.GeneralTopologyContext;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.utils.ObjectReader;
 
 public class KryoTupleSerializer implements ITupleSerializer {
     private KryoValuesSerializer kryo;
     private SerializationFactory.IdDictionary ids;
     private Output kryoOut;
+    private boolean compact;
 
     public KryoTupleSerializer(final Map<String, Object> conf, final GeneralTopologyContext context) {
         kryo = new KryoValuesSerializer(conf);
+        compact = ObjectReader.getBoolean(conf.get(Config.TOPOLOGY_TUPLE_COMPACT_ENCODING), false);
         kryoOut = new Output(2000, 2000000000);
         ids = new SerializationFactory.IdDictionary(context.getRawTopology());
     }
 
     @Override
     public byte[] serialize(Tuple tuple) {
-        try {
+        serializeIntoOutput(tuple);
+        return kryoOut.toBytes();
+    }
+
+    /**
+     * Serializes into the reused Kryo output and copies the result into a single buffer from the allocator, so no intermediate byte array
+     * is allocated per tuple.
+     */
+    @Override
+    public ByteBuf serialize(Tuple tuple, ByteBufAllocator allocator) {
+        serializeIntoOutput(tuple);
+        int length = kryoOut.position();
+        ByteBuf buf = allocator.ioBuffer(length, length);
+        buf.writeBytes(kryoOut.getBuffer(), 0, length);
+        return buf;
+    }
 
+    private void serializeIntoOutput(Tuple tuple) {
+        try {
             kryoOut.clear();
             kryoOut.writeInt(tuple.getSourceTask(), true);
             kryoOut.writeInt(ids.getStreamId(tuple.getSourceComponent(), tuple.getSourceStreamId()), true);
             tuple.getMessageId().serialize(kryoOut);
-            kryo.serializeInto(tuple.getValues(), kryoOut);
-            return kryoOut.toBytes();
+            if (compact) {
+                kryo.serializeCompactInto(tuple.getValues(), kryoOut);
+            } else {
+                kryo.serializeInto(tuple.getValues(), kryoOut);
+            }
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
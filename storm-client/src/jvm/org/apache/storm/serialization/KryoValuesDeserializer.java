@@ -12,8 +12,22 @@
 
 package org.apache.storm.serialization;
 
+import static org.apache.storm.serialization.KryoValuesSerializer.TYPE_BYTE;
+import static org.apache.storm.serialization.KryoValuesSerializer.TYPE_BYTES;
+import static org.apache.storm.serialization.KryoValuesSerializer.TYPE_DOUBLE;
+import static org.apache.storm.serialization.KryoValuesSerializer.TYPE_FALSE;
+import static org.apache.storm.serialization.KryoValuesSerializer.TYPE_FLOAT;
+import static org.apache.storm.serialization.KryoValuesSerializer.TYPE_INT;
+import static org.apache.storm.serialization.KryoValuesSerializer.TYPE_KRYO;
+import static org.apache.storm.serialization.KryoValuesSerializer.TYPE_LONG;
+import static org.apache.storm.serialization.KryoValuesSerializer.TYPE_NULL;
+import static org.apache.storm.serialization.KryoValuesSerializer.TYPE_SHORT;
+import static org.apache.storm.serialization.KryoValuesSerializer.TYPE_STRING;
+import static org.apache.storm.serialization.KryoValuesSerializer.TYPE_TRUE;
+
 import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.io.Input;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import org.apache.storm.utils.ListDelegate;
@@ -32,6 +46,53 @@ public class KryoValuesDeserializer {
         return delegate.getDelegate();
     }
 
+    /**
+     * Read values written by {@link KryoValuesSerializer#serializeCompactInto(List, com.esotericsoftware.kryo.io.Output)}.
+     */
+    public List<Object> deserializeCompactFrom(Input input) {
+        int size = input.readInt(true);
+        List<Object> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i += 2) {
+            int types = input.readByte();
+            values.add(readCompact(types & 0xf, input));
+            if (i + 1 < size) {
+                values.add(readCompact((types >>> 4) & 0xf, input));
+            }
+        }
+        return values;
+    }
+
+    private Object readCompact(int type, Input input) {
+        switch (type) {
+            case TYPE_NULL:
+                return null;
+            case TYPE_FALSE:
+                return Boolean.FALSE;
+            case TYPE_TRUE:
+                return Boolean.TRUE;
+            case TYPE_LONG:
+                return input.readLong(false);
+            case TYPE_STRING:
+                return input.readString();
+            case TYPE_INT:
+                return input.readInt(false);
+            case TYPE_DOUBLE:
+                return input.readDouble();
+            case TYPE_BYTES:
+                return input.readBytes(input.readInt(true));
+            case TYPE_FLOAT:
+                return input.readFloat();
+            case TYPE_SHORT:
+                return input.readShort();
+            case TYPE_BYTE:
+                return input.readByte();
+            case TYPE_KRYO:
+                return kryo.readClassAndObject(input);
+            default:
+                throw new IllegalArgumentException("Unknown compact value type " + type);
+        }
+    }
+
     public List<Object> deserialize(byte[] ser) {
         kryoInput.setBuffer(ser);
         return deserializeFrom(kryoInput);
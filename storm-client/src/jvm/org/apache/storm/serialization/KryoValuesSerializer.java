@@ -19,6 +19,20 @@ import java.util.Map;
 import org.apache.storm.utils.ListDelegate;
 
 public class KryoValuesSerializer {
+    // type codes of the compact encoding, two fields share a byte
+    static final int TYPE_NULL = 0;
+    static final int TYPE_FALSE = 1;
+    static final int TYPE_TRUE = 2;
+    static final int TYPE_LONG = 3;
+    static final int TYPE_INT = 4;
+    static final int TYPE_SHORT = 5;
+    static final int TYPE_BYTE = 6;
+    static final int TYPE_DOUBLE = 7;
+    static final int TYPE_FLOAT = 8;
+    static final int TYPE_STRING = 9;
+    static final int TYPE_BYTES = 10;
+    static final int TYPE_KRYO = 15;
+
     Kryo kryo;
     ListDelegate delegate;
     Output kryoOut;
@@ -38,6 +52,91 @@ public class KryoValuesSerializer {
         kryo.writeObject(out, delegate);
     }
 
+    /**
+     * Write the values in the compact encoding read by {@link KryoValuesDeserializer#deserializeCompactFrom(Input)}: the number of
+     * values, then for every pair of values a byte with their type codes followed by the values themselves. Values of the common types
+     * are written directly, anything else with {@link Kryo#writeClassAndObject(Output, Object)}.
+     */
+    public void serializeCompactInto(List<Object> values, Output out) {
+        int size = values.size();
+        out.writeInt(size, true);
+        for (int i = 0; i < size; i += 2) {
+            Object first = values.get(i);
+            Object second = i + 1 < size ? values.get(i + 1) : null;
+            int firstType = typeOf(first);
+            int secondType = typeOf(second);
+            out.writeByte(firstType | (secondType << 4));
+            writeCompact(firstType, first, out);
+            if (i + 1 < size) {
+                writeCompact(secondType, second, out);
+            }
+        }
+    }
+
+    private static int typeOf(Object value) {
+        if (value == null) {
+            return TYPE_NULL;
+        }
+        Class<?> type = value.getClass();
+        if (type == Long.class) {
+            return TYPE_LONG;
+        } else if (type == String.class) {
+            return TYPE_STRING;
+        } else if (type == Integer.class) {
+            return TYPE_INT;
+        } else if (type == Double.class) {
+            return TYPE_DOUBLE;
+        } else if (type == Boolean.class) {
+            return (Boolean) value ? TYPE_TRUE : TYPE_FALSE;
+        } else if (type == byte[].class) {
+            return TYPE_BYTES;
+        } else if (type == Float.class) {
+            return TYPE_FLOAT;
+        } else if (type == Short.class) {
+            return TYPE_SHORT;
+        } else if (type == Byte.class) {
+            return TYPE_BYTE;
+        }
+        return TYPE_KRYO;
+    }
+
+    private void writeCompact(int type, Object value, Output out) {
+        switch (type) {
+            case TYPE_LONG:
+                out.writeLong((Long) value, false);
+                break;
+            case TYPE_STRING:
+                out.writeString((String) value);
+                break;
+            case TYPE_INT:
+                out.writeInt((Integer) value, false);
+                break;
+            case TYPE_DOUBLE:
+                out.writeDouble((Double) value);
+                break;
+            case TYPE_BYTES:
+                byte[] bytes = (byte[]) value;
+                out.writeInt(bytes.length, true);
+                out.writeBytes(bytes);
+                break;
+            case TYPE_FLOAT:
+                out.writeFloat((Float) value);
+                break;
+            case TYPE_SHORT:
+                out.writeShort((Short) value);
+                break;
+            case TYPE_BYTE:
+                out.writeByte((Byte) value);
+                break;
+            case TYPE_KRYO:
+                kryo.writeClassAndObject(out, value);
+                break;
+            default:
+                // null and booleans are fully described by their type code
+                break;
+        }
+    }
+
     public byte[] serialize(List<Object> values) {
         kryoOut.clear();
         serializeInto(values, kryoOut);
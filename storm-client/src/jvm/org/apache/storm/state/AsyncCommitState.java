@@ -0,0 +1,40 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.state;
+
+/**
+ * A {@link State} that can write out the transactions it prepares and commits on another thread, while the bolt keeps reading and
+ * changing it.
+ *
+ * <p>The framework calls these methods on the thread of the bolt, like the ones of {@link State}, and runs the task they return on another
+ * thread. Until that task finished, the framework does not run another one or call any method of {@link State}, but the bolt keeps using
+ * the state, so everything the task reads must have been taken before the method returned.
+ */
+public interface AsyncCommitState extends State {
+    /**
+     * Take a copy-on-write snapshot of the state to prepare for commit, and return the task that writes it out. The changes the bolt makes
+     * after this returns belong to the next transaction, and the snapshot is seen by the bolt as if it was prepared already.
+     *
+     * @param txid the transaction id
+     * @return the task that does the rest of {@link #prepareCommit(long)}
+     */
+    Runnable prepareCommitAsync(long txid);
+
+    /**
+     * Check that a previously prepared transaction can be committed, and return the task that commits it.
+     *
+     * @param txid the transaction id
+     * @return the task that does the rest of {@link #commit(long)}
+     */
+    Runnable commitAsync(long txid);
+}
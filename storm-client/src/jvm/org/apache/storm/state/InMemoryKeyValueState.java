@@ -12,6 +12,7 @@
 
 package org.apache.storm.state;
 
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -20,6 +21,10 @@ import org.slf4j.LoggerFactory;
 
 /**
  * An in-memory implementation of the {@link State}.
+ *
+ * <p>Only the keys changed since the last prepare are tracked, with a null value for the ones deleted, so prepare, commit and rollback
+ * take time in the number of changed keys rather than the size of the state. The committed state is kept up to date by applying the
+ * changes that are committed to it.
  */
 public class InMemoryKeyValueState<K, V> implements KeyValueState<K, V> {
     private static final Logger LOG = LoggerFactory.getLogger(InMemoryKeyValueState.class);
@@ -27,10 +32,12 @@ public class InMemoryKeyValueState<K, V> implements KeyValueState<K, V> {
     private TxIdState<K, V> commitedState;
     private TxIdState<K, V> preparedState;
     private Map<K, V> state = new ConcurrentHashMap<>();
+    private Map<K, V> changes = new HashMap<>();
 
     @Override
     public void put(K key, V value) {
         state.put(key, value);
+        changes.put(key, value);
     }
 
     @Override
@@ -46,6 +53,7 @@ public class InMemoryKeyValueState<K, V> implements KeyValueState<K, V> {
 
     @Override
     public V delete(K key) {
+        changes.put(key, null);
         return state.remove(key);
     }
 
@@ -56,14 +64,22 @@ public class InMemoryKeyValueState<K, V> implements KeyValueState<K, V> {
 
     @Override
     public void commit() {
-        commitedState = new TxIdState<>(DEFAULT_TXID, new ConcurrentHashMap<>(state));
+        Map<K, V> committed = commitedState != null ? commitedState.state : new ConcurrentHashMap<>();
+        if (preparedState != null) {
+            apply(committed, preparedState.state);
+        }
+        apply(committed, changes);
+        changes = new HashMap<>();
+        commitedState = new TxIdState<>(DEFAULT_TXID, committed);
     }
 
     @Override
     public void commit(long txid) {
         LOG.debug("commit, txid {}", txid);
         if (preparedState != null && txid == preparedState.txid) {
-            commitedState = preparedState;
+            Map<K, V> committed = commitedState != null ? commitedState.state : new ConcurrentHashMap<>();
+            apply(committed, preparedState.state);
+            commitedState = new TxIdState<>(txid, committed);
             preparedState = null;
         } else {
             throw new RuntimeException("Invalid prepared state for commit, "
@@ -77,16 +93,45 @@ public class InMemoryKeyValueState<K, V> implements KeyValueState<K, V> {
         if (preparedState != null && txid > preparedState.txid) {
             throw new RuntimeException("Cannot prepare a new txn while there is a pending txn");
         }
-        preparedState = new TxIdState<>(txid, new ConcurrentHashMap<K, V>(state));
+        Map<K, V> prepared = changes;
+        if (preparedState != null) {
+            // preparing the same txid again also covers what was prepared before
+            prepared = preparedState.state;
+            prepared.putAll(changes);
+        }
+        changes = new HashMap<>();
+        preparedState = new TxIdState<>(txid, prepared);
     }
 
     @Override
     public void rollback() {
-        preparedState = null;
-        if (commitedState != null) {
-            state = commitedState.state;
-        } else {
-            state = new ConcurrentHashMap<>();
+        Map<K, V> committed = commitedState != null ? commitedState.state : new HashMap<>();
+        if (preparedState != null) {
+            revert(preparedState.state, committed);
+            preparedState = null;
+        }
+        revert(changes, committed);
+        changes = new HashMap<>();
+    }
+
+    private static <K, V> void apply(Map<K, V> target, Map<K, V> changes) {
+        for (Map.Entry<K, V> entry : changes.entrySet()) {
+            if (entry.getValue() == null) {
+                target.remove(entry.getKey());
+            } else {
+                target.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private void revert(Map<K, V> changed, Map<K, V> committed) {
+        for (K key : changed.keySet()) {
+            V value = committed.get(key);
+            if (value == null) {
+                state.remove(key);
+            } else {
+                state.put(key, value);
+            }
         }
     }
 
@@ -12,6 +12,8 @@
 
 package org.apache.storm.state;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -43,6 +45,24 @@ public interface KeyValueState<K, V> extends State, Iterable<Map.Entry<K, V>> {
      */
     V get(K key, V defaultValue);
 
+    /**
+     * Returns the values mapped to the keys. A state kept in a remote store can fetch them in a single round trip, the default looks them
+     * up one by one.
+     *
+     * @param keys the keys
+     * @return the values of the keys that have a mapping
+     */
+    default Map<K, V> getAll(Collection<K> keys) {
+        Map<K, V> values = new HashMap<>();
+        for (K key : keys) {
+            V value = get(key);
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        return values;
+    }
+
     /**
      * Deletes the value mapped to the key, if there is any.
      *
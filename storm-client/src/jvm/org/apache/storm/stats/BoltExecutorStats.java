@@ -22,20 +22,26 @@ import org.apache.storm.generated.BoltStats;
 import org.apache.storm.generated.ExecutorSpecificStats;
 import org.apache.storm.generated.ExecutorStats;
 import org.apache.storm.metric.internal.MultiCountStat;
+import org.apache.storm.metric.internal.MultiLatencyHistogramStat;
 import org.apache.storm.metric.internal.MultiLatencyStat;
 import org.apache.storm.shade.com.google.common.collect.Lists;
+import org.apache.storm.utils.Time;
 
 @SuppressWarnings("unchecked")
 public class BoltExecutorStats extends CommonStats {
     MultiCountStat executedStats;
     MultiLatencyStat processLatencyStats;
     MultiLatencyStat executeLatencyStats;
+    MultiLatencyHistogramStat processLatencyHistograms;
+    MultiLatencyHistogramStat executeLatencyHistograms;
 
     public BoltExecutorStats(int rate, int numStatBuckets) {
         super(rate, numStatBuckets);
         this.executedStats = new MultiCountStat(numStatBuckets);
         this.processLatencyStats = new MultiLatencyStat(numStatBuckets);
         this.executeLatencyStats = new MultiLatencyStat(numStatBuckets);
+        this.processLatencyHistograms = new MultiLatencyHistogramStat();
+        this.executeLatencyHistograms = new MultiLatencyHistogramStat();
     }
 
     public MultiCountStat getExecuted() {
@@ -55,14 +61,17 @@ public class BoltExecutorStats extends CommonStats {
         executedStats.close();
         processLatencyStats.close();
         executeLatencyStats.close();
+        processLatencyHistograms.close();
+        executeLatencyHistograms.close();
         super.cleanupStats();
     }
 
-    public void boltExecuteTuple(String component, String stream, long latencyMs, long workerUptimeSecs,
+    public void boltExecuteTuple(String component, String stream, long latencyNanos, long workerUptimeSecs,
                                  Task firstExecutorTask) {
         List key = Lists.newArrayList(component, stream);
         this.getExecuted().incBy(key, this.rate);
-        this.getExecuteLatencies().record(key, latencyMs);
+        this.getExecuteLatencies().record(key, Time.nanosToMillis(latencyNanos));
+        this.executeLatencyHistograms.record(key, latencyNanos, this.rate);
 
         // Calculate capacity:  This is really for the whole executor, but we will use the executor's first task
         // for reporting the metric.
@@ -107,10 +116,11 @@ public class BoltExecutorStats extends CommonStats {
         return n;
     }
 
-    public void boltAckedTuple(String component, String stream, long latencyMs) {
+    public void boltAckedTuple(String component, String stream, long latencyNanos) {
         List key = Lists.newArrayList(component, stream);
         this.getAcked().incBy(key, this.rate);
-        this.getProcessLatencies().record(key, latencyMs);
+        this.getProcessLatencies().record(key, Time.nanosToMillis(latencyNanos));
+        this.processLatencyHistograms.record(key, latencyNanos, this.rate);
     }
 
     public void boltFailedTuple(String component, String stream) {
@@ -133,6 +143,16 @@ public class BoltExecutorStats extends CommonStats {
             ClientStatsUtil.windowSetConverter(valueStat(processLatencyStats), ClientStatsUtil.TO_GSID, ClientStatsUtil.IDENTITY),
             ClientStatsUtil.windowSetConverter(valueStat(executedStats), ClientStatsUtil.TO_GSID, ClientStatsUtil.IDENTITY),
             ClientStatsUtil.windowSetConverter(valueStat(executeLatencyStats), ClientStatsUtil.TO_GSID, ClientStatsUtil.IDENTITY));
+        List<Map<String, Map<Object, Double>>> processPercentiles = valueStat(processLatencyHistograms);
+        List<Map<String, Map<Object, Double>>> executePercentiles = valueStat(executeLatencyHistograms);
+        boltStats.set_process_ms_p99(
+            ClientStatsUtil.windowSetConverter(processPercentiles.get(0), ClientStatsUtil.TO_GSID, ClientStatsUtil.IDENTITY));
+        boltStats.set_process_ms_p999(
+            ClientStatsUtil.windowSetConverter(processPercentiles.get(1), ClientStatsUtil.TO_GSID, ClientStatsUtil.IDENTITY));
+        boltStats.set_execute_ms_p99(
+            ClientStatsUtil.windowSetConverter(executePercentiles.get(0), ClientStatsUtil.TO_GSID, ClientStatsUtil.IDENTITY));
+        boltStats.set_execute_ms_p999(
+            ClientStatsUtil.windowSetConverter(executePercentiles.get(1), ClientStatsUtil.TO_GSID, ClientStatsUtil.IDENTITY));
         ret.set_specific(ExecutorSpecificStats.bolt(boltStats));
 
         return ret;
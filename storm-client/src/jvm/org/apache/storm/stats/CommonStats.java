@@ -12,13 +12,20 @@
 
 package org.apache.storm.stats;
 
+import java.util.List;
 import java.util.Map;
 import org.apache.storm.generated.ExecutorStats;
 import org.apache.storm.metric.internal.MultiCountStat;
+import org.apache.storm.metric.internal.MultiLatencyHistogramStat;
 import org.apache.storm.metric.internal.MultiLatencyStat;
 
 @SuppressWarnings("unchecked")
 public abstract class CommonStats {
+    /**
+     * The latency percentiles reported along with the averages, the 99th and the 99.9th.
+     */
+    protected static final double[] PERCENTILES = { 0.99, 0.999 };
+
     protected final int rate;
     private final MultiCountStat emittedStats;
     private final MultiCountStat transferredStats;
@@ -76,6 +83,10 @@ public abstract class CommonStats {
         return metric.getTimeLatAvg();
     }
 
+    protected <T> List<Map<String, Map<T, Double>>> valueStat(MultiLatencyHistogramStat<T> metric) {
+        return metric.getTimePercentiles(PERCENTILES);
+    }
+
     public abstract ExecutorStats renderStats();
 
 }
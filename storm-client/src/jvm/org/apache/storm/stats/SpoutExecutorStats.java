@@ -12,18 +12,24 @@
 
 package org.apache.storm.stats;
 
+import java.util.List;
+import java.util.Map;
 import org.apache.storm.generated.ExecutorSpecificStats;
 import org.apache.storm.generated.ExecutorStats;
 import org.apache.storm.generated.SpoutStats;
+import org.apache.storm.metric.internal.MultiLatencyHistogramStat;
 import org.apache.storm.metric.internal.MultiLatencyStat;
+import org.apache.storm.utils.Time;
 
 @SuppressWarnings("unchecked")
 public class SpoutExecutorStats extends CommonStats {
     private final MultiLatencyStat completeLatencyStats;
+    private final MultiLatencyHistogramStat<String> completeLatencyHistograms;
 
     public SpoutExecutorStats(int rate, int numStatBuckets) {
         super(rate, numStatBuckets);
         this.completeLatencyStats = new MultiLatencyStat(numStatBuckets);
+        this.completeLatencyHistograms = new MultiLatencyHistogramStat<>();
     }
 
     public MultiLatencyStat getCompleteLatencies() {
@@ -33,12 +39,14 @@ public class SpoutExecutorStats extends CommonStats {
     @Override
     public void cleanupStats() {
         completeLatencyStats.close();
+        completeLatencyHistograms.close();
         super.cleanupStats();
     }
 
     public void spoutAckedTuple(String stream, long latencyMs) {
         this.getAcked().incBy(stream, this.rate);
         this.getCompleteLatencies().record(stream, latencyMs);
+        this.completeLatencyHistograms.record(stream, Time.millisToNanos(latencyMs), this.rate);
     }
 
     public void spoutFailedTuple(String stream) {
@@ -56,6 +64,9 @@ public class SpoutExecutorStats extends CommonStats {
         // spout stats
         SpoutStats spoutStats = new SpoutStats(
             valueStat(getAcked()), valueStat(getFailed()), valueStat(completeLatencyStats));
+        List<Map<String, Map<String, Double>>> completePercentiles = valueStat(completeLatencyHistograms);
+        spoutStats.set_complete_ms_p99(completePercentiles.get(0));
+        spoutStats.set_complete_ms_p999(completePercentiles.get(1));
         ret.set_specific(ExecutorSpecificStats.spout(spoutStats));
 
         return ret;
@@ -81,12 +81,11 @@ public abstract class BaseStatefulBoltExecutor implements IRichBolt {
         if (shouldProcessTransaction(action, txid)) {
             LOG.debug("Processing action {}, txid {}", action, txid);
             try {
+                awaitCheckpoint();
                 if (txid >= lastTxid) {
                     handleCheckpoint(input, action, txid);
-                    if (action == ROLLBACK) {
-                        lastTxid = txid - 1;
-                    } else {
-                        lastTxid = txid;
+                    if (!isCheckpointInFlight()) {
+                        checkpointDone(action, txid);
                     }
                 } else {
                     LOG.debug("Ignoring old transaction. Action {}, txid {}", action, txid);
@@ -123,6 +122,31 @@ public abstract class BaseStatefulBoltExecutor implements IRichBolt {
         return false;
     }
 
+    /**
+     * Wait for the action of an earlier checkpoint that is still being carried out, so that the next one is checked against its txid.
+     */
+    protected void awaitCheckpoint() {
+    }
+
+    /**
+     * Whether the action that {@link #handleCheckpoint} was just called for is still being carried out. If so the sub-class calls
+     * {@link #checkpointDone} once it succeeded.
+     */
+    protected boolean isCheckpointInFlight() {
+        return false;
+    }
+
+    /**
+     * Record that the action of a checkpoint was carried out, after which the checkpoints of older transactions are ignored.
+     */
+    protected void checkpointDone(CheckPointState.Action action, long txid) {
+        if (action == ROLLBACK) {
+            lastTxid = txid - 1;
+        } else {
+            lastTxid = txid;
+        }
+    }
+
     protected void declareCheckpointStream(OutputFieldsDeclarer declarer) {
         declarer.declareStream(CHECKPOINT_STREAM_ID, new Fields(CHECKPOINT_FIELD_TXID, CHECKPOINT_FIELD_ACTION));
     }
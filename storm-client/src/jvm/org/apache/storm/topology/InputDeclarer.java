@@ -107,6 +107,18 @@ public interface InputDeclarer<T extends InputDeclarer> {
      */
     T partialKeyGrouping(String componentId, String streamId, Fields fields);
 
+    /**
+     * The stream is partitioned by the fields specified in the grouping, with a consistent hash of the fields. Unlike a fields grouping,
+     * changing the number of tasks of the consuming component moves only a proportional share of the keys to other tasks.
+     */
+    T consistentHashGrouping(String componentId, Fields fields);
+
+    /**
+     * The stream is partitioned by the fields specified in the grouping, with a consistent hash of the fields. Unlike a fields grouping,
+     * changing the number of tasks of the consuming component moves only a proportional share of the keys to other tasks.
+     */
+    T consistentHashGrouping(String componentId, String streamId, Fields fields);
+
     /**
      * A custom stream grouping by implementing the CustomStreamGrouping interface.
      */
@@ -23,33 +23,75 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.storm.Config;
+import org.apache.storm.shade.com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.storm.spout.CheckpointSpout;
+import org.apache.storm.state.AsyncCommitState;
 import org.apache.storm.state.State;
 import org.apache.storm.state.StateFactory;
 import org.apache.storm.task.OutputCollector;
 import org.apache.storm.task.TopologyContext;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
+import org.apache.storm.utils.ObjectReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Wraps a {@link IStatefulBolt} and manages the state of the bolt.
+ *
+ * <p>With {@link Config#TOPOLOGY_STATE_CHECKPOINT_ASYNC} and a state that implements {@link AsyncCommitState}, the state is written out
+ * for a prepare or commit on a thread of its own while the bolt keeps processing tuples. The checkpoint tuple is only passed on and acked,
+ * and for a commit the tuples of the transaction acked, once that finished, which the executor is woken up for, see {@link #setWakeUp}.
+ * Another checkpoint action waits for it, so there is only one in flight at a time. A failed write fails the checkpoint tuple, and the
+ * transaction does not count as done, so it can be rolled back and tried again.
+ *
+ * <p>A state that is {@link AutoCloseable} is closed when the bolt is cleaned up.
  */
 public class StatefulBoltExecutor<T extends State> extends BaseStatefulBoltExecutor {
     private static final Logger LOG = LoggerFactory.getLogger(StatefulBoltExecutor.class);
+    private static final long COMMITTER_SHUTDOWN_SECS = 30;
     private final IStatefulBolt<T> bolt;
     private State state;
     private boolean boltInitialized = false;
     private List<Tuple> pendingTuples = new ArrayList<>();
     private List<Tuple> preparedTuples = new ArrayList<>();
     private AckTrackingOutputCollector collector;
+    private AsyncCommitState asyncState;
+    private ExecutorService committer;
+    private InFlightCommit inFlight;
+    private Runnable wakeUp;
 
     public StatefulBoltExecutor(IStatefulBolt<T> bolt) {
         this.bolt = bolt;
     }
 
+    /**
+     * Set what the thread that writes out the state calls once a prepare or commit finished, which is to have the executor call
+     * {@link #finishCommit()} on its own thread. Acks and emits are not thread safe, so they cannot be done by the writing thread.
+     *
+     * @param wakeUp what to call, from another thread
+     */
+    public void setWakeUp(Runnable wakeUp) {
+        this.wakeUp = wakeUp;
+    }
+
+    /**
+     * Pass on and ack the checkpoint tuple of the prepare or commit that was written out asynchronously, if it finished.
+     */
+    public void finishCommit() {
+        if (inFlight != null) {
+            finishInFlight(false);
+        }
+    }
+
     @Override
     public void prepare(Map<String, Object> topoConf, TopologyContext context, OutputCollector collector) {
         // get the last successfully committed state from state store
@@ -63,11 +105,45 @@ public class StatefulBoltExecutor<T extends State> extends BaseStatefulBoltExecu
         this.collector = new AckTrackingOutputCollector(collector);
         bolt.prepare(topoConf, context, this.collector);
         this.state = state;
+        if (ObjectReader.getBoolean(topoConf.get(Config.TOPOLOGY_STATE_CHECKPOINT_ASYNC), false)) {
+            if (state instanceof AsyncCommitState) {
+                asyncState = (AsyncCommitState) state;
+                committer = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                    .setNameFormat("state-committer-" + context.getThisComponentId() + "-" + context.getThisTaskId())
+                    .setDaemon(true)
+                    .build());
+            } else {
+                LOG.warn("{} does not support asynchronous commits, committing the state of {} in line",
+                         state.getClass().getName(), context.getThisComponentId());
+            }
+        }
     }
 
     @Override
     public void cleanup() {
+        boolean committing = false;
+        if (committer != null) {
+            committer.shutdown();
+            try {
+                committing = !committer.awaitTermination(COMMITTER_SHUTDOWN_SECS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                committing = true;
+            }
+        }
         bolt.cleanup();
+        // states holding local resources, like files and their locks, release them so the next task can open them again
+        if (state instanceof AutoCloseable) {
+            if (committing) {
+                LOG.warn("Not closing {}, a commit is still being written out", state.getClass().getName());
+            } else {
+                try {
+                    ((AutoCloseable) state).close();
+                } catch (Exception e) {
+                    LOG.warn("Could not close {}", state.getClass().getName(), e);
+                }
+            }
+        }
     }
 
     @Override
@@ -88,6 +164,12 @@ public class StatefulBoltExecutor<T extends State> extends BaseStatefulBoltExecu
         if (action == PREPARE) {
             if (boltInitialized) {
                 bolt.prePrepare(txid);
+                if (asyncState != null) {
+                    Runnable task = asyncState.prepareCommitAsync(txid);
+                    preparedTuples.addAll(collector.ackedTuples());
+                    startInFlight(task, checkpointTuple, action, txid, new ArrayList<>());
+                    return;
+                }
                 state.prepareCommit(txid);
                 preparedTuples.addAll(collector.ackedTuples());
             } else {
@@ -101,6 +183,13 @@ public class StatefulBoltExecutor<T extends State> extends BaseStatefulBoltExecu
             }
         } else if (action == COMMIT) {
             bolt.preCommit(txid);
+            if (asyncState != null) {
+                Runnable task = asyncState.commitAsync(txid);
+                List<Tuple> toAck = new ArrayList<>(preparedTuples);
+                preparedTuples.clear();
+                startInFlight(task, checkpointTuple, action, txid, toAck);
+                return;
+            }
             state.commit(txid);
             ack(preparedTuples);
         } else if (action == ROLLBACK) {
@@ -131,8 +220,24 @@ public class StatefulBoltExecutor<T extends State> extends BaseStatefulBoltExecu
         collector.delegate.ack(checkpointTuple);
     }
 
+    @Override
+    protected void awaitCheckpoint() {
+        if (inFlight != null) {
+            LOG.debug("Waiting for action {}, txid {} to finish", inFlight.action, inFlight.txid);
+            finishInFlight(true);
+        }
+    }
+
+    @Override
+    protected boolean isCheckpointInFlight() {
+        return inFlight != null;
+    }
+
     @Override
     protected void handleTuple(Tuple input) {
+        if (inFlight != null) {
+            finishInFlight(false);
+        }
         if (boltInitialized) {
             doExecute(input);
         } else {
@@ -145,6 +250,47 @@ public class StatefulBoltExecutor<T extends State> extends BaseStatefulBoltExecu
         bolt.execute(tuple);
     }
 
+    private void startInFlight(Runnable task, Tuple checkpointTuple, Action action, long txid, List<Tuple> toAck) {
+        CompletableFuture<Void> future = CompletableFuture.runAsync(task, committer);
+        Runnable wakeUp = this.wakeUp;
+        if (wakeUp != null) {
+            // only once the future is done, or the executor could find it still running
+            future.whenComplete((result, error) -> wakeUp.run());
+        }
+        inFlight = new InFlightCommit(future, checkpointTuple, action, txid, toAck);
+    }
+
+    /**
+     * Pass on and ack the checkpoint tuple of the action in flight if it finished, or fail it if the state could not be written out. Only
+     * an action that succeeded counts as done for the txids of the checkpoints that follow.
+     *
+     * @param wait whether to wait for the action to finish
+     */
+    private void finishInFlight(boolean wait) {
+        InFlightCommit commit = inFlight;
+        if (!wait && !commit.future.isDone()) {
+            return;
+        }
+        inFlight = null;
+        try {
+            commit.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            LOG.error("Got error while processing checkpoint tuple", e.getCause());
+            // like a commit that failed in line, these are failed with the rollback that follows
+            preparedTuples.addAll(0, commit.toAck);
+            collector.fail(commit.checkpointTuple);
+            collector.reportError(e.getCause());
+            return;
+        }
+        checkpointDone(commit.action, commit.txid);
+        ack(commit.toAck);
+        collector.emit(CheckpointSpout.CHECKPOINT_STREAM_ID, commit.checkpointTuple, new Values(commit.txid, commit.action));
+        collector.delegate.ack(commit.checkpointTuple);
+    }
+
     private void ack(List<Tuple> tuples) {
         if (!tuples.isEmpty()) {
             LOG.debug("Acking {} tuples", tuples.size());
@@ -165,6 +311,22 @@ public class StatefulBoltExecutor<T extends State> extends BaseStatefulBoltExecu
         }
     }
 
+    private static class InFlightCommit {
+        private final Future<?> future;
+        private final Tuple checkpointTuple;
+        private final Action action;
+        private final long txid;
+        private final List<Tuple> toAck;
+
+        InFlightCommit(Future<?> future, Tuple checkpointTuple, Action action, long txid, List<Tuple> toAck) {
+            this.future = future;
+            this.checkpointTuple = checkpointTuple;
+            this.action = action;
+            this.txid = txid;
+            this.toAck = toAck;
+        }
+    }
+
     private static class AckTrackingOutputCollector extends AnchoringOutputCollector {
         private final OutputCollector delegate;
         private final Queue<Tuple> ackedTuples;
@@ -14,8 +14,10 @@ package org.apache.storm.topology;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import org.apache.storm.Config;
 import org.apache.storm.generated.GlobalStreamId;
 import org.apache.storm.state.KeyValueState;
@@ -216,22 +218,38 @@ public class StatefulWindowedBoltExecutor<T extends State> extends WindowedBoltE
                     throw new IllegalStateException(msg);
                 } else {
                     parentListener.onActivation(events, newEvents, expired, timestamp);
-                    updateWindowState(expired, newEvents);
+                    LOG.debug("Update window state, {} expired, {} new events", expired.size(), newEvents.size());
+                    updateWindowState(expired.iterator(), newEvents.iterator());
+                }
+            }
+
+            @Override
+            public void onActivation(Supplier<Iterator<Tuple>> events,
+                                     Supplier<Iterator<Tuple>> newEvents,
+                                     Supplier<Iterator<Tuple>> expired,
+                                     Long timestamp) {
+                if (isRecovering()) {
+                    String msg = String.format("Unexpected activation in recovering state. recoveryStates %s ", recoveryStates);
+                    LOG.error(msg);
+                    throw new IllegalStateException(msg);
+                } else {
+                    parentListener.onActivation(events, newEvents, expired, timestamp);
+                    updateWindowState(expired.get(), newEvents.get());
                 }
             }
         };
     }
 
-    private void updateWindowState(List<Tuple> expired, List<Tuple> newEvents) {
-        LOG.debug("Update window state, {} expired, {} new events", expired.size(), newEvents.size());
+    private void updateWindowState(Iterator<Tuple> expired, Iterator<Tuple> newEvents) {
         Map<TaskStream, WindowState> state = new HashMap<>();
         updateState(state, expired, false);
         updateState(state, newEvents, true);
         updateStreamState(state);
     }
 
-    private void updateState(Map<TaskStream, WindowState> state, List<Tuple> tuples, boolean newEvents) {
-        for (Tuple tuple : tuples) {
+    private void updateState(Map<TaskStream, WindowState> state, Iterator<Tuple> tuples, boolean newEvents) {
+        while (tuples.hasNext()) {
+            Tuple tuple = tuples.next();
             TaskStream taskStream = TaskStream.fromTuple(tuple);
             WindowState curState = state.get(taskStream);
             WindowState newState;
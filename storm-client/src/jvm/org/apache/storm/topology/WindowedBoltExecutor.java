@@ -15,6 +15,9 @@ package org.apache.storm.topology;
 import static org.apache.storm.topology.base.BaseWindowedBolt.Count;
 import static org.apache.storm.topology.base.BaseWindowedBolt.Duration;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -24,22 +27,28 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import org.apache.storm.Config;
 import org.apache.storm.generated.GlobalStreamId;
 import org.apache.storm.spout.CheckpointSpout;
+import org.apache.storm.state.DefaultStateSerializer;
 import org.apache.storm.task.IOutputCollector;
 import org.apache.storm.task.OutputCollector;
 import org.apache.storm.task.TopologyContext;
 import org.apache.storm.tuple.Fields;
+import org.apache.storm.tuple.MessageId;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.TupleImpl;
 import org.apache.storm.tuple.Values;
 import org.apache.storm.windowing.CountEvictionPolicy;
 import org.apache.storm.windowing.CountTriggerPolicy;
 import org.apache.storm.windowing.Event;
 import org.apache.storm.windowing.EvictionPolicy;
+import org.apache.storm.windowing.SpillableEventQueue;
+import org.apache.storm.windowing.SpillableWindowManager;
 import org.apache.storm.windowing.StatefulWindowManager;
 import org.apache.storm.windowing.TimeEvictionPolicy;
 import org.apache.storm.windowing.TimeTriggerPolicy;
@@ -77,6 +86,9 @@ public class WindowedBoltExecutor implements IRichBolt {
     private transient TriggerPolicy<Tuple, ?> triggerPolicy;
     private transient EvictionPolicy<Tuple, ?> evictionPolicy;
     private transient Duration windowLengthDuration;
+    private transient SpillableEventQueue<Tuple> spillableQueue;
+    // the ack vals of the tuples that may be read back from the spilled events as copies
+    private transient Map<MessageId, Long> ackVals;
 
     public WindowedBoltExecutor(IWindowedBolt bolt) {
         this.bolt = bolt;
@@ -149,9 +161,14 @@ public class WindowedBoltExecutor implements IRichBolt {
     private WindowManager<Tuple> initWindowManager(WindowLifecycleListener<Tuple> lifecycleListener, Map<String, Object> topoConf,
                                                    TopologyContext context, Collection<Event<Tuple>> queue, boolean stateful) {
 
-        WindowManager<Tuple> manager = stateful
-                ? new StatefulWindowManager<>(lifecycleListener, queue)
-                : new WindowManager<>(lifecycleListener, queue);
+        WindowManager<Tuple> manager;
+        if (stateful) {
+            manager = new StatefulWindowManager<>(lifecycleListener, queue);
+        } else if (spillableQueue != null) {
+            manager = new SpillableWindowManager<>(lifecycleListener, spillableQueue);
+        } else {
+            manager = new WindowManager<>(lifecycleListener, queue);
+        }
 
         Count windowLengthCount = null;
         Duration slidingIntervalDuration = null;
@@ -284,7 +301,25 @@ public class WindowedBoltExecutor implements IRichBolt {
 
     @Override
     public void prepare(Map<String, Object> topoConf, TopologyContext context, OutputCollector collector) {
-        doPrepare(topoConf, context, collector, new ConcurrentLinkedQueue<>(), false);
+        doPrepare(topoConf, context, collector, newQueue(topoConf, context), false);
+    }
+
+    private Collection<Event<Tuple>> newQueue(Map<String, Object> topoConf, TopologyContext context) {
+        if (!topoConf.containsKey(Config.TOPOLOGY_BOLTS_WINDOW_MAX_EVENTS_ON_HEAP)) {
+            return new ConcurrentLinkedQueue<>();
+        }
+        int maxEventsOnHeap = ((Number) topoConf.get(Config.TOPOLOGY_BOLTS_WINDOW_MAX_EVENTS_ON_HEAP)).intValue();
+        try {
+            // the workers run with their own tmp dir, that is cleaned up along with them
+            spillableQueue = new SpillableEventQueue<>(new DefaultStateSerializer<>(topoConf, context),
+                                                       Files.createTempDirectory("window-" + context.getThisTaskId() + "-"),
+                                                       maxEventsOnHeap);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        ackVals = new ConcurrentHashMap<>();
+        LOG.info("Keeping up to {} window events on the heap, spilling the rest", maxEventsOnHeap);
+        return spillableQueue;
     }
 
     // NOTE: the queue has to be thread safe.
@@ -294,7 +329,7 @@ public class WindowedBoltExecutor implements IRichBolt {
         Objects.requireNonNull(context);
         Objects.requireNonNull(collector);
         Objects.requireNonNull(queue);
-        this.windowedOutputCollector = new WindowedOutputCollector(collector);
+        this.windowedOutputCollector = new WindowedOutputCollector(collector, ackVals);
         bolt.prepare(topoConf, context, windowedOutputCollector);
         this.listener = newWindowLifecycleListener();
         this.windowManager = initWindowManager(listener, topoConf, context, queue, stateful);
@@ -327,6 +362,9 @@ public class WindowedBoltExecutor implements IRichBolt {
             waterMarkEventGenerator.shutdown();
         }
         windowManager.shutdown();
+        if (spillableQueue != null) {
+            spillableQueue.close();
+        }
         bolt.cleanup();
     }
 
@@ -354,6 +392,9 @@ public class WindowedBoltExecutor implements IRichBolt {
             @Override
             public void onExpiry(List<Tuple> tuples) {
                 for (Tuple tuple : tuples) {
+                    if (ackVals != null) {
+                        restoreAckVal(tuple);
+                    }
                     windowedOutputCollector.ack(tuple);
                 }
             }
@@ -364,9 +405,31 @@ public class WindowedBoltExecutor implements IRichBolt {
                 boltExecute(tuples, newTuples, expiredTuples, timestamp);
             }
 
+            @Override
+            public void onActivation(Supplier<Iterator<Tuple>> tuples,
+                                     Supplier<Iterator<Tuple>> newTuples,
+                                     Supplier<Iterator<Tuple>> expiredTuples,
+                                     Long timestamp) {
+                /*
+                 * The window is read back from the spilled events as it is iterated, so the output is anchored to the new tuples
+                 * only. The older tuples of the window were anchored to by the evaluations they were new in.
+                 */
+                List<Tuple> anchors = new ArrayList<>();
+                newTuples.get().forEachRemaining(anchors::add);
+                windowedOutputCollector.setContext(anchors);
+                boltExecute(tuples, anchors::iterator, expiredTuples, timestamp);
+            }
+
         };
     }
 
+    private void restoreAckVal(Tuple tuple) {
+        Long ackVal = ackVals.remove(tuple.getMessageId());
+        if (ackVal != null && tuple instanceof TupleImpl) {
+            ((TupleImpl) tuple).updateAckVal(ackVal);
+        }
+    }
+
     protected void boltExecute(List<Tuple> tuples, List<Tuple> newTuples, List<Tuple> expiredTuples, Long timestamp) {
         bolt.execute(new TupleWindowImpl(tuples, newTuples, expiredTuples, getWindowStartTs(timestamp), timestamp));
     }
@@ -389,10 +452,12 @@ public class WindowedBoltExecutor implements IRichBolt {
      * Creates an {@link OutputCollector} wrapper that automatically anchors the tuples to inputTuples while emitting.
      */
     private static class WindowedOutputCollector extends OutputCollector {
+        private final Map<MessageId, Long> ackVals;
         private List<Tuple> inputTuples;
 
-        WindowedOutputCollector(IOutputCollector delegate) {
+        WindowedOutputCollector(IOutputCollector delegate, Map<MessageId, Long> ackVals) {
             super(delegate);
+            this.ackVals = ackVals;
         }
 
         void setContext(List<Tuple> inputTuples) {
@@ -408,6 +473,39 @@ public class WindowedBoltExecutor implements IRichBolt {
         public void emitDirect(int taskId, String streamId, List<Object> tuple) {
             emitDirect(taskId, streamId, inputTuples, tuple);
         }
+
+        @Override
+        public List<Integer> emit(String streamId, Collection<Tuple> anchors, List<Object> tuple) {
+            List<Integer> tasks = super.emit(streamId, anchors, tuple);
+            saveAckVals(anchors);
+            return tasks;
+        }
+
+        @Override
+        public void emitDirect(int taskId, String streamId, Collection<Tuple> anchors, List<Object> tuple) {
+            super.emitDirect(taskId, streamId, anchors, tuple);
+            saveAckVals(anchors);
+        }
+
+        /*
+         * The tuples read back from spilled events are copies, so the ack vals that anchoring added to them are moved over to a map,
+         * and put back into the copy that is acked once the tuple expires.
+         */
+        private void saveAckVals(Collection<Tuple> anchors) {
+            if (ackVals == null || anchors == null) {
+                return;
+            }
+            for (Tuple anchor : anchors) {
+                if (anchor instanceof TupleImpl) {
+                    TupleImpl impl = (TupleImpl) anchor;
+                    long ackVal = impl.getAckVal();
+                    if (ackVal != 0) {
+                        ackVals.merge(impl.getMessageId(), ackVal, (a, b) -> a ^ b);
+                        impl.updateAckVal(ackVal);
+                    }
+                }
+            }
+        }
     }
 
 }
@@ -141,6 +141,15 @@ public abstract class BaseStatefulWindowedBolt<T extends State> extends BaseWind
         return this;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BaseStatefulWindowedBolt<T> withMaxEventsOnHeap(int maxEventsOnHeap) {
+        super.withMaxEventsOnHeap(maxEventsOnHeap);
+        return this;
+    }
+
     /**
      * Specify the name of the field in the tuple that holds the message id. This is used to track the windowing boundaries and
      * re-evaluating the windowing operation during recovery of IStatefulWindowedBolt
@@ -227,6 +227,20 @@ public abstract class BaseWindowedBolt implements IWindowedBolt {
         return this;
     }
 
+    /**
+     * Specify the maximum number of window events to keep on the heap. The older events are written out to local files and read back
+     * when the window is evaluated, so long windows do not need a heap that can hold all of their tuples.
+     *
+     * @param maxEventsOnHeap the maximum number of window events to keep on the heap
+     */
+    public BaseWindowedBolt withMaxEventsOnHeap(int maxEventsOnHeap) {
+        if (maxEventsOnHeap <= 0) {
+            throw new IllegalArgumentException("Max events on heap must be positive");
+        }
+        windowConfiguration.put(Config.TOPOLOGY_BOLTS_WINDOW_MAX_EVENTS_ON_HEAP, maxEventsOnHeap);
+        return this;
+    }
+
     @Override
     public void prepare(Map<String, Object> topoConf, TopologyContext context, OutputCollector collector) {
         // NOOP
@@ -71,16 +71,16 @@ public class TupleImpl implements Tuple {
         return processSampleStartTime;
     }
 
-    public void setProcessSampleStartTime(long ms) {
-        processSampleStartTime = ms;
+    public void setProcessSampleStartTime(long nanos) {
+        processSampleStartTime = nanos;
     }
 
     public Long getExecuteSampleStartTime() {
         return executeSampleStartTime;
     }
 
-    public void setExecuteSampleStartTime(long ms) {
-        executeSampleStartTime = ms;
+    public void setExecuteSampleStartTime(long nanos) {
+        executeSampleStartTime = nanos;
     }
 
     public void updateAckVal(long val) {
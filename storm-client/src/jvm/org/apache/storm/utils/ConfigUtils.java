@@ -327,7 +327,8 @@ public class ConfigUtils {
     }
 
     public static LocalState workerState(Map<String, Object> conf, String id) throws IOException {
-        return new LocalState(workerHeartbeatsRoot(conf, id), false);
+        return new LocalState(workerHeartbeatsRoot(conf, id), false,
+                              ObjectReader.getBoolean(conf.get(Config.STORM_LOCAL_STATE_APPEND_ONLY), false));
     }
 
     public static String masterStormCodeKey(String topologyId) {
@@ -21,6 +21,7 @@ package org.apache.storm.utils;
 import java.io.Closeable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.apache.storm.metrics2.StormMetricRegistry;
 import org.apache.storm.policy.IWaitStrategy;
 import org.apache.storm.shade.org.jctools.queues.MessagePassingQueue;
@@ -39,14 +40,32 @@ public class JCQueue implements Closeable {
     private final MpscUnboundedArrayQueue<Object> overflowQ;
     private final int overflowLimit; // ensures... overflowCount <= overflowLimit. if set to 0, disables overflow limiting.
     private final int producerBatchSz;
+    private final boolean adaptiveBatching;
+    private final long adaptIntervalNanos;
     private final DirectInserter directInserter = new DirectInserter(this);
     private final ThreadLocal<BatchInserter> thdLocalBatcher = new ThreadLocal<BatchInserter>(); // ensure 1 instance per producer thd.
     private final IWaitStrategy backPressureWaitStrategy;
     private final String queueName;
+    // set when the consumer runs on a shared thread, which has to be woken up when something arrives
+    private volatile Runnable arrivalListener;
 
     public JCQueue(String queueName, String metricNamePrefix, int size, int overflowLimit, int producerBatchSz,
                    IWaitStrategy backPressureWaitStrategy, String topologyId, String componentId, List<Integer> taskIds,
                    int port, StormMetricRegistry metricRegistry) {
+        this(queueName, metricNamePrefix, size, overflowLimit, producerBatchSz, false, 0, backPressureWaitStrategy, topologyId,
+             componentId, taskIds, port, metricRegistry);
+    }
+
+    /**
+     * Create a queue whose producer batch size optionally adapts to the traffic, see
+     * {@link org.apache.storm.Config#TOPOLOGY_BATCH_ADAPTIVE}.
+     *
+     * @param producerBatchSz     the batch size, or the largest batch size if adaptiveBatching is set
+     * @param flushIntervalMillis how often batches are flushed by flush tuples, also how often adaptive batches are resized
+     */
+    public JCQueue(String queueName, String metricNamePrefix, int size, int overflowLimit, int producerBatchSz, boolean adaptiveBatching,
+                   long flushIntervalMillis, IWaitStrategy backPressureWaitStrategy, String topologyId, String componentId,
+                   List<Integer> taskIds, int port, StormMetricRegistry metricRegistry) {
         this.queueName = queueName;
         this.overflowLimit = overflowLimit;
         this.recvQueue = new MpscArrayQueue<>(size);
@@ -59,13 +78,32 @@ public class JCQueue implements Closeable {
 
         //The batch size can be no larger than half the full recvQueue size, to avoid contention issues.
         this.producerBatchSz = Math.max(1, Math.min(producerBatchSz, size / 2));
+        this.adaptiveBatching = adaptiveBatching && this.producerBatchSz > 1;
+        // flush tuples are disabled with an interval of 0, batches are still resized every millisecond
+        this.adaptIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, flushIntervalMillis));
         this.backPressureWaitStrategy = backPressureWaitStrategy;
+        notifyBatchSize(this.producerBatchSz);
     }
 
     public String getQueueName() {
         return queueName;
     }
 
+    /**
+     * Call the listener whenever tuples are added to the queue, from the thread that added them. It should be cheap, most calls find the
+     * consumer already scheduled.
+     */
+    public void setArrivalListener(Runnable arrivalListener) {
+        this.arrivalListener = arrivalListener;
+    }
+
+    private void notifyArrival() {
+        Runnable listener = arrivalListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
     @Override
     public void close() {
         for (JCQueueMetrics jcQueueMetric : jcqMetrics) {
@@ -96,6 +134,16 @@ public class JCQueue implements Closeable {
         return recvQueue.size() + overflowQ.size();
     }
 
+    /**
+     * How many more elements fit in the queue, or 0 if anything is waiting in the overflow queue.
+     */
+    public int getFreeCapacity() {
+        if (!overflowQ.isEmpty()) {
+            return 0;
+        }
+        return Math.max(0, recvQueue.capacity() - recvQueue.size());
+    }
+
     public double getQueueLoad() {
         return ((double) recvQueue.size()) / recvQueue.capacity();
     }
@@ -134,6 +182,7 @@ public class JCQueue implements Closeable {
             for (JCQueueMetrics jcQueueMetric : jcqMetrics) {
                 jcQueueMetric.notifyArrivals(1);
             }
+            notifyArrival();
             return true;
         }
         return false;
@@ -154,6 +203,9 @@ public class JCQueue implements Closeable {
         for (JCQueueMetrics jcQueueMetric : jcqMetrics) {
             jcQueueMetric.notifyArrivals(count);
         }
+        if (count > 0) {
+            notifyArrival();
+        }
         return count;
     }
 
@@ -162,7 +214,7 @@ public class JCQueue implements Closeable {
         if (producerBatchSz > 1) {
             inserter = thdLocalBatcher.get();
             if (inserter == null) {
-                BatchInserter b = new BatchInserter(this, producerBatchSz);
+                BatchInserter b = new BatchInserter(this, producerBatchSz, adaptiveBatching);
                 inserter = b;
                 thdLocalBatcher.set(b);
             }
@@ -203,15 +255,26 @@ public class JCQueue implements Closeable {
             return false;
         }
         overflowQ.add(obj);
+        notifyArrival();
         return true;
     }
 
+    private void notifyBatchSize(int batchSz) {
+        for (JCQueueMetrics jcQueueMetric : jcqMetrics) {
+            jcQueueMetric.notifyBatchSize(batchSz);
+        }
+    }
+
     public void recordMsgDrop() {
         for (JCQueueMetrics jcQueueMetric : jcqMetrics) {
             jcQueueMetric.notifyDroppedMsg();
         }
     }
 
+    public boolean isEmpty() {
+        return recvQueue.isEmpty() && overflowQ.isEmpty();
+    }
+
     public boolean isEmptyOverflow() {
         return overflowQ.isEmpty();
     }
@@ -242,6 +305,14 @@ public class JCQueue implements Closeable {
         return inserter.tryFlush();
     }
 
+    /**
+     * Non-Blocking call. Flushes as much of this thread's batch as fits into the queue, returns true if nothing of it is left.
+     */
+    public boolean tryFlushAll() {
+        Inserter inserter = getInserter();
+        return inserter.tryFlushAll();
+    }
+
     private interface Inserter {
         // blocking call that can be interrupted using Thread.interrupt()
         void publish(Object obj) throws InterruptedException;
@@ -251,6 +322,8 @@ public class JCQueue implements Closeable {
         void flush() throws InterruptedException;
 
         boolean tryFlush();
+
+        boolean tryFlushAll();
     }
 
     public interface Consumer extends MessagePassingQueue.Consumer<Object> {
@@ -320,18 +393,54 @@ public class JCQueue implements Closeable {
         public boolean tryFlush() {
             return true;
         }
+
+        @Override
+        public boolean tryFlushAll() {
+            return true;
+        }
     } // class DirectInserter
 
     /* Not thread safe. Have one instance per producer thread or synchronize externally */
     private static class BatchInserter implements Inserter {
-        private final int batchSz;
+        private final int maxBatchSz;
+        private final boolean adaptive;
+        private int batchSz;
         private JCQueue queue;
         private ArrayList<Object> currentBatch;
+        // adaptive batching: tuples published since the batch size was last chosen
+        private long adaptStartNanos;
+        private long adaptArrivals = 0;
 
-        BatchInserter(JCQueue queue, int batchSz) {
+        BatchInserter(JCQueue queue, int batchSz, boolean adaptive) {
             this.queue = queue;
+            this.maxBatchSz = batchSz;
+            this.adaptive = adaptive;
             this.batchSz = batchSz;
             this.currentBatch = new ArrayList<>(batchSz + 1);
+            this.adaptStartNanos = System.nanoTime();
+        }
+
+        /**
+         * Choose the batch size for the next flush interval. A batch of what arrives in half the interval at the last interval's rate fills
+         * before the flush tuple would flush it, so batching adds no more than that to the latency. If the consumer lags further behind,
+         * tuples wait in the queue anyway, and batches as large as its backlog save CAS operations without adding to the wait.
+         */
+        private void adapt() {
+            long now = System.nanoTime();
+            long elapsed = now - adaptStartNanos;
+            if (elapsed < queue.adaptIntervalNanos) {
+                return;
+            }
+            long rateTarget = adaptArrivals * queue.adaptIntervalNanos / (2 * elapsed);
+            // grow at once, but shrink by at most half per interval, so a producer that was descheduled for a moment keeps batching
+            long target = Math.max(Math.max(rateTarget, queue.recvQueue.size()), batchSz / 2);
+            int newBatchSz = (int) Math.max(1, Math.min(maxBatchSz, target));
+            if (newBatchSz != batchSz) {
+                batchSz = newBatchSz;
+                queue.notifyBatchSize(newBatchSz);
+            }
+            adaptStartNanos = now;
+            adaptArrivals = 0;
         }
 
         /**
@@ -339,6 +448,7 @@ public class JCQueue implements Closeable {
          */
         @Override
         public void publish(Object obj) throws InterruptedException {
+            adaptArrivals++;
             currentBatch.add(obj);
             if (currentBatch.size() >= batchSz) {
                 flush();
@@ -355,6 +465,7 @@ public class JCQueue implements Closeable {
                     return false;
                 }
             }
+            adaptArrivals++;
             currentBatch.add(obj);
             return true;
         }
@@ -385,6 +496,9 @@ public class JCQueue implements Closeable {
                 publishCount = queue.tryPublishInternal(currentBatch);
             }
             currentBatch.subList(0, publishCount).clear();
+            if (adaptive) {
+                adapt();
+            }
         }
 
         /**
@@ -404,8 +518,21 @@ public class JCQueue implements Closeable {
                 return false;
             } else {
                 currentBatch.subList(0, publishCount).clear();
+                if (adaptive) {
+                    adapt();
+                }
                 return true;
             }
         }
+
+        @Override
+        public boolean tryFlushAll() {
+            while (!currentBatch.isEmpty()) {
+                if (!tryFlush()) {
+                    return false;
+                }
+            }
+            return true;
+        }
     } // class BatchInserter
 }
\ No newline at end of file
@@ -31,6 +31,7 @@ public class JCQueueMetrics implements Closeable {
     private final RateTracker arrivalsTracker = new RateTracker(10000, 10);
     private final RateTracker insertFailuresTracker = new RateTracker(10000, 10);
     private final AtomicLong droppedMessages = new AtomicLong(0);
+    private volatile int batchSize = 1;
 
     public JCQueueMetrics(String metricNamePrefix, String topologyId, String componentId, int taskId, int port,
                           StormMetricRegistry metricRegistry, MpscArrayQueue<Object> receiveQ,
@@ -95,6 +96,13 @@ public class JCQueueMetrics implements Closeable {
             }
         };
 
+        Gauge<Integer> batchSz = new Gauge<Integer>() {
+            @Override
+            public Integer getValue() {
+                return batchSize;
+            }
+        };
+
         metricRegistry.gauge(metricNamePrefix + "-capacity", cap, topologyId, componentId, taskId, port);
         metricRegistry.gauge(metricNamePrefix + "-pct_full", pctFull, topologyId, componentId, taskId, port);
         metricRegistry.gauge(metricNamePrefix + "-population", pop, topologyId, componentId, taskId, port);
@@ -103,6 +111,7 @@ public class JCQueueMetrics implements Closeable {
         metricRegistry.gauge(metricNamePrefix + "-insert_failures", insertFailures, topologyId, componentId, taskId, port);
         metricRegistry.gauge(metricNamePrefix + "-dropped_messages", dropped, topologyId, componentId, taskId, port);
         metricRegistry.gauge(metricNamePrefix + "-overflow", overflow, topologyId, componentId, taskId, port);
+        metricRegistry.gauge(metricNamePrefix + "-batch_size", batchSz, topologyId, componentId, taskId, port);
     }
 
     public void notifyArrivals(long counts) {
@@ -113,6 +122,13 @@ public class JCQueueMetrics implements Closeable {
         insertFailuresTracker.notify(1);
     }
 
+    /**
+     * Report the producer batch size last chosen for the queue.
+     */
+    public void notifyBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
     public void notifyDroppedMsg() {
         droppedMessages.incrementAndGet();
     }
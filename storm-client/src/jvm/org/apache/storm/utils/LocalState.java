@@ -15,6 +15,7 @@ package org.apache.storm.utils;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.file.NoSuchFileException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -38,6 +39,10 @@ import org.slf4j.LoggerFactory;
 
 /**
  * A simple, durable, atomic K/V database. *Very inefficient*, should only be used for occasional reads/writes. Every read/write hits disk.
+ *
+ * <p>By default every write stores all the entries in a new version of a {@link VersionedStore}. With append only set, writes only add the
+ * entry that changed to a {@link LocalStateLog} instead. Reads use the log whenever there is one, so either kind of writer can be read by
+ * anybody, and the first write of the other kind carries all the entries over to its own format.
  */
 public class LocalState {
     public static final Logger LOG = LoggerFactory.getLogger(LocalState.class);
@@ -47,10 +52,25 @@ public class LocalState {
     public static final String LS_APPROVED_WORKERS = "approved-workers";
     public static final String LS_TOPO_HISTORY = "topo-hist";
     private VersionedStore versionedStore;
+    private final LocalStateLog log;
+    private final boolean appendOnly;
 
     public LocalState(String backingDir, boolean createBackingDir) throws IOException {
+        this(backingDir, createBackingDir, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param backingDir       the directory the state is stored in
+     * @param createBackingDir create the directory if it does not exist
+     * @param appendOnly       append the changed entries to a log instead of writing out all of them on every put or remove
+     */
+    public LocalState(String backingDir, boolean createBackingDir, boolean appendOnly) throws IOException {
         LOG.debug("New Local State for {}", backingDir);
         versionedStore = new VersionedStore(backingDir, createBackingDir);
+        log = new LocalStateLog(backingDir);
+        this.appendOnly = appendOnly;
     }
 
     public synchronized Map<String, TBase> snapshot() {
@@ -95,6 +115,11 @@ public class LocalState {
 
     private Map<String, ThriftSerializedObject> partialDeserializeLatestVersion(TDeserializer td) {
         try {
+            try {
+                return log.read();
+            } catch (NoSuchFileException e) {
+                // no log yet, the state is in the versioned store
+            }
             String latestPath = versionedStore.mostRecentVersionPath();
             Map<String, ThriftSerializedObject> result = new HashMap<>();
             if (latestPath != null) {
@@ -150,6 +175,10 @@ public class LocalState {
     }
 
     public synchronized void put(String key, TBase val, boolean cleanup) {
+        if (appendOnly) {
+            appendInternal(key, serialize(val, new TSerializer()));
+            return;
+        }
         Map<String, ThriftSerializedObject> curr = partialSnapshot(null);
         TSerializer ser = new TSerializer();
         curr.put(key, serialize(val, ser));
@@ -161,6 +190,10 @@ public class LocalState {
     }
 
     public synchronized void remove(String key, boolean cleanup) {
+        if (appendOnly) {
+            appendInternal(key, null);
+            return;
+        }
         Map<String, ThriftSerializedObject> curr = partialSnapshot(null);
         curr.remove(key);
         persistInternal(curr, null, cleanup);
@@ -264,6 +297,8 @@ public class LocalState {
                                       + file.length() + " bytes were written.");
             }
             versionedStore.succeedVersion(newPath);
+            // the entries of the log were just carried over, it would hide this version from the readers otherwise
+            log.delete();
             if (cleanup) {
                 versionedStore.cleanup(4);
             }
@@ -272,6 +307,17 @@ public class LocalState {
         }
     }
 
+    private void appendInternal(String key, ThriftSerializedObject serialized) {
+        try {
+            if (!log.exists()) {
+                log.rewrite(partialSnapshot(null));
+            }
+            log.append(key, serialized);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     private ThriftSerializedObject serialize(TBase o, TSerializer ser) {
         try {
             return new ThriftSerializedObject(o.getClass().getName(), ByteBuffer.wrap(ser.serialize(o)));
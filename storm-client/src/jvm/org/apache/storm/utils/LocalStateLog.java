@@ -0,0 +1,217 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import org.apache.storm.generated.LocalStateData;
+import org.apache.storm.generated.ThriftSerializedObject;
+import org.apache.storm.thrift.TDeserializer;
+import org.apache.storm.thrift.TException;
+import org.apache.storm.thrift.TSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The file behind a {@link LocalState} that only appends the entries that changed, instead of writing out all of them every time.
+ *
+ * <p>Every record is the length and CRC32 of a serialized {@link LocalStateData} holding the entries that were put, or an entry with an
+ * empty name for each one that was removed. Reading replays the records in order and stops at the first one that is incomplete or does
+ * not match its checksum, which is what a crash in the middle of an append leaves behind, and the next append cuts it off. Once the log is
+ * more than twice as big as the entries it holds, and at least {@link #MIN_COMPACT_BYTES}, they are written to a new file as a single
+ * record that is synced and then moved over the log, so readers in other processes always see either the old or the new log.
+ *
+ * <p>The entries last read or written are kept, and are used as long as the file has the same identity and length as back then, so a
+ * process writing on a schedule, like a worker with its heartbeat, does not read the log back in every time.
+ */
+public class LocalStateLog {
+    public static final String LOG_FILE = "localstate.log";
+    static final long MIN_COMPACT_BYTES = 64 * 1024;
+    private static final Logger LOG = LoggerFactory.getLogger(LocalStateLog.class);
+    private static final String COMPACT_SUFFIX = ".compact";
+    private static final int HEADER_BYTES = 8;
+
+    private final Path path;
+    private final Path compactPath;
+    private Map<String, ThriftSerializedObject> cached;
+    private Object cachedFileKey;
+    private long cachedLength;
+    private long snapshotBytes;
+
+    public LocalStateLog(String root) {
+        path = new File(root, LOG_FILE).toPath();
+        compactPath = new File(root, LOG_FILE + COMPACT_SUFFIX).toPath();
+    }
+
+    public boolean exists() {
+        return Files.exists(path);
+    }
+
+    /**
+     * Read the entries in the log.
+     *
+     * @return a copy of the entries, that the caller may change
+     */
+    public synchronized Map<String, ThriftSerializedObject> read() throws IOException {
+        return new HashMap<>(current());
+    }
+
+    /**
+     * Put an entry, or remove it.
+     *
+     * @param key   the key of the entry
+     * @param value the serialized value, or null to remove the entry
+     */
+    public synchronized void append(String key, ThriftSerializedObject value) throws IOException {
+        Map<String, ThriftSerializedObject> entries = current();
+        ThriftSerializedObject toWrite = value == null ? new ThriftSerializedObject("", ByteBuffer.allocate(0)) : value;
+        ByteBuffer record = record(Collections.singletonMap(key, toWrite));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            if (channel.size() > cachedLength) {
+                LOG.warn("Dropping {} bytes of an incomplete record at the end of {}", channel.size() - cachedLength, path);
+                channel.truncate(cachedLength);
+            }
+            channel.position(cachedLength);
+            while (record.hasRemaining()) {
+                cachedLength += channel.write(record);
+            }
+        }
+        if (value == null) {
+            entries.remove(key);
+        } else {
+            entries.put(key, value);
+        }
+        cachedFileKey = fileKey(cachedLength);
+        if (cachedLength >= MIN_COMPACT_BYTES && cachedLength > 2 * snapshotBytes) {
+            snapshotBytes = HEADER_BYTES + serialize(entries).length;
+            if (cachedLength > 2 * snapshotBytes) {
+                try {
+                    rewrite(entries);
+                } catch (IOException e) {
+                    // the append itself made it, so just try again with the next one
+                    LOG.warn("Could not compact {}", path, e);
+                    snapshotBytes = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Replace the log with one holding just these entries.
+     */
+    public synchronized void rewrite(Map<String, ThriftSerializedObject> entries) throws IOException {
+        ByteBuffer record = record(entries);
+        long length = record.remaining();
+        try (FileChannel channel = FileChannel.open(compactPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            channel.force(true);
+        }
+        Files.move(compactPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        cached = new HashMap<>(entries);
+        cachedLength = length;
+        snapshotBytes = length;
+        cachedFileKey = fileKey(length);
+    }
+
+    public synchronized void delete() throws IOException {
+        Files.deleteIfExists(path);
+        cached = null;
+    }
+
+    private Map<String, ThriftSerializedObject> current() throws IOException {
+        if (cached != null && cachedFileKey != null && cachedFileKey.equals(fileKey(cachedLength))) {
+            return cached;
+        }
+        cached = null;
+        byte[] bytes = Files.readAllBytes(path);
+        Map<String, ThriftSerializedObject> entries = new HashMap<>();
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        TDeserializer td = new TDeserializer();
+        CRC32 crc = new CRC32();
+        int valid = 0;
+        while (bytes.length - valid >= HEADER_BYTES) {
+            int length = buf.getInt(valid);
+            int checksum = buf.getInt(valid + 4);
+            int start = valid + HEADER_BYTES;
+            if (length < 0 || length > bytes.length - start) {
+                break;
+            }
+            crc.reset();
+            crc.update(bytes, start, length);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            LocalStateData data = new LocalStateData();
+            try {
+                td.deserialize(data, bytes, start, length);
+            } catch (TException e) {
+                throw new IOException("Could not read a record of " + path + " that matches its checksum", e);
+            }
+            for (Map.Entry<String, ThriftSerializedObject> entry : data.get_serialized_parts().entrySet()) {
+                if (entry.getValue().get_name().isEmpty()) {
+                    entries.remove(entry.getKey());
+                } else {
+                    entries.put(entry.getKey(), entry.getValue());
+                }
+            }
+            valid = start + length;
+        }
+        // anything after the last complete record is cut off by the next append, until then the file is read again every time
+        cached = entries;
+        cachedLength = valid;
+        cachedFileKey = valid == bytes.length ? fileKey(valid) : null;
+        snapshotBytes = 0;
+        return cached;
+    }
+
+    private Object fileKey(long length) throws IOException {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+            return attrs.size() == length ? attrs.fileKey() : null;
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private static ByteBuffer record(Map<String, ThriftSerializedObject> entries) throws IOException {
+        byte[] payload = serialize(entries);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        byte[] record = new byte[HEADER_BYTES + payload.length];
+        ByteBuffer.wrap(record).putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+        return ByteBuffer.wrap(record);
+    }
+
+    private static byte[] serialize(Map<String, ThriftSerializedObject> entries) throws IOException {
+        try {
+            return new TSerializer().serialize(new LocalStateData(entries));
+        } catch (TException e) {
+            throw new IOException(e);
+        }
+    }
+}
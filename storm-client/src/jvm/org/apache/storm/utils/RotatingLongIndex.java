@@ -0,0 +1,294 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.utils;
+
+import java.util.Arrays;
+
+/**
+ * The key index of a {@link RotatingMap} for primitive long keys. Maps each key to an entry id, a small int that stays the same for as long
+ * as the key is present, so that subclasses can keep the values in parallel arrays indexed by entry id instead of in one object per key.
+ *
+ * <p>Keys are kept in numBuckets open addressing hash tables with the same rotation semantics as {@link RotatingMap}: {@link #put(long)}
+ * moves a key to the newest bucket, and {@link #rotate()} expires everything in the oldest one. Rotating reuses the expired table, so
+ * nothing is allocated in the steady state.
+ *
+ * <p>Note: This class is not thread-safe.
+ */
+public class RotatingLongIndex {
+    public static final int NO_ENTRY = -1;
+    //this default ensures things expire at most 50% past the expiration time
+    private static final int DEFAULT_NUM_BUCKETS = 3;
+    private static final int MIN_CAPACITY = 16;
+
+    private final Bucket[] buckets;
+    private int newest = 0;
+    // swapped in for the oldest bucket on rotate, so that expire() callbacks may modify the map
+    private Bucket spare = new Bucket(MIN_CAPACITY);
+
+    private int[] freeEntries;
+    private int freeCount = 0;
+    private int nextEntry = 0;
+    private int entryCapacity;
+    private int size = 0;
+
+    public RotatingLongIndex(int numBuckets) {
+        if (numBuckets < 2) {
+            throw new IllegalArgumentException("numBuckets must be >= 2");
+        }
+        buckets = new Bucket[numBuckets];
+        for (int i = 0; i < numBuckets; i++) {
+            buckets[i] = new Bucket(MIN_CAPACITY);
+        }
+        entryCapacity = MIN_CAPACITY;
+        freeEntries = new int[MIN_CAPACITY];
+    }
+
+    public RotatingLongIndex() {
+        this(DEFAULT_NUM_BUCKETS);
+    }
+
+    /**
+     * Expire every key in the oldest bucket, calling {@link #expire(long, int)} for each before its entry id is freed.
+     *
+     * @return the number of expired keys
+     */
+    public int rotate() {
+        int oldest = (newest + buckets.length - 1) % buckets.length;
+        Bucket dead = buckets[oldest];
+        buckets[oldest] = spare;
+        newest = oldest;
+        spare = null;
+        int expired = dead.size;
+        for (int slot = 0; slot < dead.entries.length; slot++) {
+            int entry = dead.entries[slot];
+            if (entry != NO_ENTRY) {
+                expire(dead.keys[slot], entry);
+                freeEntry(entry);
+            }
+        }
+        dead.clear();
+        spare = dead;
+        return expired;
+    }
+
+    /**
+     * Get the entry id of a key.
+     *
+     * @return the entry id, or {@link #NO_ENTRY} if the key is not present
+     */
+    public int entryOf(long key) {
+        for (int age = 0; age < buckets.length; age++) {
+            Bucket bucket = bucket(age);
+            int slot = bucket.find(key);
+            if (slot >= 0) {
+                return bucket.entries[slot];
+            }
+        }
+        return NO_ENTRY;
+    }
+
+    public boolean containsKey(long key) {
+        return entryOf(key) != NO_ENTRY;
+    }
+
+    /**
+     * Add a key to the newest bucket, or move it there if it is in an older one.
+     *
+     * @return the entry id of the key; a new one if the key was not present
+     */
+    public int put(long key) {
+        Bucket first = buckets[newest];
+        int slot = first.find(key);
+        if (slot >= 0) {
+            return first.entries[slot];
+        }
+        int entry = NO_ENTRY;
+        for (int age = 1; age < buckets.length && entry == NO_ENTRY; age++) {
+            entry = bucket(age).remove(key);
+        }
+        if (entry == NO_ENTRY) {
+            entry = allocateEntry();
+        }
+        first.insert(key, entry);
+        return entry;
+    }
+
+    /**
+     * Remove a key. Its entry id is freed and may be handed out again by the next {@link #put(long)}, so read what is needed from the
+     * subclass arrays before calling this.
+     *
+     * @return the entry id the key had, or {@link #NO_ENTRY} if the key was not present
+     */
+    public int removeKey(long key) {
+        for (int age = 0; age < buckets.length; age++) {
+            int entry = bucket(age).remove(key);
+            if (entry != NO_ENTRY) {
+                freeEntry(entry);
+                return entry;
+            }
+        }
+        return NO_ENTRY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The number of entry ids that may currently be handed out, ids range from 0 to entryCapacity() - 1.
+     */
+    protected int entryCapacity() {
+        return entryCapacity;
+    }
+
+    /**
+     * Called by {@link #rotate()} for each expiring key, before the entry id is freed.
+     */
+    protected void expire(long key, int entry) {
+    }
+
+    /**
+     * Called when an entry id is freed, to drop references held for it.
+     */
+    protected void releaseEntry(int entry) {
+    }
+
+    /**
+     * Called when entry ids up to capacity - 1 may be handed out, so that subclasses can grow their arrays.
+     */
+    protected void growEntries(int capacity) {
+    }
+
+    private Bucket bucket(int age) {
+        return buckets[(newest + age) % buckets.length];
+    }
+
+    private int allocateEntry() {
+        size++;
+        if (freeCount > 0) {
+            return freeEntries[--freeCount];
+        }
+        if (nextEntry == entryCapacity) {
+            entryCapacity *= 2;
+            freeEntries = Arrays.copyOf(freeEntries, entryCapacity);
+            growEntries(entryCapacity);
+        }
+        return nextEntry++;
+    }
+
+    private void freeEntry(int entry) {
+        releaseEntry(entry);
+        freeEntries[freeCount++] = entry;
+        size--;
+    }
+
+    /**
+     * Linear probing hash table from key to entry id. A slot is free if its entry is NO_ENTRY, so any long is a valid key.
+     */
+    private static final class Bucket {
+        private long[] keys;
+        private int[] entries;
+        private int mask;
+        private int size;
+        // the most keys this bucket held since it was last cleared, to shrink it again after a burst
+        private int highWater;
+
+        Bucket(int capacity) {
+            allocate(capacity);
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            entries = new int[capacity];
+            Arrays.fill(entries, NO_ENTRY);
+            mask = capacity - 1;
+            size = 0;
+        }
+
+        private int slotOf(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+
+        int find(long key) {
+            for (int slot = slotOf(key); ; slot = (slot + 1) & mask) {
+                if (entries[slot] == NO_ENTRY) {
+                    return -1;
+                }
+                if (keys[slot] == key) {
+                    return slot;
+                }
+            }
+        }
+
+        void insert(long key, int entry) {
+            if ((size + 1) * 2 > entries.length) {
+                rehash(entries.length * 2);
+            }
+            int slot = slotOf(key);
+            while (entries[slot] != NO_ENTRY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            entries[slot] = entry;
+            size++;
+            highWater = Math.max(highWater, size);
+        }
+
+        int remove(long key) {
+            int slot = find(key);
+            if (slot < 0) {
+                return NO_ENTRY;
+            }
+            int entry = entries[slot];
+            // backward shift deletion keeps probe sequences intact without tombstones
+            int hole = slot;
+            for (int next = (hole + 1) & mask; entries[next] != NO_ENTRY; next = (next + 1) & mask) {
+                int home = slotOf(keys[next]);
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    keys[hole] = keys[next];
+                    entries[hole] = entries[next];
+                    hole = next;
+                }
+            }
+            entries[hole] = NO_ENTRY;
+            size--;
+            return entry;
+        }
+
+        void clear() {
+            int wanted = MIN_CAPACITY;
+            while (wanted < highWater * 2) {
+                wanted *= 2;
+            }
+            if (wanted * 4 <= entries.length) {
+                allocate(wanted);
+            } else {
+                Arrays.fill(entries, NO_ENTRY);
+                size = 0;
+            }
+            highWater = 0;
+        }
+
+        private void rehash(int capacity) {
+            long[] oldKeys = keys;
+            int[] oldEntries = entries;
+            allocate(capacity);
+            for (int slot = 0; slot < oldEntries.length; slot++) {
+                if (oldEntries[slot] != NO_ENTRY) {
+                    insert(oldKeys[slot], oldEntries[slot]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.utils;
+
+import java.util.Arrays;
+
+/**
+ * A {@link RotatingMap} with primitive long keys. Keys are neither boxed nor wrapped in map entries, and the values are kept in an array
+ * indexed by the entry id of their key, see {@link RotatingLongIndex}.
+ *
+ * <p>Note: This class is not thread-safe.
+ */
+public class RotatingLongMap<V> extends RotatingLongIndex {
+    private final ExpiredCallback<V> callback;
+    private Object[] values = new Object[entryCapacity()];
+
+    public RotatingLongMap(int numBuckets, ExpiredCallback<V> callback) {
+        super(numBuckets);
+        this.callback = callback;
+    }
+
+    public RotatingLongMap(ExpiredCallback<V> callback) {
+        super();
+        this.callback = callback;
+    }
+
+    public RotatingLongMap(int numBuckets) {
+        this(numBuckets, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int entry = entryOf(key);
+        return entry == NO_ENTRY ? null : (V) values[entry];
+    }
+
+    public void put(long key, V value) {
+        int entry = put(key);
+        values[entry] = value;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int entry = entryOf(key);
+        if (entry == NO_ENTRY) {
+            return null;
+        }
+        V value = (V) values[entry];
+        removeKey(key);
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void expire(long key, int entry) {
+        if (callback != null) {
+            callback.expire(key, (V) values[entry]);
+        }
+    }
+
+    @Override
+    protected void releaseEntry(int entry) {
+        values[entry] = null;
+    }
+
+    @Override
+    protected void growEntries(int capacity) {
+        values = Arrays.copyOf(values, capacity);
+    }
+
+    public interface ExpiredCallback<V> {
+        void expire(long key, V val);
+    }
+}
@@ -1,4 +1,3 @@
-
 /**
  * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
  * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
@@ -13,71 +12,197 @@
 
 package org.apache.storm.utils;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.stream.Stream;
+import java.util.NoSuchElementException;
 import org.apache.storm.generated.NodeInfo;
 import org.apache.storm.messaging.IConnection;
+import org.apache.storm.messaging.RemoteTaskCredits;
 import org.apache.storm.messaging.TaskMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Collects the messages of one transfer batch and sends them to their destination workers, one {@link IConnection#send(Iterator)} per
+ * worker.
+ *
+ * <p>The task to worker routing is resolved into arrays indexed by task id, and rebuilt only when the worker installs a new routing or
+ * connection map. Messages are grouped into reusable per-worker batches that double as the iterator handed to the connection, so sending
+ * allocates nothing in the steady state. Messages to a worker are sent in the order they were added.
+ *
+ * <p>Messages that are dropped because their worker is unknown or not connected give back the credits taken for them.
+ */
 public class TransferDrainer {
 
     private static final Logger LOG = LoggerFactory.getLogger(TransferDrainer.class);
-    private final Map<Integer, ArrayList<TaskMessage>> bundles = new HashMap<>();
+    private static final int NO_DESTINATION = -1;
+
+    private final int maxTaskId;
+    private final RemoteTaskCredits remoteCredits; // null if credits are not used
+    private TaskMessage[] pending = new TaskMessage[64];
+    private int pendingCount = 0;
+
+    // routing, rebuilt whenever the maps passed to send() change
+    private Map<Integer, NodeInfo> routedTaskToNode;
+    private Map<NodeInfo, IConnection> routedConnections;
+    private final int[] taskToDestination; // [taskId] -> index into destinations, or NO_DESTINATION
+    private DestinationBatch[] destinations = new DestinationBatch[0];
+    private int destinationCount = 0;
+
+    // destinations that received messages in the current send()
+    private int[] touched = new int[0];
+    private int touchedCount = 0;
+
+    public TransferDrainer(int maxTaskId) {
+        this(maxTaskId, null);
+    }
+
+    public TransferDrainer(int maxTaskId, RemoteTaskCredits remoteCredits) {
+        this.maxTaskId = maxTaskId;
+        this.remoteCredits = remoteCredits;
+        this.taskToDestination = new int[maxTaskId + 1];
+        Arrays.fill(taskToDestination, NO_DESTINATION);
+    }
 
-    // Cache the msgs grouped by destination node
     public void add(TaskMessage taskMsg) {
-        int destId = taskMsg.task();
-        ArrayList<TaskMessage> msgs = bundles.get(destId);
-        if (msgs == null) {
-            msgs = new ArrayList<>();
-            bundles.put(destId, msgs);
+        if (pendingCount == pending.length) {
+            pending = Arrays.copyOf(pending, pendingCount * 2);
         }
-        msgs.add(taskMsg);
+        pending[pendingCount++] = taskMsg;
     }
 
     public void send(Map<Integer, NodeInfo> taskToNode, Map<NodeInfo, IConnection> connections) {
-        HashMap<NodeInfo, Stream<TaskMessage>> bundleMapByDestination = groupBundleByDestination(taskToNode);
-
-        for (Map.Entry<NodeInfo, Stream<TaskMessage>> entry : bundleMapByDestination.entrySet()) {
-            NodeInfo node = entry.getKey();
-            IConnection conn = connections.get(node);
-            if (conn != null) {
-                Iterator<TaskMessage> iter = entry.getValue().iterator();
-                if (iter.hasNext()) {
-                    conn.send(iter);
+        if (taskToNode != routedTaskToNode || connections != routedConnections) {
+            route(taskToNode, connections);
+        }
+
+        int lastUnroutedTask = NO_DESTINATION;
+        for (int i = 0; i < pendingCount; i++) {
+            TaskMessage msg = pending[i];
+            int task = msg.task();
+            int dest = task >= 0 && task <= maxTaskId ? taskToDestination[task] : NO_DESTINATION;
+            if (dest == NO_DESTINATION) {
+                if (task != lastUnroutedTask) {
+                    LOG.warn("No remote destination available for task {}", task);
+                    lastUnroutedTask = task;
+                }
+                msg.release();
+                if (remoteCredits != null && task >= 0 && task <= maxTaskId) {
+                    remoteCredits.release(task);
                 }
-            } else {
-                LOG.warn("Connection not available for hostPort {}", node);
+                continue;
             }
+            DestinationBatch batch = destinations[dest];
+            if (batch.isEmpty()) {
+                touched[touchedCount++] = dest;
+            }
+            batch.add(msg);
         }
-    }
 
-    private HashMap<NodeInfo, Stream<TaskMessage>> groupBundleByDestination(Map<Integer, NodeInfo> taskToNode) {
-        HashMap<NodeInfo, Stream<TaskMessage>> result = new HashMap<>();
+        try {
+            for (int i = 0; i < touchedCount; i++) {
+                DestinationBatch batch = destinations[touched[i]];
+                if (batch.connection != null) {
+                    batch.connection.send(batch);
+                } else {
+                    LOG.warn("Connection not available for hostPort {}", batch.node);
+                }
+            }
+        } finally {
+            // releases whatever the connections did not consume
+            for (int i = 0; i < touchedCount; i++) {
+                destinations[touched[i]].clear(remoteCredits);
+            }
+            touchedCount = 0;
+        }
+    }
 
-        for (Entry<Integer, ArrayList<TaskMessage>> entry : bundles.entrySet()) {
-            if (entry.getValue().isEmpty()) {
+    private void route(Map<Integer, NodeInfo> taskToNode, Map<NodeInfo, IConnection> connections) {
+        Arrays.fill(taskToDestination, NO_DESTINATION);
+        Map<NodeInfo, Integer> nodeToDestination = new HashMap<>();
+        for (Map.Entry<Integer, NodeInfo> entry : taskToNode.entrySet()) {
+            int task = entry.getKey();
+            if (task < 0 || task > maxTaskId) {
                 continue;
             }
-            NodeInfo node = taskToNode.get(entry.getKey());
-            if (node != null) {
-                result.merge(node, entry.getValue().stream(), Stream::concat);
-            } else {
-                LOG.warn("No remote destination available for task {}", entry.getKey());
+            taskToDestination[task] = nodeToDestination.computeIfAbsent(entry.getValue(), node -> nodeToDestination.size());
+        }
+
+        destinationCount = nodeToDestination.size();
+        if (destinations.length < destinationCount) {
+            destinations = Arrays.copyOf(destinations, destinationCount);
+            touched = new int[destinationCount];
+        }
+        for (Map.Entry<NodeInfo, Integer> entry : nodeToDestination.entrySet()) {
+            int dest = entry.getValue();
+            if (destinations[dest] == null) {
+                destinations[dest] = new DestinationBatch();
             }
+            destinations[dest].node = entry.getKey();
+            destinations[dest].connection = connections.get(entry.getKey());
         }
-        return result;
+        for (int i = destinationCount; i < destinations.length; i++) {
+            if (destinations[i] != null) {
+                destinations[i].node = null;
+                destinations[i].connection = null;
+            }
+        }
+
+        routedTaskToNode = taskToNode;
+        routedConnections = connections;
     }
 
     public void clear() {
-        for (ArrayList<TaskMessage> taskMessages : bundles.values()) {
-            taskMessages.clear();
+        Arrays.fill(pending, 0, pendingCount, null);
+        pendingCount = 0;
+    }
+
+    /**
+     * The messages of one send() to one worker, and the iterator over them that is handed to its connection.
+     */
+    private static class DestinationBatch implements Iterator<TaskMessage> {
+        private NodeInfo node;
+        private IConnection connection;
+        private TaskMessage[] msgs = new TaskMessage[16];
+        private int size = 0;
+        private int next = 0;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void add(TaskMessage msg) {
+            if (size == msgs.length) {
+                msgs = Arrays.copyOf(msgs, size * 2);
+            }
+            msgs[size++] = msg;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public TaskMessage next() {
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            return msgs[next++];
+        }
+
+        void clear(RemoteTaskCredits credits) {
+            for (int i = next; i < size; i++) {
+                msgs[i].release();
+                if (credits != null) {
+                    credits.release(msgs[i].task());
+                }
+            }
+            Arrays.fill(msgs, 0, size, null);
+            size = 0;
+            next = 0;
         }
     }
 }
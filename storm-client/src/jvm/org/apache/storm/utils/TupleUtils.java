@@ -38,6 +38,55 @@ public final class TupleUtils {
         return Math.floorMod(listHashCode(keys), numTasks);
     }
 
+    /**
+     * Same as {@code chooseTaskIndex(Collections.singletonList(key), numTasks)}, without boxing the key into a list.
+     */
+    public static int chooseTaskIndex(long key, int numTasks) {
+        // Arrays.deepHashCode of a single Long
+        return Math.floorMod(31 + Long.hashCode(key), numTasks);
+    }
+
+    /**
+     * Same as {@code chooseTaskIndex(fields.select(selector, values), numTasks)}, given the positions of the selector's fields in the
+     * values, without copying the selected values into a list.
+     */
+    public static int chooseTaskIndex(List<Object> values, int[] fieldIndices, int numTasks) {
+        return Math.floorMod(fieldsHashCode(values, fieldIndices), numTasks);
+    }
+
+    /**
+     * Hash the values at the given positions the way fields grouping does, which is {@code Arrays.deepHashCode} of the selected values.
+     */
+    public static int fieldsHashCode(List<Object> values, int[] fieldIndices) {
+        int hash = 1;
+        for (int fieldIndex : fieldIndices) {
+            hash = 31 * hash + elementHashCode(values.get(fieldIndex));
+        }
+        return hash;
+    }
+
+    /**
+     * Spread a 32 bit hash, like the one of {@link #fieldsHashCode(List, int[])}, over 64 bits with the finalizer of MurmurHash3.
+     */
+    public static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static int elementHashCode(Object element) {
+        if (element == null) {
+            return 0;
+        } else if (element.getClass().isArray()) {
+            // arrays hash by content, the rare case is left to Arrays.deepHashCode of a single element array
+            return Arrays.deepHashCode(new Object[]{ element }) - 31;
+        }
+        return element.hashCode();
+    }
+
     private static <T> int listHashCode(List<T> alist) {
         if (alist == null) {
             return 1;
@@ -0,0 +1,417 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.windowing;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractCollection;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import org.apache.storm.state.Serializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A thread safe collection of window events that keeps only the most recent events on the heap, and writes the older ones out to segment
+ * files in a local directory.
+ *
+ * <p>Events are kept in partitions of {@link #PARTITION_EVENTS}. Once there are more than the given number of events in the partitions on
+ * the heap, the oldest of them is serialized and appended to the current segment file, and only the timestamps and the positions of its
+ * events stay on the heap. The events of a spilled partition are read back and deserialized every time {@link Event#get()} is called,
+ * so they are copies, but the events handed out for the same position are equal to each other. Once all the events of the partitions in
+ * a segment are removed the segment is deleted, which happens soon after they fall out of the window since events expire in about the
+ * order they were added.
+ *
+ * <p>The value of an event can only be got while it is in the collection, the {@link SpillableWindowManager} holds off compactions of the
+ * window while the bolt reads it.
+ */
+public class SpillableEventQueue<T> extends AbstractCollection<Event<T>> implements Closeable {
+    // number of events per partition
+    public static final int PARTITION_EVENTS = 1000;
+    // size of a segment file, after which a new one is started
+    static final long SEGMENT_BYTES = 64 * 1024 * 1024;
+    private static final Logger LOG = LoggerFactory.getLogger(SpillableEventQueue.class);
+
+    private final Serializer<T> serializer;
+    private final Path dir;
+    private final long maxEventsOnHeap;
+    private final long segmentBytes;
+    // ordered partitions, the ones on the heap are always the most recent
+    private final Deque<Partition> partitions = new ArrayDeque<>();
+    private final Deque<Partition> heapPartitions = new ArrayDeque<>();
+    private Segment segment;
+    private int nextSegmentId;
+    private long nextSeq;
+    private long heapEvents;
+    private int size;
+
+    /**
+     * Constructs a {@link SpillableEventQueue}.
+     *
+     * @param serializer      the serializer for the events that are spilled
+     * @param dir             the directory to keep the segment files in, which is created if it does not exist
+     * @param maxEventsOnHeap the number of events to keep on the heap, at least {@link #PARTITION_EVENTS}
+     */
+    public SpillableEventQueue(Serializer<T> serializer, Path dir, long maxEventsOnHeap) {
+        this(serializer, dir, maxEventsOnHeap, SEGMENT_BYTES);
+    }
+
+    // package access for unit tests
+    SpillableEventQueue(Serializer<T> serializer, Path dir, long maxEventsOnHeap, long segmentBytes) {
+        this.serializer = serializer;
+        this.dir = dir;
+        this.maxEventsOnHeap = Math.max(PARTITION_EVENTS, maxEventsOnHeap);
+        this.segmentBytes = segmentBytes;
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public synchronized boolean add(Event<T> event) {
+        Partition latest = partitions.peekLast();
+        if (latest == null || latest.size == PARTITION_EVENTS || latest.values == null) {
+            latest = new Partition(nextSeq);
+            partitions.addLast(latest);
+            heapPartitions.addLast(latest);
+        }
+        latest.values[latest.size] = event.get();
+        latest.timestamps[latest.size] = event.getTimestamp();
+        latest.size++;
+        latest.live++;
+        nextSeq++;
+        heapEvents++;
+        size++;
+        while (heapEvents > maxEventsOnHeap && heapPartitions.size() > 1) {
+            spill(heapPartitions.pollFirst());
+        }
+        return true;
+    }
+
+    @Override
+    public Iterator<Event<T>> iterator() {
+        return new Iterator<Event<T>>() {
+            private final Iterator<Partition> parts = snapshot();
+            private Partition cur;
+            private int next;
+            private StoredEvent last;
+
+            @Override
+            public boolean hasNext() {
+                synchronized (SpillableEventQueue.this) {
+                    while (true) {
+                        if (cur != null) {
+                            next = cur.removed.nextClearBit(next);
+                            if (next < cur.size) {
+                                return true;
+                            }
+                        }
+                        if (!parts.hasNext()) {
+                            return false;
+                        }
+                        cur = parts.next();
+                        next = 0;
+                    }
+                }
+            }
+
+            @Override
+            public Event<T> next() {
+                synchronized (SpillableEventQueue.this) {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    last = new StoredEvent(cur, next, cur.timestamps[next]);
+                    next++;
+                    return last;
+                }
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException("No calls to next() since last call to remove()");
+                }
+                removeEvent(last.partition, last.index);
+                last = null;
+            }
+        };
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns the position of an event of this collection in the order the events were added.
+     */
+    long seq(Event<T> event) {
+        StoredEvent stored = (StoredEvent) event;
+        return stored.partition.firstSeq + stored.index;
+    }
+
+    /**
+     * Deletes the segment files and the directory they are in.
+     */
+    @Override
+    public synchronized void close() {
+        for (Partition partition : partitions) {
+            if (partition.segment != null && partition.segment != segment) {
+                partition.segment.delete();
+            }
+        }
+        if (segment != null) {
+            segment.delete();
+            segment = null;
+        }
+        partitions.clear();
+        heapPartitions.clear();
+        heapEvents = 0;
+        size = 0;
+        try {
+            Files.deleteIfExists(dir);
+        } catch (IOException e) {
+            LOG.warn("Could not delete {}", dir, e);
+        }
+    }
+
+    private synchronized Iterator<Partition> snapshot() {
+        return new ArrayList<>(partitions).iterator();
+    }
+
+    private T read(Partition partition, int index) {
+        byte[] bytes;
+        synchronized (this) {
+            if (partition.values != null) {
+                return partition.value(index);
+            }
+            if (partition.removed.get(index)) {
+                throw new IllegalStateException("Event was removed from the window");
+            }
+            bytes = partition.segment.read(partition.offsets[index], partition.lengths[index]);
+        }
+        return serializer.deserialize(bytes);
+    }
+
+    private synchronized void removeEvent(Partition partition, int index) {
+        if (partition.removed.get(index)) {
+            return;
+        }
+        partition.removed.set(index);
+        partition.live--;
+        size--;
+        if (partition.values != null) {
+            partition.values[index] = null;
+            heapEvents--;
+        }
+        if (partition.live == 0 && (partition.size == PARTITION_EVENTS || partition != partitions.peekLast())) {
+            partitions.remove(partition);
+            if (partition.values != null) {
+                heapPartitions.remove(partition);
+            } else if (--partition.segment.partitions == 0) {
+                release(partition.segment);
+            }
+        }
+    }
+
+    private void spill(Partition partition) {
+        byte[][] events = new byte[partition.size][];
+        int total = 0;
+        for (int i = 0; i < partition.size; i++) {
+            if (!partition.removed.get(i)) {
+                events[i] = serializer.serialize(partition.value(i));
+                total += events[i].length;
+            }
+        }
+        if (segment == null || (segment.length > 0 && segment.length + total > segmentBytes)) {
+            if (segment != null && segment.partitions == 0) {
+                segment.delete();
+            }
+            segment = new Segment(dir.resolve("segment-" + nextSegmentId++));
+        }
+        byte[] record = new byte[total];
+        long[] offsets = new long[partition.size];
+        int[] lengths = new int[partition.size];
+        int pos = 0;
+        for (int i = 0; i < partition.size; i++) {
+            if (events[i] != null) {
+                offsets[i] = segment.length + pos;
+                lengths[i] = events[i].length;
+                System.arraycopy(events[i], 0, record, pos, events[i].length);
+                pos += events[i].length;
+            }
+        }
+        segment.append(ByteBuffer.wrap(record));
+        segment.partitions++;
+        partition.segment = segment;
+        partition.offsets = offsets;
+        partition.lengths = lengths;
+        partition.values = null;
+        heapEvents -= partition.live;
+        LOG.debug("Spilled {} events of partition {} to {}", partition.live, partition.firstSeq, segment.path);
+    }
+
+    private void release(Segment released) {
+        if (released == segment) {
+            // reuse the file for the next partitions
+            released.truncate();
+        } else {
+            released.delete();
+        }
+    }
+
+    private final class Partition {
+        final long firstSeq;
+        final long[] timestamps = new long[PARTITION_EVENTS];
+        final BitSet removed = new BitSet();
+        // the events while the partition is on the heap, null once it was spilled
+        Object[] values = new Object[PARTITION_EVENTS];
+        Segment segment;
+        long[] offsets;
+        int[] lengths;
+        int size;
+        int live;
+
+        Partition(long firstSeq) {
+            this.firstSeq = firstSeq;
+        }
+
+        @SuppressWarnings("unchecked")
+        T value(int index) {
+            return (T) values[index];
+        }
+    }
+
+    private final class StoredEvent implements Event<T> {
+        final Partition partition;
+        final int index;
+        final long ts;
+
+        StoredEvent(Partition partition, int index, long ts) {
+            this.partition = partition;
+            this.index = index;
+            this.ts = ts;
+        }
+
+        @Override
+        public long getTimestamp() {
+            return ts;
+        }
+
+        @Override
+        public T get() {
+            return read(partition, index);
+        }
+
+        @Override
+        public boolean isWatermark() {
+            return false;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SpillableEventQueue.StoredEvent)) {
+                return false;
+            }
+            SpillableEventQueue<?>.StoredEvent that = (SpillableEventQueue<?>.StoredEvent) o;
+            return partition == that.partition && index == that.index;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(partition.firstSeq + index);
+        }
+
+        @Override
+        public String toString() {
+            return "StoredEvent{"
+                    + "seq=" + (partition.firstSeq + index)
+                    + ", ts=" + ts
+                    + '}';
+        }
+    }
+
+    private static final class Segment {
+        final Path path;
+        final FileChannel channel;
+        long length;
+        int partitions;
+
+        Segment(Path path) {
+            this.path = path;
+            try {
+                channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        void append(ByteBuffer buf) {
+            try {
+                while (buf.hasRemaining()) {
+                    length += channel.write(buf, length);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Could not spill window events to " + path, e);
+            }
+        }
+
+        byte[] read(long offset, int len) {
+            byte[] bytes = new byte[len];
+            ByteBuffer buf = ByteBuffer.wrap(bytes);
+            try {
+                while (buf.hasRemaining()) {
+                    if (channel.read(buf, offset + buf.position()) < 0) {
+                        throw new IOException("Unexpected end of " + path);
+                    }
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Could not read window events from " + path, e);
+            }
+            return bytes;
+        }
+
+        void truncate() {
+            try {
+                channel.truncate(0);
+                length = 0;
+            } catch (IOException e) {
+                LOG.warn("Could not truncate {}", path, e);
+            }
+        }
+
+        void delete() {
+            try {
+                channel.close();
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                LOG.warn("Could not delete {}", path, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.windowing;
+
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+import org.apache.storm.shade.com.google.common.collect.Iterators;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Window manager for windows whose older events are spilled to disk by a {@link SpillableEventQueue}.
+ *
+ * <p>On activation the listener gets iterators that stream the events of the window from the queue, so that the spilled events are
+ * read back one at a time as they are iterated and the window is never held on the heap as a whole. Only the positions of the events in
+ * the window are kept, as a bit per event. Compactions are held off until the listener returns, so that none of the events of the window
+ * are expired while they are read.
+ */
+public class SpillableWindowManager<T> extends WindowManager<T> {
+    private static final Logger LOG = LoggerFactory.getLogger(SpillableWindowManager.class);
+    private final SpillableEventQueue<T> spillableQueue;
+    // the window that is being evaluated, if any
+    private volatile EventSet evaluating;
+    private EventSet prevWindow = new EventSet();
+
+    /**
+     * Constructs a {@link SpillableWindowManager}.
+     *
+     * @param lifecycleListener the {@link WindowLifecycleListener}
+     * @param queue             the queue the events in the window are enqueued in
+     */
+    public SpillableWindowManager(WindowLifecycleListener<T> lifecycleListener, SpillableEventQueue<T> queue) {
+        super(lifecycleListener, queue);
+        this.spillableQueue = queue;
+    }
+
+    @Override
+    public boolean onTrigger() {
+        EventSet window = new EventSet();
+        evaluating = window;
+        try {
+            List<T> expired = scanWindow(event -> window.add(spillableQueue.seq(event)));
+            if (!window.isEmpty()) {
+                LOG.debug("invoking windowLifecycleListener onActivation with iterator, [{}] events in window.", window.size());
+                windowLifecycleListener.onActivation(events(window, new EventSet()), events(window, prevWindow), expired::iterator,
+                                                     evictionPolicy.getContext().getReferenceTime());
+            } else {
+                LOG.debug("No events in the window, skipping onActivation");
+            }
+            prevWindow = window;
+        } finally {
+            evaluating = null;
+        }
+        triggerPolicy.reset();
+        return !window.isEmpty();
+    }
+
+    @Override
+    protected boolean canCompact() {
+        return evaluating == null;
+    }
+
+    /*
+     * The events of the window that are not in the excluded set, read back as they are iterated.
+     */
+    private Supplier<Iterator<T>> events(EventSet window, EventSet excluded) {
+        return () -> {
+            if (evaluating != window) {
+                throw new IllegalStateException("Stale window, the window is valid only within the corresponding execute");
+            }
+            Iterator<Event<T>> it = Iterators.filter(spillableQueue.iterator(), event -> {
+                long seq = spillableQueue.seq(event);
+                return window.contains(seq) && !excluded.contains(seq);
+            });
+            return Iterators.transform(it, Event::get);
+        };
+    }
+
+    /**
+     * A set of the positions of events in the queue, which are added in increasing order.
+     */
+    private static final class EventSet {
+        private final BitSet seqs = new BitSet();
+        private long firstSeq = -1;
+        private int size;
+
+        void add(long seq) {
+            if (firstSeq < 0) {
+                firstSeq = seq;
+            }
+            seqs.set(Math.toIntExact(seq - firstSeq));
+            size++;
+        }
+
+        boolean contains(long seq) {
+            long offset = seq - firstSeq;
+            return firstSeq >= 0 && offset >= 0 && offset <= Integer.MAX_VALUE && seqs.get((int) offset);
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
@@ -42,9 +42,7 @@ public class TupleWindowIterImpl implements TupleWindow {
 
     @Override
     public List<Tuple> get() {
-        List<Tuple> tuples = new ArrayList<>();
-        tuplesIt.get().forEachRemaining(t -> tuples.add(t));
-        return tuples;
+        return toList(tuplesIt);
     }
 
     @Override
@@ -54,12 +52,18 @@ public class TupleWindowIterImpl implements TupleWindow {
 
     @Override
     public List<Tuple> getNew() {
-        throw new UnsupportedOperationException("Not implemented");
+        if (newTuplesIt == null) {
+            throw new UnsupportedOperationException("Not implemented");
+        }
+        return toList(newTuplesIt);
     }
 
     @Override
     public List<Tuple> getExpired() {
-        throw new UnsupportedOperationException("Not implemented");
+        if (expiredTuplesIt == null) {
+            throw new UnsupportedOperationException("Not implemented");
+        }
+        return toList(expiredTuplesIt);
     }
 
     @Override
@@ -71,4 +75,10 @@ public class TupleWindowIterImpl implements TupleWindow {
     public Long getStartTimestamp() {
         return startTimestamp;
     }
+
+    private static List<Tuple> toList(Supplier<Iterator<Tuple>> it) {
+        List<Tuple> tuples = new ArrayList<>();
+        it.get().forEachRemaining(t -> tuples.add(t));
+        return tuples;
+    }
 }
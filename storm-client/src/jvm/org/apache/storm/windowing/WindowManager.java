@@ -18,6 +18,7 @@ import static org.apache.storm.windowing.EvictionPolicy.Action.STOP;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -27,6 +28,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import org.apache.storm.shade.com.google.common.collect.ImmutableMap;
 import org.apache.storm.windowing.EvictionPolicy.Action;
 import org.slf4j.Logger;
@@ -127,20 +129,8 @@ public class WindowManager<T> implements TriggerHandler {
      */
     @Override
     public boolean onTrigger() {
-        List<Event<T>> windowEvents = null;
-        List<T> expired = null;
-        try {
-            lock.lock();
-            /*
-             * scan the entire window to handle out of order events in
-             * the case of time based windows.
-             */
-            windowEvents = scanEvents(true);
-            expired = new ArrayList<>(expiredEvents);
-            expiredEvents.clear();
-        } finally {
-            lock.unlock();
-        }
+        List<Event<T>> windowEvents = new ArrayList<>();
+        List<T> expired = scanWindow(windowEvents::add);
         List<T> events = new ArrayList<>();
         List<T> newEvents = new ArrayList<>();
         for (Event<T> event : windowEvents) {
@@ -161,6 +151,29 @@ public class WindowManager<T> implements TriggerHandler {
         return !events.isEmpty();
     }
 
+    /**
+     * Scans the entire window, expiring the events that fell out of it.
+     *
+     * @param process called with each event of the current window, while the lock is held
+     * @return the events expired since the last activation
+     */
+    protected List<T> scanWindow(Consumer<Event<T>> process) {
+        List<T> expired;
+        try {
+            lock.lock();
+            /*
+             * scan the entire window to handle out of order events in
+             * the case of time based windows.
+             */
+            scanEvents(true, process);
+            expired = new ArrayList<>(expiredEvents);
+            expiredEvents.clear();
+        } finally {
+            lock.unlock();
+        }
+        return expired;
+    }
+
     public void shutdown() {
         LOG.debug("Shutting down WindowManager");
         if (triggerPolicy != null) {
@@ -173,10 +186,17 @@ public class WindowManager<T> implements TriggerHandler {
      */
     protected void compactWindow() {
         if (eventsSinceLastExpiry.incrementAndGet() >= EXPIRE_EVENTS_THRESHOLD) {
-            scanEvents(false);
+            scanEvents(false, event -> { });
         }
     }
 
+    /**
+     * Whether a compaction can expire events from the window now, called while the lock is held.
+     */
+    protected boolean canCompact() {
+        return true;
+    }
+
     /**
      * feed the event to the eviction and trigger policies for bookkeeping and optionally firing the trigger.
      */
@@ -190,15 +210,15 @@ public class WindowManager<T> implements TriggerHandler {
      *
      * @param fullScan if set, will scan the entire queue; if not set, will stop as soon as an event not satisfying the expiration policy is
      *                 found
-     * @return the list of events to be processed as a part of the current window
+     * @param process  called with each event to be processed as a part of the current window
      */
-    private List<Event<T>> scanEvents(boolean fullScan) {
+    private void scanEvents(boolean fullScan, Consumer<Event<T>> process) {
         LOG.debug("Scan events, eviction policy {}", evictionPolicy);
         List<T> eventsToExpire = new ArrayList<>();
-        List<Event<T>> eventsToProcess = new ArrayList<>();
         try {
             lock.lock();
-            Iterator<Event<T>> it = queue.iterator();
+            // a compaction leaves the events alone while they cannot be expired
+            Iterator<Event<T>> it = fullScan || canCompact() ? queue.iterator() : Collections.emptyIterator();
             while (it.hasNext()) {
                 Event<T> windowEvent = it.next();
                 Action action = evictionPolicy.evict(windowEvent);
@@ -208,7 +228,7 @@ public class WindowManager<T> implements TriggerHandler {
                 } else if (!fullScan || action == STOP) {
                     break;
                 } else if (action == PROCESS) {
-                    eventsToProcess.add(windowEvent);
+                    process.accept(windowEvent);
                 }
             }
             expiredEvents.addAll(eventsToExpire);
@@ -221,7 +241,6 @@ public class WindowManager<T> implements TriggerHandler {
             LOG.debug("invoking windowLifecycleListener.onExpiry");
             windowLifecycleListener.onExpiry(eventsToExpire);
         }
-        return eventsToProcess;
     }
 
     /**
@@ -2907,16 +2907,24 @@ class BoltStats(object):
      - process_ms_avg
      - executed
      - execute_ms_avg
+     - process_ms_p99
+     - process_ms_p999
+     - execute_ms_p99
+     - execute_ms_p999
 
     """
 
 
-    def __init__(self, acked=None, failed=None, process_ms_avg=None, executed=None, execute_ms_avg=None,):
+    def __init__(self, acked=None, failed=None, process_ms_avg=None, executed=None, execute_ms_avg=None, process_ms_p99=None, process_ms_p999=None, execute_ms_p99=None, execute_ms_p999=None,):
         self.acked = acked
         self.failed = failed
         self.process_ms_avg = process_ms_avg
         self.executed = executed
         self.execute_ms_avg = execute_ms_avg
+        self.process_ms_p99 = process_ms_p99
+        self.process_ms_p999 = process_ms_p999
+        self.execute_ms_p99 = execute_ms_p99
+        self.execute_ms_p999 = execute_ms_p999
 
     def read(self, iprot):
         if iprot._fast_decode is not None and isinstance(iprot.trans, TTransport.CReadableTransport) and self.thrift_spec is not None:
@@ -3017,6 +3025,78 @@ class BoltStats(object):
                     iprot.readMapEnd()
                 else:
                     iprot.skip(ftype)
+            elif fid == 6:
+                if ftype == TType.MAP:
+                    self.process_ms_p99 = {}
+                    (_ktype866, _vtype867, _size868) = iprot.readMapBegin()
+                    for _i869 in range(_size868):
+                        _key870 = iprot.readString().decode('utf-8') if sys.version_info[0] == 2 else iprot.readString()
+                        _val871 = {}
+                        (_ktype872, _vtype873, _size874) = iprot.readMapBegin()
+                        for _i875 in range(_size874):
+                            _key876 = GlobalStreamId()
+                            _key876.read(iprot)
+                            _val877 = iprot.readDouble()
+                            _val871[_key876] = _val877
+                        iprot.readMapEnd()
+                        self.process_ms_p99[_key870] = _val871
+                    iprot.readMapEnd()
+                else:
+                    iprot.skip(ftype)
+            elif fid == 7:
+                if ftype == TType.MAP:
+                    self.process_ms_p999 = {}
+                    (_ktype878, _vtype879, _size880) = iprot.readMapBegin()
+                    for _i881 in range(_size880):
+                        _key882 = iprot.readString().decode('utf-8') if sys.version_info[0] == 2 else iprot.readString()
+                        _val883 = {}
+                        (_ktype884, _vtype885, _size886) = iprot.readMapBegin()
+                        for _i887 in range(_size886):
+                            _key888 = GlobalStreamId()
+                            _key888.read(iprot)
+                            _val889 = iprot.readDouble()
+                            _val883[_key888] = _val889
+                        iprot.readMapEnd()
+                        self.process_ms_p999[_key882] = _val883
+                    iprot.readMapEnd()
+                else:
+                    iprot.skip(ftype)
+            elif fid == 8:
+                if ftype == TType.MAP:
+                    self.execute_ms_p99 = {}
+                    (_ktype890, _vtype891, _size892) = iprot.readMapBegin()
+                    for _i893 in range(_size892):
+                        _key894 = iprot.readString().decode('utf-8') if sys.version_info[0] == 2 else iprot.readString()
+                        _val895 = {}
+                        (_ktype896, _vtype897, _size898) = iprot.readMapBegin()
+                        for _i899 in range(_size898):
+                            _key900 = GlobalStreamId()
+                            _key900.read(iprot)
+                            _val901 = iprot.readDouble()
+                            _val895[_key900] = _val901
+                        iprot.readMapEnd()
+                        self.execute_ms_p99[_key894] = _val895
+                    iprot.readMapEnd()
+                else:
+                    iprot.skip(ftype)
+            elif fid == 9:
+                if ftype == TType.MAP:
+                    self.execute_ms_p999 = {}
+                    (_ktype902, _vtype903, _size904) = iprot.readMapBegin()
+                    for _i905 in range(_size904):
+                        _key906 = iprot.readString().decode('utf-8') if sys.version_info[0] == 2 else iprot.readString()
+                        _val907 = {}
+                        (_ktype908, _vtype909, _size910) = iprot.readMapBegin()
+                        for _i911 in range(_size910):
+                            _key912 = GlobalStreamId()
+                            _key912.read(iprot)
+                            _val913 = iprot.readDouble()
+                            _val907[_key912] = _val913
+                        iprot.readMapEnd()
+                        self.execute_ms_p999[_key906] = _val907
+                    iprot.readMapEnd()
+                else:
+                    iprot.skip(ftype)
             else:
                 iprot.skip(ftype)
             iprot.readFieldEnd()
@@ -3087,6 +3167,54 @@ class BoltStats(object):
                 oprot.writeMapEnd()
             oprot.writeMapEnd()
             oprot.writeFieldEnd()
+        if self.process_ms_p99 is not None:
+            oprot.writeFieldBegin('process_ms_p99', TType.MAP, 6)
+            oprot.writeMapBegin(TType.STRING, TType.MAP, len(self.process_ms_p99))
+            for kiter914, viter915 in self.process_ms_p99.items():
+                oprot.writeString(kiter914.encode('utf-8') if sys.version_info[0] == 2 else kiter914)
+                oprot.writeMapBegin(TType.STRUCT, TType.DOUBLE, len(viter915))
+                for kiter916, viter917 in viter915.items():
+                    kiter916.write(oprot)
+                    oprot.writeDouble(viter917)
+                oprot.writeMapEnd()
+            oprot.writeMapEnd()
+            oprot.writeFieldEnd()
+        if self.process_ms_p999 is not None:
+            oprot.writeFieldBegin('process_ms_p999', TType.MAP, 7)
+            oprot.writeMapBegin(TType.STRING, TType.MAP, len(self.process_ms_p999))
+            for kiter918, viter919 in self.process_ms_p999.items():
+                oprot.writeString(kiter918.encode('utf-8') if sys.version_info[0] == 2 else kiter918)
+                oprot.writeMapBegin(TType.STRUCT, TType.DOUBLE, len(viter919))
+                for kiter920, viter921 in viter919.items():
+                    kiter920.write(oprot)
+                    oprot.writeDouble(viter921)
+                oprot.writeMapEnd()
+            oprot.writeMapEnd()
+            oprot.writeFieldEnd()
+        if self.execute_ms_p99 is not None:
+            oprot.writeFieldBegin('execute_ms_p99', TType.MAP, 8)
+            oprot.writeMapBegin(TType.STRING, TType.MAP, len(self.execute_ms_p99))
+            for kiter922, viter923 in self.execute_ms_p99.items():
+                oprot.writeString(kiter922.encode('utf-8') if sys.version_info[0] == 2 else kiter922)
+                oprot.writeMapBegin(TType.STRUCT, TType.DOUBLE, len(viter923))
+                for kiter924, viter925 in viter923.items():
+                    kiter924.write(oprot)
+                    oprot.writeDouble(viter925)
+                oprot.writeMapEnd()
+            oprot.writeMapEnd()
+            oprot.writeFieldEnd()
+        if self.execute_ms_p999 is not None:
+            oprot.writeFieldBegin('execute_ms_p999', TType.MAP, 9)
+            oprot.writeMapBegin(TType.STRING, TType.MAP, len(self.execute_ms_p999))
+            for kiter926, viter927 in self.execute_ms_p999.items():
+                oprot.writeString(kiter926.encode('utf-8') if sys.version_info[0] == 2 else kiter926)
+                oprot.writeMapBegin(TType.STRUCT, TType.DOUBLE, len(viter927))
+                for kiter928, viter929 in viter927.items():
+                    kiter928.write(oprot)
+                    oprot.writeDouble(viter929)
+                oprot.writeMapEnd()
+            oprot.writeMapEnd()
+            oprot.writeFieldEnd()
         oprot.writeFieldStop()
         oprot.writeStructEnd()
 
@@ -3121,14 +3249,18 @@ class SpoutStats(object):
      - acked
      - failed
      - complete_ms_avg
+     - complete_ms_p99
+     - complete_ms_p999
 
     """
 
 
-    def __init__(self, acked=None, failed=None, complete_ms_avg=None,):
+    def __init__(self, acked=None, failed=None, complete_ms_avg=None, complete_ms_p99=None, complete_ms_p999=None,):
         self.acked = acked
         self.failed = failed
         self.complete_ms_avg = complete_ms_avg
+        self.complete_ms_p99 = complete_ms_p99
+        self.complete_ms_p999 = complete_ms_p999
 
     def read(self, iprot):
         if iprot._fast_decode is not None and isinstance(iprot.trans, TTransport.CReadableTransport) and self.thrift_spec is not None:
@@ -3190,6 +3322,40 @@ class SpoutStats(object):
                     iprot.readMapEnd()
                 else:
                     iprot.skip(ftype)
+            elif fid == 4:
+                if ftype == TType.MAP:
+                    self.complete_ms_p99 = {}
+                    (_ktype930, _vtype931, _size932) = iprot.readMapBegin()
+                    for _i933 in range(_size932):
+                        _key934 = iprot.readString().decode('utf-8') if sys.version_info[0] == 2 else iprot.readString()
+                        _val935 = {}
+                        (_ktype936, _vtype937, _size938) = iprot.readMapBegin()
+                        for _i939 in range(_size938):
+                            _key940 = iprot.readString().decode('utf-8') if sys.version_info[0] == 2 else iprot.readString()
+                            _val941 = iprot.readDouble()
+                            _val935[_key940] = _val941
+                        iprot.readMapEnd()
+                        self.complete_ms_p99[_key934] = _val935
+                    iprot.readMapEnd()
+                else:
+                    iprot.skip(ftype)
+            elif fid == 5:
+                if ftype == TType.MAP:
+                    self.complete_ms_p999 = {}
+                    (_ktype942, _vtype943, _size944) = iprot.readMapBegin()
+                    for _i945 in range(_size944):
+                        _key946 = iprot.readString().decode('utf-8') if sys.version_info[0] == 2 else iprot.readString()
+                        _val947 = {}
+                        (_ktype948, _vtype949, _size950) = iprot.readMapBegin()
+                        for _i951 in range(_size950):
+                            _key952 = iprot.readString().decode('utf-8') if sys.version_info[0] == 2 else iprot.readString()
+                            _val953 = iprot.readDouble()
+                            _val947[_key952] = _val953
+                        iprot.readMapEnd()
+                        self.complete_ms_p999[_key946] = _val947
+                    iprot.readMapEnd()
+                else:
+                    iprot.skip(ftype)
             else:
                 iprot.skip(ftype)
             iprot.readFieldEnd()
@@ -3236,6 +3402,30 @@ class SpoutStats(object):
                 oprot.writeMapEnd()
             oprot.writeMapEnd()
             oprot.writeFieldEnd()
+        if self.complete_ms_p99 is not None:
+            oprot.writeFieldBegin('complete_ms_p99', TType.MAP, 4)
+            oprot.writeMapBegin(TType.STRING, TType.MAP, len(self.complete_ms_p99))
+            for kiter954, viter955 in self.complete_ms_p99.items():
+                oprot.writeString(kiter954.encode('utf-8') if sys.version_info[0] == 2 else kiter954)
+                oprot.writeMapBegin(TType.STRING, TType.DOUBLE, len(viter955))
+                for kiter956, viter957 in viter955.items():
+                    oprot.writeString(kiter956.encode('utf-8') if sys.version_info[0] == 2 else kiter956)
+                    oprot.writeDouble(viter957)
+                oprot.writeMapEnd()
+            oprot.writeMapEnd()
+            oprot.writeFieldEnd()
+        if self.complete_ms_p999 is not None:
+            oprot.writeFieldBegin('complete_ms_p999', TType.MAP, 5)
+            oprot.writeMapBegin(TType.STRING, TType.MAP, len(self.complete_ms_p999))
+            for kiter958, viter959 in self.complete_ms_p999.items():
+                oprot.writeString(kiter958.encode('utf-8') if sys.version_info[0] == 2 else kiter958)
+                oprot.writeMapBegin(TType.STRING, TType.DOUBLE, len(viter959))
+                for kiter960, viter961 in viter959.items():
+                    oprot.writeString(kiter960.encode('utf-8') if sys.version_info[0] == 2 else kiter960)
+                    oprot.writeDouble(viter961)
+                oprot.writeMapEnd()
+            oprot.writeMapEnd()
+            oprot.writeFieldEnd()
         oprot.writeFieldStop()
         oprot.writeStructEnd()
 
@@ -3337,15 +3527,19 @@ class ExecutorStats(object):
      - transferred
      - specific
      - rate
+     - cpu_time_ms
+     - allocated_bytes
 
     """
 
 
-    def __init__(self, emitted=None, transferred=None, specific=None, rate=None,):
+    def __init__(self, emitted=None, transferred=None, specific=None, rate=None, cpu_time_ms=None, allocated_bytes=None,):
         self.emitted = emitted
         self.transferred = transferred
         self.specific = specific
         self.rate = rate
+        self.cpu_time_ms = cpu_time_ms
+        self.allocated_bytes = allocated_bytes
 
     def read(self, iprot):
         if iprot._fast_decode is not None and isinstance(iprot.trans, TTransport.CReadableTransport) and self.thrift_spec is not None:
@@ -3401,6 +3595,16 @@ class ExecutorStats(object):
                     self.rate = iprot.readDouble()
                 else:
                     iprot.skip(ftype)
+            elif fid == 5:
+                if ftype == TType.I64:
+                    self.cpu_time_ms = iprot.readI64()
+                else:
+                    iprot.skip(ftype)
+            elif fid == 6:
+                if ftype == TType.I64:
+                    self.allocated_bytes = iprot.readI64()
+                else:
+                    iprot.skip(ftype)
             else:
                 iprot.skip(ftype)
             iprot.readFieldEnd()
@@ -3443,6 +3647,14 @@ class ExecutorStats(object):
             oprot.writeFieldBegin('rate', TType.DOUBLE, 4)
             oprot.writeDouble(self.rate)
             oprot.writeFieldEnd()
+        if self.cpu_time_ms is not None:
+            oprot.writeFieldBegin('cpu_time_ms', TType.I64, 5)
+            oprot.writeI64(self.cpu_time_ms)
+            oprot.writeFieldEnd()
+        if self.allocated_bytes is not None:
+            oprot.writeFieldBegin('allocated_bytes', TType.I64, 6)
+            oprot.writeI64(self.allocated_bytes)
+            oprot.writeFieldEnd()
         oprot.writeFieldStop()
         oprot.writeStructEnd()
 
@@ -4027,11 +4239,13 @@ class CommonAggregateStats(object):
      - acked
      - failed
      - resources_map
+     - cpu_usage_pct
+     - allocated_bytes_per_sec
 
     """
 
 
-    def __init__(self, num_executors=None, num_tasks=None, emitted=None, transferred=None, acked=None, failed=None, resources_map=None,):
+    def __init__(self, num_executors=None, num_tasks=None, emitted=None, transferred=None, acked=None, failed=None, resources_map=None, cpu_usage_pct=None, allocated_bytes_per_sec=None,):
         self.num_executors = num_executors
         self.num_tasks = num_tasks
         self.emitted = emitted
@@ -4039,6 +4253,8 @@ class CommonAggregateStats(object):
         self.acked = acked
         self.failed = failed
         self.resources_map = resources_map
+        self.cpu_usage_pct = cpu_usage_pct
+        self.allocated_bytes_per_sec = allocated_bytes_per_sec
 
     def read(self, iprot):
         if iprot._fast_decode is not None and isinstance(iprot.trans, TTransport.CReadableTransport) and self.thrift_spec is not None:
@@ -4090,6 +4306,16 @@ class CommonAggregateStats(object):
                     iprot.readMapEnd()
                 else:
                     iprot.skip(ftype)
+            elif fid == 8:
+                if ftype == TType.DOUBLE:
+                    self.cpu_usage_pct = iprot.readDouble()
+                else:
+                    iprot.skip(ftype)
+            elif fid == 9:
+                if ftype == TType.DOUBLE:
+                    self.allocated_bytes_per_sec = iprot.readDouble()
+                else:
+                    iprot.skip(ftype)
             else:
                 iprot.skip(ftype)
             iprot.readFieldEnd()
@@ -4132,6 +4358,14 @@ class CommonAggregateStats(object):
                 oprot.writeDouble(viter389)
             oprot.writeMapEnd()
             oprot.writeFieldEnd()
+        if self.cpu_usage_pct is not None:
+            oprot.writeFieldBegin('cpu_usage_pct', TType.DOUBLE, 8)
+            oprot.writeDouble(self.cpu_usage_pct)
+            oprot.writeFieldEnd()
+        if self.allocated_bytes_per_sec is not None:
+            oprot.writeFieldBegin('allocated_bytes_per_sec', TType.DOUBLE, 9)
+            oprot.writeDouble(self.allocated_bytes_per_sec)
+            oprot.writeFieldEnd()
         oprot.writeFieldStop()
         oprot.writeStructEnd()
 
@@ -4154,12 +4388,16 @@ class SpoutAggregateStats(object):
     """
     Attributes:
      - complete_latency_ms
+     - complete_latency_p99_ms
+     - complete_latency_p999_ms
 
     """
 
 
-    def __init__(self, complete_latency_ms=None,):
+    def __init__(self, complete_latency_ms=None, complete_latency_p99_ms=None, complete_latency_p999_ms=None,):
         self.complete_latency_ms = complete_latency_ms
+        self.complete_latency_p99_ms = complete_latency_p99_ms
+        self.complete_latency_p999_ms = complete_latency_p999_ms
 
     def read(self, iprot):
         if iprot._fast_decode is not None and isinstance(iprot.trans, TTransport.CReadableTransport) and self.thrift_spec is not None:
@@ -4175,6 +4413,16 @@ class SpoutAggregateStats(object):
                     self.complete_latency_ms = iprot.readDouble()
                 else:
                     iprot.skip(ftype)
+            elif fid == 2:
+                if ftype == TType.DOUBLE:
+                    self.complete_latency_p99_ms = iprot.readDouble()
+                else:
+                    iprot.skip(ftype)
+            elif fid == 3:
+                if ftype == TType.DOUBLE:
+                    self.complete_latency_p999_ms = iprot.readDouble()
+                else:
+                    iprot.skip(ftype)
             else:
                 iprot.skip(ftype)
             iprot.readFieldEnd()
@@ -4189,6 +4437,14 @@ class SpoutAggregateStats(object):
             oprot.writeFieldBegin('complete_latency_ms', TType.DOUBLE, 1)
             oprot.writeDouble(self.complete_latency_ms)
             oprot.writeFieldEnd()
+        if self.complete_latency_p99_ms is not None:
+            oprot.writeFieldBegin('complete_latency_p99_ms', TType.DOUBLE, 2)
+            oprot.writeDouble(self.complete_latency_p99_ms)
+            oprot.writeFieldEnd()
+        if self.complete_latency_p999_ms is not None:
+            oprot.writeFieldBegin('complete_latency_p999_ms', TType.DOUBLE, 3)
+            oprot.writeDouble(self.complete_latency_p999_ms)
+            oprot.writeFieldEnd()
         oprot.writeFieldStop()
         oprot.writeStructEnd()
 
@@ -4214,15 +4470,23 @@ class BoltAggregateStats(object):
      - process_latency_ms
      - executed
      - capacity
+     - execute_latency_p99_ms
+     - execute_latency_p999_ms
+     - process_latency_p99_ms
+     - process_latency_p999_ms
 
     """
 
 
-    def __init__(self, execute_latency_ms=None, process_latency_ms=None, executed=None, capacity=None,):
+    def __init__(self, execute_latency_ms=None, process_latency_ms=None, executed=None, capacity=None, execute_latency_p99_ms=None, execute_latency_p999_ms=None, process_latency_p99_ms=None, process_latency_p999_ms=None,):
         self.execute_latency_ms = execute_latency_ms
         self.process_latency_ms = process_latency_ms
         self.executed = executed
         self.capacity = capacity
+        self.execute_latency_p99_ms = execute_latency_p99_ms
+        self.execute_latency_p999_ms = execute_latency_p999_ms
+        self.process_latency_p99_ms = process_latency_p99_ms
+        self.process_latency_p999_ms = process_latency_p999_ms
 
     def read(self, iprot):
         if iprot._fast_decode is not None and isinstance(iprot.trans, TTransport.CReadableTransport) and self.thrift_spec is not None:
@@ -4253,6 +4517,26 @@ class BoltAggregateStats(object):
                     self.capacity = iprot.readDouble()
                 else:
                     iprot.skip(ftype)
+            elif fid == 5:
+                if ftype == TType.DOUBLE:
+                    self.execute_latency_p99_ms = iprot.readDouble()
+                else:
+                    iprot.skip(ftype)
+            elif fid == 6:
+                if ftype == TType.DOUBLE:
+                    self.execute_latency_p999_ms = iprot.readDouble()
+                else:
+                    iprot.skip(ftype)
+            elif fid == 7:
+                if ftype == TType.DOUBLE:
+                    self.process_latency_p99_ms = iprot.readDouble()
+                else:
+                    iprot.skip(ftype)
+            elif fid == 8:
+                if ftype == TType.DOUBLE:
+                    self.process_latency_p999_ms = iprot.readDouble()
+                else:
+                    iprot.skip(ftype)
             else:
                 iprot.skip(ftype)
             iprot.readFieldEnd()
@@ -4279,6 +4563,22 @@ class BoltAggregateStats(object):
             oprot.writeFieldBegin('capacity', TType.DOUBLE, 4)
             oprot.writeDouble(self.capacity)
             oprot.writeFieldEnd()
+        if self.execute_latency_p99_ms is not None:
+            oprot.writeFieldBegin('execute_latency_p99_ms', TType.DOUBLE, 5)
+            oprot.writeDouble(self.execute_latency_p99_ms)
+            oprot.writeFieldEnd()
+        if self.execute_latency_p999_ms is not None:
+            oprot.writeFieldBegin('execute_latency_p999_ms', TType.DOUBLE, 6)
+            oprot.writeDouble(self.execute_latency_p999_ms)
+            oprot.writeFieldEnd()
+        if self.process_latency_p99_ms is not None:
+            oprot.writeFieldBegin('process_latency_p99_ms', TType.DOUBLE, 7)
+            oprot.writeDouble(self.process_latency_p99_ms)
+            oprot.writeFieldEnd()
+        if self.process_latency_p999_ms is not None:
+            oprot.writeFieldBegin('process_latency_p999_ms', TType.DOUBLE, 8)
+            oprot.writeDouble(self.process_latency_p999_ms)
+            oprot.writeFieldEnd()
         oprot.writeFieldStop()
         oprot.writeStructEnd()
 
@@ -11074,6 +11374,10 @@ BoltStats.thrift_spec = (
     (3, TType.MAP, 'process_ms_avg', (TType.STRING, 'UTF8', TType.MAP, (TType.STRUCT, [GlobalStreamId, None], TType.DOUBLE, None, False), False), None, ),  # 3
     (4, TType.MAP, 'executed', (TType.STRING, 'UTF8', TType.MAP, (TType.STRUCT, [GlobalStreamId, None], TType.I64, None, False), False), None, ),  # 4
     (5, TType.MAP, 'execute_ms_avg', (TType.STRING, 'UTF8', TType.MAP, (TType.STRUCT, [GlobalStreamId, None], TType.DOUBLE, None, False), False), None, ),  # 5
+    (6, TType.MAP, 'process_ms_p99', (TType.STRING, 'UTF8', TType.MAP, (TType.STRUCT, [GlobalStreamId, None], TType.DOUBLE, None, False), False), None, ),  # 6
+    (7, TType.MAP, 'process_ms_p999', (TType.STRING, 'UTF8', TType.MAP, (TType.STRUCT, [GlobalStreamId, None], TType.DOUBLE, None, False), False), None, ),  # 7
+    (8, TType.MAP, 'execute_ms_p99', (TType.STRING, 'UTF8', TType.MAP, (TType.STRUCT, [GlobalStreamId, None], TType.DOUBLE, None, False), False), None, ),  # 8
+    (9, TType.MAP, 'execute_ms_p999', (TType.STRING, 'UTF8', TType.MAP, (TType.STRUCT, [GlobalStreamId, None], TType.DOUBLE, None, False), False), None, ),  # 9
 )
 all_structs.append(SpoutStats)
 SpoutStats.thrift_spec = (
@@ -11081,6 +11385,8 @@ SpoutStats.thrift_spec = (
     (1, TType.MAP, 'acked', (TType.STRING, 'UTF8', TType.MAP, (TType.STRING, 'UTF8', TType.I64, None, False), False), None, ),  # 1
     (2, TType.MAP, 'failed', (TType.STRING, 'UTF8', TType.MAP, (TType.STRING, 'UTF8', TType.I64, None, False), False), None, ),  # 2
     (3, TType.MAP, 'complete_ms_avg', (TType.STRING, 'UTF8', TType.MAP, (TType.STRING, 'UTF8', TType.DOUBLE, None, False), False), None, ),  # 3
+    (4, TType.MAP, 'complete_ms_p99', (TType.STRING, 'UTF8', TType.MAP, (TType.STRING, 'UTF8', TType.DOUBLE, None, False), False), None, ),  # 4
+    (5, TType.MAP, 'complete_ms_p999', (TType.STRING, 'UTF8', TType.MAP, (TType.STRING, 'UTF8', TType.DOUBLE, None, False), False), None, ),  # 5
 )
 all_structs.append(ExecutorSpecificStats)
 ExecutorSpecificStats.thrift_spec = (
@@ -11095,6 +11401,8 @@ ExecutorStats.thrift_spec = (
     (2, TType.MAP, 'transferred', (TType.STRING, 'UTF8', TType.MAP, (TType.STRING, 'UTF8', TType.I64, None, False), False), None, ),  # 2
     (3, TType.STRUCT, 'specific', [ExecutorSpecificStats, None], None, ),  # 3
     (4, TType.DOUBLE, 'rate', None, None, ),  # 4
+    (5, TType.I64, 'cpu_time_ms', None, None, ),  # 5
+    (6, TType.I64, 'allocated_bytes', None, None, ),  # 6
 )
 all_structs.append(ExecutorInfo)
 ExecutorInfo.thrift_spec = (
@@ -11659,11 +11967,15 @@ CommonAggregateStats.thrift_spec = (
     (5, TType.I64, 'acked', None, None, ),  # 5
     (6, TType.I64, 'failed', None, None, ),  # 6
     (7, TType.MAP, 'resources_map', (TType.STRING, 'UTF8', TType.DOUBLE, None, False), None, ),  # 7
+    (8, TType.DOUBLE, 'cpu_usage_pct', None, None, ),  # 8
+    (9, TType.DOUBLE, 'allocated_bytes_per_sec', None, None, ),  # 9
 )
 all_structs.append(SpoutAggregateStats)
 SpoutAggregateStats.thrift_spec = (
     None,  # 0
     (1, TType.DOUBLE, 'complete_latency_ms', None, None, ),  # 1
+    (2, TType.DOUBLE, 'complete_latency_p99_ms', None, None, ),  # 2
+    (3, TType.DOUBLE, 'complete_latency_p999_ms', None, None, ),  # 3
 )
 all_structs.append(BoltAggregateStats)
 BoltAggregateStats.thrift_spec = (
@@ -11672,6 +11984,10 @@ BoltAggregateStats.thrift_spec = (
     (2, TType.DOUBLE, 'process_latency_ms', None, None, ),  # 2
     (3, TType.I64, 'executed', None, None, ),  # 3
     (4, TType.DOUBLE, 'capacity', None, None, ),  # 4
+    (5, TType.DOUBLE, 'execute_latency_p99_ms', None, None, ),  # 5
+    (6, TType.DOUBLE, 'execute_latency_p999_ms', None, None, ),  # 6
+    (7, TType.DOUBLE, 'process_latency_p99_ms', None, None, ),  # 7
+    (8, TType.DOUBLE, 'process_latency_p999_ms', None, None, ),  # 8
 )
 all_structs.append(SpecificAggregateStats)
 SpecificAggregateStats.thrift_spec = (
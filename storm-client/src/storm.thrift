@@ -228,12 +228,18 @@ struct BoltStats {
   3: required map<string, map<GlobalStreamId, double>> process_ms_avg;
   4: required map<string, map<GlobalStreamId, i64>> executed;  
   5: required map<string, map<GlobalStreamId, double>> execute_ms_avg;
+  6: optional map<string, map<GlobalStreamId, double>> process_ms_p99;
+  7: optional map<string, map<GlobalStreamId, double>> process_ms_p999;
+  8: optional map<string, map<GlobalStreamId, double>> execute_ms_p99;
+  9: optional map<string, map<GlobalStreamId, double>> execute_ms_p999;
 }
 
 struct SpoutStats {
   1: required map<string, map<string, i64>> acked;
   2: required map<string, map<string, i64>> failed;
   3: required map<string, map<string, double>> complete_ms_avg;
+  4: optional map<string, map<string, double>> complete_ms_p99;
+  5: optional map<string, map<string, double>> complete_ms_p999;
 }
 
 union ExecutorSpecificStats {
@@ -248,6 +254,8 @@ struct ExecutorStats {
   2: required map<string, map<string, i64>> transferred;
   3: required ExecutorSpecificStats specific;
   4: required double rate;
+  5: optional i64 cpu_time_ms;
+  6: optional i64 allocated_bytes;
 }
 
 struct ExecutorInfo {
@@ -297,10 +305,14 @@ struct CommonAggregateStats {
 5: optional i64 acked;
 6: optional i64 failed;
 7: optional map<string, double> resources_map;
+8: optional double cpu_usage_pct;
+9: optional double allocated_bytes_per_sec;
 }
 
 struct SpoutAggregateStats {
 1: optional double complete_latency_ms;
+2: optional double complete_latency_p99_ms;
+3: optional double complete_latency_p999_ms;
 }
 
 struct BoltAggregateStats {
@@ -308,6 +320,10 @@ struct BoltAggregateStats {
 2: optional double process_latency_ms;
 3: optional i64    executed;
 4: optional double capacity;
+5: optional double execute_latency_p99_ms;
+6: optional double execute_latency_p999_ms;
+7: optional double process_latency_p99_ms;
+8: optional double process_latency_p999_ms;
 }
 
 union SpecificAggregateStats {
@@ -0,0 +1,161 @@
+package org.apache.storm.daemon;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.storm.executor.Executor;
+import org.apache.storm.executor.ExecutorTransfer;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.WorkerTopologyContext;
+import org.apache.storm.tuple.AddressedTuple;
+import org.apache.storm.tuple.Tuple;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class TestAckBatcher {
+    private static final int ACKER_TASK = 10;
+    private static final int SPOUT_TASK = 1;
+    private static final int BOLT_TASK = 2;
+
+    private final List<Tuple> sent = new ArrayList<>();
+    private Acker acker;
+    private OutputCollector ackerCollector;
+
+    private Task mockTask(int taskId) {
+        Task task = mock(Task.class);
+        when(task.getTaskId()).thenReturn(taskId);
+        when(task.getOutgoingTasks(anyInt(), anyString(), anyList())).thenReturn(Collections.singletonList(ACKER_TASK));
+        when(task.getTuple(anyString(), anyList())).thenAnswer(inv -> {
+            List<?> values = inv.getArgument(1);
+            return mockTuple(inv.getArgument(0), taskId, values.get(0));
+        });
+        return task;
+    }
+
+    private static Tuple mockTuple(String stream, int sourceTask, Object value) {
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.getSourceStreamId()).thenReturn(stream);
+        when(tuple.getSourceTask()).thenReturn(sourceTask);
+        when(tuple.getValue(0)).thenReturn(value);
+        if (value instanceof byte[]) {
+            when(tuple.getBinary(0)).thenReturn((byte[]) value);
+        }
+        return tuple;
+    }
+
+    private AckBatcher batcher(int taskId, String stream, int batchSize) {
+        WorkerTopologyContext context = mock(WorkerTopologyContext.class);
+        when(context.getComponentTasks(Acker.ACKER_COMPONENT_ID)).thenReturn(Collections.singletonList(ACKER_TASK));
+        ExecutorTransfer transfer = mock(ExecutorTransfer.class);
+        when(transfer.tryTransfer(any(AddressedTuple.class), any())).thenAnswer(inv -> {
+            AddressedTuple addressed = inv.getArgument(0);
+            assertEquals(ACKER_TASK, addressed.getDest());
+            sent.add(addressed.getTuple());
+            return true;
+        });
+        Executor executor = mock(Executor.class);
+        when(executor.getWorkerTopologyContext()).thenReturn(context);
+        when(executor.getTaskIds()).thenReturn(Collections.singletonList(taskId));
+        when(executor.getExecutorTransfer()).thenReturn(transfer);
+        return new AckBatcher(executor, stream, batchSize);
+    }
+
+    private void deliverSent() {
+        for (Tuple tuple : sent) {
+            acker.execute(tuple);
+        }
+        sent.clear();
+    }
+
+    @Before
+    public void setUp() {
+        acker = new Acker();
+        ackerCollector = mock(OutputCollector.class);
+        acker.prepare(Collections.emptyMap(), null, ackerCollector);
+    }
+
+    @Test
+    public void testBatchedAcksCompleteTree() {
+        AckBatcher spout = batcher(SPOUT_TASK, Acker.ACKER_INIT_BATCH_STREAM_ID, 100);
+        AckBatcher bolt = batcher(BOLT_TASK, Acker.ACKER_ACK_BATCH_STREAM_ID, 100);
+        Task spoutTask = mockTask(SPOUT_TASK);
+        Task boltTask = mockTask(BOLT_TASK);
+
+        // the spout emits two tuples of root 7, the bolt acks both and anchors nothing new
+        spout.add(spoutTask, 7L, 0x11L ^ 0x22L);
+        spout.add(spoutTask, 8L, 0x33L);
+        bolt.add(boltTask, 7L, 0x11L);
+        bolt.add(boltTask, 7L, 0x22L);
+        bolt.add(boltTask, 8L, 0x44L);
+        assertEquals("nothing is sent before the flush", 0, sent.size());
+
+        spout.flush();
+        bolt.flush();
+        assertEquals(2, sent.size());
+        assertEquals("the acks of root 7 are folded into one record", 2 * AckBatcher.RECORD_BYTES, sent.get(1).getBinary(0).length);
+        deliverSent();
+
+        assertEquals(Collections.singletonList(7L), rootsSentToSpout(Acker.ACKER_ACK_STREAM_ID));
+        assertEquals(Collections.emptyList(), rootsSentToSpout(Acker.ACKER_FAIL_STREAM_ID));
+
+        // root 8 completes once its remaining edge is acked
+        bolt.add(boltTask, 8L, 0x33L ^ 0x44L);
+        bolt.flush();
+        deliverSent();
+        assertEquals(Arrays.asList(7L, 8L), rootsSentToSpout(Acker.ACKER_ACK_STREAM_ID));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> rootsSentToSpout(String stream) {
+        ArgumentCaptor<List<Object>> captor = ArgumentCaptor.forClass(List.class);
+        verify(ackerCollector, atLeast(0)).emitDirect(eq(SPOUT_TASK), eq(stream), captor.capture());
+        List<Object> roots = new ArrayList<>();
+        for (List<Object> values : captor.getAllValues()) {
+            roots.add(values.get(0));
+        }
+        return roots;
+    }
+
+    @Test
+    public void testFailOfBatchedTree() {
+        AckBatcher spout = batcher(SPOUT_TASK, Acker.ACKER_INIT_BATCH_STREAM_ID, 100);
+        Task spoutTask = mockTask(SPOUT_TASK);
+        spout.add(spoutTask, 9L, 0x55L);
+
+        // fails are not batched, so they can reach the acker before the init
+        acker.execute(mockTuple(Acker.ACKER_FAIL_STREAM_ID, BOLT_TASK, 9L));
+        verify(ackerCollector, never()).emitDirect(anyInt(), anyString(), anyList());
+
+        spout.flush();
+        deliverSent();
+        assertEquals(Collections.singletonList(9L), rootsSentToSpout(Acker.ACKER_FAIL_STREAM_ID));
+        assertEquals(Collections.emptyList(), rootsSentToSpout(Acker.ACKER_ACK_STREAM_ID));
+    }
+
+    @Test
+    public void testFullBatchIsSent() {
+        AckBatcher bolt = batcher(BOLT_TASK, Acker.ACKER_ACK_BATCH_STREAM_ID, 4);
+        Task boltTask = mockTask(BOLT_TASK);
+        for (long root : Arrays.asList(1L, 2L, 1L, 3L, 2L)) {
+            bolt.add(boltTask, root, root);
+        }
+        assertEquals("three roots do not fill a batch of four", 0, sent.size());
+        bolt.add(boltTask, 4L, 4L);
+        assertEquals(1, sent.size());
+        assertEquals(4 * AckBatcher.RECORD_BYTES, sent.get(0).getBinary(0).length);
+    }
+}
@@ -0,0 +1,192 @@
+package org.apache.storm.executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.storm.cluster.ClusterUtils;
+import org.apache.storm.cluster.IStormClusterState;
+import org.apache.storm.daemon.worker.WorkerState;
+import org.apache.storm.executor.bolt.BoltExecutor;
+import org.apache.storm.generated.ComponentCommon;
+import org.apache.storm.metrics2.StormMetricRegistry;
+import org.apache.storm.policy.WaitStrategyPark;
+import org.apache.storm.task.WorkerTopologyContext;
+import org.apache.storm.tuple.AddressedTuple;
+import org.apache.storm.tuple.TupleImpl;
+import org.apache.storm.tuple.Values;
+import org.apache.storm.utils.JCQueue;
+import org.apache.storm.utils.Utils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestExecutorFusion {
+    private static final String TOPOLOGY_ID = "topology-1";
+    private static final int UPSTREAM_TASK = 1;
+    private static final int FUSED_TASK = 2;
+
+    private final List<Object> executed = new ArrayList<>();
+    private final AtomicInteger suicides = new AtomicInteger();
+    private final Map<Integer, JCQueue> localQueues = new HashMap<>();
+    private final Map<List<Long>, JCQueue> executorQueues = new HashMap<>();
+    private IStormClusterState clusterState;
+    private WorkerTopologyContext context;
+    private WorkerState worker;
+    private RuntimeException fusedError;
+    private Executor upstream;
+    private BoltExecutor fused;
+
+    private class RecordingBoltExecutor extends BoltExecutor {
+        RecordingBoltExecutor(List<Long> executorId) {
+            super(worker, executorId, Collections.emptyMap());
+        }
+
+        @Override
+        public void tupleActionFn(int taskId, TupleImpl tuple) {
+            if (fusedError != null && taskId == FUSED_TASK) {
+                throw fusedError;
+            }
+            executed.add(tuple.getValue(0));
+        }
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        clusterState = mock(IStormClusterState.class);
+        ClusterUtils clusterUtils = mock(ClusterUtils.class);
+        when(clusterUtils.mkStormClusterStateImpl(any(), any(), any())).thenReturn(clusterState);
+        ClusterUtils.setInstance(clusterUtils);
+
+        context = mock(WorkerTopologyContext.class);
+        when(context.getComponentId(UPSTREAM_TASK)).thenReturn("upstream");
+        when(context.getComponentId(FUSED_TASK)).thenReturn("fused");
+        ComponentCommon common = new ComponentCommon();
+        common.set_streams(new HashMap<>());
+        when(context.getComponentCommon(anyString())).thenReturn(common);
+        when(context.getTargets(anyString())).thenReturn(new HashMap<>());
+        when(context.getThisWorkerPort()).thenReturn(6700);
+
+        Map<String, Object> conf = Utils.readDefaultConfig();
+        worker = mock(WorkerState.class);
+        when(worker.getWorkerTopologyContext()).thenReturn(context);
+        when(worker.getTopologyConf()).thenReturn(conf);
+        when(worker.getConf()).thenReturn(conf);
+        when(worker.getTopologyId()).thenReturn(TOPOLOGY_ID);
+        when(worker.getExecutorReceiveQueueMap()).thenReturn(executorQueues);
+        when(worker.getLocalReceiveQueues()).thenReturn(localQueues);
+        when(worker.getIsWorkerActive()).thenReturn(new CountDownLatch(0));
+        when(worker.getIsTopologyActive()).thenReturn(new AtomicBoolean(true));
+        when(worker.getStormComponentToDebug()).thenReturn(new AtomicReference<>(new HashMap<>()));
+        when(worker.getSuicideCallback()).thenReturn(suicides::incrementAndGet);
+        when(worker.getMetricRegistry()).thenReturn(new StormMetricRegistry());
+        when(worker.tryFlushRemotes()).thenReturn(true);
+
+        upstream = newExecutor(UPSTREAM_TASK, 1024);
+        fused = newExecutor(FUSED_TASK, 4);
+        upstream.fuse(fused);
+        upstream.getExecutorTransfer().initLocalRecvQueues();
+        fused.getExecutorTransfer().initLocalRecvQueues();
+    }
+
+    @After
+    public void tearDown() {
+        ClusterUtils.resetInstance();
+    }
+
+    private BoltExecutor newExecutor(int taskId, int queueSize) {
+        List<Long> executorId = Arrays.asList((long) taskId, (long) taskId);
+        JCQueue queue = new JCQueue("receive-" + taskId, "receive-" + taskId, queueSize, 0, 2, new WaitStrategyPark(100), TOPOLOGY_ID,
+                                    "test", Collections.singletonList(taskId), 6700, new StormMetricRegistry());
+        executorQueues.put(executorId, queue);
+        localQueues.put(taskId, queue);
+        return new RecordingBoltExecutor(executorId);
+    }
+
+    private boolean sendToFused(Object value) {
+        TupleImpl tuple = new TupleImpl(context, new Values(value), "upstream", UPSTREAM_TASK, Utils.DEFAULT_STREAM_ID);
+        return upstream.getExecutorTransfer().tryTransfer(new AddressedTuple(FUSED_TASK, tuple), upstream.getPendingEmits());
+    }
+
+    private JCQueue fusedQueue() {
+        return localQueues.get(FUSED_TASK);
+    }
+
+    @Test
+    public void testFusedDelivery() {
+        assertTrue(fused.isFused());
+        assertTrue(sendToFused("a"));
+        assertEquals("the fused bolt executes the tuple on the calling thread", Collections.singletonList("a"), executed);
+        assertTrue(fusedQueue().isEmpty());
+    }
+
+    @Test
+    public void testFallbackToReceiveQueueKeepsOrder() throws Exception {
+        // something in the receive queue of the fused bolt, such as a tuple from another worker, must be executed first
+        fusedQueue().tryPublishDirect(new AddressedTuple(FUSED_TASK, new TupleImpl(context, new Values("remote"), "upstream",
+                                                                                           UPSTREAM_TASK, Utils.DEFAULT_STREAM_ID)));
+        assertTrue(sendToFused("a"));
+        assertTrue(sendToFused("b"));
+        assertEquals(Collections.emptyList(), executed);
+
+        upstream.getExecutorTransfer().flush();
+        upstream.consumeFused();
+        assertEquals(Arrays.asList("remote", "a", "b"), executed);
+
+        assertTrue(sendToFused("c"));
+        assertEquals("direct delivery resumes once the queue is empty", Arrays.asList("remote", "a", "b", "c"), executed);
+    }
+
+    @Test(timeout = 10_000)
+    public void testFlushDoesNotBlockOnFullFusedQueue() throws Exception {
+        List<Object> expected = new ArrayList<>();
+        for (int i = 0; fusedQueue().getFreeCapacity() > 0; i++) {
+            fusedQueue().tryPublishDirect(new AddressedTuple(FUSED_TASK, new TupleImpl(context, new Values(i), "upstream",
+                                                                                             UPSTREAM_TASK, Utils.DEFAULT_STREAM_ID)));
+            expected.add(i);
+        }
+        assertTrue(sendToFused("a"));
+        expected.add("a");
+
+        // the upstream thread is the only one that can make room in the queue, so the flush must not wait for it
+        upstream.getExecutorTransfer().flush();
+        assertEquals(Collections.emptyList(), executed);
+
+        upstream.consumeFused();
+        upstream.consumeFused();
+        assertEquals(expected, executed);
+    }
+
+    @Test
+    public void testErrorIsReportedUnderFusedComponent() {
+        fusedError = new RuntimeException("fused bolt failed");
+        assertTrue("the upstream emit does not fail", sendToFused("a"));
+
+        verify(clusterState).reportError(eq(TOPOLOGY_ID), eq("fused"), anyString(), anyLong(), any(Throwable.class));
+        assertEquals("the worker is killed, as when the thread of the fused bolt dies", 1, suicides.get());
+
+        // the failed bolt is not run again, its tuples wait in its receive queue until the worker is gone
+        fusedError = null;
+        sendToFused("b");
+        upstream.consumeFused();
+        assertEquals(Collections.emptyList(), executed);
+        assertFalse(fusedQueue().isEmpty());
+    }
+}
@@ -0,0 +1,270 @@
+package org.apache.storm.executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.storm.metrics2.StormMetricRegistry;
+import org.apache.storm.policy.WaitStrategyPark;
+import org.apache.storm.utils.JCQueue;
+import org.junit.After;
+import org.junit.Test;
+
+public class TestExecutorPool {
+    private static final String POOL_NAME = "test-executor-pool";
+    private static final long WAIT_SECS = 10;
+
+    private final StormMetricRegistry registry = new StormMetricRegistry();
+    private final AtomicInteger nextTaskId = new AtomicInteger(1);
+    private ExecutorPool pool;
+
+    @After
+    public void tearDown() throws InterruptedException {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private JCQueue newQueue() {
+        int taskId = nextTaskId.getAndIncrement();
+        return new JCQueue("receive-" + taskId, "receive-" + taskId, 1024, 0, 1, new WaitStrategyPark(100), "test", "test",
+                           Collections.singletonList(taskId), 6700, registry);
+    }
+
+    private static int consume(JCQueue queue, int quota, List<Object> consumed) {
+        int[] count = {0};
+        return queue.consume(new JCQueue.Consumer() {
+            @Override
+            public void accept(Object event) {
+                consumed.add(event);
+            }
+
+            @Override
+            public void flush() {
+            }
+        }, () -> count[0]++ < quota);
+    }
+
+    private static ExecutorPool.TurnResult idleOrReady(JCQueue queue) {
+        return queue.isEmpty() ? ExecutorPool.TurnResult.IDLE : ExecutorPool.TurnResult.READY;
+    }
+
+    private static Thread.UncaughtExceptionHandler failOnError() {
+        return (thread, error) -> {
+            throw new AssertionError("turn failed", error);
+        };
+    }
+
+    @Test
+    public void testArrivalDuringTurnIsNotLost() throws Exception {
+        pool = new ExecutorPool(POOL_NAME, 1, 100);
+        JCQueue queue = newQueue();
+        List<Object> consumed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch drained = new CountDownLatch(1);
+        CountDownLatch published = new CountDownLatch(1);
+        CountDownLatch consumedBoth = new CountDownLatch(2);
+
+        pool.register(queue, quota -> {
+            int n = consume(queue, quota, consumed);
+            for (int i = 0; i < n; i++) {
+                consumedBoth.countDown();
+            }
+            if (n > 0 && drained.getCount() > 0) {
+                // the queue is found empty, then a tuple arrives before the turn ends and the executor is taken out of line
+                drained.countDown();
+                assertTrue(published.await(WAIT_SECS, TimeUnit.SECONDS));
+                return ExecutorPool.TurnResult.IDLE;
+            }
+            return idleOrReady(queue);
+        }, failOnError());
+
+        queue.publish("first");
+        assertTrue(drained.await(WAIT_SECS, TimeUnit.SECONDS));
+        queue.publish("second");
+        published.countDown();
+
+        assertTrue("the tuple that arrived during the turn was consumed", consumedBoth.await(WAIT_SECS, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("first", "second"), consumed);
+    }
+
+    @Test
+    public void testRetryAfterBackPressure() throws Exception {
+        pool = new ExecutorPool(POOL_NAME, 1, 100);
+        JCQueue queue = newQueue();
+        AtomicInteger turns = new AtomicInteger();
+        AtomicLong backPressureAt = new AtomicLong();
+        AtomicLong retryAt = new AtomicLong();
+        CountDownLatch retried = new CountDownLatch(1);
+
+        pool.register(queue, quota -> {
+            if (turns.incrementAndGet() == 1) {
+                backPressureAt.set(System.nanoTime());
+                return ExecutorPool.TurnResult.BACK_PRESSURE;
+            }
+            retryAt.set(System.nanoTime());
+            retried.countDown();
+            return ExecutorPool.TurnResult.IDLE;
+        }, failOnError());
+
+        assertTrue("the executor is retried without any tuple arriving", retried.await(WAIT_SECS, TimeUnit.SECONDS));
+        assertTrue("the retry waits a while", retryAt.get() - backPressureAt.get() >= TimeUnit.MICROSECONDS.toNanos(100));
+        Thread.sleep(50);
+        assertEquals("an idle executor is not run again", 2, turns.get());
+    }
+
+    @Test
+    public void testBackPressureDoesNotHoldUpOtherExecutors() throws Exception {
+        pool = new ExecutorPool(POOL_NAME, 1, 100);
+        JCQueue blocked = newQueue();
+        JCQueue other = newQueue();
+        AtomicInteger blockedTurns = new AtomicInteger();
+        List<Object> consumed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch consumedOther = new CountDownLatch(1);
+
+        pool.register(blocked, quota -> {
+            blockedTurns.incrementAndGet();
+            return ExecutorPool.TurnResult.BACK_PRESSURE;
+        }, failOnError());
+        pool.register(other, quota -> {
+            if (consume(other, quota, consumed) > 0) {
+                consumedOther.countDown();
+            }
+            return idleOrReady(other);
+        }, failOnError());
+
+        other.publish("tuple");
+        assertTrue(consumedOther.await(WAIT_SECS, TimeUnit.SECONDS));
+        int before = blockedTurns.get();
+        Thread.sleep(50);
+        assertTrue("the back pressured executor keeps being retried", blockedTurns.get() > before);
+    }
+
+    @Test
+    public void testCancelWaitsForTurnAndStopsRunning() throws Exception {
+        pool = new ExecutorPool(POOL_NAME, 1, 100);
+        JCQueue queue = newQueue();
+        AtomicInteger turns = new AtomicInteger();
+        CountDownLatch inTurn = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorPool.Registration registration = pool.register(queue, quota -> {
+            turns.incrementAndGet();
+            inTurn.countDown();
+            assertTrue(release.await(WAIT_SECS, TimeUnit.SECONDS));
+            return ExecutorPool.TurnResult.READY;
+        }, failOnError());
+        assertTrue(inTurn.await(WAIT_SECS, TimeUnit.SECONDS));
+
+        Thread canceller = new Thread(() -> {
+            try {
+                registration.cancel();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        canceller.start();
+        Thread.sleep(20);
+        assertTrue("cancel waits for the turn in progress", canceller.isAlive());
+        release.countDown();
+        canceller.join(TimeUnit.SECONDS.toMillis(WAIT_SECS));
+        assertFalse(canceller.isAlive());
+
+        queue.publish("tuple");
+        Thread.sleep(50);
+        assertEquals("a cancelled executor is not run again, even if it was ready", 1, turns.get());
+    }
+
+    @Test
+    public void testFailedTurnIsReportedAndNotRunAgain() throws Exception {
+        pool = new ExecutorPool(POOL_NAME, 1, 100);
+        JCQueue queue = newQueue();
+        AtomicInteger turns = new AtomicInteger();
+        CountDownLatch reported = new CountDownLatch(1);
+        RuntimeException error = new RuntimeException("test");
+        List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+
+        pool.register(queue, quota -> {
+            turns.incrementAndGet();
+            throw error;
+        }, (thread, t) -> {
+            errors.add(t);
+            reported.countDown();
+        });
+
+        assertTrue(reported.await(WAIT_SECS, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList(error), errors);
+        queue.publish("tuple");
+        Thread.sleep(50);
+        assertEquals(1, turns.get());
+    }
+
+    @Test
+    public void testShutdownStopsThreads() throws Exception {
+        pool = new ExecutorPool(POOL_NAME, 2, 100);
+        JCQueue queue = newQueue();
+        AtomicInteger turns = new AtomicInteger();
+        CountDownLatch ran = new CountDownLatch(1);
+        pool.register(queue, quota -> {
+            turns.incrementAndGet();
+            ran.countDown();
+            return ExecutorPool.TurnResult.IDLE;
+        }, failOnError());
+        assertTrue(ran.await(WAIT_SECS, TimeUnit.SECONDS));
+
+        pool.shutdown();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            assertFalse(thread.getName() + " is still alive", thread.getName().startsWith(POOL_NAME + "-") && thread.isAlive());
+        }
+        queue.publish("tuple");
+        Thread.sleep(50);
+        assertEquals("executors are not run after shutdown", 1, turns.get());
+        pool = null;
+    }
+
+    @Test
+    public void testExecutorsOnOneThreadTakeTurns() throws Exception {
+        int quota = 2;
+        pool = new ExecutorPool(POOL_NAME, 1, quota);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+
+        // holds up the thread until both executors have all their tuples, so the order of their turns does not depend on timing
+        JCQueue gate = newQueue();
+        pool.register(gate, q -> {
+            assertTrue(release.await(WAIT_SECS, TimeUnit.SECONDS));
+            return ExecutorPool.TurnResult.IDLE;
+        }, failOnError());
+
+        for (String name : Arrays.asList("a", "b")) {
+            JCQueue queue = newQueue();
+            pool.register(queue, q -> {
+                List<Object> consumed = new ArrayList<>();
+                consume(queue, q, consumed);
+                assertTrue("a turn stops at the quota", consumed.size() <= quota);
+                if (!consumed.isEmpty()) {
+                    order.add(name);
+                }
+                if (queue.isEmpty()) {
+                    done.countDown();
+                }
+                return idleOrReady(queue);
+            }, failOnError());
+            for (int i = 0; i < 3 * quota; i++) {
+                queue.publish(i);
+            }
+        }
+        release.countDown();
+
+        assertTrue(done.await(WAIT_SECS, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("a", "b", "a", "b", "a", "b"), order);
+    }
+}
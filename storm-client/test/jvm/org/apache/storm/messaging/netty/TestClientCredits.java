@@ -0,0 +1,76 @@
+package org.apache.storm.messaging.netty;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.storm.messaging.RemoteTaskCredits;
+import org.apache.storm.messaging.TaskMessage;
+import org.apache.storm.metrics2.StormMetricRegistry;
+import org.apache.storm.shade.io.netty.channel.EventLoopGroup;
+import org.apache.storm.shade.io.netty.channel.nio.NioEventLoopGroup;
+import org.apache.storm.shade.io.netty.util.HashedWheelTimer;
+import org.apache.storm.utils.Utils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestClientCredits {
+    private static final int TASK = 3;
+
+    private EventLoopGroup eventLoopGroup;
+    private HashedWheelTimer scheduler;
+    private RemoteTaskCredits credits;
+    private Client client;
+
+    private static int unusedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        Map<String, Object> conf = Utils.readDefaultConfig();
+        eventLoopGroup = new NioEventLoopGroup(1);
+        scheduler = new HashedWheelTimer();
+        credits = new RemoteTaskCredits(TASK, new StormMetricRegistry());
+        // nothing listens on the port, so the client has no channel and drops what it is asked to send
+        client = new Client(conf, new AtomicBoolean[TASK + 1], credits, eventLoopGroup, scheduler, "localhost", unusedPort(), null);
+    }
+
+    @After
+    public void tearDown() {
+        client.close();
+        scheduler.stop();
+        eventLoopGroup.shutdownGracefully();
+    }
+
+    private void sendOne() {
+        assertTrue(credits.tryAcquire(TASK));
+        assertFalse("the single credit is taken", credits.tryAcquire(TASK));
+        client.send(Collections.singletonList(new TaskMessage(TASK, new byte[]{1, 2, 3})).iterator());
+    }
+
+    @Test
+    public void testDroppedMessageGivesBackCredit() {
+        credits.grant(TASK, 1);
+        sendOne();
+        assertTrue("the task can still send after its message was dropped", credits.tryAcquire(TASK));
+        credits.release(TASK);
+        sendOne();
+        assertTrue(credits.tryAcquire(TASK));
+    }
+
+    @Test
+    public void testMessageDroppedWhileClosingGivesBackCredit() {
+        credits.grant(TASK, 1);
+        client.close();
+        sendOne();
+        assertTrue("the task can still send after its message was dropped", credits.tryAcquire(TASK));
+    }
+}
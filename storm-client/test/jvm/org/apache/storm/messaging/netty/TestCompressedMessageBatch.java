@@ -0,0 +1,93 @@
+package org.apache.storm.messaging.netty;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.storm.Config;
+import org.apache.storm.messaging.TaskMessage;
+import org.apache.storm.shade.io.netty.buffer.ByteBuf;
+import org.apache.storm.shade.io.netty.buffer.UnpooledByteBufAllocator;
+import org.apache.storm.shade.io.netty.handler.codec.compression.DecompressionException;
+import org.junit.Test;
+
+public class TestCompressedMessageBatch {
+    private static final UnpooledByteBufAllocator ALLOC = UnpooledByteBufAllocator.DEFAULT;
+
+    private static ByteBuf compressedFrame(int payloadBytes) {
+        MessageBatch batch = new MessageBatch(1 << 20);
+        byte[] payload = new byte[payloadBytes];
+        Arrays.fill(payload, (byte) 'x');
+        batch.add(new TaskMessage(3, payload));
+        ByteBuf frame = ALLOC.heapBuffer();
+        new CompressedMessageBatch(batch, CompressedMessageBatch.DEFLATE, 1).write(frame);
+        assertEquals(CompressedMessageBatch.IDENTIFIER, frame.readShort());
+        return frame;
+    }
+
+    @Test
+    public void testRoundTrip() {
+        ByteBuf frame = compressedFrame(100_000);
+        byte codec = frame.readByte();
+        int uncompressedLength = frame.readInt();
+        ByteBuf compressed = frame.readSlice(frame.readInt());
+        ByteBuf raw = CompressedMessageBatch.decompress(codec, compressed, uncompressedLength, uncompressedLength, ALLOC);
+        try {
+            assertEquals(uncompressedLength, raw.readableBytes());
+            assertEquals(3, raw.readShort());
+            assertEquals(100_000, raw.readInt());
+            byte[] payload = new byte[100_000];
+            raw.readBytes(payload);
+            byte[] expected = new byte[100_000];
+            Arrays.fill(expected, (byte) 'x');
+            assertArrayEquals(expected, payload);
+        } finally {
+            raw.release();
+            frame.release();
+        }
+    }
+
+    @Test
+    public void testRejectsLengthAboveLimit() {
+        ByteBuf frame = compressedFrame(100_000);
+        byte codec = frame.readByte();
+        frame.readInt();
+        ByteBuf compressed = frame.readSlice(frame.readInt());
+        try {
+            // a tiny frame claiming close to 2 GB must not be allocated for
+            CompressedMessageBatch.decompress(codec, compressed, Integer.MAX_VALUE - 8, 1 << 20, ALLOC);
+            fail("expected the frame to be rejected");
+        } catch (DecompressionException e) {
+            // expected
+        } finally {
+            frame.release();
+        }
+    }
+
+    @Test
+    public void testRejectsLengthNotMatchingData() {
+        ByteBuf frame = compressedFrame(100_000);
+        byte codec = frame.readByte();
+        int uncompressedLength = frame.readInt();
+        ByteBuf compressed = frame.readSlice(frame.readInt());
+        try {
+            CompressedMessageBatch.decompress(codec, compressed, uncompressedLength + 1000, 1 << 20, ALLOC);
+            fail("expected the frame to be rejected");
+        } catch (DecompressionException e) {
+            // expected
+        } finally {
+            frame.release();
+        }
+    }
+
+    @Test
+    public void testMaxUncompressedLength() {
+        Map<String, Object> conf = new HashMap<>();
+        conf.put(Config.STORM_MESSAGING_NETTY_BUFFER_SIZE, 1000);
+        conf.put(Config.STORM_NETTY_MESSAGE_BATCH_SIZE, 3000);
+        assertEquals(6000, CompressedMessageBatch.maxUncompressedLength(conf));
+    }
+}
@@ -0,0 +1,135 @@
+package org.apache.storm.messaging.netty;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.storm.messaging.TaskMessage;
+import org.apache.storm.metrics2.StormMetricRegistry;
+import org.apache.storm.policy.WaitStrategyPark;
+import org.apache.storm.shade.io.netty.channel.DefaultChannelId;
+import org.apache.storm.shade.io.netty.channel.embedded.EmbeddedChannel;
+import org.apache.storm.utils.JCQueue;
+import org.apache.storm.utils.Utils;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestCreditGranter {
+    private static final int TASK = 5;
+    private static final int CAPACITY = 16;
+
+    private JCQueue queue;
+    private CreditGranter granter;
+
+    @Before
+    public void setUp() {
+        queue = new JCQueue("receive", "receive", CAPACITY, 0, 1, new WaitStrategyPark(100), "test", "test",
+                            Collections.singletonList(TASK), 6700, new StormMetricRegistry());
+        granter = new CreditGranter(Collections.singletonMap(TASK, queue), 1000);
+    }
+
+    private static int granted(EmbeddedChannel channel) {
+        int credits = 0;
+        for (Object msg = channel.readOutbound(); msg != null; msg = channel.readOutbound()) {
+            CreditGrant grant = (CreditGrant) msg;
+            assertEquals(1, grant.tasks.length);
+            assertEquals(TASK, grant.tasks[0]);
+            credits += grant.credits[0];
+        }
+        return credits;
+    }
+
+    private void receive(EmbeddedChannel channel, int count) throws InterruptedException {
+        List<TaskMessage> msgs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            msgs.add(new TaskMessage(TASK, new byte[0]));
+            queue.publish(i);
+        }
+        granter.received(channel, msgs);
+    }
+
+    private void drainQueue() {
+        queue.consume(new JCQueue.Consumer() {
+            @Override
+            public void accept(Object event) {
+            }
+
+            @Override
+            public void flush() {
+            }
+        });
+    }
+
+    @Test
+    public void testCreditsHeldByOtherClientsAreNotGrantedTwice() throws Exception {
+        EmbeddedChannel first = new EmbeddedChannel(DefaultChannelId.newInstance());
+        EmbeddedChannel second = new EmbeddedChannel(DefaultChannelId.newInstance());
+
+        granter.addChannel(first);
+        assertEquals("a single client gets all of the free capacity", CAPACITY, granted(first));
+        granter.addChannel(second);
+        assertEquals("the first client may still use all of it", 0, granted(second));
+
+        // the first client used half of its credits, the tuples are still in the queue
+        receive(first, CAPACITY / 2);
+        granter.refill(first);
+        granter.refill(second);
+        assertEquals(0, granted(first));
+        assertEquals(0, granted(second));
+
+        drainQueue();
+        granter.refill(second);
+        int secondCredits = granted(second);
+        assertEquals("the free capacity less the credits the first client holds, split in two", CAPACITY / 4, secondCredits);
+        assertTrue("never more credits than room", CAPACITY / 2 + secondCredits <= queue.getFreeCapacity());
+    }
+
+    @Test
+    public void testCreditsOfClosedClientAreGrantedToOthers() throws Exception {
+        EmbeddedChannel first = new EmbeddedChannel(DefaultChannelId.newInstance());
+        EmbeddedChannel second = new EmbeddedChannel(DefaultChannelId.newInstance());
+        granter.addChannel(first);
+        granter.addChannel(second);
+        assertEquals(CAPACITY, granted(first));
+        assertEquals(0, granted(second));
+
+        first.close();
+        first.runPendingTasks();
+        assertEquals(1, granter.getClients());
+        granter.refill(second);
+        assertEquals(CAPACITY, granted(second));
+        assertEquals(2L * CAPACITY, granter.getGranted());
+    }
+
+    @Test
+    public void testClientOnlyAsksServersOfferingCredits() {
+        Client client = mock(Client.class);
+        when(client.wantsCredits()).thenReturn(true);
+        Map<String, Object> conf = Utils.readDefaultConfig();
+        AtomicBoolean[] remoteBpStatus = new AtomicBoolean[TASK + 1];
+        for (int i = 0; i < remoteBpStatus.length; i++) {
+            remoteBpStatus[i] = new AtomicBoolean(false);
+        }
+        EmbeddedChannel channel = new EmbeddedChannel(new StormClientHandler(client, remoteBpStatus, conf));
+
+        // a server of an older version, or one with credits off
+        channel.writeInbound(new BackPressureStatus("worker", null, null));
+        assertNull("the request would be an error to a server of an older version", channel.readOutbound());
+
+        BackPressureStatus offer = new BackPressureStatus("worker", null, new ArrayList<>(Collections.singletonList(TASK)));
+        assertFalse(offer.offersCredits());
+        channel.writeInbound(offer.offerCredits());
+        assertTrue(channel.readOutbound() instanceof BackPressureStatus);
+
+        channel.writeInbound(new BackPressureStatus("worker", null, null).offerCredits());
+        assertNull("credits are asked for once per connection", channel.readOutbound());
+    }
+}
@@ -0,0 +1,56 @@
+package org.apache.storm.metric.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class TestLatencyHistogram {
+    private static final double MAX_ERROR = 0.07;
+
+    private static void assertClose(double expected, double actual) {
+        assertEquals(expected, actual, expected * MAX_ERROR);
+    }
+
+    @Test
+    public void testSubMillisecondPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(50), 990);
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(400), 9);
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(800), 1);
+
+        double[] percentiles = LatencyHistogram.percentiles(histogram.addTo(null), 0.5, 0.99, 0.995, 0.999, 1.0);
+        assertClose(0.05, percentiles[0]);
+        assertClose(0.05, percentiles[1]);
+        assertClose(0.4, percentiles[2]);
+        assertClose(0.4, percentiles[3]);
+        assertClose(0.8, percentiles[4]);
+    }
+
+    @Test
+    public void testPercentilesAreInMilliseconds() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long ms = 1; ms <= 1000; ms++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(ms), 1);
+        }
+        double[] percentiles = LatencyHistogram.percentiles(histogram.addTo(null), 0.5, 0.99);
+        assertClose(500, percentiles[0]);
+        assertClose(990, percentiles[1]);
+    }
+
+    @Test
+    public void testBucketsCoverValues() {
+        for (long micros = 0; micros < 1_000_000; micros = micros * 3 / 2 + 1) {
+            double value = LatencyHistogram.valueOf(LatencyHistogram.bucketOf(micros));
+            assertEquals(micros, value, Math.max(0.5, micros * MAX_ERROR));
+        }
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+        assertEquals(0, LatencyHistogram.bucketOf(-1));
+    }
+
+    @Test
+    public void testEmptyHistogram() {
+        assertArrayEquals(new double[2], LatencyHistogram.percentiles(new LatencyHistogram().addTo(null), 0.99, 0.999), 0);
+    }
+}
@@ -0,0 +1,67 @@
+package org.apache.storm.metrics2;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class TestThreadResourceUsage {
+    private static final String PREFIX = "test-usage-";
+    private static final long WAIT_MS = TimeUnit.SECONDS.toMillis(30);
+
+    private static Thread busyThread(String name, CountDownLatch stop) {
+        Thread thread = new Thread(() -> {
+            long x = 0;
+            byte[][] garbage = new byte[16][];
+            while (stop.getCount() > 0) {
+                garbage[(int) (x++ & 15)] = new byte[1024];
+            }
+        }, name);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Wait for the usage to grow past the given bytes, which takes as long as the busy thread needs to get scheduled.
+     */
+    private static long awaitAllocatedMoreThan(ThreadResourceUsage usage, long bytes) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        long allocated;
+        while ((allocated = usage.getAllocatedBytes()) <= bytes && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        return allocated;
+    }
+
+    @Test
+    public void testThreadsStartedLaterAreMeasured() throws Exception {
+        assumeTrue(ThreadResourceUsage.isSupported());
+        ThreadResourceUsage usage = new ThreadResourceUsage(PREFIX);
+        long allocated = usage.getAllocatedBytes();
+
+        CountDownLatch stop = new CountDownLatch(1);
+        Thread thread = busyThread(PREFIX + "1", stop);
+        try {
+            assertTrue("a prefixed thread started after the last measure is found", awaitAllocatedMoreThan(usage, allocated) > allocated);
+        } finally {
+            stop.countDown();
+            thread.join();
+        }
+    }
+
+    @Test
+    public void testUsageOfDeadThreadsIsKept() throws Exception {
+        assumeTrue(ThreadResourceUsage.isSupported());
+        ThreadResourceUsage usage = new ThreadResourceUsage(PREFIX);
+        CountDownLatch stop = new CountDownLatch(1);
+        Thread thread = busyThread(PREFIX + "2", stop);
+        long allocated = awaitAllocatedMoreThan(usage, 0);
+        assertTrue(allocated > 0);
+
+        stop.countDown();
+        thread.join();
+        assertTrue("the totals never shrink", usage.getAllocatedBytes() >= allocated);
+    }
+}
@@ -0,0 +1,240 @@
+package org.apache.storm.topology;
+
+import static org.apache.storm.spout.CheckpointSpout.CHECKPOINT_COMPONENT_ID;
+import static org.apache.storm.spout.CheckpointSpout.CHECKPOINT_FIELD_ACTION;
+import static org.apache.storm.spout.CheckpointSpout.CHECKPOINT_FIELD_TXID;
+import static org.apache.storm.spout.CheckpointSpout.CHECKPOINT_STREAM_ID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.storm.Config;
+import org.apache.storm.generated.GlobalStreamId;
+import org.apache.storm.generated.Grouping;
+import org.apache.storm.spout.CheckPointState.Action;
+import org.apache.storm.state.AsyncCommitState;
+import org.apache.storm.state.State;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.tuple.Tuple;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class TestStatefulBoltExecutor {
+    private static final long WAIT_SECS = 10;
+
+    private final Semaphore wakeUps = new Semaphore(0);
+    private IStatefulBolt<State> bolt;
+    private OutputCollector collector;
+    private OutputCollector boltCollector;
+    private BlockingState state;
+    private StatefulBoltExecutor<State> executor;
+
+    /**
+     * A state whose asynchronous writes wait to be released, and fail if told to.
+     */
+    private static class BlockingState implements AsyncCommitState {
+        private final List<String> written = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger rollbacks = new AtomicInteger();
+        private volatile CountDownLatch release = new CountDownLatch(0);
+        private volatile RuntimeException error;
+
+        private Runnable write(String what) {
+            CountDownLatch latch = release;
+            RuntimeException failure = error;
+            return () -> {
+                try {
+                    assertTrue(latch.await(WAIT_SECS, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                if (failure != null) {
+                    throw failure;
+                }
+                written.add(what);
+            };
+        }
+
+        @Override
+        public Runnable prepareCommitAsync(long txid) {
+            return write("prepare " + txid);
+        }
+
+        @Override
+        public Runnable commitAsync(long txid) {
+            return write("commit " + txid);
+        }
+
+        @Override
+        public void prepareCommit(long txid) {
+            prepareCommitAsync(txid).run();
+        }
+
+        @Override
+        public void commit(long txid) {
+            commitAsync(txid).run();
+        }
+
+        @Override
+        public void commit() {
+        }
+
+        @Override
+        public void rollback() {
+            rollbacks.incrementAndGet();
+        }
+    }
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        TopologyContext context = mock(TopologyContext.class);
+        Map<GlobalStreamId, Grouping> sources = new HashMap<>();
+        sources.put(new GlobalStreamId(CHECKPOINT_COMPONENT_ID, CHECKPOINT_STREAM_ID), mock(Grouping.class));
+        when(context.getThisSources()).thenReturn(sources);
+        when(context.getComponentTasks(CHECKPOINT_COMPONENT_ID)).thenReturn(Collections.singletonList(1));
+        when(context.getThisComponentId()).thenReturn("stateful");
+        when(context.getThisTaskId()).thenReturn(2);
+
+        bolt = mock(IStatefulBolt.class);
+        collector = mock(OutputCollector.class);
+        state = new BlockingState();
+        executor = new StatefulBoltExecutor<>(bolt);
+        executor.setWakeUp(wakeUps::release);
+        executor.prepare(Collections.singletonMap(Config.TOPOLOGY_STATE_CHECKPOINT_ASYNC, true), context, collector, state);
+
+        ArgumentCaptor<OutputCollector> captor = ArgumentCaptor.forClass(OutputCollector.class);
+        verify(bolt).prepare(any(), eq(context), captor.capture());
+        boltCollector = captor.getValue();
+
+        executor.execute(checkpoint(Action.INITSTATE, 0));
+    }
+
+    @After
+    public void tearDown() {
+        state.release.countDown();
+        executor.cleanup();
+    }
+
+    private static Tuple checkpoint(Action action, long txid) {
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.getSourceStreamId()).thenReturn(CHECKPOINT_STREAM_ID);
+        when(tuple.getValueByField(CHECKPOINT_FIELD_ACTION)).thenReturn(action);
+        when(tuple.getLongByField(CHECKPOINT_FIELD_TXID)).thenReturn(txid);
+        return tuple;
+    }
+
+    /**
+     * A tuple the bolt processes and acks, which is acked for real once the transaction it belongs to is committed.
+     */
+    private Tuple executeAndAck() {
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.getSourceStreamId()).thenReturn("default");
+        executor.execute(tuple);
+        verify(bolt).execute(tuple);
+        boltCollector.ack(tuple);
+        return tuple;
+    }
+
+    /**
+     * Do what the executor does when it is woken up by the thread that writes out the state.
+     */
+    private void finishWrite() throws InterruptedException {
+        assertTrue("the executor is woken up once the write finished", wakeUps.tryAcquire(WAIT_SECS, TimeUnit.SECONDS));
+        executor.finishCommit();
+    }
+
+    @Test
+    public void testAsyncCommitFinishesWithoutNextTuple() throws Exception {
+        Tuple tuple = executeAndAck();
+        state.release = new CountDownLatch(1);
+        Tuple prepare = checkpoint(Action.PREPARE, 1);
+        executor.execute(prepare);
+        verify(collector, never()).ack(prepare);
+
+        state.release.countDown();
+        finishWrite();
+        verify(collector).ack(prepare);
+        verify(collector, never()).ack(tuple);
+
+        Tuple commit = checkpoint(Action.COMMIT, 1);
+        executor.execute(commit);
+        finishWrite();
+        verify(collector).ack(commit);
+        verify(collector).ack(tuple);
+        assertEquals(Arrays.asList("prepare 1", "commit 1"), state.written);
+    }
+
+    @Test
+    public void testNextCheckpointWaitsForWriteInFlight() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        state.release = release;
+        Tuple prepare = checkpoint(Action.PREPARE, 1);
+        executor.execute(prepare);
+        state.release = new CountDownLatch(0);
+
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                return;
+            }
+            release.countDown();
+        });
+        releaser.start();
+        Tuple commit = checkpoint(Action.COMMIT, 1);
+        executor.execute(commit);
+        releaser.join();
+
+        verify(collector).ack(prepare);
+        assertEquals("prepare 1", state.written.get(0));
+        finishWrite();
+        finishWrite();
+        verify(collector).ack(commit);
+    }
+
+    @Test
+    public void testFailedWriteIsNotCountedAsDone() throws Exception {
+        Tuple tuple = executeAndAck();
+        executor.execute(checkpoint(Action.PREPARE, 1));
+        finishWrite();
+        executor.execute(checkpoint(Action.COMMIT, 1));
+        finishWrite();
+        verify(collector).ack(tuple);
+
+        RuntimeException error = new RuntimeException("state store is down");
+        state.error = error;
+        Tuple failed = executeAndAck();
+        Tuple prepare = checkpoint(Action.PREPARE, 2);
+        executor.execute(prepare);
+        finishWrite();
+        verify(collector).fail(prepare);
+        verify(collector, never()).ack(prepare);
+        verify(collector).reportError(error);
+
+        // had the failed prepare of txid 2 counted as done, the rollback of txid 1 would be acked without rolling back the state
+        Tuple rollback = checkpoint(Action.ROLLBACK, 1);
+        executor.execute(rollback);
+        assertEquals(1, state.rollbacks.get());
+        verify(collector).ack(rollback);
+        verify(collector).fail(failed);
+        verify(collector, never()).ack(failed);
+    }
+}
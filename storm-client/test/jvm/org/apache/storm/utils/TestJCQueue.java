@@ -0,0 +1,71 @@
+package org.apache.storm.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.storm.metrics2.StormMetricRegistry;
+import org.apache.storm.policy.WaitStrategyPark;
+import org.junit.Test;
+
+public class TestJCQueue {
+
+    private static JCQueue newQueue(int size, int batchSize) {
+        return new JCQueue("test", "test", size, 0, batchSize, new WaitStrategyPark(100), "test", "test",
+                           Collections.singletonList(1), 6700, new StormMetricRegistry());
+    }
+
+    private static List<Object> drain(JCQueue queue) {
+        List<Object> consumed = new ArrayList<>();
+        queue.consume(new JCQueue.Consumer() {
+            @Override
+            public void accept(Object event) {
+                consumed.add(event);
+            }
+
+            @Override
+            public void flush() {
+            }
+        });
+        return consumed;
+    }
+
+    @Test
+    public void testTryFlushAllKeepsWhatDoesNotFit() {
+        JCQueue queue = newQueue(4, 2);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(queue.tryPublishDirect(i));
+        }
+        assertTrue(queue.tryPublish("a"));
+        assertTrue(queue.tryPublish("b"));
+
+        assertFalse("only one of the batch fits", queue.tryFlushAll());
+        assertEquals(Arrays.asList(0, 1, 2, "a"), drain(queue));
+        assertTrue(queue.tryFlushAll());
+        assertEquals(Collections.singletonList("b"), drain(queue));
+        assertTrue("nothing left to flush", queue.tryFlushAll());
+    }
+
+    @Test
+    public void testArrivalListener() throws InterruptedException {
+        JCQueue queue = newQueue(16, 2);
+        AtomicInteger arrivals = new AtomicInteger();
+        queue.setArrivalListener(arrivals::incrementAndGet);
+
+        queue.publish("a");
+        assertEquals("a batched tuple has not arrived yet", 0, arrivals.get());
+        queue.publish("b");
+        assertEquals("the full batch arrives at once", 1, arrivals.get());
+        queue.tryPublishDirect("c");
+        assertEquals(2, arrivals.get());
+
+        queue.setArrivalListener(null);
+        queue.tryPublishDirect("d");
+        assertEquals(2, arrivals.get());
+    }
+}
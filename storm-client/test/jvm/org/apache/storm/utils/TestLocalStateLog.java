@@ -0,0 +1,135 @@
+package org.apache.storm.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.storm.generated.ThriftSerializedObject;
+import org.apache.storm.shade.org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestLocalStateLog {
+    private Path dir;
+    private Path file;
+
+    private static ThriftSerializedObject value(String name, int size, int fill) {
+        byte[] bits = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bits[i] = (byte) (fill + i);
+        }
+        return new ThriftSerializedObject(name, ByteBuffer.wrap(bits));
+    }
+
+    private Map<String, ThriftSerializedObject> readFresh() throws IOException {
+        return new LocalStateLog(dir.toString()).read();
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("localstate-log");
+        file = dir.resolve(LocalStateLog.LOG_FILE);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(dir.toFile());
+    }
+
+    @Test(expected = NoSuchFileException.class)
+    public void testReadWithoutLog() throws IOException {
+        readFresh();
+    }
+
+    @Test
+    public void testAppendAndRemove() throws IOException {
+        LocalStateLog log = new LocalStateLog(dir.toString());
+        log.rewrite(Collections.emptyMap());
+        log.append("a", value("A", 10, 1));
+        log.append("b", value("B", 10, 2));
+        log.append("a", null);
+
+        Map<String, ThriftSerializedObject> expected = Collections.singletonMap("b", value("B", 10, 2));
+        assertEquals(expected, log.read());
+        assertEquals(expected, readFresh());
+    }
+
+    @Test
+    public void testStopsAtRecordNotMatchingChecksum() throws IOException {
+        LocalStateLog log = new LocalStateLog(dir.toString());
+        log.rewrite(Collections.emptyMap());
+        log.append("a", value("A", 10, 1));
+        log.append("b", value("B", 10, 2));
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 0x55;
+        Files.write(file, bytes);
+
+        LocalStateLog reopened = new LocalStateLog(dir.toString());
+        assertEquals(Collections.singletonMap("a", value("A", 10, 1)), reopened.read());
+        // the next append replaces the corrupt record
+        reopened.append("c", value("C", 10, 3));
+        Map<String, ThriftSerializedObject> expected = new HashMap<>();
+        expected.put("a", value("A", 10, 1));
+        expected.put("c", value("C", 10, 3));
+        assertEquals(expected, readFresh());
+    }
+
+    @Test
+    public void testStopsAtTruncatedLastRecord() throws IOException {
+        LocalStateLog log = new LocalStateLog(dir.toString());
+        log.rewrite(Collections.emptyMap());
+        log.append("a", value("A", 10, 1));
+        long complete = Files.size(file);
+        log.append("b", value("B", 10, 2));
+        for (long cut : new long[]{3, Files.size(file) - complete - 3}) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(complete + cut);
+            }
+            assertEquals(Collections.singletonMap("a", value("A", 10, 1)), readFresh());
+        }
+
+        LocalStateLog reopened = new LocalStateLog(dir.toString());
+        reopened.read();
+        reopened.append("b", value("B", 10, 4));
+        Map<String, ThriftSerializedObject> expected = new HashMap<>();
+        expected.put("a", value("A", 10, 1));
+        expected.put("b", value("B", 10, 4));
+        assertEquals(expected, readFresh());
+    }
+
+    @Test
+    public void testCompaction() throws IOException {
+        LocalStateLog log = new LocalStateLog(dir.toString());
+        log.rewrite(Collections.emptyMap());
+        log.append("fixed", value("F", 100, 7));
+        boolean compacted = false;
+        long previous = Files.size(file);
+        for (int i = 0; i < 500; i++) {
+            log.append("hb", value("H", 1024, i));
+            long size = Files.size(file);
+            compacted |= size < previous;
+            previous = size;
+            assertTrue("the log is compacted once it reaches the minimum size", size < LocalStateLog.MIN_COMPACT_BYTES + 2048);
+        }
+        assertTrue(compacted);
+        assertFalse(Files.exists(dir.resolve(LocalStateLog.LOG_FILE + ".compact")));
+
+        Map<String, ThriftSerializedObject> expected = new HashMap<>();
+        expected.put("fixed", value("F", 100, 7));
+        expected.put("hb", value("H", 1024, 499));
+        assertEquals(expected, readFresh());
+        assertEquals(expected, log.read());
+    }
+}
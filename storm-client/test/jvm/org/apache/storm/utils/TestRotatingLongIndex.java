@@ -0,0 +1,158 @@
+package org.apache.storm.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+
+public class TestRotatingLongIndex {
+
+    private static class RecordingIndex extends RotatingLongIndex {
+        private final Map<Long, Integer> expired = new HashMap<>();
+
+        RecordingIndex(int numBuckets) {
+            super(numBuckets);
+        }
+
+        @Override
+        protected void expire(long key, int entry) {
+            expired.put(key, entry);
+        }
+    }
+
+    // the home slot of a key in a table of the given capacity, as computed by the buckets
+    private static int slotOf(long key, int capacity) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & (capacity - 1);
+    }
+
+    private static List<Long> keysWithSlot(int slot, int capacity, int count) {
+        List<Long> keys = new ArrayList<>();
+        for (long key = 0; keys.size() < count; key++) {
+            if (slotOf(key, capacity) == slot) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    @Test
+    public void testPutAndRemove() {
+        RotatingLongIndex index = new RotatingLongIndex();
+        int a = index.put(1L);
+        int b = index.put(-1L);
+        assertNotEquals(a, b);
+        assertEquals(a, index.put(1L));
+        assertEquals(a, index.entryOf(1L));
+        assertEquals(2, index.size());
+
+        assertEquals(a, index.removeKey(1L));
+        assertFalse(index.containsKey(1L));
+        assertEquals(RotatingLongIndex.NO_ENTRY, index.removeKey(1L));
+        assertEquals(RotatingLongIndex.NO_ENTRY, index.entryOf(1L));
+        assertEquals(b, index.entryOf(-1L));
+        assertEquals(1, index.size());
+        // the freed entry id is handed out again
+        assertEquals(a, index.put(2L));
+    }
+
+    @Test
+    public void testRotateExpiresOldestBucket() {
+        RecordingIndex index = new RecordingIndex(3);
+        int first = index.put(1L);
+        assertEquals(0, index.rotate());
+        index.put(2L);
+        assertEquals(0, index.rotate());
+        assertTrue(index.expired.isEmpty());
+
+        assertEquals(1, index.rotate());
+        assertEquals(first, (int) index.expired.get(1L));
+        assertFalse(index.containsKey(1L));
+        assertTrue(index.containsKey(2L));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testPutMovesKeyToNewestBucket() {
+        RecordingIndex index = new RecordingIndex(2);
+        int entry = index.put(1L);
+        index.rotate();
+        assertEquals(entry, index.put(1L));
+        index.rotate();
+        assertTrue(index.expired.isEmpty());
+        assertEquals(entry, index.entryOf(1L));
+        index.rotate();
+        assertEquals(entry, (int) index.expired.get(1L));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testRemoveFromClusterWrappingAroundTable() {
+        // five keys with their home in the last slot of a 16 slot table land in slots 15, 0, 1, 2 and 3
+        List<Long> wrapping = keysWithSlot(15, 16, 5);
+        List<Long> atStart = keysWithSlot(0, 16, 1);
+        RotatingLongIndex index = new RotatingLongIndex();
+        Map<Long, Integer> entries = new HashMap<>();
+        for (long key : wrapping) {
+            entries.put(key, index.put(key));
+        }
+        entries.put(atStart.get(0), index.put(atStart.get(0)));
+
+        for (long key : wrapping) {
+            assertEquals((int) entries.remove(key), index.removeKey(key));
+            for (Map.Entry<Long, Integer> entry : entries.entrySet()) {
+                assertEquals((int) entry.getValue(), index.entryOf(entry.getKey()));
+            }
+        }
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testMatchesRotatingMap() {
+        Random random = new Random(42);
+        RecordingIndex index = new RecordingIndex(3);
+        RotatingMap<Long, Integer> model = new RotatingMap<>(3);
+        for (int i = 0; i < 200_000; i++) {
+            // a small key space keeps the tables full of collisions, and bursts make them grow and shrink
+            long key = random.nextInt(i % 20_000 < 10_000 ? 64 : 2048) - 32;
+            int op = random.nextInt(100);
+            if (op < 55) {
+                Integer expected = model.get(key);
+                int entry = index.put(key);
+                if (expected != null) {
+                    assertEquals((int) expected, entry);
+                }
+                model.put(key, entry);
+            } else if (op < 85) {
+                Integer expected = model.remove(key);
+                assertEquals(expected == null ? RotatingLongIndex.NO_ENTRY : expected, index.removeKey(key));
+            } else if (op < 98) {
+                Integer expected = model.get(key);
+                assertEquals(expected == null ? RotatingLongIndex.NO_ENTRY : expected, index.entryOf(key));
+            } else {
+                index.expired.clear();
+                Map<Long, Integer> expected = model.rotate();
+                assertEquals(expected.size(), index.rotate());
+                assertEquals(expected, index.expired);
+            }
+            assertEquals(model.size(), index.size());
+        }
+        Set<Integer> live = new HashSet<>();
+        for (long key = -32; key < 2048 - 32; key++) {
+            int entry = index.entryOf(key);
+            if (entry != RotatingLongIndex.NO_ENTRY) {
+                assertTrue("entry ids are unique", live.add(entry));
+            }
+        }
+        assertEquals(model.size(), live.size());
+    }
+}
@@ -0,0 +1,168 @@
+package org.apache.storm.windowing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.storm.shade.org.apache.commons.io.FileUtils;
+import org.apache.storm.state.Serializer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestSpillableEventQueue {
+    private static final int PARTITION = SpillableEventQueue.PARTITION_EVENTS;
+
+    private final AtomicInteger deserialized = new AtomicInteger();
+    private final Serializer<Integer> serializer = new Serializer<Integer>() {
+        @Override
+        public byte[] serialize(Integer obj) {
+            return ByteBuffer.allocate(4).putInt(obj).array();
+        }
+
+        @Override
+        public Integer deserialize(byte[] b) {
+            deserialized.incrementAndGet();
+            return ByteBuffer.wrap(b).getInt();
+        }
+    };
+    private Path tmp;
+    private Path dir;
+
+    @Before
+    public void setUp() throws IOException {
+        tmp = Files.createTempDirectory("spillable-events");
+        dir = tmp.resolve("window");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(tmp.toFile());
+    }
+
+    private static void addEvents(SpillableEventQueue<Integer> queue, int from, int to) {
+        for (int i = from; i < to; i++) {
+            queue.add(new EventImpl<>(i, 1000L + i));
+        }
+    }
+
+    private static void removeEvents(SpillableEventQueue<Integer> queue, int from, int to) {
+        for (Iterator<Event<Integer>> it = queue.iterator(); it.hasNext(); ) {
+            int value = it.next().get();
+            if (value >= from && value < to) {
+                it.remove();
+            }
+        }
+    }
+
+    private static List<Integer> values(SpillableEventQueue<Integer> queue) {
+        List<Integer> values = new ArrayList<>();
+        for (Event<Integer> event : queue) {
+            assertEquals(1000L + event.get(), event.getTimestamp());
+            values.add(event.get());
+        }
+        return values;
+    }
+
+    private Set<String> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(p -> p.getFileName().toString()).collect(Collectors.toCollection(TreeSet::new));
+        }
+    }
+
+    private static List<Integer> range(int from, int to) {
+        List<Integer> values = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            values.add(i);
+        }
+        return values;
+    }
+
+    @Test
+    public void testSpillsOlderEvents() throws IOException {
+        SpillableEventQueue<Integer> queue = new SpillableEventQueue<>(serializer, dir, PARTITION);
+        addEvents(queue, 0, 5 * PARTITION);
+        assertEquals(5 * PARTITION, queue.size());
+        assertEquals(1, segments().size());
+        assertEquals(4 * PARTITION * 4, Files.size(dir.resolve("segment-0")));
+
+        assertEquals(range(0, 5 * PARTITION), values(queue));
+        assertTrue("the spilled events are read back", deserialized.get() > 0);
+
+        queue.close();
+        assertFalse(Files.exists(dir));
+    }
+
+    @Test
+    public void testEventsAtSamePositionAreEqual() {
+        SpillableEventQueue<Integer> queue = new SpillableEventQueue<>(serializer, dir, PARTITION);
+        addEvents(queue, 0, 3 * PARTITION);
+        List<Event<Integer>> first = new ArrayList<>(queue);
+        List<Event<Integer>> second = new ArrayList<>(queue);
+        assertEquals(first, second);
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(i).hashCode(), second.get(i).hashCode());
+        }
+        assertFalse(first.get(0).equals(first.get(1)));
+        queue.close();
+    }
+
+    @Test
+    public void testRemovedEventCannotBeRead() {
+        SpillableEventQueue<Integer> queue = new SpillableEventQueue<>(serializer, dir, PARTITION);
+        addEvents(queue, 0, 3 * PARTITION);
+        Iterator<Event<Integer>> it = queue.iterator();
+        Event<Integer> spilled = it.next();
+        it.remove();
+        assertEquals(3 * PARTITION - 1, queue.size());
+        try {
+            spilled.get();
+            fail("expected the removed event to be gone");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertEquals(range(1, 3 * PARTITION), values(queue));
+        queue.close();
+    }
+
+    @Test
+    public void testDeletesAndReusesSegments() throws IOException {
+        // every spilled partition goes to a segment of its own
+        SpillableEventQueue<Integer> queue = new SpillableEventQueue<>(serializer, dir, PARTITION, 1);
+        addEvents(queue, 0, 5 * PARTITION);
+        assertEquals(new TreeSet<>(range(0, 4).stream().map(i -> "segment-" + i).collect(Collectors.toList())), segments());
+
+        // an older segment is deleted once all of its events are removed
+        removeEvents(queue, 0, PARTITION);
+        assertFalse(segments().contains("segment-0"));
+        assertEquals(4 * PARTITION, queue.size());
+
+        // the current segment is truncated instead, and the next partition that is spilled goes to it
+        removeEvents(queue, 3 * PARTITION, 4 * PARTITION);
+        Path current = dir.resolve("segment-3");
+        assertEquals(0, Files.size(current));
+        addEvents(queue, 5 * PARTITION, 5 * PARTITION + 1);
+        assertEquals(PARTITION * 4, Files.size(current));
+        assertEquals(3, segments().size());
+
+        List<Integer> expected = range(PARTITION, 3 * PARTITION);
+        expected.addAll(range(4 * PARTITION, 5 * PARTITION + 1));
+        assertEquals(expected, values(queue));
+
+        queue.close();
+        assertFalse(Files.exists(dir));
+    }
+}
@@ -0,0 +1,189 @@
+package org.apache.storm.windowing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.apache.storm.shade.org.apache.commons.io.FileUtils;
+import org.apache.storm.state.Serializer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestSpillableWindowManager {
+    private static final int PARTITION = SpillableEventQueue.PARTITION_EVENTS;
+
+    private final AtomicInteger deserialized = new AtomicInteger();
+    private final Serializer<Integer> serializer = new Serializer<Integer>() {
+        @Override
+        public byte[] serialize(Integer obj) {
+            return ByteBuffer.allocate(4).putInt(obj).array();
+        }
+
+        @Override
+        public Integer deserialize(byte[] b) {
+            deserialized.incrementAndGet();
+            return ByteBuffer.wrap(b).getInt();
+        }
+    };
+    private final Listener listener = new Listener();
+    private Path tmp;
+    private SpillableEventQueue<Integer> queue;
+    private SpillableWindowManager<Integer> windowManager;
+    private CountEvictionPolicy<Integer> evictionPolicy;
+
+    private static class Listener implements WindowLifecycleListener<Integer> {
+        private final List<List<Integer>> onExpiryEvents = new ArrayList<>();
+        private final List<List<Integer>> events = new ArrayList<>();
+        private final List<List<Integer>> newEvents = new ArrayList<>();
+        private final List<List<Integer>> expired = new ArrayList<>();
+        private Supplier<Iterator<Integer>> lastWindow;
+        private Runnable onActivation = () -> { };
+        private boolean iterate = true;
+
+        @Override
+        public void onExpiry(List<Integer> events) {
+            onExpiryEvents.add(events);
+        }
+
+        @Override
+        public void onActivation(Supplier<Iterator<Integer>> eventsIt, Supplier<Iterator<Integer>> newEventsIt,
+                                 Supplier<Iterator<Integer>> expiredIt, Long referenceTime) {
+            lastWindow = eventsIt;
+            onActivation.run();
+            if (iterate) {
+                events.add(toList(eventsIt));
+                newEvents.add(toList(newEventsIt));
+                expired.add(toList(expiredIt));
+            }
+        }
+
+        private static List<Integer> toList(Supplier<Iterator<Integer>> it) {
+            List<Integer> values = new ArrayList<>();
+            it.get().forEachRemaining(values::add);
+            return values;
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        tmp = Files.createTempDirectory("spillable-window");
+        queue = new SpillableEventQueue<>(serializer, tmp.resolve("window"), PARTITION);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        queue.close();
+        FileUtils.deleteDirectory(tmp.toFile());
+    }
+
+    private void startCountWindow(int windowLength, int slidingInterval) {
+        windowManager = new SpillableWindowManager<>(listener, queue);
+        evictionPolicy = new CountEvictionPolicy<>(windowLength);
+        TriggerPolicy<Integer, ?> triggerPolicy = new CountTriggerPolicy<>(slidingInterval, windowManager, evictionPolicy);
+        windowManager.setEvictionPolicy(evictionPolicy);
+        windowManager.setTriggerPolicy(triggerPolicy);
+        triggerPolicy.start();
+    }
+
+    /**
+     * A count window that is only evaluated when told to, like a time based window is evaluated on a thread of its own.
+     */
+    private void startTriggeredCountWindow(int windowLength) {
+        windowManager = new SpillableWindowManager<>(listener, queue);
+        evictionPolicy = new CountEvictionPolicy<>(windowLength);
+        windowManager.setEvictionPolicy(evictionPolicy);
+        windowManager.setTriggerPolicy(new CountTriggerPolicy<>(Integer.MAX_VALUE, windowManager, evictionPolicy));
+    }
+
+    private void trigger() {
+        evictionPolicy.setContext(new DefaultEvictionContext(System.currentTimeMillis()));
+        windowManager.onTrigger();
+    }
+
+    private void addEvents(int from, int to) {
+        for (int i = from; i < to; i++) {
+            windowManager.add(i);
+        }
+    }
+
+    private static List<Integer> range(int from, int to) {
+        List<Integer> values = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            values.add(i);
+        }
+        return values;
+    }
+
+    @Test
+    public void testWindowIsStreamedFromQueue() {
+        startCountWindow(3 * PARTITION, PARTITION);
+        addEvents(0, 5 * PARTITION);
+
+        assertEquals(5, listener.events.size());
+        assertEquals(range(0, 3 * PARTITION), listener.events.get(2));
+        assertEquals(range(2 * PARTITION, 5 * PARTITION), listener.events.get(4));
+        assertEquals(range(4 * PARTITION, 5 * PARTITION), listener.newEvents.get(4));
+        assertEquals(range(PARTITION, 2 * PARTITION), listener.expired.get(4));
+        assertEquals(3 * PARTITION, queue.size());
+    }
+
+    @Test
+    public void testSpilledEventsAreReadOnlyWhenIterated() {
+        AtomicInteger activations = new AtomicInteger();
+        listener.onActivation = activations::incrementAndGet;
+        listener.iterate = false;
+        startCountWindow(3 * PARTITION, PARTITION);
+        addEvents(0, 3 * PARTITION);
+        assertEquals(3, activations.get());
+        assertEquals("no spilled event was read back", 0, deserialized.get());
+
+        listener.iterate = true;
+        addEvents(3 * PARTITION, 4 * PARTITION);
+        assertEquals(range(PARTITION, 4 * PARTITION), listener.events.get(0));
+        assertEquals(range(3 * PARTITION, 4 * PARTITION), listener.newEvents.get(0));
+        // the expired events are read once to be acked, and the spilled events of the window once as they are iterated
+        assertEquals(PARTITION + 2 * PARTITION, deserialized.get());
+    }
+
+    @Test
+    public void testEventsAreNotExpiredWhileWindowIsEvaluated() {
+        startTriggeredCountWindow(PARTITION);
+        int added = PARTITION / 5;
+        listener.onActivation = () -> {
+            if (listener.events.isEmpty()) {
+                // events that arrive while the window is evaluated, which would expire the oldest events of the window
+                addEvents(PARTITION, PARTITION + added);
+            }
+        };
+        addEvents(0, PARTITION);
+        trigger();
+        assertEquals(range(0, PARTITION), listener.events.get(0));
+        assertEquals(0, listener.onExpiryEvents.size());
+
+        addEvents(PARTITION + added, 2 * PARTITION);
+        trigger();
+        assertEquals(range(PARTITION, 2 * PARTITION), listener.events.get(1));
+        assertEquals(range(0, PARTITION), listener.expired.get(1));
+    }
+
+    @Test
+    public void testWindowIsStaleAfterActivation() {
+        startCountWindow(PARTITION, PARTITION);
+        addEvents(0, PARTITION);
+        try {
+            listener.lastWindow.get();
+            fail("expected the window to be stale");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+}
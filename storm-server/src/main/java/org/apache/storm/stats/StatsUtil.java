@@ -71,6 +71,10 @@ public class StatsUtil {
     private static final String NUM_TASKS = "num-tasks";
     private static final String NUM_EXECUTORS = "num-executors";
     private static final String CAPACITY = "capacity";
+    private static final String CPU_TIME = "cpu-time-ms";
+    private static final String ALLOCATED = "allocated-bytes";
+    private static final String CPU_USAGE = "cpu-usage-pct";
+    private static final String ALLOCATION_RATE = "allocated-bytes-per-sec";
     private static final String STATS = "stats";
     private static final String EXECUTOR_ID = "executor-id";
     private static final String LAST_ERROR = "lastError";
@@ -89,6 +93,14 @@ public class StatsUtil {
     private static final String EXEC_LAT_TOTAL = "executeLatencyTotal";
     private static final String PROC_LAT_TOTAL = "processLatencyTotal";
     private static final String COMP_LAT_TOTAL = "completeLatencyTotal";
+    private static final String EXEC_LAT_P99 = "execute-latency-p99";
+    private static final String EXEC_LAT_P999 = "execute-latency-p999";
+    private static final String PROC_LAT_P99 = "process-latency-p99";
+    private static final String PROC_LAT_P999 = "process-latency-p999";
+    private static final String COMP_LAT_P99 = "complete-latency-p99";
+    private static final String COMP_LAT_P999 = "complete-latency-p999";
+    private static final String[] BOLT_LAT_PERCENTILES = { EXEC_LAT_P99, EXEC_LAT_P999, PROC_LAT_P99, PROC_LAT_P999 };
+    private static final String[] SPOUT_LAT_PERCENTILES = { COMP_LAT_P99, COMP_LAT_P999 };
     private static final String WIN_TO_EMITTED = "window->emitted";
     private static final String WIN_TO_ACKED = "window->acked";
     private static final String WIN_TO_FAILED = "window->failed";
@@ -202,6 +214,8 @@ public class StatsUtil {
 
         Map stat2win2sid2num = ClientStatsUtil.getMapByKey(beat, STATS);
         ret.put(CAPACITY, computeAggCapacity(stat2win2sid2num, getByKeyOr0(beat, ClientStatsUtil.UPTIME).intValue()));
+        ret.put(CPU_TIME, stat2win2sid2num.get(CPU_TIME));
+        ret.put(ALLOCATED, stat2win2sid2num.get(ALLOCATED));
 
         // calc cid+sid->input_stats
         Map inputStats = new HashMap();
@@ -219,6 +233,7 @@ public class StatsUtil {
         Map sid2exec = (Map) windowSetConverter(ClientStatsUtil.getMapByKey(stat2win2sid2num, EXECUTED), TO_STRING).get(window);
         mergeMaps(inputStats, aggBoltStreamsLatAndCount(sid2execLat, sid2procLat, sid2exec));
         ret.put(CID_SID_TO_IN_STATS, inputStats);
+        putMaxLatencyPercentiles(ret, stat2win2sid2num, window, BOLT_LAT_PERCENTILES);
 
         // calc sid->output_stats
         Map outputStats = new HashMap();
@@ -259,6 +274,8 @@ public class StatsUtil {
         ret.put(NUM_TASKS, beat.get(NUM_TASKS));
 
         Map stat2win2sid2num = ClientStatsUtil.getMapByKey(beat, STATS);
+        ret.put(CPU_TIME, stat2win2sid2num.get(CPU_TIME));
+        ret.put(ALLOCATED, stat2win2sid2num.get(ALLOCATED));
 
         // calc sid->output-stats
         Map outputStats = new HashMap();
@@ -287,6 +304,7 @@ public class StatsUtil {
         Map sid2acked = (Map) win2sid2acked.get(window);
         mergeMaps(outputStats, aggSpoutStreamsLatAndCount(sid2compLat, sid2acked));
         ret.put(SID_TO_OUT_STATS, outputStats);
+        putMaxLatencyPercentiles(ret, stat2win2sid2num, window, SPOUT_LAT_PERCENTILES);
 
         return ret;
     }
@@ -331,6 +349,7 @@ public class StatsUtil {
             windowSetConverter(ClientStatsUtil.getMapByKey(stat2win2sid2num, EXECUTED), TO_STRING);
         subRet.putAll(aggBoltLatAndCount(
             win2sid2execLat.get(window), win2sid2procLat.get(window), win2sid2exec.get(window)));
+        putMaxLatencyPercentiles(subRet, stat2win2sid2num, window, BOLT_LAT_PERCENTILES);
 
         Map<String, Object> ret = new HashMap<>();
         ret.put((String) beat.get("comp-id"), subRet);
@@ -368,6 +387,7 @@ public class StatsUtil {
         Map<String, Map<String, Long>> win2sid2acked =
             windowSetConverter(ClientStatsUtil.getMapByKey(stat2win2sid2num, ACKED), TO_STRING);
         subRet.putAll(aggSpoutLatAndCount(win2sid2compLat.get(window), win2sid2acked.get(window)));
+        putMaxLatencyPercentiles(subRet, stat2win2sid2num, window, SPOUT_LAT_PERCENTILES);
 
         Map<String, Object> ret = new HashMap<>();
         ret.put((String) m.get("comp-id"), subRet);
@@ -409,6 +429,10 @@ public class StatsUtil {
         executorStats.put(HOST, boltStats.get(HOST));
         executorStats.put(PORT, boltStats.get(PORT));
         executorStats.put(CAPACITY, boltStats.get(CAPACITY));
+        putResourceUsage(executorStats, boltStats);
+        for (String key : BOLT_LAT_PERCENTILES) {
+            executorStats.put(key, boltStats.get(key));
+        }
 
         executorStats.put(EMITTED, sumStreamsLong(boltOut, EMITTED));
         executorStats.put(TRANSFERRED, sumStreamsLong(boltOut, TRANSFERRED));
@@ -430,6 +454,34 @@ public class StatsUtil {
         return ret;
     }
 
+    /**
+     * The CPU usage, in percent of a core, and the allocation rate of an executor averaged over its uptime, if it reported them.
+     */
+    private static void putResourceUsage(Map<String, Object> executorStats, Map<String, Object> compStats) {
+        Number cpuTime = (Number) compStats.get(CPU_TIME);
+        Number allocated = (Number) compStats.get(ALLOCATED);
+        int uptime = getByKeyOr0(compStats, ClientStatsUtil.UPTIME).intValue();
+        if (cpuTime != null && allocated != null && uptime > 0) {
+            executorStats.put(CPU_USAGE, cpuTime.doubleValue() / (uptime * 1000.0) * 100);
+            executorStats.put(ALLOCATION_RATE, allocated.doubleValue() / uptime);
+        }
+    }
+
+    /**
+     * The highest latency percentiles of the streams of an executor in a window, if it reported them. Percentiles cannot be merged like
+     * averages, so the highest one is an upper bound for all the streams together.
+     */
+    private static void putMaxLatencyPercentiles(Map<String, Object> ret, Map<String, ?> stat2win2sid2num, String window,
+                                                 String[] keys) {
+        for (String key : keys) {
+            Map<String, Map<?, Double>> win2sid2lat = ClientStatsUtil.getMapByKey(stat2win2sid2num, key);
+            Map<?, Double> sid2lat = win2sid2lat == null ? null : win2sid2lat.get(window);
+            if (sid2lat != null && !sid2lat.isEmpty()) {
+                ret.put(key, Collections.max(sid2lat.values()));
+            }
+        }
+    }
+
     /**
      * merge accumulated bolt stats with pre-merged component stats.
      */
@@ -452,6 +504,10 @@ public class StatsUtil {
         executorStats.put(ClientStatsUtil.UPTIME, spoutStats.get(ClientStatsUtil.UPTIME));
         executorStats.put(HOST, spoutStats.get(HOST));
         executorStats.put(PORT, spoutStats.get(PORT));
+        putResourceUsage(executorStats, spoutStats);
+        for (String key : SPOUT_LAT_PERCENTILES) {
+            executorStats.put(key, spoutStats.get(key));
+        }
 
         executorStats.put(EMITTED, sumStreamsLong(spoutOut, EMITTED));
         executorStats.put(TRANSFERRED, sumStreamsLong(spoutOut, TRANSFERRED));
@@ -492,6 +548,9 @@ public class StatsUtil {
         ret.put(ACKED, sumOr0(getByKeyOr0(accBoltStats, ACKED), getByKeyOr0(boltStats, ACKED)));
         ret.put(FAILED, sumOr0(getByKeyOr0(accBoltStats, FAILED), getByKeyOr0(boltStats, FAILED)));
         ret.put(CAPACITY, maxOr0(getByKeyOr0(accBoltStats, CAPACITY), getByKeyOr0(boltStats, CAPACITY)));
+        for (String key : BOLT_LAT_PERCENTILES) {
+            ret.put(key, maxOrNull(accBoltStats.get(key), boltStats.get(key)));
+        }
 
         return ret;
     }
@@ -511,6 +570,9 @@ public class StatsUtil {
         ret.put(COMP_LAT_TOTAL, sumOr0(getByKeyOr0(accSpoutStats, COMP_LAT_TOTAL), getByKeyOr0(spoutStats, COMP_LAT_TOTAL)));
         ret.put(ACKED, sumOr0(getByKeyOr0(accSpoutStats, ACKED), getByKeyOr0(spoutStats, ACKED)));
         ret.put(FAILED, sumOr0(getByKeyOr0(accSpoutStats, FAILED), getByKeyOr0(spoutStats, FAILED)));
+        for (String key : SPOUT_LAT_PERCENTILES) {
+            ret.put(key, maxOrNull(accSpoutStats.get(key), spoutStats.get(key)));
+        }
 
         return ret;
     }
@@ -1399,6 +1461,12 @@ public class StatsUtil {
         ret.put(EMITTED, stats.get_emitted());
         ret.put(TRANSFERRED, stats.get_transferred());
         ret.put(RATE, stats.get_rate());
+        if (stats.is_set_cpu_time_ms()) {
+            ret.put(CPU_TIME, stats.get_cpu_time_ms());
+        }
+        if (stats.is_set_allocated_bytes()) {
+            ret.put(ALLOCATED, stats.get_allocated_bytes());
+        }
 
         if (stats.get_specific().is_set_bolt()) {
             ret.putAll(convertSpecificStats(stats.get_specific().get_bolt()));
@@ -1416,6 +1484,12 @@ public class StatsUtil {
         ret.put(ACKED, stats.get_acked());
         ret.put(FAILED, stats.get_failed());
         ret.put(COMP_LATENCIES, stats.get_complete_ms_avg());
+        if (stats.is_set_complete_ms_p99()) {
+            ret.put(COMP_LAT_P99, stats.get_complete_ms_p99());
+        }
+        if (stats.is_set_complete_ms_p999()) {
+            ret.put(COMP_LAT_P999, stats.get_complete_ms_p999());
+        }
 
         return ret;
     }
@@ -1434,6 +1508,18 @@ public class StatsUtil {
         ret.put(PROC_LATENCIES, processAvg);
         ret.put(EXECUTED, executed);
         ret.put(EXEC_LATENCIES, executeAvg);
+        if (stats.is_set_process_ms_p99()) {
+            ret.put(PROC_LAT_P99, ClientStatsUtil.windowSetConverter(stats.get_process_ms_p99(), FROM_GSID, ClientStatsUtil.IDENTITY));
+        }
+        if (stats.is_set_process_ms_p999()) {
+            ret.put(PROC_LAT_P999, ClientStatsUtil.windowSetConverter(stats.get_process_ms_p999(), FROM_GSID, ClientStatsUtil.IDENTITY));
+        }
+        if (stats.is_set_execute_ms_p99()) {
+            ret.put(EXEC_LAT_P99, ClientStatsUtil.windowSetConverter(stats.get_execute_ms_p99(), FROM_GSID, ClientStatsUtil.IDENTITY));
+        }
+        if (stats.is_set_execute_ms_p999()) {
+            ret.put(EXEC_LAT_P999, ClientStatsUtil.windowSetConverter(stats.get_execute_ms_p999(), FROM_GSID, ClientStatsUtil.IDENTITY));
+        }
 
         return ret;
     }
@@ -1895,6 +1981,10 @@ public class StatsUtil {
 
         SpoutAggregateStats spoutAggStats = new SpoutAggregateStats();
         spoutAggStats.set_complete_latency_ms(getByKeyOr0(m, COMP_LATENCY).doubleValue());
+        if (m.get(COMP_LAT_P99) != null) {
+            spoutAggStats.set_complete_latency_p99_ms(((Number) m.get(COMP_LAT_P99)).doubleValue());
+            spoutAggStats.set_complete_latency_p999_ms(getByKeyOr0(m, COMP_LAT_P999).doubleValue());
+        }
         SpecificAggregateStats specificStats = SpecificAggregateStats.spout(spoutAggStats);
 
         stats.set_specific_stats(specificStats);
@@ -1912,6 +2002,14 @@ public class StatsUtil {
         boltAggStats.set_process_latency_ms(getByKeyOr0(m, PROC_LATENCY).doubleValue());
         boltAggStats.set_executed(getByKeyOr0(m, EXECUTED).longValue());
         boltAggStats.set_capacity(getByKeyOr0(m, CAPACITY).doubleValue());
+        if (m.get(EXEC_LAT_P99) != null) {
+            boltAggStats.set_execute_latency_p99_ms(((Number) m.get(EXEC_LAT_P99)).doubleValue());
+            boltAggStats.set_execute_latency_p999_ms(getByKeyOr0(m, EXEC_LAT_P999).doubleValue());
+        }
+        if (m.get(PROC_LAT_P99) != null) {
+            boltAggStats.set_process_latency_p99_ms(((Number) m.get(PROC_LAT_P99)).doubleValue());
+            boltAggStats.set_process_latency_p999_ms(getByKeyOr0(m, PROC_LAT_P999).doubleValue());
+        }
         SpecificAggregateStats specificStats = SpecificAggregateStats.bolt(boltAggStats);
 
         stats.set_specific_stats(specificStats);
@@ -1974,6 +2072,12 @@ public class StatsUtil {
         commonStats.set_transferred(getByKeyOr0(m, TRANSFERRED).longValue());
         commonStats.set_acked(getByKeyOr0(m, ACKED).longValue());
         commonStats.set_failed(getByKeyOr0(m, FAILED).longValue());
+        if (m.get(CPU_USAGE) != null) {
+            commonStats.set_cpu_usage_pct(((Number) m.get(CPU_USAGE)).doubleValue());
+        }
+        if (m.get(ALLOCATION_RATE) != null) {
+            commonStats.set_allocated_bytes_per_sec(((Number) m.get(ALLOCATION_RATE)).doubleValue());
+        }
 
         stats.set_common_stats(commonStats);
         return stats;
@@ -2054,6 +2158,12 @@ public class StatsUtil {
         ret.set_emitted(ClientStatsUtil.windowSetConverter(ClientStatsUtil.getMapByKey(stats, EMITTED), TO_STRING, TO_STRING));
         ret.set_transferred(ClientStatsUtil.windowSetConverter(ClientStatsUtil.getMapByKey(stats, TRANSFERRED), TO_STRING, TO_STRING));
         ret.set_rate(((Number) stats.get(RATE)).doubleValue());
+        if (stats.get(CPU_TIME) != null) {
+            ret.set_cpu_time_ms(((Number) stats.get(CPU_TIME)).longValue());
+        }
+        if (stats.get(ALLOCATED) != null) {
+            ret.set_allocated_bytes(((Number) stats.get(ALLOCATED)).longValue());
+        }
 
         return ret;
     }
@@ -2074,6 +2184,22 @@ public class StatsUtil {
                 ClientStatsUtil.windowSetConverter(ClientStatsUtil.getMapByKey(stats, FAILED), ClientStatsUtil.TO_GSID, TO_STRING));
             boltStats.set_process_ms_avg(
                 ClientStatsUtil.windowSetConverter(ClientStatsUtil.getMapByKey(stats, PROC_LATENCIES), ClientStatsUtil.TO_GSID, TO_STRING));
+            if (stats.get(PROC_LAT_P99) != null) {
+                boltStats.set_process_ms_p99(ClientStatsUtil.windowSetConverter(
+                    ClientStatsUtil.getMapByKey(stats, PROC_LAT_P99), ClientStatsUtil.TO_GSID, TO_STRING));
+            }
+            if (stats.get(PROC_LAT_P999) != null) {
+                boltStats.set_process_ms_p999(ClientStatsUtil.windowSetConverter(
+                    ClientStatsUtil.getMapByKey(stats, PROC_LAT_P999), ClientStatsUtil.TO_GSID, TO_STRING));
+            }
+            if (stats.get(EXEC_LAT_P99) != null) {
+                boltStats.set_execute_ms_p99(ClientStatsUtil.windowSetConverter(
+                    ClientStatsUtil.getMapByKey(stats, EXEC_LAT_P99), ClientStatsUtil.TO_GSID, TO_STRING));
+            }
+            if (stats.get(EXEC_LAT_P999) != null) {
+                boltStats.set_execute_ms_p999(ClientStatsUtil.windowSetConverter(
+                    ClientStatsUtil.getMapByKey(stats, EXEC_LAT_P999), ClientStatsUtil.TO_GSID, TO_STRING));
+            }
             specificStats.set_bolt(boltStats);
         } else {
             SpoutStats spoutStats = new SpoutStats();
@@ -2081,6 +2207,14 @@ public class StatsUtil {
             spoutStats.set_failed(ClientStatsUtil.windowSetConverter(ClientStatsUtil.getMapByKey(stats, FAILED), TO_STRING, TO_STRING));
             spoutStats.set_complete_ms_avg(
                 ClientStatsUtil.windowSetConverter(ClientStatsUtil.getMapByKey(stats, COMP_LATENCIES), TO_STRING, TO_STRING));
+            if (stats.get(COMP_LAT_P99) != null) {
+                spoutStats.set_complete_ms_p99(
+                    ClientStatsUtil.windowSetConverter(ClientStatsUtil.getMapByKey(stats, COMP_LAT_P99), TO_STRING, TO_STRING));
+            }
+            if (stats.get(COMP_LAT_P999) != null) {
+                spoutStats.set_complete_ms_p999(
+                    ClientStatsUtil.windowSetConverter(ClientStatsUtil.getMapByKey(stats, COMP_LAT_P999), TO_STRING, TO_STRING));
+            }
             specificStats.set_spout(spoutStats);
         }
         return specificStats;
@@ -2244,6 +2378,17 @@ public class StatsUtil {
         return 0;
     }
 
+    private static Double maxOrNull(Object a, Object b) {
+        if (isValidNumber(a) && isValidNumber(b)) {
+            return Math.max(((Number) a).doubleValue(), ((Number) b).doubleValue());
+        } else if (isValidNumber(a)) {
+            return ((Number) a).doubleValue();
+        } else if (isValidNumber(b)) {
+            return ((Number) b).doubleValue();
+        }
+        return null;
+    }
+
     /**
      * For a nested map, rearrange data such that the top-level keys become the nested map's keys and vice versa. Example: {:a {:X :banana,
      * :Y :pear}, :b {:X :apple, :Y :orange}} -> {:Y {:a :pear, :b :orange}, :X {:a :banana, :b :apple}}"
@@ -152,11 +152,13 @@ public class ServerConfigUtils {
     }
 
     public LocalState supervisorStateImpl(Map<String, Object> conf) throws IOException {
-        return new LocalState((ConfigUtils.supervisorLocalDir(conf) + FILE_SEPARATOR + "localstate"),  true);
+        return new LocalState((ConfigUtils.supervisorLocalDir(conf) + FILE_SEPARATOR + "localstate"),  true,
+                              ObjectReader.getBoolean(conf.get(Config.STORM_LOCAL_STATE_APPEND_ONLY), false));
     }
 
     public LocalState nimbusTopoHistoryStateImpl(Map<String, Object> conf) throws IOException {
-        return new LocalState((masterLocalDir(conf) + FILE_SEPARATOR + "history"), true);
+        return new LocalState((masterLocalDir(conf) + FILE_SEPARATOR + "history"), true,
+                              ObjectReader.getBoolean(conf.get(Config.STORM_LOCAL_STATE_APPEND_ONLY), false));
     }
 
     public static int getLocalizerUpdateBlobInterval(Map<String, Object> conf) {
@@ -1379,8 +1379,10 @@ public class UIHelpers {
         result.put("executeLatency", StatsUtil.floatStr(boltAggregateStats.get_execute_latency_ms()));
         result.put("executed", nullToZero(boltAggregateStats.get_executed()));
         result.put("processLatency", StatsUtil.floatStr(boltAggregateStats.get_process_latency_ms()));
+        putLatencyPercentiles(result, boltAggregateStats);
         result.put("acked", nullToZero(commonAggregateStats.get_acked()));
         result.put("failed", nullToZero(commonAggregateStats.get_failed()));
+        putResourceUsage(result, Collections.singletonList(commonAggregateStats));
         result.put("workerLogLink", getWorkerLogLink(host, port, config, topologyId));
         return result;
     }
@@ -1413,12 +1415,71 @@ public class UIHelpers {
         result.put("emitted", nullToZero(commonAggregateStats.get_emitted()));
         result.put("transferred", nullToZero(commonAggregateStats.get_transferred()));
         result.put("completeLatency", StatsUtil.floatStr(spoutAggregateStats.get_complete_latency_ms()));
+        putLatencyPercentiles(result, spoutAggregateStats);
         result.put("acked", nullToZero(commonAggregateStats.get_acked()));
         result.put("failed", nullToZero(commonAggregateStats.get_failed()));
+        putResourceUsage(result, Collections.singletonList(commonAggregateStats));
         result.put("workerLogLink", getWorkerLogLink(host, port, config, topologyId));
         return result;
     }
 
+    /**
+     * putLatencyPercentiles.
+     * Puts the 99th and 99.9th percentile of the execute and process latency of a bolt, the highest of its streams and executors.
+     * The values are empty if the bolt did not report them.
+     *
+     * @param result the map to put the values in
+     * @param boltAggregateStats the stats of the bolt
+     */
+    private static void putLatencyPercentiles(Map<String, Object> result, BoltAggregateStats boltAggregateStats) {
+        result.put("executeLatencyP99", boltAggregateStats.is_set_execute_latency_p99_ms()
+                ? StatsUtil.floatStr(boltAggregateStats.get_execute_latency_p99_ms()) : "");
+        result.put("executeLatencyP999", boltAggregateStats.is_set_execute_latency_p999_ms()
+                ? StatsUtil.floatStr(boltAggregateStats.get_execute_latency_p999_ms()) : "");
+        result.put("processLatencyP99", boltAggregateStats.is_set_process_latency_p99_ms()
+                ? StatsUtil.floatStr(boltAggregateStats.get_process_latency_p99_ms()) : "");
+        result.put("processLatencyP999", boltAggregateStats.is_set_process_latency_p999_ms()
+                ? StatsUtil.floatStr(boltAggregateStats.get_process_latency_p999_ms()) : "");
+    }
+
+    /**
+     * putLatencyPercentiles.
+     * Puts the 99th and 99.9th percentile of the complete latency of a spout, the highest of its streams and executors.
+     * The values are empty if the spout did not report them.
+     *
+     * @param result the map to put the values in
+     * @param spoutAggregateStats the stats of the spout
+     */
+    private static void putLatencyPercentiles(Map<String, Object> result, SpoutAggregateStats spoutAggregateStats) {
+        result.put("completeLatencyP99", spoutAggregateStats.is_set_complete_latency_p99_ms()
+                ? StatsUtil.floatStr(spoutAggregateStats.get_complete_latency_p99_ms()) : "");
+        result.put("completeLatencyP999", spoutAggregateStats.is_set_complete_latency_p999_ms()
+                ? StatsUtil.floatStr(spoutAggregateStats.get_complete_latency_p999_ms()) : "");
+    }
+
+    /**
+     * putResourceUsage.
+     * Puts the CPU usage, in percent of a core, and the megabytes allocated per second of executors, summed up and averaged
+     * over the uptime of each executor. The values are empty if none of the executors reported them.
+     *
+     * @param result the map to put the values in
+     * @param executorStats the stats of the executors
+     */
+    private static void putResourceUsage(Map<String, Object> result, List<CommonAggregateStats> executorStats) {
+        double cpuUsage = 0;
+        double allocatedBytesPerSec = 0;
+        boolean reported = false;
+        for (CommonAggregateStats stats : executorStats) {
+            if (stats.is_set_cpu_usage_pct()) {
+                reported = true;
+                cpuUsage += stats.get_cpu_usage_pct();
+                allocatedBytesPerSec += stats.get_allocated_bytes_per_sec();
+            }
+        }
+        result.put("cpuUsage", reported ? StatsUtil.floatStr(cpuUsage) : "");
+        result.put("allocatedMBPerSec", reported ? StatsUtil.floatStr(allocatedBytesPerSec / (1024 * 1024)) : "");
+    }
+
     /**
      * getComponentLastErrorInfo.
      * Internal helper method that populates a hashmap with the component's most recently reported error.
@@ -1531,6 +1592,7 @@ public class UIHelpers {
         result.put("encodedSpoutId", Utils.urlEncodeUtf8(spoutId));
         SpoutAggregateStats spoutAggregateStats = componentAggregateStats.get_specific_stats().get_spout();
         result.put("completeLatency", StatsUtil.floatStr(spoutAggregateStats.get_complete_latency_ms()));
+        putLatencyPercentiles(result, spoutAggregateStats);
         result.putAll(getComponentLastErrorInfo(componentAggregateStats.get_last_error(), config, topologyId));
         return result;
     }
@@ -1553,6 +1615,7 @@ public class UIHelpers {
         result.put("executeLatency", StatsUtil.floatStr(boltAggregateStats.get_execute_latency_ms()));
         result.put("executed", boltAggregateStats.get_executed());
         result.put("processLatency", StatsUtil.floatStr(boltAggregateStats.get_process_latency_ms()));
+        putLatencyPercentiles(result, boltAggregateStats);
         result.putAll(getComponentLastErrorInfo(componentAggregateStats.get_last_error(), config, topologyId));
         return result;
     }
@@ -2094,6 +2157,8 @@ public class UIHelpers {
         result.put("name", componentPageInfo.get_topology_name());
         result.put("executors", componentPageInfo.get_num_executors());
         result.put("tasks", componentPageInfo.get_num_tasks());
+        putResourceUsage(result, componentPageInfo.get_exec_stats().stream()
+                .map(e -> e.get_stats().get_common_stats()).collect(Collectors.toList()));
         result.put("requestedMemOnHeap",
                 componentPageInfo.get_resources_map().get(Constants.COMMON_ONHEAP_MEMORY_RESOURCE_NAME));
         result.put("requestedMemOffHeap",